@@ -12,7 +12,6 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.literise.R;
 import com.example.literise.adapters.BadgeGridAdapter;
 import com.example.literise.api.ApiClient;
-import com.example.literise.api.ApiService;
 import com.example.literise.database.SessionManager;
 import com.example.literise.models.BadgeItem;
 import com.example.literise.models.BadgesResponse;
@@ -73,7 +72,7 @@ public class BadgesActivity extends BaseNavActivity {
 
         showLoading(true);
 
-        ApiClient.getClient(this).create(ApiService.class)
+        ApiClient.getApiService(this)
                 .getBadges(studentId)
                 .enqueue(new Callback<BadgesResponse>() {
                     @Override
@@ -92,8 +92,7 @@ public class ComparisonReportActivity extends BaseActivity {
 
         int studentId = session.getStudentId();
 
-        ApiClient.getClient(this)
-                .create(com.example.literise.api.ApiService.class)
+        ApiClient.getApiService(this)
                 .getPlacementProgress(studentId)
                 .enqueue(new Callback<PlacementProgressResponse>() {
                     @Override
@@ -20,8 +20,10 @@ import com.example.literise.R;
 
 import com.example.literise.adapters.ModuleAdapter;
 import com.example.literise.api.ApiClient;
-import com.example.literise.api.ApiService;
+import com.example.literise.database.KeyValueStore;
 import com.example.literise.database.SessionManager;
+
+import com.example.literise.helpers.OutboxSyncHelper;
 import com.example.literise.models.BadgesResponse;
 import com.example.literise.models.CheckModulesCompleteResponse;
 import com.example.literise.models.CompleteTutorialRequest;
@@ -115,6 +117,12 @@ public class DashboardActivity extends BaseActivity {
 
         setupListeners();
 
+
+
+        // Upload anything queued while offline or before the app last closed
+
+        OutboxSyncHelper.getInstance(this).syncNow();
+
     }
 
 
@@ -416,7 +424,7 @@ public class DashboardActivity extends BaseActivity {
     private void fetchRealBadgeCount() {
         int studentId = session.getStudentId();
         if (studentId <= 0) return;
-        ApiClient.getClient(this).create(ApiService.class)
+        ApiClient.getApiService(this)
                 .getBadges(studentId)
                 .enqueue(new Callback<BadgesResponse>() {
                     @Override
@@ -618,7 +626,7 @@ public class DashboardActivity extends BaseActivity {
 
     private void showTutorialIfFirstTime() {
         // Fast path: already seen locally
-        android.content.SharedPreferences prefs = getSharedPreferences("LiteRisePrefs", MODE_PRIVATE);
+        android.content.SharedPreferences prefs = KeyValueStore.getInstance(this).getPreferences("LiteRisePrefs");
         if (prefs.getBoolean("dashboard_tutorial_seen", false)) {
             return;
         }
@@ -626,7 +634,7 @@ public class DashboardActivity extends BaseActivity {
         // Check server (authoritative source)
         int studentId = session.getStudentId();
         if (studentId > 0) {
-            ApiClient.getClient(this).create(ApiService.class).checkTutorial(studentId, TUTORIAL_KEY)
+            ApiClient.getApiService(this).checkTutorial(studentId, TUTORIAL_KEY)
                     .enqueue(new Callback<TutorialStatusResponse>() {
                         @Override
                         public void onResponse(Call<TutorialStatusResponse> call,
@@ -821,14 +829,13 @@ public class DashboardActivity extends BaseActivity {
         tutorialOverlay.setVisibility(View.GONE);
 
         // Mark seen locally (immediate)
-        android.content.SharedPreferences prefs = getSharedPreferences("LiteRisePrefs", MODE_PRIVATE);
+        android.content.SharedPreferences prefs = KeyValueStore.getInstance(this).getPreferences("LiteRisePrefs");
         prefs.edit().putBoolean("dashboard_tutorial_seen", true).apply();
 
         // Persist to server (fire-and-forget)
         int studentId = session.getStudentId();
         if (studentId > 0) {
-            ApiClient.getClient(this)
-                    .create(ApiService.class)
+            ApiClient.getApiService(this)
                     .completeTutorial(new CompleteTutorialRequest(studentId, TUTORIAL_KEY))
                     .enqueue(new Callback<ResponseModel>() {
                         @Override
@@ -857,7 +864,7 @@ public class DashboardActivity extends BaseActivity {
         int studentId = session.getStudentId();
         if (studentId <= 0) return;
 
-        ApiClient.getClient(this).create(ApiService.class).checkModulesComplete(studentId)
+        ApiClient.getApiService(this).checkModulesComplete(studentId)
                 .enqueue(new Callback<CheckModulesCompleteResponse>() {
                     @Override
                     public void onResponse(Call<CheckModulesCompleteResponse> call,
@@ -905,7 +912,7 @@ public class DashboardActivity extends BaseActivity {
         int studentId = session.getStudentId();
         if (studentId <= 0) return;
 
-        ApiClient.getClient(this).create(ApiService.class).getPlacementProgress(studentId)
+        ApiClient.getApiService(this).getPlacementProgress(studentId)
                 .enqueue(new Callback<com.example.literise.models.PlacementProgressResponse>() {
                     @Override
                     public void onResponse(Call<com.example.literise.models.PlacementProgressResponse> call,
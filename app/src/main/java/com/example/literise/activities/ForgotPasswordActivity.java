@@ -234,7 +234,7 @@ public class ForgotPasswordActivity extends AppCompatActivity {
         btnSendOTP.setText("Sending...");
 
         ForgotPasswordRequest request = new ForgotPasswordRequest(email);
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        ApiService apiService = ApiClient.getApiService(this);
 
         apiService.forgotPassword(request).enqueue(new Callback<ForgotPasswordResponse>() {
             @Override
@@ -299,7 +299,7 @@ public class ForgotPasswordActivity extends AppCompatActivity {
         btnVerifyOTP.setText("Verifying...");
 
         VerifyOTPRequest request = new VerifyOTPRequest(userEmail, otp);
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        ApiService apiService = ApiClient.getApiService(this);
 
         apiService.verifyOTP(request).enqueue(new Callback<VerifyOTPResponse>() {
             @Override
@@ -352,7 +352,7 @@ public class ForgotPasswordActivity extends AppCompatActivity {
         btnResendOTP.setText("Sending...");
 
         ForgotPasswordRequest request = new ForgotPasswordRequest(userEmail);
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        ApiService apiService = ApiClient.getApiService(this);
 
         apiService.forgotPassword(request).enqueue(new Callback<ForgotPasswordResponse>() {
             @Override
@@ -407,7 +407,7 @@ public class ForgotPasswordActivity extends AppCompatActivity {
         btnResetPassword.setText("Resetting...");
 
         ResetPasswordRequest request = new ResetPasswordRequest(userEmail, otpCode, newPassword);
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        ApiService apiService = ApiClient.getApiService(this);
 
         apiService.resetPassword(request).enqueue(new Callback<ResetPasswordResponse>() {
             @Override
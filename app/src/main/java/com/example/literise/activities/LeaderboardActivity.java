@@ -60,7 +60,7 @@ public class LeaderboardActivity extends BaseNavActivity {
         setupBottomNav(getNavIndex());
 
         session    = new SessionManager(this);
-        apiService = ApiClient.getClient().create(ApiService.class);
+        apiService = ApiClient.getApiService(this);
 
         initViews();
         setupFilterChips();
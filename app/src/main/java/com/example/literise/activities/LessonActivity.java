@@ -34,6 +34,8 @@ import com.example.literise.api.ApiClient;
 
 import com.example.literise.api.ApiService;
 
+import com.example.literise.database.LessonDatabase;
+
 import com.example.literise.database.SessionManager;
 
 import com.example.literise.models.GameSession;
@@ -50,8 +52,12 @@ import java.util.ArrayList;
 
 import java.util.Arrays;
 
+import java.util.HashMap;
+
 import java.util.List;
 
+import java.util.Map;
+
 
 
 import retrofit2.Call;
@@ -94,6 +100,8 @@ public class LessonActivity extends BaseActivity {
 
     private SessionManager session;
 
+    private LessonDatabase lessonDatabase;
+
     private String lessonType;
 
     private int lessonId = -1;
@@ -120,6 +128,12 @@ public class LessonActivity extends BaseActivity {
 
 
 
+    // Results recorded on this device, keyed by database GameType (covers offline play)
+
+    private Map<String, LessonProgressResponse.GameStats> localGameStats = new HashMap<>();
+
+
+
     @Override
 
     protected void onCreate(Bundle savedInstanceState) {
@@ -132,6 +146,8 @@ public class LessonActivity extends BaseActivity {
 
         session = new SessionManager(this);
 
+        lessonDatabase = LessonDatabase.getInstance(this);
+
         lessonType = getIntent().getStringExtra("lesson_type");
 
         if (lessonType == null) {
@@ -268,7 +284,15 @@ public class LessonActivity extends BaseActivity {
 
 
 
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        // Show the locally mirrored progress while the server copy loads
+
+        applyLocalProgress();
+
+        updateProgressDisplay();
+
+
+
+        ApiService apiService = ApiClient.getApiService(this);
 
         apiService.getLessonProgress(studentId, lessonId).enqueue(new Callback<LessonProgressResponse>() {
 
@@ -286,6 +310,8 @@ public class LessonActivity extends BaseActivity {
 
                 if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
 
+                    lessonDatabase.syncLessonProgress(session.getStudentId(), response.body());
+
                     List<LessonProgressResponse.LessonProgress> lessons = response.body().getLessons();
 
                     if (lessons != null && !lessons.isEmpty()) {
@@ -346,6 +372,18 @@ public class LessonActivity extends BaseActivity {
 
 
 
+                // Offline: carry on from the local mirror
+
+                if (isLessonCompleted) {
+
+                    showCompletedLessonSummary();
+
+                    return;
+
+                }
+
+
+
                 updateProgressDisplay();
 
                 showCurrentGame();
@@ -632,11 +670,11 @@ public class LessonActivity extends BaseActivity {
 
     private boolean isGameCompleted(String gameType) {
 
-        if (savedProgress == null) return false;
-
         String dbGameType = getDbGameType(gameType);
 
-        return savedProgress.isGameCompleted(dbGameType);
+        if (savedProgress != null && savedProgress.isGameCompleted(dbGameType)) return true;
+
+        return localGameStats.containsKey(dbGameType);
 
     }
 
@@ -644,11 +682,11 @@ public class LessonActivity extends BaseActivity {
 
     private LessonProgressResponse.GameStats getGameStats(String gameType) {
 
-        if (savedProgress == null) return null;
-
         String dbGameType = getDbGameType(gameType);
 
-        return savedProgress.getGameStats(dbGameType);
+        LessonProgressResponse.GameStats stats = savedProgress != null ? savedProgress.getGameStats(dbGameType) : null;
+
+        return stats != null ? stats : localGameStats.get(dbGameType);
 
     }
 
@@ -968,8 +1006,32 @@ public class LessonActivity extends BaseActivity {
 
 
 
+    // Apply the progress last mirrored from get_lesson_progress.php
+
+    private void applyLocalProgress() {
+
+        int[] local = lessonDatabase.getLessonGameProgress(session.getStudentId(), lessonId);
+
+        gamesPlayed = local[0];
+
+        gamesPlayedAtStart = gamesPlayed;
+
+        gameSession.setGamesCompleted(gamesPlayed);
+
+        isLessonCompleted = local[1] == 1 && gamesPlayed >= TOTAL_GAMES_REQUIRED;
+
+        localGameStats = lessonDatabase.getLessonGameStats(LessonDatabase.SOURCE_LIVE, session.getStudentId(), lessonId);
+
+    }
+
+
+
     private void reloadProgressAfterGame() {
 
+        localGameStats = lessonDatabase.getLessonGameStats(LessonDatabase.SOURCE_LIVE, session.getStudentId(), lessonId);
+
+
+
         int studentId = session.getStudentId();
 
         if (studentId <= 0 || lessonId <= 0) {
@@ -984,7 +1046,7 @@ public class LessonActivity extends BaseActivity {
 
 
 
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        ApiService apiService = ApiClient.getApiService(this);
 
         apiService.getLessonProgress(studentId, lessonId).enqueue(new Callback<LessonProgressResponse>() {
 
@@ -994,6 +1056,8 @@ public class LessonActivity extends BaseActivity {
 
                 if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
 
+                    lessonDatabase.syncLessonProgress(session.getStudentId(), response.body());
+
                     List<LessonProgressResponse.LessonProgress> lessons = response.body().getLessons();
 
                     if (lessons != null && !lessons.isEmpty()) {
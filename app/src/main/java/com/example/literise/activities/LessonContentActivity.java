@@ -25,6 +25,7 @@ import com.example.literise.R;
 import com.example.literise.api.ApiClient;
 import com.example.literise.api.ApiService;
 import com.example.literise.database.SessionManager;
+import com.example.literise.helpers.OutboxSyncHelper;
 import com.example.literise.models.LessonContentResponse;
 import com.example.literise.models.UpdateProgressRequest;
 import com.example.literise.models.UpdateProgressResponse;
@@ -145,7 +146,7 @@ public class LessonContentActivity extends AppCompatActivity {
         progressBar.setVisibility(View.VISIBLE);
         btnComplete.setEnabled(false);
 
-        ApiService api = ApiClient.getClient(this).create(ApiService.class);
+        ApiService api = ApiClient.getApiService(this);
         api.getLessonContent(nodeId, placementLevel).enqueue(new Callback<LessonContentResponse>() {
             @Override
             public void onResponse(Call<LessonContentResponse> call,
@@ -1314,8 +1315,10 @@ public class LessonContentActivity extends AppCompatActivity {
 
         UpdateProgressRequest request = new UpdateProgressRequest(
                 sessionManager.getStudentId(), nodeId, "lesson");
+        String outboxKey = OutboxSyncHelper.key(OutboxSyncHelper.TYPE_NODE_PROGRESS,
+                sessionManager.getStudentId(), nodeId, "lesson");
 
-        ApiService api = ApiClient.getClient(this).create(ApiService.class);
+        ApiService api = ApiClient.getApiService(this);
         api.updateNodeProgress(request).enqueue(new Callback<UpdateProgressResponse>() {
             @Override
             public void onResponse(Call<UpdateProgressResponse> call,
@@ -1323,6 +1326,7 @@ public class LessonContentActivity extends AppCompatActivity {
                 progressBar.setVisibility(View.GONE);
                 if (response.isSuccessful() && response.body() != null
                         && response.body().isSuccess()) {
+                    OutboxSyncHelper.getInstance(LessonContentActivity.this).cancel(outboxKey);
                     Toast.makeText(LessonContentActivity.this,
                             isSupplemental ? "Intervention complete! Returning to map..." : "Lesson complete! Moving to game...",
                             Toast.LENGTH_SHORT).show();
@@ -1341,6 +1345,9 @@ public class LessonContentActivity extends AppCompatActivity {
 
             @Override
             public void onFailure(Call<UpdateProgressResponse> call, Throwable t) {
+                // Queued so the completion still reaches the server if the student moves on
+                OutboxSyncHelper.getInstance(LessonContentActivity.this).enqueue(
+                        OutboxSyncHelper.TYPE_NODE_PROGRESS, outboxKey, request);
                 progressBar.setVisibility(View.GONE);
                 Toast.makeText(LessonContentActivity.this,
                         "Network error: " + t.getMessage(), Toast.LENGTH_SHORT).show();
@@ -66,7 +66,7 @@ public class LoginActivity extends AppCompatActivity {
             return;
         }
 
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        ApiService apiService = ApiClient.getApiService(this);
         apiService.loginWithLrn(new LrnLoginRequest(lrn, loginCode)).enqueue(new Callback<Students>() {
             @Override
             public void onResponse(Call<Students> call, Response<Students> response) {
@@ -77,6 +77,7 @@ public class LoginActivity extends AppCompatActivity {
                     SessionManager session = new SessionManager(LoginActivity.this);
 
                     session.saveStudent(s.getStudent_id(), s.getFullname(), s.getEmail());
+                    session.saveLoginCredentials(lrn, loginCode);
 
                     if (s.getToken() != null && !s.getToken().isEmpty()) {
                         session.saveToken(s.getToken());
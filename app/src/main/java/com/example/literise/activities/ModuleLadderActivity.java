@@ -100,7 +100,7 @@ public class ModuleLadderActivity extends AppCompatActivity {
         loadingOverlay = findViewById(R.id.loadingOverlay);
 
         // Initialize API and session
-        apiService = ApiClient.getClient(this).create(ApiService.class);
+        apiService = ApiClient.getApiService(this);
         sessionManager = new SessionManager(this);
 
         // Get data from intent (passed from DashboardActivity)
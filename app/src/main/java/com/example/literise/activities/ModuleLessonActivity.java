@@ -18,6 +18,7 @@ import androidx.cardview.widget.CardView;
 import com.example.literise.R;
 import com.example.literise.content.Module1ContentProvider;
 import com.example.literise.database.LessonDatabase;
+import com.example.literise.database.SessionManager;
 import com.example.literise.models.Badge;
 import com.example.literise.models.Lesson;
 import com.example.literise.models.Question;
@@ -73,6 +74,7 @@ public class ModuleLessonActivity extends BaseActivity {
     private int lessonId;
     private int moduleId;
     private LessonDatabase database;
+    private SessionManager session;
     private GamificationManager gamificationManager;
     private Markwon markwon;
 
@@ -107,7 +109,8 @@ public class ModuleLessonActivity extends BaseActivity {
         }
 
         // Initialize
-        database = new LessonDatabase(this);
+        database = LessonDatabase.getInstance(this);
+        session = new SessionManager(this);
         gamificationManager = new GamificationManager(this);
         markwon = Markwon.create(this);
 
@@ -445,16 +448,14 @@ public class ModuleLessonActivity extends BaseActivity {
 
         btnSubmitQuiz.setVisibility(View.GONE);
 
-        // Save progress
-        database.updateLessonProgress(lessonId, moduleId, practiceScore, quizScore, quizScore >= 70);
+        // Save progress (also unlocks the next lesson when passed)
+        database.updateLessonProgress(session.getStudentId(), lessonId, moduleId, practiceScore, quizScore, quizScore >= 70);
 
         // Show results with gamification
         showQuizResults(correct, total, quizScore);
 
         // Update button visibility
-        if (quizScore >= 70) {
-            database.unlockNextLesson(lessonId, moduleId);
-        } else {
+        if (quizScore < 70) {
             btnRetry.setVisibility(View.VISIBLE);
         }
 
@@ -11,7 +11,6 @@ import androidx.recyclerview.widget.RecyclerView;
 import com.example.literise.R;
 import com.example.literise.adapters.ModuleAdapter;
 import com.example.literise.api.ApiClient;
-import com.example.literise.api.ApiService;
 import com.example.literise.database.SessionManager;
 import com.example.literise.models.CheckModulesCompleteResponse;
 import com.example.literise.models.LearningModule;
@@ -110,7 +109,7 @@ public class ModulesViewActivity extends BaseNavActivity {
         int studentId = session.getStudentId();
         if (studentId <= 0) return;
 
-        ApiClient.getClient(this).create(ApiService.class)
+        ApiClient.getApiService(this)
                 .checkModulesComplete(studentId)
                 .enqueue(new Callback<CheckModulesCompleteResponse>() {
                     @Override
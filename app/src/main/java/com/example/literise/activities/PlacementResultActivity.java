@@ -80,6 +80,7 @@ public class PlacementResultActivity extends AppCompatActivity {
     private String levelName;
     private double accuracy;
     private int totalAnswered;
+    private int totalQuestions;
     private int totalCorrect;
     private int[] categoryScores;
     private double finalTheta;
@@ -153,6 +154,7 @@ public class PlacementResultActivity extends AppCompatActivity {
         levelName      = intent.getStringExtra("level_name");
         accuracy       = intent.getDoubleExtra("accuracy", 0.0);
         totalAnswered  = intent.getIntExtra("total_answered", 0);
+        totalQuestions = intent.getIntExtra("total_questions", 25);
         totalCorrect   = intent.getIntExtra("total_correct", 0);
         categoryScores    = intent.getIntArrayExtra("category_scores");
         finalTheta        = intent.getDoubleExtra("final_theta", 0.0);
@@ -177,7 +179,7 @@ public class PlacementResultActivity extends AppCompatActivity {
         tvLevelName.setText(levelName);
         tvLevelNumber.setText("Level " + placementLevel);
         tvAccuracy.setText(String.format("%.0f%%", accuracy));
-        tvQuestionsAnswered.setText(Math.min(totalAnswered, 25) + "/25");
+        tvQuestionsAnswered.setText(Math.min(totalAnswered, totalQuestions) + "/" + totalQuestions);
 
         if (isPostAssessment) {
             tvCongrats.setText("You Did It! \uD83C\uDF93 LiteRise Complete!");
@@ -436,7 +438,7 @@ public class PlacementResultActivity extends AppCompatActivity {
         request.setDeviceInfo(deviceInfo);
         request.setAppVersion(getAppVersion());
 
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        ApiService apiService = ApiClient.getApiService(this);
         Call<SavePlacementResultResponse> call = apiService.savePlacementResult(request);
 
         call.enqueue(new Callback<SavePlacementResultResponse>() {
@@ -32,15 +32,22 @@ import androidx.core.content.ContextCompat;
 import com.google.android.material.card.MaterialCardView;
 
 import com.example.literise.R;
+import com.example.literise.core.irt.EstimationMode;
+import com.example.literise.core.irt.ItemBank;
+import com.example.literise.database.KeyValueStore;
 import com.example.literise.database.QuestionBankHelper;
 import com.example.literise.database.SessionManager;
 import com.example.literise.helpers.AdaptiveQuestionHelper;
+import com.example.literise.helpers.LocalAdaptiveQuestionHelper;
+import com.example.literise.helpers.OutboxSyncHelper;
 import com.example.literise.helpers.PronunciationHelper;
 import com.example.literise.models.AdaptiveQuestionResponse;
 import com.example.literise.models.PlacementQuestion;
 import com.example.literise.models.SubmitAnswerResponse;
+import com.example.literise.utils.AppConfig;
 import com.example.literise.utils.IRTEngine;
 import com.example.literise.utils.LocationHelper;
+import com.example.literise.utils.PlacementStoppingRule;
 import com.example.literise.utils.SessionLogger;
 import com.example.literise.utils.SoundEffectsHelper;
 import com.google.android.material.button.MaterialButton;
@@ -69,6 +76,7 @@ public class PlacementTestActivity extends AppCompatActivity {
     private IRTEngine irtEngine;
     private QuestionBankHelper questionBankHelper;
     private AdaptiveQuestionHelper adaptiveHelper;
+    private LocalAdaptiveQuestionHelper localHelper; // Set only in offline CAT mode
     private PlacementQuestion currentQuestion;
     private List<PlacementQuestion> categoryQuestions;
     private int currentSessionId;
@@ -84,13 +92,14 @@ public class PlacementTestActivity extends AppCompatActivity {
     private SessionManager sessionManager;
 
     // Question tracking
+    private static final int CATEGORY_COUNT = 5;
     private int currentQuestionNumber = 1;
-    private int totalQuestions = 25;
+    private int totalQuestions; // Upper bound: CATEGORY_COUNT × max items per category
     private int currentCategory = 1;
     private int previousCategory = 0;
     private String selectedAnswer = "";
     private String selectedAnswerLetter = ""; // A, B, C, or D
-    private int questionsPerCategory = 5; // 5 questions per category (5 categories × 5 = 25)
+    private PlacementStoppingRule stoppingRule; // When to move on to the next category
     private long startTime;
     private boolean answerAlreadySubmitted = false; // For pronunciation questions
     private static final int PERMISSION_REQUEST_RECORD_AUDIO = 1002;
@@ -126,13 +135,23 @@ public class PlacementTestActivity extends AppCompatActivity {
         sessionManager = new SessionManager(this);
 
         // Initialize IRT Engine and Question Bank
-        irtEngine = new IRTEngine();
+        // Offline CAT has no server theta to sync with, so it uses the EAP estimate
+        irtEngine = new IRTEngine(AppConfig.LOCAL_PLACEMENT_CAT
+                ? EstimationMode.EAP : EstimationMode.GRADIENT);
         questionBankHelper = new QuestionBankHelper(this);
 
+        // Category length: fixed or standard-error based (see AppConfig)
+        stoppingRule = PlacementStoppingRule.fromConfig();
+        totalQuestions = CATEGORY_COUNT * stoppingRule.getMaxItems();
+
         // Initialize Adaptive Question Helper for API-based question selection
         currentSessionId = (int) (System.currentTimeMillis() / 1000);
         String assessmentType = sessionManager.hasCompletedAssessment() ? "PostAssessment" : "PreAssessment";
         adaptiveHelper = new AdaptiveQuestionHelper(this, currentSessionId, assessmentType);
+        if (AppConfig.LOCAL_PLACEMENT_CAT) {
+            localHelper = new LocalAdaptiveQuestionHelper(this, currentSessionId, irtEngine);
+            syncQueuedResponses(); // Flush anything left over from an earlier offline test
+        }
 
         // Initialize Sound Effects
         soundEffectsHelper = new SoundEffectsHelper(this);
@@ -190,6 +209,11 @@ public class PlacementTestActivity extends AppCompatActivity {
 
                 // Increment question number
                 currentQuestionNumber++;
+                if (isPlacementComplete()) {
+                    soundEffectsHelper.playCelebration();
+                    showResults();
+                    return;
+                }
                 // Load next question
                 loadNextQuestion();
                 return;
@@ -223,6 +247,12 @@ public class PlacementTestActivity extends AppCompatActivity {
             return;
         }
 
+        // Offline CAT: select from the on-device bank, no round trip
+        if (localHelper != null) {
+            loadNextLocalQuestion();
+            return;
+        }
+
         // Get category name for API request
         String categoryName = getCategoryName(currentCategory);
 
@@ -240,6 +270,9 @@ public class PlacementTestActivity extends AppCompatActivity {
 
                         // Display the question
                         displayCurrentQuestion();
+
+                        // Start fetching what comes next while the student reads
+                        prefetchNextQuestion();
                     } else {
                         // No more questions available
                         Toast.makeText(PlacementTestActivity.this,
@@ -257,8 +290,9 @@ public class PlacementTestActivity extends AppCompatActivity {
                             "Error loading question: " + error, Toast.LENGTH_SHORT).show();
                     // Retry with next question slot rather than using local fallback IDs
                     // that don't exist in dbo.AssessmentItems on Azure
-                    if (currentCategory < 5) {
+                    if (currentCategory < CATEGORY_COUNT) {
                         currentCategory++;
+                        stoppingRule.startCategory();
                         loadNextQuestion();
                     } else {
                         showResults();
@@ -268,6 +302,59 @@ public class PlacementTestActivity extends AppCompatActivity {
         });
     }
 
+    /**
+     * Speculatively fetch the next question for both outcomes of the current one, each at
+     * the theta that outcome would give. The branch matching the scored answer is used and
+     * the other dropped, hiding the fetch behind reading time. No branch is fetched for an
+     * outcome that ends the category, since its item would never be shown.
+     */
+    private void prefetchNextQuestion() {
+        if (currentQuestion == null) return;
+
+        for (boolean ifCorrect : new boolean[]{true, false}) {
+            if (stoppingRule.wouldStopCategoryAfter(currentQuestion, ifCorrect)) continue;
+
+            adaptiveHelper.prefetchNextQuestion(
+                    getCategoryName(currentCategory),
+                    currentQuestion.getQuestionId(),
+                    ifCorrect,
+                    irtEngine.previewTheta(currentQuestion, ifCorrect));
+        }
+    }
+
+    /**
+     * Whether the student more likely than not answers this question correctly (2PL at current theta)
+     */
+    private boolean isCorrectLikelier(PlacementQuestion question) {
+        double discrimination = question.getDiscrimination() > 0 ? question.getDiscrimination() : 1.0;
+        return ItemBank.probability(discrimination, question.getDifficulty(), irtEngine.getTheta()) >= 0.5;
+    }
+
+    private void loadNextLocalQuestion() {
+        PlacementQuestion question = localHelper.getNextQuestion(currentCategory);
+
+        if (question == null) {
+            // Local bank has nothing (left) for this category - move on
+            if (currentCategory < CATEGORY_COUNT) {
+                currentCategory++;
+                stoppingRule.startCategory();
+                loadNextQuestion();
+            } else {
+                showResults();
+            }
+            return;
+        }
+
+        currentQuestion = question;
+        questionStartTime = System.currentTimeMillis();
+        displayCurrentQuestion();
+    }
+
+    private void syncQueuedResponses() {
+        // Uploaded with the outbox; also drained at every app start (DashboardActivity)
+        OutboxSyncHelper.getInstance(this).syncNow();
+    }
+
     private void showCategoryTransition() {
         // Play transition sound
         soundEffectsHelper.playTransition();
@@ -377,10 +464,17 @@ public class PlacementTestActivity extends AppCompatActivity {
     }
 
     private void updateProgress() {
-        int progress = (int) ((currentQuestionNumber / (float) totalQuestions) * 100);
+        // Progress by category so early-stopped categories still fill the bar evenly
+        float categoryFraction = Math.min(1f,
+                (stoppingRule.getItemsInCategory() + 1) / (float) stoppingRule.getMaxItems());
+        int progress = (int) (((currentCategory - 1 + categoryFraction) / CATEGORY_COUNT) * 100);
         progressBar.setProgress(progress);
         if (tvQuestionCounter != null) {
-            tvQuestionCounter.setText("Q " + currentQuestionNumber + " / " + totalQuestions);
+            if (stoppingRule.isFixedLength()) {
+                tvQuestionCounter.setText("Q " + currentQuestionNumber + " / " + totalQuestions);
+            } else {
+                tvQuestionCounter.setText("Q " + currentQuestionNumber);
+            }
         }
         if (tvCategoryChip != null) {
             tvCategoryChip.setText(getCategoryChipLabel(currentCategory));
@@ -401,19 +495,20 @@ public class PlacementTestActivity extends AppCompatActivity {
     private void updateCurrentCategory() {
         previousCategory = currentCategory;
 
-        if (currentQuestionNumber <= questionsPerCategory) {
-            currentCategory = 1;
-        } else if (currentQuestionNumber <= questionsPerCategory * 2) {
-            currentCategory = 2;
-        } else if (currentQuestionNumber <= questionsPerCategory * 3) {
-            currentCategory = 3;
-        } else if (currentQuestionNumber <= questionsPerCategory * 4) {
-            currentCategory = 4;
-        } else {
-            currentCategory = 5;
+        // Advance once the stopping rule is satisfied for the current category
+        if (currentCategory < CATEGORY_COUNT && stoppingRule.shouldStopCategory()) {
+            currentCategory++;
+            stoppingRule.startCategory();
         }
     }
 
+    /**
+     * Test is complete once the last category's stopping rule is satisfied
+     */
+    private boolean isPlacementComplete() {
+        return currentCategory >= CATEGORY_COUNT && stoppingRule.shouldStopCategory();
+    }
+
     /**
      * Convert category number to category name for API
      */
@@ -470,6 +565,7 @@ public class PlacementTestActivity extends AppCompatActivity {
         question.setQuestionType(apiQuestion.getQuestionType());
         question.setReadingPassage(apiQuestion.getReadingPassage()); // Set reading passage for comprehension questions
         question.setDifficulty(apiQuestion.getDifficulty());
+        question.setDiscrimination(apiQuestion.getDiscrimination());
 
         // Set answer options
         List<String> options = new ArrayList<>();
@@ -621,7 +717,7 @@ public class PlacementTestActivity extends AppCompatActivity {
         TextView tvScore = questionView.findViewById(R.id.tvScore);
 
         // Show first-time tutorial if never seen before
-        SharedPreferences prefs = getSharedPreferences(PREF_NAME, MODE_PRIVATE);
+        SharedPreferences prefs = KeyValueStore.getInstance(this).getPreferences(PREF_NAME);
         if (!prefs.getBoolean(PREF_PRON_TUTORIAL_SEEN, false)) {
             showPronunciationTutorial();
         }
@@ -788,6 +884,8 @@ public class PlacementTestActivity extends AppCompatActivity {
                                     // Update IRT engine locally with result
                                     double thetaBefore = irtEngine.getTheta();
                                     irtEngine.updateTheta(currentQuestion, isCorrect);
+                                    stoppingRule.recordResponse(currentQuestion, isCorrect);
+                                    adaptiveHelper.commitPrefetch(isCorrect);
                                     double thetaAfter = irtEngine.getTheta();
 
                                     Log.d(TAG, "╠════════════════════════════════════════════════════════════");
@@ -1098,7 +1196,7 @@ public class PlacementTestActivity extends AppCompatActivity {
 
     private void dismissPronunciationTutorial() {
         pronunciationTutorialOverlay.setVisibility(View.GONE);
-        getSharedPreferences(PREF_NAME, MODE_PRIVATE)
+        KeyValueStore.getInstance(this).getPreferences(PREF_NAME)
                 .edit().putBoolean(PREF_PRON_TUTORIAL_SEEN, true).apply();
     }
 
@@ -1215,13 +1313,17 @@ public class PlacementTestActivity extends AppCompatActivity {
         Log.d(TAG, "║ - Question Discrimination: " + currentQuestion.getDiscrimination());
         Log.d(TAG, "╚════════════════════════════════════════════════════════════");
 
+        // Offline CAT: score against the local bank and queue the answer for upload
+        if (localHelper != null) {
+            boolean isCorrect = localHelper.submitAnswer(
+                    currentQuestion, selectedAnswer, finalSelectedAnswerLetter, responseTime);
+            onLocalAnswerScored(isCorrect, finalSelectedAnswerLetter);
+            return;
+        }
+
         // Submit answer to API (send letter, not text)
         final int finalResponseTime = responseTime;
-        adaptiveHelper.submitAnswer(
-                currentQuestion.getQuestionId(),
-                finalSelectedAnswerLetter, // Send letter (A/B/C/D)
-                false, // We don't know if correct yet - API will tell us
-                finalResponseTime,
+        AdaptiveQuestionHelper.AnswerCallback answerCallback =
                 new AdaptiveQuestionHelper.AnswerCallback() {
                     @Override
                     public void onSuccess(SubmitAnswerResponse response) {
@@ -1239,6 +1341,7 @@ public class PlacementTestActivity extends AppCompatActivity {
                             // Update IRT engine with result (for local tracking)
                             double thetaBefore = irtEngine.getTheta();
                             irtEngine.updateTheta(currentQuestion, isCorrect);
+                            stoppingRule.recordResponse(currentQuestion, isCorrect);
                             double thetaAfterLocal = irtEngine.getTheta();
 
                             // Sync theta from API to local IRTEngine for accurate placement calculation
@@ -1268,6 +1371,8 @@ public class PlacementTestActivity extends AppCompatActivity {
                             Log.d(TAG, "║ PROGRESS:");
                             Log.d(TAG, "║ - Completed: " + currentQuestionNumber + " of " + totalQuestions);
                             Log.d(TAG, "║ - Next Question: " + (currentQuestionNumber + 1));
+                            Log.d(TAG, "║ - Category Items: " + stoppingRule.getItemsInCategory()
+                                    + ", Category SE: " + stoppingRule.getStandardError());
 
                             // Play appropriate sound effect
                             if (isCorrect) {
@@ -1283,7 +1388,7 @@ public class PlacementTestActivity extends AppCompatActivity {
                             // Move to next question
                             currentQuestionNumber++;
 
-                            if (currentQuestionNumber > totalQuestions) {
+                            if (isPlacementComplete()) {
                                 // Test complete - show results with celebration
                                 Log.d(TAG, "║ - Status: TEST COMPLETE! 🎉");
                                 Log.d(TAG, "╚════════════════════════════════════════════════════════════");
@@ -1329,6 +1434,7 @@ public class PlacementTestActivity extends AppCompatActivity {
                             // Update IRT engine with result
                             double thetaBefore = irtEngine.getTheta();
                             irtEngine.updateTheta(currentQuestion, isCorrect);
+                            stoppingRule.recordResponse(currentQuestion, isCorrect);
                             double thetaAfter = irtEngine.getTheta();
 
                             Log.e(TAG, "╠════════════════════════════════════════════════════════════");
@@ -1354,7 +1460,7 @@ public class PlacementTestActivity extends AppCompatActivity {
                             // Move to next question
                             currentQuestionNumber++;
 
-                            if (currentQuestionNumber > totalQuestions) {
+                            if (isPlacementComplete()) {
                                 Log.e(TAG, "║ - Status: TEST COMPLETE (with errors)");
                                 Log.e(TAG, "╚════════════════════════════════════════════════════════════");
                                 soundEffectsHelper.playCelebration();
@@ -1367,8 +1473,60 @@ public class PlacementTestActivity extends AppCompatActivity {
                             }
                         });
                     }
-                }
-        );
+                };
+
+        // The next item is requested while the answer is scored, from the category the
+        // stopping rule says it comes from after the likelier outcome (none after the last item)
+        boolean likelyCorrect = isCorrectLikelier(currentQuestion);
+        int nextCategory = stoppingRule.wouldStopCategoryAfter(currentQuestion, likelyCorrect)
+                ? currentCategory + 1
+                : currentCategory;
+        if (AppConfig.PIPELINED_PLACEMENT_SUBMIT && nextCategory <= CATEGORY_COUNT) {
+            // One round trip: submit_answer.php returns the next item as well
+            adaptiveHelper.submitAnswerPipelined(
+                    currentQuestion.getQuestionId(),
+                    finalSelectedAnswerLetter, // Send letter (A/B/C/D)
+                    finalResponseTime,
+                    getCategoryName(nextCategory),
+                    answerCallback);
+        } else {
+            // Two overlapping calls: get_next_question.php at the locally predicted theta,
+            // reconciled with the server's theta when the scored answer comes back
+            adaptiveHelper.submitAnswerOverlapped(
+                    currentQuestion.getQuestionId(),
+                    finalSelectedAnswerLetter, // Send letter (A/B/C/D)
+                    finalResponseTime,
+                    nextCategory <= CATEGORY_COUNT ? getCategoryName(nextCategory) : null,
+                    likelyCorrect,
+                    irtEngine.previewTheta(currentQuestion, likelyCorrect),
+                    answerCallback);
+        }
+    }
+
+    private void onLocalAnswerScored(boolean isCorrect, String selectedLetter) {
+        double thetaBefore = irtEngine.getTheta();
+        irtEngine.updateTheta(currentQuestion, isCorrect);
+        stoppingRule.recordResponse(currentQuestion, isCorrect);
+
+        Log.d(TAG, "Scored locally - Correct: " + isCorrect
+                + ", Theta: " + thetaBefore + " -> " + irtEngine.getTheta()
+                + ", SE: " + irtEngine.getStandardError());
+
+        if (isCorrect) {
+            soundEffectsHelper.playSuccess();
+        } else if (!selectedLetter.isEmpty()) {
+            soundEffectsHelper.playError();
+        }
+
+        currentQuestionNumber++;
+
+        if (isPlacementComplete()) {
+            soundEffectsHelper.playCelebration();
+            showResults();
+        } else {
+            soundEffectsHelper.playChime();
+            loadNextQuestion();
+        }
     }
 
     private void showResults() {
@@ -1382,7 +1540,11 @@ public class PlacementTestActivity extends AppCompatActivity {
         int[] categoryScores = irtEngine.getCategoryScores();
 
         // Get final theta from API (adaptiveHelper has the accurate theta from server)
-        double finalTheta = adaptiveHelper.getCurrentTheta();
+        // Offline CAT never talks to the server, so its local estimate is the final one
+        double finalTheta = localHelper != null ? irtEngine.getTheta() : adaptiveHelper.getCurrentTheta();
+        if (localHelper != null) {
+            syncQueuedResponses();
+        }
 
         // Determine if this is a post-assessment (pre was already completed)
         boolean isPostAssessment = sessionManager.hasCompletedAssessment();
@@ -1412,6 +1574,8 @@ public class PlacementTestActivity extends AppCompatActivity {
         intent.putExtra("level_name", levelName);
         intent.putExtra("accuracy", accuracy);
         intent.putExtra("total_answered", totalAnswered);
+        // Adaptive stopping asks a variable number of items, so report what was actually asked
+        intent.putExtra("total_questions", stoppingRule.isFixedLength() ? totalQuestions : totalAnswered);
         intent.putExtra("total_correct", totalCorrect);
         intent.putExtra("category_scores", categoryScores);
         intent.putExtra("final_theta", finalTheta);
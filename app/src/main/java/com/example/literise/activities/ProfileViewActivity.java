@@ -6,7 +6,6 @@ import android.widget.TextView;
 
 import com.example.literise.R;
 import com.example.literise.api.ApiClient;
-import com.example.literise.api.ApiService;
 import com.example.literise.database.SessionManager;
 import com.example.literise.models.BadgesResponse;
 import com.google.android.material.card.MaterialCardView;
@@ -80,7 +79,7 @@ public class ProfileViewActivity extends BaseNavActivity {
     private void fetchBadgeCount() {
         int studentId = session.getStudentId();
         if (studentId <= 0) return;
-        ApiClient.getClient(this).create(ApiService.class)
+        ApiClient.getApiService(this)
                 .getBadges(studentId)
                 .enqueue(new Callback<BadgesResponse>() {
                     @Override
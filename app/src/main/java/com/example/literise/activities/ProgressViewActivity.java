@@ -7,7 +7,6 @@ import android.widget.TextView;
 
 import com.example.literise.R;
 import com.example.literise.api.ApiClient;
-import com.example.literise.api.ApiService;
 import com.example.literise.database.SessionManager;
 import com.example.literise.models.CheckModulesCompleteResponse;
 import com.google.android.material.button.MaterialButton;
@@ -83,7 +82,7 @@ public class ProgressViewActivity extends BaseNavActivity {
         int studentId = session.getStudentId();
         if (studentId <= 0) return;
 
-        ApiClient.getClient(this).create(ApiService.class)
+        ApiClient.getApiService(this)
                 .checkModulesComplete(studentId)
                 .enqueue(new Callback<CheckModulesCompleteResponse>() {
                     @Override
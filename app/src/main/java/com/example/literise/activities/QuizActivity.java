@@ -17,6 +17,7 @@ import com.example.literise.R;
 import com.example.literise.api.ApiClient;
 import com.example.literise.api.ApiService;
 import com.example.literise.database.SessionManager;
+import com.example.literise.helpers.OutboxSyncHelper;
 import com.example.literise.models.QuizQuestionsResponse;
 import com.example.literise.models.QuizSubmitRequest;
 import com.example.literise.models.QuizSubmitResponse;
@@ -77,6 +78,9 @@ public class QuizActivity extends AppCompatActivity {
     // Currently selected option index: 0=A, 1=B, 2=C, 3=D, -1=none
     private int selectedOptionIndex = -1;
 
+    // Outbox key of a failed submission held while the student can still retry it
+    private String heldSubmissionKey;
+
     @Override
     protected void onCreate(Bundle savedInstanceState) {
         super.onCreate(savedInstanceState);
@@ -156,7 +160,7 @@ public class QuizActivity extends AppCompatActivity {
         progressBar.setVisibility(View.VISIBLE);
         btnNext.setEnabled(false);
 
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        ApiService apiService = ApiClient.getApiService(this);
         apiService.getQuizQuestions(nodeId, placementLevel).enqueue(new Callback<QuizQuestionsResponse>() {
             @Override
             public void onResponse(Call<QuizQuestionsResponse> call, Response<QuizQuestionsResponse> response) {
@@ -260,8 +264,13 @@ public class QuizActivity extends AppCompatActivity {
         int studentId = sessionManager.getStudentId();
 
         QuizSubmitRequest request = new QuizSubmitRequest(studentId, nodeId, placementLevel, selectedAnswers);
+        String outboxKey = OutboxSyncHelper.key(OutboxSyncHelper.TYPE_QUIZ_SUBMISSION, studentId, nodeId);
+
+        // Submitting live: drop a copy held from a failed attempt (held, so it was never sent)
+        OutboxSyncHelper.getInstance(this).cancel(outboxKey);
+        heldSubmissionKey = null;
 
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        ApiService apiService = ApiClient.getApiService(this);
         apiService.submitQuiz(request).enqueue(new Callback<QuizSubmitResponse>() {
             @Override
             public void onResponse(Call<QuizSubmitResponse> call, Response<QuizSubmitResponse> response) {
@@ -278,6 +287,11 @@ public class QuizActivity extends AppCompatActivity {
 
             @Override
             public void onFailure(Call<QuizSubmitResponse> call, Throwable t) {
+                // Keep the answers in the outbox in case the student leaves instead of retrying;
+                // held until then, so a live retry and the outbox never both submit them
+                OutboxSyncHelper.getInstance(QuizActivity.this).enqueueHeld(
+                        OutboxSyncHelper.TYPE_QUIZ_SUBMISSION, outboxKey, request);
+                heldSubmissionKey = outboxKey;
                 progressBar.setVisibility(View.GONE);
                 Toast.makeText(QuizActivity.this, "Network error: " + t.getMessage(), Toast.LENGTH_LONG).show();
                 btnNext.setEnabled(true);
@@ -285,6 +299,16 @@ public class QuizActivity extends AppCompatActivity {
         });
     }
 
+    @Override
+    protected void onDestroy() {
+        super.onDestroy();
+
+        // Leaving without a successful retry: let the outbox submit the held answers
+        if (isFinishing() && heldSubmissionKey != null) {
+            OutboxSyncHelper.getInstance(this).release(heldSubmissionKey);
+        }
+    }
+
     /**
      * Show quiz results and adaptive decision
      */
@@ -12,8 +12,8 @@ import androidx.cardview.widget.CardView;
 
 import com.example.literise.R;
 import com.example.literise.api.ApiClient;
-import com.example.literise.api.ApiService;
 import com.example.literise.database.SessionManager;
+import com.example.literise.helpers.OutboxSyncHelper;
 import com.example.literise.models.AwardBadgeRequest;
 import com.example.literise.models.AwardBadgeResponse;
 import com.example.literise.utils.BadgeEarnedDialog;
@@ -149,7 +149,7 @@ public class QuizResultActivity extends AppCompatActivity {
         int studentId = session.getStudentId();
         if (studentId <= 0) return;
 
-        ApiClient.getClient(this).create(ApiService.class)
+        ApiClient.getApiService(this)
                 .awardBadge(new AwardBadgeRequest(studentId, nodeId))
                 .enqueue(new Callback<AwardBadgeResponse>() {
                     @Override
@@ -163,7 +163,11 @@ public class QuizResultActivity extends AppCompatActivity {
                     }
                     @Override
                     public void onFailure(Call<AwardBadgeResponse> call, Throwable t) {
-                        // Silently fail — badge check is non-critical
+                        // Non-critical here; queued so the badges are still awarded once online
+                        OutboxSyncHelper.getInstance(QuizResultActivity.this).enqueue(
+                                OutboxSyncHelper.TYPE_BADGE_CHECK,
+                                OutboxSyncHelper.key(OutboxSyncHelper.TYPE_BADGE_CHECK, studentId, nodeId),
+                                new AwardBadgeRequest(studentId, nodeId));
                     }
                 });
     }
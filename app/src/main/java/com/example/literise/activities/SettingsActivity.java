@@ -22,6 +22,8 @@ import androidx.core.app.ActivityCompat;
 import androidx.core.content.ContextCompat;
 
 import com.example.literise.R;
+import com.example.literise.api.NetworkMetrics;
+import com.example.literise.database.KeyValueStore;
 import com.example.literise.database.SessionManager;
 import com.example.literise.receivers.DailyReminderReceiver;
 import com.example.literise.utils.MusicManager;
@@ -59,7 +61,7 @@ public class SettingsActivity extends AppCompatActivity {
         setContentView(R.layout.activity_settings);
 
         session = new SessionManager(this);
-        prefs   = getSharedPreferences(PREFS_NAME, MODE_PRIVATE);
+        prefs   = KeyValueStore.getInstance(this).getPreferences(PREFS_NAME);
 
         createNotificationChannel();
         initViews();
@@ -118,7 +120,7 @@ public class SettingsActivity extends AppCompatActivity {
         switchSounds.setOnCheckedChangeListener((btn, checked) -> {
             prefs.edit().putBoolean(KEY_SOUNDS_ENABLED, checked).apply();
             // Mirror to SoundPrefs so SoundEffectsHelper picks it up
-            getSharedPreferences("SoundPrefs", MODE_PRIVATE)
+            KeyValueStore.getInstance(this).getPreferences("SoundPrefs")
                     .edit().putBoolean("sound_enabled", checked).apply();
         });
 
@@ -144,6 +146,10 @@ public class SettingsActivity extends AppCompatActivity {
 
         // About
         cardAboutApp.setOnClickListener(v -> showAboutDialog());
+        cardAboutApp.setOnLongClickListener(v -> {
+            showNetworkStatsDialog();
+            return true;
+        });
 
         // Log out
         btnLogOut.setOnClickListener(v -> showLogoutDialog());
@@ -322,6 +328,24 @@ public class SettingsActivity extends AppCompatActivity {
                 .show();
     }
 
+    // ── Network stats dialog (long-press About) ─────────────────────────────
+
+    private void showNetworkStatsDialog() {
+        new MaterialAlertDialogBuilder(this)
+                .setTitle("Network Stats")
+                .setMessage(NetworkMetrics.formatReport())
+                .setPositiveButton("OK", null)
+                .setNeutralButton("Export", (dialog, which) -> {
+                    Intent share = new Intent(Intent.ACTION_SEND);
+                    share.setType("application/json");
+                    share.putExtra(Intent.EXTRA_SUBJECT, "LiteRise network stats");
+                    share.putExtra(Intent.EXTRA_TEXT, NetworkMetrics.toJson());
+                    startActivity(Intent.createChooser(share, "Export network stats"));
+                })
+                .setNegativeButton("Reset", (dialog, which) -> NetworkMetrics.reset())
+                .show();
+    }
+
     // ── Logout dialog ─────────────────────────────────────────────────────────
 
     private void showLogoutDialog() {
@@ -7,8 +7,8 @@ import android.os.Bundle;
 import androidx.appcompat.app.AppCompatActivity;
 
 import com.example.literise.api.ApiClient;
-import com.example.literise.api.ApiService;
 import com.example.literise.database.SessionManager;
+import com.example.literise.helpers.OutboxSyncHelper;
 import com.example.literise.models.UpdateProgressRequest;
 import com.example.literise.models.UpdateProgressResponse;
 import com.example.literise.utils.MusicManager;
@@ -113,6 +113,7 @@ public abstract class BaseGameActivity extends AppCompatActivity {
      * Marks the game phase complete in StudentNodeProgress.
      * Call this at the end of every game (in saveGameResults / endGame).
      * Non-fatal: logs on failure but never blocks the game flow.
+     * Queued in the outbox if the network is down, so it is not lost offline.
      */
     protected void markGamePhaseComplete(int nodeId) {
         if (nodeId <= 0) return;
@@ -121,13 +122,18 @@ public abstract class BaseGameActivity extends AppCompatActivity {
         int studentId = session.getStudentId();
         if (studentId <= 0) return;
 
-        ApiService api = ApiClient.getClient(this).create(ApiService.class);
-        api.updateNodeProgress(new UpdateProgressRequest(studentId, nodeId, "game"))
+        UpdateProgressRequest request = new UpdateProgressRequest(studentId, nodeId, "game");
+        String outboxKey = OutboxSyncHelper.key(OutboxSyncHelper.TYPE_NODE_PROGRESS, studentId, nodeId, "game");
+        OutboxSyncHelper outbox = OutboxSyncHelper.getInstance(this);
+
+        ApiClient.getApiService(this).updateNodeProgress(request)
                 .enqueue(new Callback<UpdateProgressResponse>() {
                     @Override
                     public void onResponse(Call<UpdateProgressResponse> call,
                                            Response<UpdateProgressResponse> response) {
                         if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
+                            // Drop a copy queued by an earlier attempt that failed offline
+                            outbox.cancel(outboxKey);
                             android.util.Log.d("BaseGameActivity",
                                     "Game phase marked complete for node " + nodeId);
                         } else {
@@ -140,9 +146,10 @@ public abstract class BaseGameActivity extends AppCompatActivity {
                     @Override
                     public void onFailure(Call<UpdateProgressResponse> call, Throwable t) {
                         android.util.Log.w("BaseGameActivity",
-                                "Game phase update failed for node " + nodeId + ": " + t.getMessage());
+                                "Game phase update failed for node " + nodeId + ", queued: " + t.getMessage());
+                        outbox.enqueue(OutboxSyncHelper.TYPE_NODE_PROGRESS, outboxKey, request);
                     }
                 });
     }
 
-}
\ No newline at end of file
+}
@@ -21,7 +21,6 @@ import androidx.recyclerview.widget.RecyclerView;
 
 import com.example.literise.R;
 import com.example.literise.api.ApiClient;
-import com.example.literise.api.ApiService;
 import com.example.literise.database.SessionManager;
 import com.example.literise.helpers.PronunciationHelper;
 import com.example.literise.models.GameContentRequest;
@@ -102,7 +101,7 @@ public class DialogueReadingActivity extends BaseGameActivity {
             generateWithAI(nodeId, lessonContent);
         } else if (nodeId > 0) {
             int level = getIntent().getIntExtra("placement_level", 2);
-            ApiClient.getClient(this).create(ApiService.class)
+            ApiClient.getApiService(this)
                     .getLessonContent(nodeId, level)
                     .enqueue(new Callback<LessonContentResponse>() {
                         @Override public void onResponse(Call<LessonContentResponse> c,
@@ -177,7 +176,7 @@ public class DialogueReadingActivity extends BaseGameActivity {
     // ── AI content ────────────────────────────────────────────────────────────
 
     private void generateWithAI(int nodeId, String lessonContent) {
-        ApiClient.getAiClient(this).create(ApiService.class)
+        ApiClient.getAiApiService(this)
                 .generateGameContent(new GameContentRequest(nodeId, "dialogue_reading", lessonContent))
                 .enqueue(new Callback<GameContentResponse>() {
                     @Override public void onResponse(Call<GameContentResponse> c,
@@ -323,7 +322,7 @@ public class DialogueReadingActivity extends BaseGameActivity {
         MultipartBody.Part ap =
                 MultipartBody.Part.createFormData("audio_file", audioFile.getName(), ab);
 
-        ApiClient.getClient(this).create(ApiService.class)
+        ApiClient.getApiService(this)
                 .evaluateGamePronunciation(sId, tw, ap)
                 .enqueue(new Callback<ResponseBody>() {
                     @Override
@@ -25,6 +25,7 @@ import com.airbnb.lottie.LottieAnimationView;
 import com.example.literise.R;
 import com.example.literise.api.ApiClient;
 import com.example.literise.api.ApiService;
+import com.example.literise.database.LessonDatabase;
 import com.example.literise.database.SessionManager;
 import com.example.literise.models.GameContentRequest;
 import com.example.literise.models.GameContentResponse;
@@ -105,7 +106,7 @@ public class FillInTheBlanksActivity extends BaseGameActivity {
         setContentView(R.layout.activity_fill_in_the_blanks);
 
         session = new SessionManager(this);
-        apiService = ApiClient.getClient(this).create(ApiService.class);
+        apiService = ApiClient.getApiService(this);
 
         nodeId = getIntent().getIntExtra("node_id", 0);
         moduleDomain = getIntent().getStringExtra("module_domain");
@@ -185,7 +186,7 @@ public class FillInTheBlanksActivity extends BaseGameActivity {
             generateWithAI(nodeId, lessonContent);
         } else if (nodeId > 0) {
             int placementLevel = getIntent().getIntExtra("placement_level", 2);
-            ApiService fetchService = ApiClient.getClient(this).create(ApiService.class);
+            ApiService fetchService = ApiClient.getApiService(this);
             fetchService.getLessonContent(nodeId, placementLevel)
                     .enqueue(new Callback<LessonContentResponse>() {
                         @Override
@@ -209,7 +210,7 @@ public class FillInTheBlanksActivity extends BaseGameActivity {
     }
 
     private void generateWithAI(int nodeId, String lessonContent) {
-        ApiService aiService = ApiClient.getAiClient(this).create(ApiService.class);
+        ApiService aiService = ApiClient.getAiApiService(this);
         aiService.generateGameContent(new GameContentRequest(nodeId, "fill_in_blanks", lessonContent))
                 .enqueue(new Callback<GameContentResponse>() {
                     @Override
@@ -583,10 +584,14 @@ public class FillInTheBlanksActivity extends BaseGameActivity {
                 studentId, "FillInTheBlanks", xpEarned)
                 .lessonId(nodeId).accuracyPercentage((float) accuracy)
                 .timeCompleted(timeSeconds).xpEarned(xpEarned).streakAchieved(correctAnswers).build();
+        // Keep the result locally first, so it counts offline and can be uploaded later
+        LessonDatabase lessonDatabase = LessonDatabase.getInstance(this);
+        long localResultId = lessonDatabase.saveGameResult(request, false);
         apiService.saveGameResult(request).enqueue(new Callback<SaveGameResultResponse>() {
             @Override public void onResponse(@NonNull Call<SaveGameResultResponse> call,
                                              @NonNull Response<SaveGameResultResponse> response) {
                 if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
+                    lessonDatabase.markGameResultUploaded(localResultId);
                     SaveGameResultResponse.StudentStats stats = response.body().getStudent();
                     if (stats != null) session.updateTotalXP(stats.getTotalXP());
                 }
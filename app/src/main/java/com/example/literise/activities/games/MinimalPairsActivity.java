@@ -19,7 +19,6 @@ import androidx.core.content.ContextCompat;
 
 import com.example.literise.R;
 import com.example.literise.api.ApiClient;
-import com.example.literise.api.ApiService;
 import com.example.literise.database.SessionManager;
 import com.example.literise.helpers.PronunciationHelper;
 import com.example.literise.models.GameContentRequest;
@@ -111,7 +110,7 @@ public class MinimalPairsActivity extends BaseGameActivity {
             generateWithAI(nodeId, lessonContent);
         } else if (nodeId > 0) {
             int level = getIntent().getIntExtra("placement_level", 2);
-            ApiClient.getClient(this).create(ApiService.class)
+            ApiClient.getApiService(this)
                     .getLessonContent(nodeId, level)
                     .enqueue(new Callback<LessonContentResponse>() {
                         @Override
@@ -245,7 +244,7 @@ public class MinimalPairsActivity extends BaseGameActivity {
     // ── AI generation ────────────────────────────────────────────────────────
 
     private void generateWithAI(int nodeId, String lessonContent) {
-        ApiClient.getAiClient(this).create(ApiService.class)
+        ApiClient.getAiApiService(this)
                 .generateGameContent(new GameContentRequest(nodeId, "minimal_pairs", lessonContent))
                 .enqueue(new Callback<GameContentResponse>() {
                     @Override
@@ -400,7 +399,7 @@ public class MinimalPairsActivity extends BaseGameActivity {
         RequestBody ab  = RequestBody.create(MediaType.parse("audio/3gp"), audioFile);
         MultipartBody.Part ap = MultipartBody.Part.createFormData("audio_file", audioFile.getName(), ab);
 
-        ApiClient.getClient(this).create(ApiService.class)
+        ApiClient.getApiService(this)
                 .evaluateGamePronunciation(sId, tw, ap)
                 .enqueue(new Callback<ResponseBody>() {
                     @Override
@@ -63,6 +63,8 @@ import com.example.literise.api.ApiClient;
 
 import com.example.literise.api.ApiService;
 
+import com.example.literise.database.LessonDatabase;
+
 import com.example.literise.database.SessionManager;
 
 import com.example.literise.models.GameContentRequest;
@@ -437,7 +439,7 @@ public class SentenceScrambleActivity extends BaseGameActivity {
 
         if (nodeId > 0) {
             int placementLevel = getIntent().getIntExtra("placement_level", 2);
-            ApiService fetchService = ApiClient.getClient(this).create(ApiService.class);
+            ApiService fetchService = ApiClient.getApiService(this);
             fetchService.getLessonContent(nodeId, placementLevel)
                     .enqueue(new Callback<LessonContentResponse>() {
                         @Override
@@ -490,7 +492,7 @@ public class SentenceScrambleActivity extends BaseGameActivity {
 
 
 
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        ApiService apiService = ApiClient.getApiService(this);
 
 
 
@@ -569,7 +571,7 @@ public class SentenceScrambleActivity extends BaseGameActivity {
 
 
     private void generateWithAI(int nodeId, String lessonContent) {
-        ApiService aiService = ApiClient.getAiClient(this).create(ApiService.class);
+        ApiService aiService = ApiClient.getAiApiService(this);
         aiService.generateGameContent(new GameContentRequest(nodeId, "sentence_scramble", lessonContent))
                 .enqueue(new Callback<GameContentResponse>() {
                     @Override
@@ -1562,7 +1564,11 @@ public class SentenceScrambleActivity extends BaseGameActivity {
         int nodeId = getIntent().getIntExtra("node_id", -1);
         markGamePhaseComplete(nodeId);
 
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        // Keep the result locally first, so it counts offline and can be uploaded later
+        LessonDatabase lessonDatabase = LessonDatabase.getInstance(this);
+        long localResultId = lessonDatabase.saveGameResult(request, false);
+
+        ApiService apiService = ApiClient.getApiService(this);
 
         apiService.saveGameResult(request).enqueue(new Callback<SaveGameResultResponse>() {
 
@@ -1572,6 +1578,8 @@ public class SentenceScrambleActivity extends BaseGameActivity {
 
                 if (response.isSuccessful() && response.body() != null && response.body().isSuccess()) {
 
+                    lessonDatabase.markGameResultUploaded(localResultId);
+
                     SaveGameResultResponse.StudentStats stats = response.body().getStudent();
 
                     if (stats != null) {
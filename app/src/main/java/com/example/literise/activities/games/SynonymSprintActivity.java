@@ -107,7 +107,7 @@ public class SynonymSprintActivity extends BaseGameActivity {
             generateWithAI(nodeId, lessonContent);
         } else if (nodeId > 0) {
             int placementLevel = getIntent().getIntExtra("placement_level", 2);
-            ApiService fetchService = ApiClient.getClient(this).create(ApiService.class);
+            ApiService fetchService = ApiClient.getApiService(this);
             fetchService.getLessonContent(nodeId, placementLevel)
                     .enqueue(new Callback<LessonContentResponse>() {
                         @Override
@@ -144,7 +144,7 @@ public class SynonymSprintActivity extends BaseGameActivity {
     }
 
     private void generateWithAI(int nodeId, String lessonContent) {
-        ApiService apiService = ApiClient.getAiClient(this).create(ApiService.class);
+        ApiService apiService = ApiClient.getAiApiService(this);
         GameContentRequest request = new GameContentRequest(nodeId, "synonym_sprint", lessonContent);
         apiService.generateGameContent(request).enqueue(new Callback<GameContentResponse>() {
             @Override
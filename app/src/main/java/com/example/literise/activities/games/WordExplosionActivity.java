@@ -91,7 +91,7 @@ public class WordExplosionActivity extends BaseGameActivity {
             generateWithAI(nodeId, lessonContent);
         } else if (nodeId > 0) {
             int placementLevel = getIntent().getIntExtra("placement_level", 2);
-            ApiService fetchService = ApiClient.getClient(this).create(ApiService.class);
+            ApiService fetchService = ApiClient.getApiService(this);
             fetchService.getLessonContent(nodeId, placementLevel)
                     .enqueue(new Callback<LessonContentResponse>() {
                         @Override
@@ -115,7 +115,7 @@ public class WordExplosionActivity extends BaseGameActivity {
     }
 
     private void generateWithAI(int nodeId, String lessonContent) {
-        ApiService aiService = ApiClient.getAiClient(this).create(ApiService.class);
+        ApiService aiService = ApiClient.getAiApiService(this);
         aiService.generateGameContent(new GameContentRequest(nodeId, "word_explosion", lessonContent))
                 .enqueue(new Callback<GameContentResponse>() {
                     @Override
@@ -63,6 +63,8 @@ import com.example.literise.api.ApiClient;
 
 import com.example.literise.api.ApiService;
 
+import com.example.literise.database.LessonDatabase;
+
 import com.example.literise.database.SessionManager;
 
 import com.example.literise.models.GameContentRequest;
@@ -366,7 +368,7 @@ public class WordHuntActivity extends BaseGameActivity {
             // No lesson content in intent (e.g. Replay Game path) — fetch it first, then AI
             int placementLevel = getIntent().getIntExtra("placement_level", 2);
             loadingProgress.setVisibility(View.VISIBLE);
-            ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+            ApiService apiService = ApiClient.getApiService(this);
             apiService.getLessonContent(nodeId, placementLevel)
                     .enqueue(new retrofit2.Callback<com.example.literise.models.LessonContentResponse>() {
                         @Override
@@ -403,7 +405,7 @@ public class WordHuntActivity extends BaseGameActivity {
      * and then to demo words if extraction also fails.
      */
     private void generateWithAI(int nodeId, String lessonContent) {
-        ApiService svc = ApiClient.getClient(this).create(ApiService.class);
+        ApiService svc = ApiClient.getApiService(this);
         svc.generateGameContent(new GameContentRequest(nodeId, "word_hunt", lessonContent))
                 .enqueue(new retrofit2.Callback<GameContentResponse>() {
                     @Override
@@ -481,7 +483,7 @@ public class WordHuntActivity extends BaseGameActivity {
 
 
 
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        ApiService apiService = ApiClient.getApiService(this);
 
         int studentId = session.getStudentId();
 
@@ -1871,7 +1873,15 @@ public class WordHuntActivity extends BaseGameActivity {
 
 
 
-        ApiService apiService = ApiClient.getClient(this).create(ApiService.class);
+        // Keep the result locally first, so it counts offline and can be uploaded later
+
+        LessonDatabase lessonDatabase = LessonDatabase.getInstance(this);
+
+        long localResultId = lessonDatabase.saveGameResult(request, false);
+
+
+
+        ApiService apiService = ApiClient.getApiService(this);
 
         apiService.saveGameResult(request).enqueue(new Callback<SaveGameResultResponse>() {
 
@@ -1891,6 +1901,8 @@ public class WordHuntActivity extends BaseGameActivity {
 
                     if (response.body().isSuccess()) {
 
+                        lessonDatabase.markGameResultUploaded(localResultId);
+
                         SaveGameResultResponse.StudentStats stats = response.body().getStudent();
 
                         if (stats != null) {
@@ -2,12 +2,26 @@ package com.example.literise.api;
 
 import android.content.Context;
 
+import android.util.Log;
 
 
+
+import com.example.literise.BuildConfig;
+
+import com.example.literise.utils.AppConfig;
+
+
+
+import java.io.File;
+
+import java.io.IOException;
+
 import java.util.concurrent.TimeUnit;
 
 
 
+import okhttp3.Cache;
+
 import okhttp3.OkHttpClient;
 
 import okhttp3.logging.HttpLoggingInterceptor;
@@ -18,6 +32,22 @@ import retrofit2.converter.gson.GsonConverterFactory;
 
 
 
+/**
+ * ApiClient - the app's one network stack
+ *
+ * A single OkHttpClient owns the connection pool and dispatcher, so
+ * connections (and TLS sessions) opened by one screen are reused by the next.
+ * The AI client for generate_game_content.php is derived from it with longer
+ * timeouts and shares the same pool, dispatcher and interceptors. ApiService
+ * proxies are created once; use getApiService / getAiApiService instead of
+ * getClient(...).create(ApiService.class).
+ *
+ * Responses of read-mostly endpoints are kept in a disk cache and revalidated
+ * with their ETag; see CachePolicyInterceptor for the per-endpoint policies and
+ * StaleWhileRevalidateInterceptor for serving stale copies without blocking.
+ * Identical GETs made at the same time share one request (InFlightDedupInterceptor).
+ * Every call is timed into NetworkMetrics; bodies are logged in debug builds only.
+ */
 public class ApiClient {
 
 
@@ -30,45 +60,25 @@ public class ApiClient {
 
     private static final String BASE_URL = "http://192.168.1.23/api/";
 
-    private static Retrofit retrofit;
-
-
-
-    public static Retrofit getClient(Context context) {
-
-        if (retrofit == null) {
-
+    private static final String TAG = "ApiClient";
 
+    private static OkHttpClient httpClient;
 
-            // Logging interceptor
-
-            HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
-
-            logging.setLevel(HttpLoggingInterceptor.Level.BODY);
-
-
-
-            // Auth interceptor to add JWT token to requests
-
-            AuthInterceptor authInterceptor = new AuthInterceptor(context);
-
+    private static Cache cache;
 
+    private static Retrofit retrofit;
 
-            OkHttpClient client = new OkHttpClient.Builder()
+    private static Retrofit aiRetrofit;
 
-                    .addInterceptor(authInterceptor) // Add auth interceptor first
+    private static ApiService apiService;
 
-                    .addInterceptor(logging) // Then logging
+    private static ApiService aiApiService;
 
-                    .connectTimeout(30, TimeUnit.SECONDS)
 
-                    .readTimeout(30, TimeUnit.SECONDS)
-
-                    .writeTimeout(30, TimeUnit.SECONDS)
-
-                    .build();
 
+    public static synchronized Retrofit getClient(Context context) {
 
+        if (retrofit == null) {
 
             retrofit = new Retrofit.Builder()
 
@@ -76,7 +86,7 @@ public class ApiClient {
 
                     .addConverterFactory(GsonConverterFactory.create())
 
-                    .client(client)
+                    .client(getHttpClient(context))
 
                     .build();
 
@@ -88,7 +98,7 @@ public class ApiClient {
 
 
 
-    // Backward compatibility - for calls without context (will not have auth)
+    // Backward compatibility - for calls without context (no auth unless a context was seen first)
 
     public static Retrofit getClient() {
 
@@ -99,25 +109,95 @@ public class ApiClient {
      * Returns a Retrofit instance with extended timeouts for AI generation calls.
      * AI calls (generate_game_content.php) can take up to ~30s on the server side
      * (Anthropic API latency), so we use 65s to avoid premature Android-side timeouts.
+     * Shares the connection pool and dispatcher of getClient().
+     */
+    public static synchronized Retrofit getAiClient(Context context) {
+        if (aiRetrofit == null) {
+            OkHttpClient aiClient = getHttpClient(context).newBuilder()
+                    .readTimeout(65, TimeUnit.SECONDS)
+                    .writeTimeout(65, TimeUnit.SECONDS)
+                    .build();
+
+            aiRetrofit = getClient(context).newBuilder()
+                    .client(aiClient)
+                    .build();
+        }
+        return aiRetrofit;
+    }
+
+    /**
+     * Shared ApiService for regular calls
+     */
+    public static synchronized ApiService getApiService(Context context) {
+        if (apiService == null) {
+            apiService = getClient(context).create(ApiService.class);
+        }
+        return apiService;
+    }
+
+    /**
+     * Shared ApiService for AI generation calls (extended timeouts)
      */
-    public static Retrofit getAiClient(Context context) {
-        HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
-        logging.setLevel(HttpLoggingInterceptor.Level.BODY);
-
-        AuthInterceptor authInterceptor = new AuthInterceptor(context);
-
-        OkHttpClient aiClient = new OkHttpClient.Builder()
-                .addInterceptor(authInterceptor)
-                .addInterceptor(logging)
-                .connectTimeout(30, TimeUnit.SECONDS)
-                .readTimeout(65, TimeUnit.SECONDS)
-                .writeTimeout(65, TimeUnit.SECONDS)
-                .build();
-
-        return new Retrofit.Builder()
-                .baseUrl(BASE_URL)
-                .addConverterFactory(GsonConverterFactory.create())
-                .client(aiClient)
-                .build();
+    public static synchronized ApiService getAiApiService(Context context) {
+        if (aiApiService == null) {
+            aiApiService = getAiClient(context).create(ApiService.class);
+        }
+        return aiApiService;
+    }
+
+    private static OkHttpClient getHttpClient(Context context) {
+        if (httpClient == null) {
+            // Auth interceptor to add JWT token to requests; held for the app's lifetime,
+            // so it must not keep the first caller's activity alive
+            AuthInterceptor authInterceptor = new AuthInterceptor(
+                    context != null ? context.getApplicationContext() : null);
+
+            // Disk cache for the endpoints CachePolicyInterceptor knows (needs a context for its directory)
+            if (context != null) {
+                cache = new Cache(new File(context.getCacheDir(), "http_cache"), AppConfig.HTTP_CACHE_SIZE_BYTES);
+            }
+            StaleWhileRevalidateInterceptor staleWhileRevalidate = new StaleWhileRevalidateInterceptor(cache);
+
+            OkHttpClient.Builder builder = new OkHttpClient.Builder()
+                    .addInterceptor(authInterceptor) // Add auth interceptor first
+                    .addInterceptor(staleWhileRevalidate) // Then cached answers
+                    .addInterceptor(new InFlightDedupInterceptor()) // Then one request per identical GET
+                    .addNetworkInterceptor(new CachePolicyInterceptor())
+                    .eventListenerFactory(MetricsEventListener.FACTORY) // Per-endpoint timings and sizes
+                    .connectTimeout(30, TimeUnit.SECONDS)
+                    .readTimeout(30, TimeUnit.SECONDS)
+                    .writeTimeout(30, TimeUnit.SECONDS);
+            if (cache != null) {
+                builder.cache(cache);
+            }
+
+            // Renew the token once on 401 (concurrent 401s share one re-authentication)
+            if (context != null) {
+                builder.authenticator(new TokenAuthenticator(context.getApplicationContext()));
+            }
+
+            // Full bodies (tokens, multipart audio) are buffered and logged in debug builds only
+            if (BuildConfig.DEBUG) {
+                HttpLoggingInterceptor logging = new HttpLoggingInterceptor();
+                logging.setLevel(HttpLoggingInterceptor.Level.BODY);
+                builder.addInterceptor(logging);
+            }
+
+            httpClient = builder.build();
+            staleWhileRevalidate.setClient(httpClient);
+        }
+        return httpClient;
+    }
+
+    /**
+     * Drop every cached response (e.g. on logout, so the next student never sees them)
+     */
+    public static synchronized void clearCache() {
+        if (cache == null) return;
+        try {
+            cache.evictAll();
+        } catch (IOException e) {
+            Log.w(TAG, "Failed to clear HTTP cache: " + e.getMessage());
+        }
     }
-}
\ No newline at end of file
+}
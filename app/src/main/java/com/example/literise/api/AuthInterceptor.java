@@ -4,8 +4,6 @@ package com.example.literise.api;
 
 import android.content.Context;
 
-import android.content.SharedPreferences;
-
 
 
 import java.io.IOException;
@@ -24,6 +22,8 @@ import okhttp3.Response;
 
  * HTTP Interceptor to automatically add JWT token to API requests
 
+ * (the token comes from AuthTokenHolder, in memory; 401s are handled by TokenAuthenticator)
+
  */
 
 public class AuthInterceptor implements Interceptor {
@@ -50,7 +50,7 @@ public class AuthInterceptor implements Interceptor {
 
 
 
-        // Get token from SharedPreferences
+        // No context, no token to add
 
         if (context == null) {
 
@@ -60,11 +60,9 @@ public class AuthInterceptor implements Interceptor {
 
 
 
-        // Get token from SharedPreferences (use same key as SessionManager)
-
-        SharedPreferences prefs = context.getSharedPreferences("LiteRiseSession", Context.MODE_PRIVATE);
+        // Get token from memory (kept in sync by SessionManager)
 
-        String token = prefs.getString("token", null);
+        String token = AuthTokenHolder.getToken(context);
 
 
 
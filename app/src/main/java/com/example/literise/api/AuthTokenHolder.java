@@ -0,0 +1,118 @@
+package com.example.literise.api;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.literise.database.CredentialStore;
+import com.example.literise.database.SessionManager;
+import com.example.literise.models.LrnLoginRequest;
+import com.example.literise.models.Students;
+import com.example.literise.utils.AppConfig;
+
+import java.io.IOException;
+
+import retrofit2.Response;
+
+/**
+ * AuthTokenHolder - the session token, kept in memory for AuthInterceptor
+ *
+ * Read from the session once and then updated by SessionManager (saveToken,
+ * setupDemoUser, logout), so adding the Authorization header costs a field read.
+ * refresh() re-authenticates single-flight: when many requests get a 401 at
+ * once, the first logs in again with the LRN and login code kept encrypted in
+ * CredentialStore while the others wait, and they all retry with the one new token.
+ */
+public final class AuthTokenHolder {
+
+    private static final String TAG = "AuthTokenHolder";
+
+    private static final Object REFRESH_LOCK = new Object();
+
+    private static volatile String token;
+    private static volatile boolean loaded;
+
+    // Last token whose refresh failed, so waiting requests don't each retry the login; guarded by REFRESH_LOCK
+    private static String failedToken;
+    private static long failedAt;
+
+    private AuthTokenHolder() {
+    }
+
+    /**
+     * Current token (null if logged out)
+     */
+    public static String getToken(Context context) {
+        if (!loaded) {
+            synchronized (AuthTokenHolder.class) {
+                if (!loaded) {
+                    token = new SessionManager(context).getToken();
+                    loaded = true;
+                }
+            }
+        }
+        return token;
+    }
+
+    /**
+     * Called by SessionManager whenever it stores a token
+     */
+    public static void setToken(String newToken) {
+        token = newToken;
+        loaded = true;
+    }
+
+    /**
+     * Called by SessionManager on logout
+     */
+    public static void clear() {
+        setToken(null);
+    }
+
+    /**
+     * A token newer than staleToken, logging in again if no other request already has;
+     * null if the session cannot be renewed (no stored login, or the login failed)
+     */
+    static String refresh(Context context, String staleToken) {
+        synchronized (REFRESH_LOCK) {
+            String current = getToken(context);
+            if (current != null && !current.equals(staleToken)) {
+                // Renewed while this request waited
+                return current;
+            }
+            if (staleToken != null && staleToken.equals(failedToken)
+                    && System.currentTimeMillis() - failedAt < AppConfig.AUTH_REFRESH_RETRY_MS) {
+                return null;
+            }
+
+            SessionManager session = new SessionManager(context);
+            CredentialStore.Credentials login = session.getLoginCredentials();
+            if (login == null) return null;
+
+            String fresh = null;
+            try {
+                Response<Students> response = ApiClient.getApiService(context)
+                        .loginWithLrn(new LrnLoginRequest(login.lrn, login.loginCode))
+                        .execute();
+                Students student = response.body();
+                if (response.isSuccessful() && student != null
+                        && student.getToken() != null && !student.getToken().isEmpty()) {
+                    fresh = student.getToken();
+                } else {
+                    Log.w(TAG, "Re-authentication rejected: " + response.code());
+                }
+            } catch (IOException e) {
+                Log.w(TAG, "Re-authentication failed: " + e.getMessage());
+            }
+
+            if (fresh == null) {
+                failedToken = staleToken;
+                failedAt = System.currentTimeMillis();
+                return null;
+            }
+
+            session.saveToken(fresh);
+            Log.d(TAG, "Session token renewed");
+            return fresh;
+        }
+    }
+}
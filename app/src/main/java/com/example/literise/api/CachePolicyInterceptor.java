@@ -0,0 +1,112 @@
+package com.example.literise.api;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+/**
+ * Network interceptor that gives read-mostly endpoints a caching policy
+ *
+ * The PHP endpoints send no usable Cache-Control, so their 200 responses are
+ * stamped with max-age from POLICIES before they reach the HTTP cache. Once
+ * an entry is older than that, OkHttp revalidates it with If-None-Match
+ * (the server's ETag), and a 304 refreshes the cached copy without a body.
+ * Endpoints not listed here are left untouched.
+ */
+public class CachePolicyInterceptor implements Interceptor {
+
+    /**
+     * How one GET endpoint is cached
+     */
+    static final class Policy {
+        // Served from cache without asking the server for this long
+        final int maxAgeSeconds;
+        // Past maxAge: serve the stale copy at once and revalidate in the background
+        final boolean staleWhileRevalidate;
+        // Successful POSTs to these endpoints drop the cached copies
+        final String[] invalidatedBy;
+
+        Policy(int maxAgeSeconds, boolean staleWhileRevalidate, String... invalidatedBy) {
+            this.maxAgeSeconds = maxAgeSeconds;
+            this.staleWhileRevalidate = staleWhileRevalidate;
+            this.invalidatedBy = invalidatedBy;
+        }
+    }
+
+    private static final Map<String, Policy> POLICIES = new HashMap<>();
+
+    static {
+        // Curriculum content: changes only when the content team edits it
+        POLICIES.put("get_quiz_questions.php", new Policy(24 * 60 * 60, true));
+
+        // Per-student progress: every read waits for a conditional GET (never the stale copy,
+        // which would show the state from before the game just played), and the copy is
+        // dropped as soon as the student makes progress. Lesson content carries the
+        // student's pacing, which moves with quiz scores and node progress
+        POLICIES.put("get_lesson_content.php", new Policy(0, false,
+                "update_node_progress.php", "submit_quiz.php"));
+        POLICIES.put("get_module_ladder.php", new Policy(0, false,
+                "update_node_progress.php", "submit_quiz.php", "save_game_results.php"));
+        POLICIES.put("get_badges.php", new Policy(0, false,
+                "award_badge.php", "update_node_progress.php", "submit_quiz.php", "save_game_results.php"));
+
+        // Shared ranking: a minute behind is fine
+        POLICIES.put("get_leaderboard.php", new Policy(60, true,
+                "save_game_results.php", "submit_quiz.php"));
+    }
+
+    /**
+     * Policy for a URL's endpoint, or null if it is not cached
+     */
+    static Policy policyFor(HttpUrl url) {
+        return POLICIES.get(endpoint(url));
+    }
+
+    /**
+     * Endpoint (last path segment) of a URL, e.g. "get_badges.php"
+     */
+    static String endpoint(HttpUrl url) {
+        return url.pathSegments().get(url.pathSize() - 1);
+    }
+
+    /**
+     * Endpoints whose cached responses a successful POST to this URL makes outdated
+     */
+    static List<String> invalidatedBy(HttpUrl url) {
+        String endpoint = endpoint(url);
+        List<String> invalidated = new ArrayList<>();
+        for (Map.Entry<String, Policy> entry : POLICIES.entrySet()) {
+            for (String writer : entry.getValue().invalidatedBy) {
+                if (writer.equals(endpoint)) {
+                    invalidated.add(entry.getKey());
+                    break;
+                }
+            }
+        }
+        return invalidated;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        Response response = chain.proceed(request);
+
+        Policy policy = policyFor(request.url());
+        if (policy == null || !"GET".equals(request.method()) || response.code() != 200) {
+            return response;
+        }
+
+        return response.newBuilder()
+                .removeHeader("Pragma")
+                .removeHeader("Expires")
+                .header("Cache-Control", "private, max-age=" + policy.maxAgeSeconds)
+                .build();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.literise.api;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Application interceptor that lets identical GETs share one network request
+ *
+ * For the endpoints in MEMO_TTL_MS, a request that arrives while the same
+ * request (URL, Authorization and Cache-Control) is already in flight waits
+ * for it and gets its own copy of the same response or error, e.g. when the
+ * dashboard and the progress screen both ask check_modules_complete.php.
+ * A successful response is then reused for the endpoint's TTL (0 = only
+ * while in flight). Any successful write (non-GET) drops the reused
+ * responses. Only listed endpoints are buffered.
+ */
+public class InFlightDedupInterceptor implements Interceptor {
+
+    private static final Map<String, Long> MEMO_TTL_MS = new HashMap<>();
+
+    static {
+        // Asked by several screens on the way into the dashboard
+        MEMO_TTL_MS.put("check_modules_complete.php", 10_000L);
+        MEMO_TTL_MS.put("get_placement_progress.php", 10_000L);
+        MEMO_TTL_MS.put("check_tutorial.php", 10_000L);
+
+        // Progress reloaded after every activity: share in flight only
+        MEMO_TTL_MS.put("get_badges.php", 0L);
+        MEMO_TTL_MS.put("get_lesson_progress.php", 0L);
+        MEMO_TTL_MS.put("get_node_progress.php", 0L);
+        MEMO_TTL_MS.put("get_module_ladder.php", 0L);
+        MEMO_TTL_MS.put("get_leaderboard.php", 0L);
+        MEMO_TTL_MS.put("get_lesson_content.php", 0L);
+        MEMO_TTL_MS.put("get_quiz_questions.php", 0L);
+    }
+
+    /**
+     * One shared request and, once it is done, its outcome
+     */
+    private static final class SharedCall {
+        final CountDownLatch done = new CountDownLatch(1);
+        Response response;
+        byte[] body;
+        MediaType contentType;
+        IOException error;
+        long completedAt;
+
+        /**
+         * A response of its own (fresh body) for one of the requests sharing this call
+         */
+        Response copyFor(Request request) throws IOException {
+            if (error != null) throw error;
+            if (response == null) throw new IOException("Shared request failed");
+            return response.newBuilder()
+                    .request(request)
+                    .body(ResponseBody.create(body, contentType))
+                    .build();
+        }
+    }
+
+    private final Map<String, SharedCall> inFlight = new HashMap<>();
+    private final Map<String, SharedCall> memo = new HashMap<>();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+
+        if (!"GET".equals(request.method())) {
+            Response response = chain.proceed(request);
+            if (response.isSuccessful()) {
+                synchronized (this) {
+                    memo.clear();
+                }
+            }
+            return response;
+        }
+
+        Long ttl = MEMO_TTL_MS.get(CachePolicyInterceptor.endpoint(request.url()));
+        if (ttl == null || request.cacheControl().onlyIfCached()) {
+            return chain.proceed(request);
+        }
+
+        String key = request.url() + "\n" + request.header("Authorization") + "\n" + request.header("Cache-Control");
+        SharedCall call;
+        boolean leader = false;
+        synchronized (this) {
+            SharedCall memoized = memo.get(key);
+            if (memoized != null && System.currentTimeMillis() - memoized.completedAt < ttl) {
+                return memoized.copyFor(request);
+            }
+
+            call = inFlight.get(key);
+            if (call == null) {
+                call = new SharedCall();
+                inFlight.put(key, call);
+                leader = true;
+            }
+        }
+
+        if (leader) {
+            return lead(chain, request, key, call, ttl);
+        }
+
+        // Same request already on its way: wait for its outcome
+        try {
+            call.done.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted waiting for a shared request");
+        }
+        return call.copyFor(request);
+    }
+
+    /**
+     * Send the request for everyone waiting on it and publish the outcome
+     */
+    private Response lead(Chain chain, Request request, String key, SharedCall call, long ttl) throws IOException {
+        try {
+            Response response = chain.proceed(request);
+            try (ResponseBody body = response.body()) {
+                call.body = body != null ? body.bytes() : new byte[0];
+                call.contentType = body != null ? body.contentType() : null;
+            }
+            call.response = response;
+        } catch (IOException e) {
+            call.error = e;
+        } finally {
+            call.completedAt = System.currentTimeMillis();
+            synchronized (this) {
+                inFlight.remove(key);
+                if (ttl > 0 && call.response != null && call.response.isSuccessful()) {
+                    pruneMemo(call.completedAt);
+                    memo.put(key, call);
+                }
+            }
+            call.done.countDown();
+        }
+        return call.copyFor(request);
+    }
+
+    private void pruneMemo(long now) {
+        Iterator<Map.Entry<String, SharedCall>> entries = memo.entrySet().iterator();
+        while (entries.hasNext()) {
+            Map.Entry<String, SharedCall> entry = entries.next();
+            Long ttl = MEMO_TTL_MS.get(CachePolicyInterceptor.endpoint(entry.getValue().response.request().url()));
+            if (ttl == null || now - entry.getValue().completedAt >= ttl) {
+                entries.remove();
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.example.literise.api;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.util.List;
+
+import okhttp3.Call;
+import okhttp3.EventListener;
+import okhttp3.Protocol;
+import okhttp3.Response;
+
+/**
+ * Times each call's phases and hands them to NetworkMetrics when it ends
+ *
+ * One listener per call (FACTORY), so no state is shared between calls.
+ * Only sizes and timings are recorded, never headers or bodies.
+ */
+public class MetricsEventListener extends EventListener {
+
+    public static final EventListener.Factory FACTORY = call -> new MetricsEventListener();
+
+    private long callStart;
+    private long dnsStart = -1;
+    private long dnsMs = -1;
+    private long connectStart = -1;
+    private long connectMs = -1;
+    private long requestStart = -1;
+    private long firstByteMs = -1;
+    private long bytesOut;
+    private long bytesIn;
+    private int responseCode;
+    private boolean cacheHit;
+
+    @Override
+    public void callStart(Call call) {
+        callStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsStart(Call call, String domainName) {
+        dnsStart = System.nanoTime();
+    }
+
+    @Override
+    public void dnsEnd(Call call, String domainName, List<InetAddress> inetAddressList) {
+        if (dnsStart >= 0) dnsMs = elapsedMs(dnsStart);
+    }
+
+    @Override
+    public void connectStart(Call call, InetSocketAddress inetSocketAddress, Proxy proxy) {
+        connectStart = System.nanoTime();
+    }
+
+    @Override
+    public void connectEnd(Call call, InetSocketAddress inetSocketAddress, Proxy proxy, Protocol protocol) {
+        if (connectStart >= 0) connectMs = elapsedMs(connectStart);
+    }
+
+    @Override
+    public void requestHeadersStart(Call call) {
+        // Redirects and revalidations send again; time the last exchange
+        requestStart = System.nanoTime();
+    }
+
+    @Override
+    public void requestBodyEnd(Call call, long byteCount) {
+        bytesOut += byteCount;
+    }
+
+    @Override
+    public void responseHeadersStart(Call call) {
+        if (requestStart >= 0) firstByteMs = elapsedMs(requestStart);
+    }
+
+    @Override
+    public void responseHeadersEnd(Call call, Response response) {
+        responseCode = response.code();
+    }
+
+    @Override
+    public void responseBodyEnd(Call call, long byteCount) {
+        bytesIn += byteCount;
+    }
+
+    @Override
+    public void cacheHit(Call call, Response cachedResponse) {
+        cacheHit = true;
+        responseCode = cachedResponse.code();
+    }
+
+    @Override
+    public void callEnd(Call call) {
+        record(call, responseCode >= 400);
+    }
+
+    @Override
+    public void callFailed(Call call, IOException ioe) {
+        record(call, true);
+    }
+
+    private void record(Call call, boolean error) {
+        NetworkMetrics.record(CachePolicyInterceptor.endpoint(call.request().url()), error, cacheHit,
+                bytesOut, bytesIn, dnsMs, connectMs, firstByteMs, elapsedMs(callStart));
+    }
+
+    private static long elapsedMs(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+}
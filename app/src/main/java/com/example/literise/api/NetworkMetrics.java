@@ -0,0 +1,189 @@
+package com.example.literise.api;
+
+import com.google.gson.GsonBuilder;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * NetworkMetrics - per-endpoint request telemetry for this app session
+ *
+ * Filled by MetricsEventListener for every call made through ApiClient:
+ * request count, errors (HTTP 4xx/5xx or no response), cache hits, bytes
+ * sent and received, and latency histograms for DNS lookup, connect,
+ * time to first byte and the whole call. Kept in memory only; formatReport()
+ * is shown in Settings and toJson() is what gets exported.
+ */
+public final class NetworkMetrics {
+
+    // Histogram bucket upper bounds in milliseconds (the last bucket is open-ended)
+    private static final long[] BUCKET_BOUNDS_MS = {25, 50, 100, 250, 500, 1000, 2500, 5000, 10000};
+
+    private static final Map<String, EndpointStats> endpoints = new TreeMap<>();
+
+    private NetworkMetrics() {
+    }
+
+    /**
+     * Latency distribution over fixed buckets
+     */
+    static final class Histogram {
+        final int[] counts = new int[BUCKET_BOUNDS_MS.length + 1];
+        long count;
+        long totalMs;
+        long maxMs;
+
+        void add(long ms) {
+            int bucket = 0;
+            while (bucket < BUCKET_BOUNDS_MS.length && ms > BUCKET_BOUNDS_MS[bucket]) {
+                bucket++;
+            }
+            counts[bucket]++;
+            count++;
+            totalMs += ms;
+            maxMs = Math.max(maxMs, ms);
+        }
+
+        /**
+         * Upper bound of the bucket holding the given percentile (-1 if empty or past the last bound)
+         */
+        long percentileMs(double percentile) {
+            if (count == 0) return -1;
+            long rank = (long) Math.ceil(percentile * count);
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return i < BUCKET_BOUNDS_MS.length ? BUCKET_BOUNDS_MS[i] : -1;
+                }
+            }
+            return -1;
+        }
+
+        Map<String, Object> toMap() {
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("count", count);
+            map.put("avg_ms", count > 0 ? totalMs / count : 0);
+            map.put("max_ms", maxMs);
+            Map<String, Integer> buckets = new LinkedHashMap<>();
+            for (int i = 0; i < counts.length; i++) {
+                buckets.put(i < BUCKET_BOUNDS_MS.length ? "le_" + BUCKET_BOUNDS_MS[i] : "gt_"
+                        + BUCKET_BOUNDS_MS[BUCKET_BOUNDS_MS.length - 1], counts[i]);
+            }
+            map.put("buckets_ms", buckets);
+            return map;
+        }
+    }
+
+    /**
+     * Totals for one endpoint
+     */
+    static final class EndpointStats {
+        long requests;
+        long errors;
+        long cacheHits;
+        long bytesOut;
+        long bytesIn;
+        final Histogram dns = new Histogram();
+        final Histogram connect = new Histogram();
+        final Histogram firstByte = new Histogram();
+        final Histogram total = new Histogram();
+    }
+
+    /**
+     * One finished call; phase durations are -1 when the phase did not happen
+     * (e.g. no DNS lookup or connect on a pooled connection, no first byte from the cache)
+     */
+    static synchronized void record(String endpoint, boolean error, boolean cacheHit, long bytesOut, long bytesIn,
+                                    long dnsMs, long connectMs, long firstByteMs, long totalMs) {
+        EndpointStats stats = endpoints.get(endpoint);
+        if (stats == null) {
+            stats = new EndpointStats();
+            endpoints.put(endpoint, stats);
+        }
+
+        stats.requests++;
+        if (error) stats.errors++;
+        if (cacheHit) stats.cacheHits++;
+        stats.bytesOut += Math.max(bytesOut, 0);
+        stats.bytesIn += Math.max(bytesIn, 0);
+        if (dnsMs >= 0) stats.dns.add(dnsMs);
+        if (connectMs >= 0) stats.connect.add(connectMs);
+        if (firstByteMs >= 0) stats.firstByte.add(firstByteMs);
+        stats.total.add(totalMs);
+    }
+
+    /**
+     * Readable summary, one block per endpoint, busiest first
+     */
+    public static synchronized String formatReport() {
+        if (endpoints.isEmpty()) return "No requests yet";
+
+        List<Map.Entry<String, EndpointStats>> entries = new ArrayList<>(endpoints.entrySet());
+        entries.sort((a, b) -> Long.compare(b.getValue().requests, a.getValue().requests));
+
+        StringBuilder report = new StringBuilder();
+        for (Map.Entry<String, EndpointStats> entry : entries) {
+            EndpointStats stats = entry.getValue();
+            report.append(entry.getKey()).append('\n')
+                    .append(String.format(Locale.US, "  %d requests, %.1f%% errors, %d cached%n",
+                            stats.requests, 100.0 * stats.errors / stats.requests, stats.cacheHits))
+                    .append(String.format(Locale.US, "  %s out, %s in%n",
+                            formatBytes(stats.bytesOut), formatBytes(stats.bytesIn)))
+                    .append("  total ").append(formatLatency(stats.total))
+                    .append("  first byte ").append(formatLatency(stats.firstByte))
+                    .append("  connect ").append(formatLatency(stats.connect))
+                    .append("  dns ").append(formatLatency(stats.dns))
+                    .append('\n');
+        }
+        return report.toString().trim();
+    }
+
+    /**
+     * Everything recorded, as pretty-printed JSON
+     */
+    public static synchronized String toJson() {
+        Map<String, Object> export = new LinkedHashMap<>();
+        for (Map.Entry<String, EndpointStats> entry : endpoints.entrySet()) {
+            EndpointStats stats = entry.getValue();
+            Map<String, Object> map = new LinkedHashMap<>();
+            map.put("requests", stats.requests);
+            map.put("errors", stats.errors);
+            map.put("cache_hits", stats.cacheHits);
+            map.put("bytes_out", stats.bytesOut);
+            map.put("bytes_in", stats.bytesIn);
+            map.put("dns", stats.dns.toMap());
+            map.put("connect", stats.connect.toMap());
+            map.put("first_byte", stats.firstByte.toMap());
+            map.put("total", stats.total.toMap());
+            export.put(entry.getKey(), map);
+        }
+        return new GsonBuilder().setPrettyPrinting().create().toJson(export);
+    }
+
+    public static synchronized void reset() {
+        endpoints.clear();
+    }
+
+    private static String formatLatency(Histogram histogram) {
+        if (histogram.count == 0) return "-\n";
+        long p50 = histogram.percentileMs(0.5);
+        long p95 = histogram.percentileMs(0.95);
+        return String.format(Locale.US, "avg %d ms, p50 %s, p95 %s, max %d ms%n",
+                histogram.totalMs / histogram.count, formatBound(p50), formatBound(p95), histogram.maxMs);
+    }
+
+    private static String formatBound(long boundMs) {
+        return boundMs >= 0 ? "≤" + boundMs + " ms" : ">" + BUCKET_BOUNDS_MS[BUCKET_BOUNDS_MS.length - 1] + " ms";
+    }
+
+    private static String formatBytes(long bytes) {
+        if (bytes < 1024) return bytes + " B";
+        if (bytes < 1024 * 1024) return String.format(Locale.US, "%.1f KB", bytes / 1024.0);
+        return String.format(Locale.US, "%.1f MB", bytes / (1024.0 * 1024.0));
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.literise.api;
+
+import android.util.Log;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import okhttp3.Cache;
+import okhttp3.CacheControl;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+
+/**
+ * Application interceptor that answers cached endpoints without blocking
+ *
+ * For an endpoint whose CachePolicyInterceptor policy allows it:
+ * - a fresh cached copy is returned as OkHttp normally would
+ * - a stale cached copy is returned at once, and the same request is sent in
+ *   the background (conditionally, with the ETag) to refresh the cache for
+ *   the next screen open
+ * - with nothing cached, the request goes to the network
+ * A request that itself asks for fresh data (no-cache or max-age=0) always
+ * goes to the network. A successful POST drops the cached responses it makes
+ * outdated (e.g. update_node_progress.php drops get_module_ladder.php).
+ */
+public class StaleWhileRevalidateInterceptor implements Interceptor {
+
+    private static final String TAG = "HttpCache";
+
+    // Status OkHttp returns for only-if-cached when nothing usable is cached
+    private static final int UNSATISFIABLE_REQUEST = 504;
+
+    private static final CacheControl REVALIDATE = new CacheControl.Builder()
+            .maxAge(0, TimeUnit.SECONDS)
+            .build();
+
+    private final Cache cache;
+    // URLs being refreshed in the background (one refresh per URL at a time)
+    private final Set<String> revalidating = new HashSet<>();
+    private OkHttpClient client;
+
+    public StaleWhileRevalidateInterceptor(Cache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * The client background refreshes are sent with (the one this interceptor is installed in)
+     */
+    public synchronized void setClient(OkHttpClient client) {
+        this.client = client;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+
+        if (!"GET".equals(request.method())) {
+            Response response = chain.proceed(request);
+            if (response.isSuccessful()) {
+                invalidate(CachePolicyInterceptor.invalidatedBy(request.url()));
+            }
+            return response;
+        }
+
+        CachePolicyInterceptor.Policy policy = CachePolicyInterceptor.policyFor(request.url());
+        CacheControl requested = request.cacheControl();
+        if (cache == null || policy == null || !policy.staleWhileRevalidate
+                || requested.noCache() || requested.maxAgeSeconds() == 0 || requested.onlyIfCached()) {
+            return chain.proceed(request);
+        }
+
+        // Fresh copy: served by the cache alone
+        Response fresh = chain.proceed(request.newBuilder()
+                .cacheControl(new CacheControl.Builder().onlyIfCached().build())
+                .build());
+        if (fresh.code() != UNSATISFIABLE_REQUEST) return fresh;
+        fresh.close();
+
+        // Stale copy: serve it now, refresh behind it
+        Response stale = chain.proceed(request.newBuilder()
+                .cacheControl(CacheControl.FORCE_CACHE)
+                .build());
+        if (stale.code() != UNSATISFIABLE_REQUEST) {
+            revalidate(request);
+            return stale;
+        }
+        stale.close();
+
+        return chain.proceed(request);
+    }
+
+    private void revalidate(Request request) {
+        OkHttpClient revalidateClient;
+        String url = request.url().toString();
+        synchronized (this) {
+            revalidateClient = client;
+            if (revalidateClient == null || !revalidating.add(url)) return;
+        }
+
+        revalidateClient.newCall(request.newBuilder().cacheControl(REVALIDATE).build())
+                .enqueue(new Callback() {
+                    @Override
+                    public void onResponse(Call call, Response response) {
+                        // The cache is written as the body is read
+                        try (ResponseBody body = response.body()) {
+                            if (body != null) body.bytes();
+                            Log.d(TAG, "Revalidated " + CachePolicyInterceptor.endpoint(request.url())
+                                    + (response.networkResponse() != null
+                                    && response.networkResponse().code() == 304 ? " (not modified)" : ""));
+                        } catch (IOException e) {
+                            Log.w(TAG, "Revalidation read failed: " + e.getMessage());
+                        } finally {
+                            done(url);
+                        }
+                    }
+
+                    @Override
+                    public void onFailure(Call call, IOException e) {
+                        Log.w(TAG, "Revalidation failed: " + e.getMessage());
+                        done(url);
+                    }
+                });
+    }
+
+    private synchronized void done(String url) {
+        revalidating.remove(url);
+    }
+
+    /**
+     * Drop every cached response from the given endpoints
+     */
+    private void invalidate(List<String> endpoints) {
+        if (cache == null || endpoints.isEmpty()) return;
+        try {
+            Iterator<String> urls = cache.urls();
+            while (urls.hasNext()) {
+                HttpUrl url = HttpUrl.parse(urls.next());
+                if (url != null && endpoints.contains(CachePolicyInterceptor.endpoint(url))) {
+                    urls.remove();
+                }
+            }
+        } catch (IOException e) {
+            Log.w(TAG, "Cache invalidation failed: " + e.getMessage());
+        }
+    }
+}
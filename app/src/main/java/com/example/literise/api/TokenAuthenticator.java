@@ -0,0 +1,45 @@
+package com.example.literise.api;
+
+import android.content.Context;
+
+import okhttp3.Authenticator;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.Route;
+
+/**
+ * Answers a 401 by renewing the session token (AuthTokenHolder.refresh) and
+ * retrying the request once with it
+ */
+public class TokenAuthenticator implements Authenticator {
+
+    private static final String LOGIN_ENDPOINT = "login_lrn.php";
+    private static final String BEARER = "Bearer ";
+
+    private final Context context;
+
+    public TokenAuthenticator(Context context) {
+        this.context = context;
+    }
+
+    @Override
+    public Request authenticate(Route route, Response response) {
+        Request request = response.request();
+
+        // Already retried with a renewed token, or the login itself was refused
+        if (response.priorResponse() != null
+                || LOGIN_ENDPOINT.equals(CachePolicyInterceptor.endpoint(request.url()))) {
+            return null;
+        }
+
+        String header = request.header("Authorization");
+        String staleToken = header != null && header.startsWith(BEARER) ? header.substring(BEARER.length()) : null;
+
+        String fresh = AuthTokenHolder.refresh(context, staleToken);
+        if (fresh == null) return null;
+
+        return request.newBuilder()
+                .header("Authorization", BEARER + fresh)
+                .build();
+    }
+}
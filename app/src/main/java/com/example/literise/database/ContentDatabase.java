@@ -0,0 +1,138 @@
+package com.example.literise.database;
+
+import android.content.Context;
+import android.database.sqlite.SQLiteDatabase;
+import android.util.Log;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Placement question database prebuilt from the CSV exports at build time
+ * (:core:buildContentDb) and shipped as assets/content.db
+ *
+ * On first use the asset is copied into the app's database directory with a
+ * single file copy, so a fresh install does not insert any content rows. It
+ * is copied again only when the APK ships different content, detected by
+ * comparing the SQLite user_version (the content version) of the asset and
+ * the installed copy.
+ *
+ * Tables: placement_questions and placement_item_ids (see
+ * ContentDatabaseBuilder for the columns).
+ */
+public class ContentDatabase {
+
+    private static final String TAG = "ContentDatabase";
+
+    public static final String DATABASE_NAME = "content.db";
+
+    // Tables
+    public static final String TABLE_PLACEMENT_QUESTIONS = "placement_questions";
+    public static final String TABLE_PLACEMENT_ITEM_IDS = "placement_item_ids";
+
+    // SQLite file header: PRAGMA user_version is a big-endian int at offset 60
+    private static final int USER_VERSION_OFFSET = 60;
+
+    private static ContentDatabase instance;
+
+    private final Context context;
+    private SQLiteDatabase database;
+
+    public static synchronized ContentDatabase getInstance(Context context) {
+        if (instance == null) {
+            instance = new ContentDatabase(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ContentDatabase(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Open content database, installing the asset first if needed; never close it
+     */
+    public synchronized SQLiteDatabase getDatabase() {
+        if (database == null || !database.isOpen()) {
+            File file = context.getDatabasePath(DATABASE_NAME);
+            try {
+                install(file);
+            } catch (IOException e) {
+                throw new IllegalStateException("Could not install " + DATABASE_NAME, e);
+            }
+            database = SQLiteDatabase.openDatabase(file.getPath(), null,
+                    SQLiteDatabase.OPEN_READWRITE | SQLiteDatabase.NO_LOCALIZED_COLLATORS);
+        }
+        return database;
+    }
+
+    /**
+     * Content version of the installed copy (0 if not installed yet)
+     */
+    public int getInstalledVersion() {
+        File file = context.getDatabasePath(DATABASE_NAME);
+        if (!file.exists()) return 0;
+        try (InputStream in = new FileInputStream(file)) {
+            return readUserVersion(in);
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private void install(File file) throws IOException {
+        int assetVersion;
+        try (InputStream in = context.getAssets().open(DATABASE_NAME)) {
+            assetVersion = readUserVersion(in);
+        }
+
+        int installedVersion = getInstalledVersion();
+        if (installedVersion == assetVersion) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        File directory = file.getParentFile();
+        if (directory != null && !directory.exists() && !directory.mkdirs()) {
+            throw new IOException("Could not create " + directory);
+        }
+
+        // Copy next to the target, then swap it in so a crash never leaves half a database
+        File temp = new File(file.getPath() + ".tmp");
+        try (InputStream in = context.getAssets().open(DATABASE_NAME);
+             OutputStream out = new FileOutputStream(temp)) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                out.write(buffer, 0, read);
+            }
+        }
+
+        SQLiteDatabase.deleteDatabase(file);
+        if (!temp.renameTo(file)) {
+            throw new IOException("Could not move " + temp + " to " + file);
+        }
+
+        Log.d(TAG, "Installed content version " + assetVersion + " (was " + installedVersion + ") in "
+                + (System.currentTimeMillis() - start) + " ms");
+    }
+
+    private static int readUserVersion(InputStream in) throws IOException {
+        byte[] header = new byte[USER_VERSION_OFFSET + 4];
+        int offset = 0;
+        while (offset < header.length) {
+            int read = in.read(header, offset, header.length - offset);
+            if (read < 0) {
+                throw new IOException("Truncated SQLite header");
+            }
+            offset += read;
+        }
+        return ((header[USER_VERSION_OFFSET] & 0xFF) << 24)
+                | ((header[USER_VERSION_OFFSET + 1] & 0xFF) << 16)
+                | ((header[USER_VERSION_OFFSET + 2] & 0xFF) << 8)
+                | (header[USER_VERSION_OFFSET + 3] & 0xFF);
+    }
+}
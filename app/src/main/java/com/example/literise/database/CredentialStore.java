@@ -0,0 +1,138 @@
+package com.example.literise.database;
+
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.security.keystore.KeyGenParameterSpec;
+import android.security.keystore.KeyProperties;
+import android.util.Base64;
+import android.util.Log;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.KeyStore;
+
+import javax.crypto.Cipher;
+import javax.crypto.KeyGenerator;
+import javax.crypto.SecretKey;
+import javax.crypto.spec.GCMParameterSpec;
+
+/**
+ * CredentialStore - the LRN login, kept so AuthTokenHolder can renew an expired token
+ *
+ * The LRN and login code are encrypted with an AES-GCM key that lives in the
+ * Android Keystore and never leaves the device. They are kept in their own
+ * preferences file, outside KeyValueStore, because that file is excluded from
+ * backups and device transfer (res/xml/backup_rules.xml and
+ * data_extraction_rules.xml). If the key is unavailable, load() returns null
+ * and the student logs in again once the token expires.
+ */
+public final class CredentialStore {
+
+    private static final String TAG = "CredentialStore";
+
+    // Excluded from backup by name; keep the XML rules in sync
+    private static final String PREF_NAME = "LiteRiseCredentials";
+    private static final String KEY_LOGIN = "login";
+
+    private static final String KEYSTORE = "AndroidKeyStore";
+    private static final String KEY_ALIAS = "literise_login";
+    private static final String TRANSFORMATION = "AES/GCM/NoPadding";
+    private static final int TAG_LENGTH_BITS = 128;
+
+    private CredentialStore() {
+    }
+
+    /**
+     * LRN and login code of the student who logged in
+     */
+    public static final class Credentials {
+        public final String lrn;
+        public final String loginCode;
+
+        Credentials(String lrn, String loginCode) {
+            this.lrn = lrn;
+            this.loginCode = loginCode;
+        }
+    }
+
+    public static void save(Context context, String lrn, String loginCode) {
+        String sealed = encrypt(lrn + '\n' + loginCode);
+        SharedPreferences.Editor editor = prefs(context).edit();
+        if (sealed != null) {
+            editor.putString(KEY_LOGIN, sealed);
+        } else {
+            editor.remove(KEY_LOGIN);
+        }
+        editor.apply();
+    }
+
+    /**
+     * The saved login, or null if there is none or it cannot be decrypted
+     */
+    public static Credentials load(Context context) {
+        String sealed = prefs(context).getString(KEY_LOGIN, null);
+        if (sealed == null) return null;
+
+        String plain = decrypt(sealed);
+        if (plain == null) return null;
+        int split = plain.indexOf('\n');
+        if (split < 0) return null;
+        return new Credentials(plain.substring(0, split), plain.substring(split + 1));
+    }
+
+    public static void clear(Context context) {
+        prefs(context).edit().remove(KEY_LOGIN).apply();
+    }
+
+    private static SharedPreferences prefs(Context context) {
+        return context.getApplicationContext().getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+    }
+
+    /**
+     * Base64 "iv:ciphertext", or null if the Keystore fails
+     */
+    private static String encrypt(String plain) {
+        try {
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.ENCRYPT_MODE, getOrCreateKey());
+            byte[] sealed = cipher.doFinal(plain.getBytes(StandardCharsets.UTF_8));
+            return Base64.encodeToString(cipher.getIV(), Base64.NO_WRAP) + ":"
+                    + Base64.encodeToString(sealed, Base64.NO_WRAP);
+        } catch (GeneralSecurityException | IOException e) {
+            Log.w(TAG, "Could not encrypt login: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static String decrypt(String sealed) {
+        int split = sealed.indexOf(':');
+        if (split < 0) return null;
+        try {
+            byte[] iv = Base64.decode(sealed.substring(0, split), Base64.NO_WRAP);
+            byte[] data = Base64.decode(sealed.substring(split + 1), Base64.NO_WRAP);
+            Cipher cipher = Cipher.getInstance(TRANSFORMATION);
+            cipher.init(Cipher.DECRYPT_MODE, getOrCreateKey(), new GCMParameterSpec(TAG_LENGTH_BITS, iv));
+            return new String(cipher.doFinal(data), StandardCharsets.UTF_8);
+        } catch (GeneralSecurityException | IOException | IllegalArgumentException e) {
+            Log.w(TAG, "Could not decrypt login: " + e.getMessage());
+            return null;
+        }
+    }
+
+    private static synchronized SecretKey getOrCreateKey() throws GeneralSecurityException, IOException {
+        KeyStore keyStore = KeyStore.getInstance(KEYSTORE);
+        keyStore.load(null);
+        if (keyStore.containsAlias(KEY_ALIAS)) {
+            return (SecretKey) keyStore.getKey(KEY_ALIAS, null);
+        }
+
+        KeyGenerator generator = KeyGenerator.getInstance(KeyProperties.KEY_ALGORITHM_AES, KEYSTORE);
+        generator.init(new KeyGenParameterSpec.Builder(KEY_ALIAS,
+                KeyProperties.PURPOSE_ENCRYPT | KeyProperties.PURPOSE_DECRYPT)
+                .setBlockModes(KeyProperties.BLOCK_MODE_GCM)
+                .setEncryptionPaddings(KeyProperties.ENCRYPTION_PADDING_NONE)
+                .build());
+        return generator.generateKey();
+    }
+}
@@ -0,0 +1,367 @@
+package com.example.literise.database;
+
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Gamification ledger: XP, badges, streaks and activity counters
+ *
+ * Every change is appended to an event ledger, and the counters it affects
+ * (gamification_counters) and any badge it awards (earned_badges) are updated
+ * in the same transaction, so the totals can never disagree with the history.
+ * The counters and earned badges are small and held in memory once loaded;
+ * reads and badge checks never touch the disk. One long-lived instance per
+ * process (getInstance), in write-ahead-logging mode.
+ */
+public class GamificationDatabase extends SQLiteOpenHelper {
+    private static final String DATABASE_NAME = "Gamification.db";
+    private static final int DATABASE_VERSION = 1;
+
+    // Tables
+    private static final String TABLE_LEDGER = "gamification_ledger";
+    private static final String TABLE_COUNTERS = "gamification_counters";
+    private static final String TABLE_BADGES = "earned_badges";
+
+    // Ledger Columns
+    private static final String KEY_EVENT_ID = "event_id";
+    private static final String KEY_EVENT_TYPE = "event_type";
+    private static final String KEY_XP = "xp";
+    private static final String KEY_BADGE_ID = "badge_id";
+    private static final String KEY_VALUE = "value";
+    private static final String KEY_CREATED_AT = "created_at";
+
+    // Counter Columns
+    private static final String KEY_COUNTER = "counter_key";
+    private static final String KEY_COUNTER_VALUE = "counter_value";
+
+    // Earned Badge Columns
+    private static final String KEY_EARNED_AT = "earned_at";
+
+    // Event types
+    public static final String EVENT_XP = "xp";
+    public static final String EVENT_BADGE = "badge";
+    public static final String EVENT_LESSON_COMPLETED = "lesson_completed";
+    public static final String EVENT_MODULE_COMPLETED = "module_completed";
+    public static final String EVENT_PERFECT_SCORE = "perfect_score";
+    public static final String EVENT_STORY_WRITTEN = "story_written";
+    public static final String EVENT_WORDS_MASTERED = "words_mastered";
+    public static final String EVENT_ACTIVITY = "activity";
+    public static final String EVENT_IMPORT = "import";
+
+    // Counters
+    public static final String COUNTER_TOTAL_XP = "total_xp";
+    public static final String COUNTER_LEVEL = "current_level";
+    public static final String COUNTER_LESSONS_COMPLETED = "lessons_completed";
+    public static final String COUNTER_MODULES_COMPLETED = "modules_completed";
+    public static final String COUNTER_PERFECT_SCORES = "perfect_scores";
+    public static final String COUNTER_STORIES_WRITTEN = "stories_written";
+    public static final String COUNTER_WORDS_MASTERED = "words_mastered";
+    public static final String COUNTER_LAST_ACTIVITY_DAY = "last_activity_day";
+    public static final String COUNTER_CURRENT_STREAK = "current_streak";
+    public static final String COUNTER_LONGEST_STREAK = "longest_streak";
+
+    private static GamificationDatabase instance;
+
+    // Loaded on first use; only touched while holding the instance lock
+    private Map<String, Integer> counters;
+    private Map<String, Long> earnedBadges;
+
+    // Compiled on first use; only touched while holding the instance lock
+    private SQLiteStatement appendEventStatement;
+    private SQLiteStatement setCounterStatement;
+    private SQLiteStatement insertBadgeStatement;
+
+    public static synchronized GamificationDatabase getInstance(Context context) {
+        if (instance == null) {
+            instance = new GamificationDatabase(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private GamificationDatabase(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        // Append-only history of every XP, badge and counter change
+        db.execSQL("CREATE TABLE " + TABLE_LEDGER + "("
+                + KEY_EVENT_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                + KEY_EVENT_TYPE + " TEXT NOT NULL,"
+                + KEY_XP + " INTEGER DEFAULT 0,"
+                + KEY_BADGE_ID + " TEXT,"
+                + KEY_VALUE + " INTEGER,"
+                + KEY_CREATED_AT + " INTEGER"
+                + ")");
+
+        // Running totals materialized from the ledger
+        db.execSQL("CREATE TABLE " + TABLE_COUNTERS + "("
+                + KEY_COUNTER + " TEXT PRIMARY KEY,"
+                + KEY_COUNTER_VALUE + " INTEGER DEFAULT 0"
+                + ")");
+
+        db.execSQL("CREATE TABLE " + TABLE_BADGES + "("
+                + KEY_BADGE_ID + " TEXT PRIMARY KEY,"
+                + KEY_EARNED_AT + " INTEGER,"
+                + KEY_EVENT_ID + " INTEGER"
+                + ")");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // Nothing to upgrade yet
+    }
+
+    // ==================== READS ====================
+
+    /**
+     * Current value of a counter (0 if never set)
+     */
+    public synchronized int getCounter(String counter) {
+        Integer value = loadLocked().get(counter);
+        return value != null ? value : 0;
+    }
+
+    public synchronized boolean isBadgeEarned(String badgeId) {
+        loadLocked();
+        return earnedBadges.containsKey(badgeId);
+    }
+
+    /**
+     * Earned badge IDs with the time each was earned
+     */
+    public synchronized Map<String, Long> getEarnedBadges() {
+        loadLocked();
+        return new HashMap<>(earnedBadges);
+    }
+
+    /**
+     * True if nothing has ever been recorded
+     */
+    public synchronized boolean isEmpty() {
+        loadLocked();
+        return counters.isEmpty() && earnedBadges.isEmpty();
+    }
+
+    // ==================== EVENTS ====================
+
+    /**
+     * Add XP and store the level the new total gives (levelForXp maps total XP to a level)
+     * Returns true if the level went up
+     */
+    public synchronized boolean addXp(int xp, IntUnaryOperator levelForXp) {
+        int levelBefore = levelForXp.applyAsInt(getCounter(COUNTER_TOTAL_XP));
+        runInTransaction(() -> {
+            appendLocked(EVENT_XP, xp, null, 0);
+            addCounterLocked(COUNTER_TOTAL_XP, xp);
+            setLevelLocked(levelForXp);
+        });
+        return getCounter(COUNTER_LEVEL) > levelBefore;
+    }
+
+    /**
+     * Record one occurrence of an event and increment its counter
+     */
+    public synchronized void increment(String eventType, String counter) {
+        runInTransaction(() -> {
+            appendLocked(eventType, 0, null, 1);
+            addCounterLocked(counter, 1);
+        });
+    }
+
+    /**
+     * Record an event that sets a counter to an absolute value
+     */
+    public synchronized void setCounter(String eventType, String counter, int value) {
+        runInTransaction(() -> {
+            appendLocked(eventType, 0, null, value);
+            setCounterLocked(counter, value);
+        });
+    }
+
+    /**
+     * Record a day of activity with the streak it results in
+     */
+    public synchronized void recordActivity(int day, int currentStreak, int longestStreak) {
+        runInTransaction(() -> {
+            appendLocked(EVENT_ACTIVITY, 0, null, day);
+            setCounterLocked(COUNTER_LAST_ACTIVITY_DAY, day);
+            setCounterLocked(COUNTER_CURRENT_STREAK, currentStreak);
+            setCounterLocked(COUNTER_LONGEST_STREAK, longestStreak);
+        });
+    }
+
+    /**
+     * Award badges with their bonus XP, and store the resulting level, in one transaction.
+     * Badges already earned are skipped.
+     */
+    public synchronized void awardBadges(Iterable<String> badgeIds, int bonusXp, IntUnaryOperator levelForXp) {
+        runInTransaction(() -> {
+            long now = System.currentTimeMillis();
+            boolean awarded = false;
+            for (String badgeId : badgeIds) {
+                if (earnedBadges.containsKey(badgeId)) continue;
+
+                long eventId = appendLocked(EVENT_BADGE, bonusXp, badgeId, 0);
+                insertBadgeLocked(badgeId, now, eventId);
+                addCounterLocked(COUNTER_TOTAL_XP, bonusXp);
+                awarded = true;
+            }
+            if (awarded) {
+                setLevelLocked(levelForXp);
+            }
+        });
+    }
+
+    /**
+     * One-time import of totals kept elsewhere (e.g. the old GamificationPrefs)
+     */
+    public synchronized void importTotals(Map<String, Integer> totals, Iterable<String> badgeIds) {
+        runInTransaction(() -> {
+            long now = System.currentTimeMillis();
+            Integer xp = totals.get(COUNTER_TOTAL_XP);
+            long eventId = appendLocked(EVENT_IMPORT, xp != null ? xp : 0, null, 0);
+            for (Map.Entry<String, Integer> total : totals.entrySet()) {
+                setCounterLocked(total.getKey(), total.getValue());
+            }
+            for (String badgeId : badgeIds) {
+                insertBadgeLocked(badgeId, now, eventId);
+            }
+        });
+    }
+
+    /**
+     * Remove all gamification data (for testing/demo)
+     */
+    public synchronized void resetAll() {
+        runInTransaction(() -> {
+            SQLiteDatabase db = getWritableDatabase();
+            db.delete(TABLE_LEDGER, null, null);
+            db.delete(TABLE_COUNTERS, null, null);
+            db.delete(TABLE_BADGES, null, null);
+            counters.clear();
+            earnedBadges.clear();
+        });
+    }
+
+    // ==================== INTERNALS ====================
+
+    /**
+     * Run the ledger append and counter updates of one event as a single transaction
+     */
+    private void runInTransaction(Runnable body) {
+        SQLiteDatabase db = getWritableDatabase();
+        loadLocked();
+        compileStatements(db);
+
+        boolean committed = false;
+        db.beginTransaction();
+        try {
+            body.run();
+            db.setTransactionSuccessful();
+            committed = true;
+        } finally {
+            db.endTransaction();
+            if (!committed) {
+                // Rolled back: reload the cached totals from the database next time
+                counters = null;
+                earnedBadges = null;
+            }
+        }
+    }
+
+    private long appendLocked(String eventType, int xp, String badgeId, long value) {
+        appendEventStatement.bindString(1, eventType);
+        appendEventStatement.bindLong(2, xp);
+        if (badgeId != null) {
+            appendEventStatement.bindString(3, badgeId);
+        } else {
+            appendEventStatement.bindNull(3);
+        }
+        appendEventStatement.bindLong(4, value);
+        appendEventStatement.bindLong(5, System.currentTimeMillis());
+        return appendEventStatement.executeInsert();
+    }
+
+    private void addCounterLocked(String counter, int delta) {
+        Integer value = counters.get(counter);
+        setCounterLocked(counter, (value != null ? value : 0) + delta);
+    }
+
+    private void setCounterLocked(String counter, int value) {
+        setCounterStatement.bindString(1, counter);
+        setCounterStatement.bindLong(2, value);
+        setCounterStatement.executeInsert();
+        counters.put(counter, value);
+    }
+
+    /**
+     * Level from the XP total as updated so far in this transaction
+     */
+    private void setLevelLocked(IntUnaryOperator levelForXp) {
+        Integer xp = counters.get(COUNTER_TOTAL_XP);
+        setCounterLocked(COUNTER_LEVEL, levelForXp.applyAsInt(xp != null ? xp : 0));
+    }
+
+    private void insertBadgeLocked(String badgeId, long earnedAt, long eventId) {
+        insertBadgeStatement.bindString(1, badgeId);
+        insertBadgeStatement.bindLong(2, earnedAt);
+        insertBadgeStatement.bindLong(3, eventId);
+        insertBadgeStatement.executeInsert();
+        if (!earnedBadges.containsKey(badgeId)) {
+            earnedBadges.put(badgeId, earnedAt);
+        }
+    }
+
+    private Map<String, Integer> loadLocked() {
+        if (counters != null) {
+            return counters;
+        }
+
+        SQLiteDatabase db = getReadableDatabase();
+        Map<String, Integer> loadedCounters = new HashMap<>();
+        Cursor cursor = db.query(TABLE_COUNTERS, new String[]{KEY_COUNTER, KEY_COUNTER_VALUE},
+                null, null, null, null, null);
+        while (cursor.moveToNext()) {
+            loadedCounters.put(cursor.getString(0), cursor.getInt(1));
+        }
+        cursor.close();
+
+        Map<String, Long> loadedBadges = new HashMap<>();
+        cursor = db.query(TABLE_BADGES, new String[]{KEY_BADGE_ID, KEY_EARNED_AT},
+                null, null, null, null, null);
+        while (cursor.moveToNext()) {
+            loadedBadges.put(cursor.getString(0), cursor.getLong(1));
+        }
+        cursor.close();
+
+        counters = loadedCounters;
+        earnedBadges = loadedBadges;
+        return counters;
+    }
+
+    private void compileStatements(SQLiteDatabase db) {
+        if (appendEventStatement != null) {
+            return;
+        }
+
+        appendEventStatement = db.compileStatement("INSERT INTO " + TABLE_LEDGER + " ("
+                + KEY_EVENT_TYPE + ", " + KEY_XP + ", " + KEY_BADGE_ID + ", "
+                + KEY_VALUE + ", " + KEY_CREATED_AT + ") VALUES (?, ?, ?, ?, ?)");
+
+        // Counters are written as absolute values from the in-memory totals
+        setCounterStatement = db.compileStatement("INSERT OR REPLACE INTO " + TABLE_COUNTERS + " ("
+                + KEY_COUNTER + ", " + KEY_COUNTER_VALUE + ") VALUES (?, ?)");
+
+        insertBadgeStatement = db.compileStatement("INSERT OR IGNORE INTO " + TABLE_BADGES + " ("
+                + KEY_BADGE_ID + ", " + KEY_EARNED_AT + ", " + KEY_EVENT_ID + ") VALUES (?, ?, ?)");
+    }
+}
@@ -0,0 +1,434 @@
+package com.example.literise.database;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.literise.utils.AppConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+
+/**
+ * KeyValueStore - the app's single preferences file, cached in memory
+ *
+ * Everything that used to live in its own SharedPreferences file (session,
+ * gamification, settings, sound, module priorities, ...) is kept here under a
+ * namespace named after the old file, so startup reads one file instead of six.
+ * getPreferences(name) returns a SharedPreferences view of one namespace:
+ * - reads come from the in-memory map
+ * - each Editor is applied atomically, and its listeners fire on the main thread
+ * - apply() is write-behind: every edit made within KEY_VALUE_STORE_FLUSH_DELAY_MS
+ *   (or before an activity pauses) reaches storage in one write
+ * - commit() writes synchronously
+ *
+ * The old files are copied in and deleted the first time the store is opened.
+ */
+public class KeyValueStore {
+
+    private static final String TAG = "KeyValueStore";
+    private static final String STORE_NAME = "LiteRiseStore";
+    private static final char SEPARATOR = '/';
+
+    // Reserved namespace for the store's own bookkeeping
+    private static final String KEY_MIGRATED = "_store" + SEPARATOR + "migrated";
+
+    // Files folded into the store on first launch
+    private static final String[] LEGACY_FILES = {
+            "LiteRiseSession", "GamificationPrefs", "LiteRisePrefs",
+            "LiteRiseSettings", "SoundPrefs", "ModulePriorities"
+    };
+
+    // Marks a key removed in an Editor or in the unsaved changes
+    private static final Object REMOVED = new Object();
+
+    private static KeyValueStore instance;
+
+    private final Context context;
+    private final SharedPreferences backing;
+    private final Map<String, Object> values = new HashMap<>();
+    private final Map<String, Object> unsaved = new HashMap<>();
+    private final Map<String, Namespace> namespaces = new HashMap<>();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable flushTask = this::flush;
+    private boolean flushScheduled;
+
+    public static synchronized KeyValueStore getInstance(Context context) {
+        if (instance == null) {
+            instance = new KeyValueStore(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private KeyValueStore(Context context) {
+        this.context = context;
+        this.backing = context.getSharedPreferences(STORE_NAME, Context.MODE_PRIVATE);
+        values.putAll(backing.getAll());
+
+        if (!values.containsKey(KEY_MIGRATED)) {
+            migrateLegacyFiles();
+        }
+
+        if (context instanceof Application) {
+            ((Application) context).registerActivityLifecycleCallbacks(new FlushOnPause());
+        }
+    }
+
+    /**
+     * SharedPreferences view of one namespace (the name of the file it replaces)
+     */
+    public synchronized SharedPreferences getPreferences(String name) {
+        Namespace namespace = namespaces.get(name);
+        if (namespace == null) {
+            namespace = new Namespace(name);
+            namespaces.put(name, namespace);
+        }
+        return namespace;
+    }
+
+    /**
+     * Write unsaved edits now (asynchronously to disk)
+     */
+    public void flush() {
+        synchronized (this) {
+            flushLocked(false);
+        }
+    }
+
+    private void flushLocked(boolean synchronous) {
+        if (flushScheduled) {
+            handler.removeCallbacks(flushTask);
+            flushScheduled = false;
+        }
+        if (unsaved.isEmpty()) return;
+
+        SharedPreferences.Editor editor = backing.edit();
+        for (Map.Entry<String, Object> entry : unsaved.entrySet()) {
+            putValue(editor, entry.getKey(), entry.getValue());
+        }
+        Log.d(TAG, "Flushed " + unsaved.size() + " preference changes");
+        unsaved.clear();
+
+        if (synchronous) {
+            editor.commit();
+        } else {
+            editor.apply();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void putValue(SharedPreferences.Editor editor, String key, Object value) {
+        if (value == REMOVED) {
+            editor.remove(key);
+        } else if (value instanceof String) {
+            editor.putString(key, (String) value);
+        } else if (value instanceof Integer) {
+            editor.putInt(key, (Integer) value);
+        } else if (value instanceof Long) {
+            editor.putLong(key, (Long) value);
+        } else if (value instanceof Float) {
+            editor.putFloat(key, (Float) value);
+        } else if (value instanceof Boolean) {
+            editor.putBoolean(key, (Boolean) value);
+        } else if (value instanceof Set) {
+            editor.putStringSet(key, (Set<String>) value);
+        }
+    }
+
+    private void migrateLegacyFiles() {
+        int migrated = 0;
+        for (String name : LEGACY_FILES) {
+            SharedPreferences legacy = context.getSharedPreferences(name, Context.MODE_PRIVATE);
+            for (Map.Entry<String, ?> entry : legacy.getAll().entrySet()) {
+                String key = name + SEPARATOR + entry.getKey();
+                if (entry.getValue() != null && !values.containsKey(key)) {
+                    values.put(key, entry.getValue());
+                    unsaved.put(key, entry.getValue());
+                    migrated++;
+                }
+            }
+        }
+        values.put(KEY_MIGRATED, true);
+        unsaved.put(KEY_MIGRATED, true);
+
+        // The copy must be on disk before the old files go
+        flushLocked(true);
+        for (String name : LEGACY_FILES) {
+            context.deleteSharedPreferences(name);
+        }
+        Log.d(TAG, "Migrated " + migrated + " preferences from " + LEGACY_FILES.length + " files");
+    }
+
+    /**
+     * Apply one Editor's changes atomically; returns the keys whose value changed
+     */
+    private synchronized List<String> applyEdit(String prefix, boolean clear, Map<String, Object> changes,
+                                                boolean synchronous) {
+        List<String> changed = new ArrayList<>();
+
+        if (clear) {
+            List<String> cleared = new ArrayList<>();
+            for (String key : values.keySet()) {
+                if (key.startsWith(prefix)) cleared.add(key);
+            }
+            for (String key : cleared) {
+                if (!changes.containsKey(key.substring(prefix.length()))) {
+                    values.remove(key);
+                    unsaved.put(key, REMOVED);
+                    changed.add(key.substring(prefix.length()));
+                }
+            }
+        }
+
+        for (Map.Entry<String, Object> change : changes.entrySet()) {
+            String key = prefix + change.getKey();
+            Object value = change.getValue();
+            if (value == REMOVED) {
+                if (values.remove(key) == null) continue;
+            } else if (value.equals(values.put(key, value))) {
+                continue;
+            }
+            unsaved.put(key, value);
+            changed.add(change.getKey());
+        }
+
+        if (synchronous) {
+            flushLocked(true);
+        } else if (!unsaved.isEmpty() && !flushScheduled) {
+            flushScheduled = true;
+            handler.postDelayed(flushTask, AppConfig.KEY_VALUE_STORE_FLUSH_DELAY_MS);
+        }
+        return changed;
+    }
+
+    private synchronized Object get(String key) {
+        return values.get(key);
+    }
+
+    /**
+     * One namespace of the store, behaving like the SharedPreferences file it replaces
+     */
+    private class Namespace implements SharedPreferences {
+
+        private final String prefix;
+        private final WeakHashMap<OnSharedPreferenceChangeListener, Boolean> listeners = new WeakHashMap<>();
+
+        Namespace(String name) {
+            this.prefix = name + SEPARATOR;
+        }
+
+        @Override
+        public Map<String, ?> getAll() {
+            Map<String, Object> all = new HashMap<>();
+            synchronized (KeyValueStore.this) {
+                for (Map.Entry<String, Object> entry : values.entrySet()) {
+                    if (entry.getKey().startsWith(prefix)) {
+                        all.put(entry.getKey().substring(prefix.length()), entry.getValue());
+                    }
+                }
+            }
+            return all;
+        }
+
+        @Override
+        public String getString(String key, String defValue) {
+            Object value = get(prefix + key);
+            return value != null ? (String) value : defValue;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public Set<String> getStringSet(String key, Set<String> defValues) {
+            Object value = get(prefix + key);
+            // A copy, so callers may modify the set they get back
+            return value != null ? new HashSet<>((Set<String>) value) : defValues;
+        }
+
+        @Override
+        public int getInt(String key, int defValue) {
+            Object value = get(prefix + key);
+            return value != null ? (Integer) value : defValue;
+        }
+
+        @Override
+        public long getLong(String key, long defValue) {
+            Object value = get(prefix + key);
+            return value != null ? (Long) value : defValue;
+        }
+
+        @Override
+        public float getFloat(String key, float defValue) {
+            Object value = get(prefix + key);
+            return value != null ? (Float) value : defValue;
+        }
+
+        @Override
+        public boolean getBoolean(String key, boolean defValue) {
+            Object value = get(prefix + key);
+            return value != null ? (Boolean) value : defValue;
+        }
+
+        @Override
+        public boolean contains(String key) {
+            return get(prefix + key) != null;
+        }
+
+        @Override
+        public Editor edit() {
+            return new NamespaceEditor(this);
+        }
+
+        @Override
+        public void registerOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+            synchronized (listeners) {
+                listeners.put(listener, Boolean.TRUE);
+            }
+        }
+
+        @Override
+        public void unregisterOnSharedPreferenceChangeListener(OnSharedPreferenceChangeListener listener) {
+            synchronized (listeners) {
+                listeners.remove(listener);
+            }
+        }
+
+        void notifyChanged(List<String> keys) {
+            List<OnSharedPreferenceChangeListener> targets;
+            synchronized (listeners) {
+                if (keys.isEmpty() || listeners.isEmpty()) return;
+                targets = new ArrayList<>(listeners.keySet());
+            }
+            handler.post(() -> {
+                for (String key : keys) {
+                    for (OnSharedPreferenceChangeListener listener : targets) {
+                        listener.onSharedPreferenceChanged(this, key);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Collects changes and applies them in one step; reusable after apply()/commit()
+     */
+    private class NamespaceEditor implements SharedPreferences.Editor {
+
+        private final Namespace namespace;
+        private final Map<String, Object> changes = new LinkedHashMap<>();
+        private boolean clear;
+
+        NamespaceEditor(Namespace namespace) {
+            this.namespace = namespace;
+        }
+
+        private SharedPreferences.Editor put(String key, Object value) {
+            synchronized (this) {
+                changes.put(key, value != null ? value : REMOVED);
+            }
+            return this;
+        }
+
+        @Override
+        public SharedPreferences.Editor putString(String key, String value) {
+            return put(key, value);
+        }
+
+        @Override
+        public SharedPreferences.Editor putStringSet(String key, Set<String> values) {
+            return put(key, values != null ? new HashSet<>(values) : null);
+        }
+
+        @Override
+        public SharedPreferences.Editor putInt(String key, int value) {
+            return put(key, value);
+        }
+
+        @Override
+        public SharedPreferences.Editor putLong(String key, long value) {
+            return put(key, value);
+        }
+
+        @Override
+        public SharedPreferences.Editor putFloat(String key, float value) {
+            return put(key, value);
+        }
+
+        @Override
+        public SharedPreferences.Editor putBoolean(String key, boolean value) {
+            return put(key, value);
+        }
+
+        @Override
+        public SharedPreferences.Editor remove(String key) {
+            return put(key, null);
+        }
+
+        @Override
+        public synchronized SharedPreferences.Editor clear() {
+            clear = true;
+            return this;
+        }
+
+        @Override
+        public boolean commit() {
+            write(true);
+            return true;
+        }
+
+        @Override
+        public void apply() {
+            write(false);
+        }
+
+        private void write(boolean synchronous) {
+            Map<String, Object> pending;
+            boolean pendingClear;
+            synchronized (this) {
+                pending = new LinkedHashMap<>(changes);
+                pendingClear = clear;
+                changes.clear();
+                clear = false;
+            }
+            namespace.notifyChanged(applyEdit(namespace.prefix, pendingClear, pending, synchronous));
+        }
+    }
+
+    /**
+     * Flushes whenever any activity pauses (app backgrounded or screen changed)
+     */
+    private class FlushOnPause implements Application.ActivityLifecycleCallbacks {
+        @Override
+        public void onActivityPaused(Activity activity) {
+            flush();
+        }
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {}
+
+        @Override
+        public void onActivityStarted(Activity activity) {}
+
+        @Override
+        public void onActivityResumed(Activity activity) {}
+
+        @Override
+        public void onActivityStopped(Activity activity) {}
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {}
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {}
+    }
+}
@@ -5,19 +5,37 @@ import android.content.Context;
 import android.database.Cursor;
 import android.database.sqlite.SQLiteDatabase;
 import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+
+import com.example.literise.models.LessonProgressResponse;
+import com.example.literise.models.SaveGameResultRequest;
+import com.example.literise.utils.AppConfig;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 /**
  * Database helper for storing lesson progress and quiz results
+ *
+ * One long-lived instance per process (getInstance). The database runs in
+ * write-ahead-logging mode and is never closed; the hot writes use compiled
+ * statements, and each logical progress update is a single transaction, so
+ * completing a lesson costs one commit instead of one per statement.
  */
 public class LessonDatabase extends SQLiteOpenHelper {
     private static final String DATABASE_NAME = "LiteRise.db";
-    private static final int DATABASE_VERSION = 2;
+    private static final int DATABASE_VERSION = 7;
 
     // Tables
     private static final String TABLE_LESSON_PROGRESS = "lesson_progress";
     private static final String TABLE_MODULE_PROGRESS = "module_progress";
+    private static final String TABLE_GAME_RESULTS = "game_results";
 
     // Lesson Progress Columns
+    private static final String KEY_STUDENT_ID = "student_id";
     private static final String KEY_LESSON_ID = "lesson_id";
     private static final String KEY_MODULE_ID = "module_id";
     private static final String KEY_IS_UNLOCKED = "is_unlocked";
@@ -27,6 +45,9 @@ public class LessonDatabase extends SQLiteOpenHelper {
     private static final String KEY_ATTEMPTS = "attempts";
     private static final String KEY_COMPLETED_TIMESTAMP = "completed_timestamp";
     private static final String KEY_LAST_ACCESSED = "last_accessed";
+    private static final String KEY_GAMES_PLAYED = "games_played";
+    private static final String KEY_PROGRESS_PERCENT = "progress_percent";
+    private static final String KEY_BEST_SCORE = "best_score";
 
     // Module Progress Columns
     private static final String KEY_LESSONS_COMPLETED = "lessons_completed";
@@ -36,15 +57,83 @@ public class LessonDatabase extends SQLiteOpenHelper {
     private static final String KEY_ASSESSMENT_SCORE = "assessment_score";
     private static final String KEY_ASSESSMENT_PASSED = "assessment_passed";
 
-    public LessonDatabase(Context context) {
+    // Game Results Columns
+    private static final String KEY_RESULT_ID = "result_id";
+    private static final String KEY_GAME_TYPE = "game_type";
+    private static final String KEY_SESSION_ID = "session_id";
+    private static final String KEY_SCORE = "score";
+    private static final String KEY_XP_EARNED = "xp_earned";
+    private static final String KEY_ACCURACY = "accuracy";
+    private static final String KEY_TIME_SECONDS = "time_seconds";
+    private static final String KEY_STREAK = "streak";
+    private static final String KEY_PLAYED_AT = "played_at";
+    private static final String KEY_UPLOADED = "uploaded";
+    private static final String KEY_UPLOAD_ATTEMPTS = "upload_attempts";
+    private static final String KEY_CLIENT_ID = "client_id";
+    private static final String KEY_SOURCE = "source";
+
+    // Where a game result came from: played for real, or made up by DemoDataProvider
+    public static final String SOURCE_LIVE = "live";
+    public static final String SOURCE_DEMO = "demo";
+
+    private static final int PASSING_QUIZ_SCORE = 70;
+    private static final int LESSONS_PER_MODULE = 15;
+
+    private static LessonDatabase instance;
+
+    /**
+     * One stored game result not yet saved by the server; resultId is the local row id
+     */
+    public static class PendingGameResult {
+        private final long resultId;
+        private final SaveGameResultRequest result;
+
+        PendingGameResult(long resultId, SaveGameResultRequest result) {
+            this.resultId = resultId;
+            this.result = result;
+        }
+
+        public long getResultId() { return resultId; }
+        public SaveGameResultRequest getResult() { return result; }
+    }
+
+    // Compiled on first use; only touched while holding the instance lock
+    private SQLiteStatement updateLessonStatement;
+    private SQLiteStatement insertLessonStatement;
+    private SQLiteStatement unlockLessonStatement;
+    private SQLiteStatement insertUnlockedLessonStatement;
+    private SQLiteStatement updateModuleStatement;
+    private SQLiteStatement updateAssessmentStatement;
+    private SQLiteStatement insertModuleStatement;
+    private SQLiteStatement syncLessonStatement;
+    private SQLiteStatement insertSyncedLessonStatement;
+    private SQLiteStatement insertGameResultStatement;
+
+    public static synchronized LessonDatabase getInstance(Context context) {
+        if (instance == null) {
+            instance = new LessonDatabase(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private LessonDatabase(Context context) {
         super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        setWriteAheadLoggingEnabled(true);
     }
 
     @Override
     public void onCreate(SQLiteDatabase db) {
-        // Create lesson_progress table
+        createProgressTables(db);
+        createGameResultsTable(db);
+    }
+
+    /**
+     * lesson_progress and module_progress, one row per student and lesson/module
+     */
+    private void createProgressTables(SQLiteDatabase db) {
         String CREATE_LESSON_TABLE = "CREATE TABLE " + TABLE_LESSON_PROGRESS + "("
-                + KEY_LESSON_ID + " INTEGER PRIMARY KEY,"
+                + KEY_STUDENT_ID + " INTEGER NOT NULL,"
+                + KEY_LESSON_ID + " INTEGER NOT NULL,"
                 + KEY_MODULE_ID + " INTEGER,"
                 + KEY_IS_UNLOCKED + " INTEGER DEFAULT 0,"
                 + KEY_IS_COMPLETED + " INTEGER DEFAULT 0,"
@@ -52,169 +141,237 @@ public class LessonDatabase extends SQLiteOpenHelper {
                 + KEY_QUIZ_SCORE + " INTEGER DEFAULT 0,"
                 + KEY_ATTEMPTS + " INTEGER DEFAULT 0,"
                 + KEY_COMPLETED_TIMESTAMP + " INTEGER DEFAULT 0,"
-                + KEY_LAST_ACCESSED + " INTEGER DEFAULT 0"
+                + KEY_LAST_ACCESSED + " INTEGER DEFAULT 0,"
+                + KEY_GAMES_PLAYED + " INTEGER DEFAULT 0,"
+                + KEY_PROGRESS_PERCENT + " INTEGER DEFAULT 0,"
+                + KEY_BEST_SCORE + " INTEGER DEFAULT 0,"
+                + "PRIMARY KEY (" + KEY_STUDENT_ID + ", " + KEY_LESSON_ID + ")"
                 + ")";
         db.execSQL(CREATE_LESSON_TABLE);
 
-        // Create module_progress table
         String CREATE_MODULE_TABLE = "CREATE TABLE " + TABLE_MODULE_PROGRESS + "("
-                + KEY_MODULE_ID + " INTEGER PRIMARY KEY,"
+                + KEY_STUDENT_ID + " INTEGER NOT NULL,"
+                + KEY_MODULE_ID + " INTEGER NOT NULL,"
                 + KEY_LESSONS_COMPLETED + " INTEGER DEFAULT 0,"
                 + KEY_TOTAL_LESSONS + " INTEGER DEFAULT 15,"
                 + KEY_AVERAGE_SCORE + " INTEGER DEFAULT 0,"
                 + KEY_MODULE_COMPLETED + " INTEGER DEFAULT 0,"
                 + KEY_ASSESSMENT_SCORE + " INTEGER DEFAULT 0,"
-                + KEY_ASSESSMENT_PASSED + " INTEGER DEFAULT 0"
+                + KEY_ASSESSMENT_PASSED + " INTEGER DEFAULT 0,"
+                + "PRIMARY KEY (" + KEY_STUDENT_ID + ", " + KEY_MODULE_ID + ")"
                 + ")";
         db.execSQL(CREATE_MODULE_TABLE);
-
-        // Initialize first lesson as unlocked for each module
-        for (int moduleId = 1; moduleId <= 5; moduleId++) {
-            int firstLessonId = (moduleId * 100) + 1; // 101, 201, 301, etc.
-            ContentValues values = new ContentValues();
-            values.put(KEY_LESSON_ID, firstLessonId);
-            values.put(KEY_MODULE_ID, moduleId);
-            values.put(KEY_IS_UNLOCKED, 1);
-            db.insert(TABLE_LESSON_PROGRESS, null, values);
-        }
-    }
-
-    @Override
-    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_LESSON_PROGRESS);
-        db.execSQL("DROP TABLE IF EXISTS " + TABLE_MODULE_PROGRESS);
-        onCreate(db);
     }
 
-    // ==================== LESSON PROGRESS ====================
-
     /**
-     * Update lesson progress
+     * One row per finished game, kept until uploaded and after (for stats)
      */
-    public void updateLessonProgress(int lessonId, int moduleId, int practiceScore,
-                                     int quizScore, boolean isCompleted) {
-        SQLiteDatabase db = this.getWritableDatabase();
+    private void createGameResultsTable(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_GAME_RESULTS + "("
+                + KEY_RESULT_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                + KEY_STUDENT_ID + " INTEGER,"
+                + KEY_LESSON_ID + " INTEGER,"
+                + KEY_GAME_TYPE + " TEXT,"
+                + KEY_SESSION_ID + " INTEGER,"
+                + KEY_SCORE + " INTEGER DEFAULT 0,"
+                + KEY_XP_EARNED + " INTEGER DEFAULT 0,"
+                + KEY_ACCURACY + " REAL DEFAULT 0,"
+                + KEY_TIME_SECONDS + " INTEGER DEFAULT 0,"
+                + KEY_STREAK + " INTEGER DEFAULT 0,"
+                + KEY_PLAYED_AT + " INTEGER,"
+                + KEY_UPLOADED + " INTEGER DEFAULT 0,"
+                + KEY_UPLOAD_ATTEMPTS + " INTEGER DEFAULT 0,"
+                + KEY_CLIENT_ID + " TEXT,"
+                + KEY_SOURCE + " TEXT DEFAULT '" + SOURCE_LIVE + "'"
+                + ")");
+        createGameResultsLessonIndex(db);
+        createPendingGameResultsIndex(db);
+    }
 
-        ContentValues values = new ContentValues();
-        values.put(KEY_MODULE_ID, moduleId);
-        values.put(KEY_PRACTICE_SCORE, practiceScore);
-        values.put(KEY_QUIZ_SCORE, quizScore);
-        values.put(KEY_IS_COMPLETED, isCompleted ? 1 : 0);
-        values.put(KEY_LAST_ACCESSED, System.currentTimeMillis());
+    private void createGameResultsLessonIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX idx_game_results_lesson ON " + TABLE_GAME_RESULTS
+                + "(" + KEY_SOURCE + ", " + KEY_STUDENT_ID + ", " + KEY_LESSON_ID + ", " + KEY_GAME_TYPE + ")");
+    }
 
-        // Increment attempts
-        Cursor cursor = db.query(TABLE_LESSON_PROGRESS,
-                new String[]{KEY_ATTEMPTS},
-                KEY_LESSON_ID + "=?",
-                new String[]{String.valueOf(lessonId)},
-                null, null, null);
+    private void createPendingGameResultsIndex(SQLiteDatabase db) {
+        db.execSQL("CREATE INDEX idx_game_results_uploaded ON " + TABLE_GAME_RESULTS
+                + "(" + KEY_UPLOADED + ", " + KEY_UPLOAD_ATTEMPTS + ", " + KEY_RESULT_ID + ")");
+    }
 
-        int attempts = 1;
-        if (cursor != null && cursor.moveToFirst()) {
-            attempts = cursor.getInt(0) + 1;
-            cursor.close();
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        if (oldVersion < 2) {
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_LESSON_PROGRESS);
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_MODULE_PROGRESS);
+            onCreate(db);
+            return;
         }
-        values.put(KEY_ATTEMPTS, attempts);
 
-        if (isCompleted && quizScore >= 70) {
-            values.put(KEY_COMPLETED_TIMESTAMP, System.currentTimeMillis());
+        // v4: local game results
+        if (oldVersion < 4) {
+            createGameResultsTable(db);
+        } else if (oldVersion < 5) {
+            // v5: upload attempts, and client ids sent with each upload of a result
+            db.execSQL("ALTER TABLE " + TABLE_GAME_RESULTS + " ADD COLUMN " + KEY_UPLOAD_ATTEMPTS + " INTEGER DEFAULT 0");
+            db.execSQL("ALTER TABLE " + TABLE_GAME_RESULTS + " ADD COLUMN " + KEY_CLIENT_ID + " TEXT");
+            db.execSQL("UPDATE " + TABLE_GAME_RESULTS + " SET " + KEY_CLIENT_ID + "=lower(hex(randomblob(16)))");
+            db.execSQL("DROP INDEX IF EXISTS idx_game_results_uploaded");
+            createPendingGameResultsIndex(db);
         }
 
-        int rowsAffected = db.update(TABLE_LESSON_PROGRESS, values,
-                KEY_LESSON_ID + "=?",
-                new String[]{String.valueOf(lessonId)});
-
-        // If lesson doesn't exist, insert it
-        if (rowsAffected == 0) {
-            values.put(KEY_LESSON_ID, lessonId);
-            values.put(KEY_IS_UNLOCKED, 1);
-            db.insert(TABLE_LESSON_PROGRESS, null, values);
+        // v6: demo results kept apart from real ones. Demo builds only ever record
+        // demo results (DemoDataProvider), so existing rows take the build's source
+        if (oldVersion >= 4 && oldVersion < 6) {
+            db.execSQL("ALTER TABLE " + TABLE_GAME_RESULTS + " ADD COLUMN " + KEY_SOURCE
+                    + " TEXT DEFAULT '" + SOURCE_LIVE + "'");
+            if (AppConfig.DEMO_MODE) {
+                db.execSQL("UPDATE " + TABLE_GAME_RESULTS + " SET " + KEY_SOURCE + "='" + SOURCE_DEMO + "'");
+            }
+            db.execSQL("DROP INDEX IF EXISTS idx_game_results_lesson");
+            createGameResultsLessonIndex(db);
         }
 
-        // If lesson passed, unlock next lesson
-        if (isCompleted && quizScore >= 70) {
-            unlockNextLesson(lessonId, moduleId);
+        // v7: progress kept per student (v3's server columns are part of the new
+        // tables). Older rows can't be told apart by student, so they are dropped;
+        // the server's copy is mirrored again the next time a lesson is opened
+        if (oldVersion < 7) {
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_LESSON_PROGRESS);
+            db.execSQL("DROP TABLE IF EXISTS " + TABLE_MODULE_PROGRESS);
+            createProgressTables(db);
         }
+    }
+
+    // ==================== LESSON PROGRESS ====================
+
+    /**
+     * Update lesson progress (and unlock the next lesson if passed) in one transaction
+     */
+    public synchronized void updateLessonProgress(int studentId, int lessonId, int moduleId, int practiceScore,
+                                                  int quizScore, boolean isCompleted) {
+        SQLiteDatabase db = getWritableDatabase();
+        compileStatements(db);
+
+        long now = System.currentTimeMillis();
+        boolean passed = isCompleted && quizScore >= PASSING_QUIZ_SCORE;
+
+        db.beginTransaction();
+        try {
+            // Attempts are incremented in place, so no read is needed first
+            updateLessonStatement.bindLong(1, moduleId);
+            updateLessonStatement.bindLong(2, practiceScore);
+            updateLessonStatement.bindLong(3, quizScore);
+            updateLessonStatement.bindLong(4, isCompleted ? 1 : 0);
+            updateLessonStatement.bindLong(5, now);
+            updateLessonStatement.bindLong(6, passed ? 1 : 0);
+            updateLessonStatement.bindLong(7, now);
+            updateLessonStatement.bindLong(8, studentId);
+            updateLessonStatement.bindLong(9, lessonId);
+            int rowsAffected = updateLessonStatement.executeUpdateDelete();
+
+            // If lesson doesn't exist, insert it
+            if (rowsAffected == 0) {
+                insertLessonStatement.bindLong(1, studentId);
+                insertLessonStatement.bindLong(2, lessonId);
+                insertLessonStatement.bindLong(3, moduleId);
+                insertLessonStatement.bindLong(4, practiceScore);
+                insertLessonStatement.bindLong(5, quizScore);
+                insertLessonStatement.bindLong(6, isCompleted ? 1 : 0);
+                insertLessonStatement.bindLong(7, passed ? now : 0);
+                insertLessonStatement.bindLong(8, now);
+                insertLessonStatement.executeInsert();
+            }
+
+            // If lesson passed, unlock next lesson
+            if (passed) {
+                unlockNextLessonLocked(studentId, lessonId, moduleId);
+            }
 
-        db.close();
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
     }
 
     /**
      * Unlock next lesson
      */
-    public void unlockNextLesson(int currentLessonId, int moduleId) {
+    public synchronized void unlockNextLesson(int studentId, int currentLessonId, int moduleId) {
+        SQLiteDatabase db = getWritableDatabase();
+        compileStatements(db);
+
+        db.beginTransaction();
+        try {
+            unlockNextLessonLocked(studentId, currentLessonId, moduleId);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private void unlockNextLessonLocked(int studentId, int currentLessonId, int moduleId) {
         int nextLessonId = currentLessonId + 1;
-        int maxLessonId = (moduleId * 100) + 15; // 15 lessons per module
-
-        if (nextLessonId <= maxLessonId) {
-            SQLiteDatabase db = this.getWritableDatabase();
-            ContentValues values = new ContentValues();
-            values.put(KEY_LESSON_ID, nextLessonId);
-            values.put(KEY_MODULE_ID, moduleId);
-            values.put(KEY_IS_UNLOCKED, 1);
-
-            // Check if exists
-            Cursor cursor = db.query(TABLE_LESSON_PROGRESS,
-                    new String[]{KEY_LESSON_ID},
-                    KEY_LESSON_ID + "=?",
-                    new String[]{String.valueOf(nextLessonId)},
-                    null, null, null);
-
-            if (cursor != null && cursor.getCount() == 0) {
-                db.insert(TABLE_LESSON_PROGRESS, null, values);
-            } else {
-                db.update(TABLE_LESSON_PROGRESS,
-                        values,
-                        KEY_LESSON_ID + "=?",
-                        new String[]{String.valueOf(nextLessonId)});
-            }
+        int maxLessonId = (moduleId * 100) + LESSONS_PER_MODULE;
+        if (nextLessonId > maxLessonId) {
+            return;
+        }
 
-            if (cursor != null) cursor.close();
-            db.close();
+        unlockLessonStatement.bindLong(1, moduleId);
+        unlockLessonStatement.bindLong(2, studentId);
+        unlockLessonStatement.bindLong(3, nextLessonId);
+        if (unlockLessonStatement.executeUpdateDelete() == 0) {
+            insertUnlockedLessonStatement.bindLong(1, studentId);
+            insertUnlockedLessonStatement.bindLong(2, nextLessonId);
+            insertUnlockedLessonStatement.bindLong(3, moduleId);
+            insertUnlockedLessonStatement.executeInsert();
         }
     }
 
     /**
-     * Check if lesson is unlocked
+     * Check if lesson is unlocked (the first lesson of each module always is)
      */
-    public boolean isLessonUnlocked(int lessonId) {
-        SQLiteDatabase db = this.getReadableDatabase();
+    public boolean isLessonUnlocked(int studentId, int lessonId) {
+        if (lessonId % 100 == 1) {
+            return true;
+        }
+        SQLiteDatabase db = getReadableDatabase();
         Cursor cursor = db.query(TABLE_LESSON_PROGRESS,
                 new String[]{KEY_IS_UNLOCKED},
-                KEY_LESSON_ID + "=?",
-                new String[]{String.valueOf(lessonId)},
+                KEY_STUDENT_ID + "=? AND " + KEY_LESSON_ID + "=?",
+                new String[]{String.valueOf(studentId), String.valueOf(lessonId)},
                 null, null, null);
 
         boolean isUnlocked = false;
-        if (cursor != null && cursor.moveToFirst()) {
-            isUnlocked = cursor.getInt(0) == 1;
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                isUnlocked = cursor.getInt(0) == 1;
+            }
             cursor.close();
         }
-        db.close();
         return isUnlocked;
     }
 
     /**
      * Get lesson progress
      */
-    public int[] getLessonProgress(int lessonId) {
+    public int[] getLessonProgress(int studentId, int lessonId) {
         // Returns [practiceScore, quizScore, attempts, isCompleted]
-        SQLiteDatabase db = this.getReadableDatabase();
+        SQLiteDatabase db = getReadableDatabase();
         Cursor cursor = db.query(TABLE_LESSON_PROGRESS,
                 new String[]{KEY_PRACTICE_SCORE, KEY_QUIZ_SCORE, KEY_ATTEMPTS, KEY_IS_COMPLETED},
-                KEY_LESSON_ID + "=?",
-                new String[]{String.valueOf(lessonId)},
+                KEY_STUDENT_ID + "=? AND " + KEY_LESSON_ID + "=?",
+                new String[]{String.valueOf(studentId), String.valueOf(lessonId)},
                 null, null, null);
 
         int[] progress = new int[]{0, 0, 0, 0};
-        if (cursor != null && cursor.moveToFirst()) {
-            progress[0] = cursor.getInt(0); // practice score
-            progress[1] = cursor.getInt(1); // quiz score
-            progress[2] = cursor.getInt(2); // attempts
-            progress[3] = cursor.getInt(3); // is completed
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                progress[0] = cursor.getInt(0); // practice score
+                progress[1] = cursor.getInt(1); // quiz score
+                progress[2] = cursor.getInt(2); // attempts
+                progress[3] = cursor.getInt(3); // is completed
+            }
             cursor.close();
         }
-        db.close();
         return progress;
     }
 
@@ -223,119 +380,475 @@ public class LessonDatabase extends SQLiteOpenHelper {
     /**
      * Update module progress
      */
-    public void updateModuleProgress(int moduleId) {
-        SQLiteDatabase db = this.getWritableDatabase();
+    public synchronized void updateModuleProgress(int studentId, int moduleId) {
+        SQLiteDatabase db = getWritableDatabase();
+        compileStatements(db);
+
+        db.beginTransaction();
+        try {
+            updateModuleProgressLocked(db, studentId, moduleId);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
 
+    private void updateModuleProgressLocked(SQLiteDatabase db, int studentId, int moduleId) {
         // Count completed lessons
-        Cursor cursor = db.query(TABLE_LESSON_PROGRESS,
-                new String[]{KEY_LESSON_ID, KEY_QUIZ_SCORE},
-                KEY_MODULE_ID + "=? AND " + KEY_IS_COMPLETED + "=1 AND " + KEY_QUIZ_SCORE + ">=70",
-                new String[]{String.valueOf(moduleId)},
-                null, null, null);
+        Cursor cursor = db.rawQuery("SELECT COUNT(*), COALESCE(SUM(" + KEY_QUIZ_SCORE + "), 0)"
+                        + " FROM " + TABLE_LESSON_PROGRESS
+                        + " WHERE " + KEY_STUDENT_ID + "=? AND " + KEY_MODULE_ID + "=? AND " + KEY_IS_COMPLETED + "=1"
+                        + " AND " + KEY_QUIZ_SCORE + ">=" + PASSING_QUIZ_SCORE,
+                new String[]{String.valueOf(studentId), String.valueOf(moduleId)});
 
         int lessonsCompleted = 0;
         int totalScore = 0;
-
         if (cursor != null) {
-            lessonsCompleted = cursor.getCount();
-            while (cursor.moveToNext()) {
-                totalScore += cursor.getInt(1);
+            if (cursor.moveToFirst()) {
+                lessonsCompleted = cursor.getInt(0);
+                totalScore = cursor.getInt(1);
             }
             cursor.close();
         }
 
         int averageScore = lessonsCompleted > 0 ? totalScore / lessonsCompleted : 0;
-        boolean moduleCompleted = lessonsCompleted >= 15;
-
-        ContentValues values = new ContentValues();
-        values.put(KEY_LESSONS_COMPLETED, lessonsCompleted);
-        values.put(KEY_AVERAGE_SCORE, averageScore);
-        values.put(KEY_MODULE_COMPLETED, moduleCompleted ? 1 : 0);
-
-        int rowsAffected = db.update(TABLE_MODULE_PROGRESS, values,
-                KEY_MODULE_ID + "=?",
-                new String[]{String.valueOf(moduleId)});
-
-        // If module doesn't exist, insert it
-        if (rowsAffected == 0) {
-            values.put(KEY_MODULE_ID, moduleId);
-            db.insert(TABLE_MODULE_PROGRESS, null, values);
-        }
-
-        db.close();
+        boolean moduleCompleted = lessonsCompleted >= LESSONS_PER_MODULE;
+
+        // If module doesn't exist, insert it first
+        insertModuleStatement.bindLong(1, studentId);
+        insertModuleStatement.bindLong(2, moduleId);
+        insertModuleStatement.executeInsert();
+
+        updateModuleStatement.bindLong(1, lessonsCompleted);
+        updateModuleStatement.bindLong(2, averageScore);
+        updateModuleStatement.bindLong(3, moduleCompleted ? 1 : 0);
+        updateModuleStatement.bindLong(4, studentId);
+        updateModuleStatement.bindLong(5, moduleId);
+        updateModuleStatement.executeUpdateDelete();
     }
 
     /**
      * Save module assessment score
      */
-    public void saveModuleAssessment(int moduleId, int assessmentScore) {
-        SQLiteDatabase db = this.getWritableDatabase();
-        ContentValues values = new ContentValues();
-        values.put(KEY_ASSESSMENT_SCORE, assessmentScore);
-        values.put(KEY_ASSESSMENT_PASSED, assessmentScore >= 80 ? 1 : 0);
-
-        int rowsAffected = db.update(TABLE_MODULE_PROGRESS, values,
-                KEY_MODULE_ID + "=?",
-                new String[]{String.valueOf(moduleId)});
-
-        if (rowsAffected == 0) {
-            values.put(KEY_MODULE_ID, moduleId);
-            db.insert(TABLE_MODULE_PROGRESS, null, values);
+    public synchronized void saveModuleAssessment(int studentId, int moduleId, int assessmentScore) {
+        SQLiteDatabase db = getWritableDatabase();
+        compileStatements(db);
+
+        db.beginTransaction();
+        try {
+            insertModuleStatement.bindLong(1, studentId);
+            insertModuleStatement.bindLong(2, moduleId);
+            insertModuleStatement.executeInsert();
+
+            updateAssessmentStatement.bindLong(1, assessmentScore);
+            updateAssessmentStatement.bindLong(2, assessmentScore >= 80 ? 1 : 0);
+            updateAssessmentStatement.bindLong(3, studentId);
+            updateAssessmentStatement.bindLong(4, moduleId);
+            updateAssessmentStatement.executeUpdateDelete();
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
         }
-
-        db.close();
     }
 
     /**
      * Get module progress percentage
      */
-    public int getModuleProgressPercentage(int moduleId) {
-        SQLiteDatabase db = this.getReadableDatabase();
+    public int getModuleProgressPercentage(int studentId, int moduleId) {
+        SQLiteDatabase db = getReadableDatabase();
         Cursor cursor = db.query(TABLE_MODULE_PROGRESS,
                 new String[]{KEY_LESSONS_COMPLETED, KEY_TOTAL_LESSONS},
-                KEY_MODULE_ID + "=?",
-                new String[]{String.valueOf(moduleId)},
+                KEY_STUDENT_ID + "=? AND " + KEY_MODULE_ID + "=?",
+                new String[]{String.valueOf(studentId), String.valueOf(moduleId)},
                 null, null, null);
 
         int percentage = 0;
-        if (cursor != null && cursor.moveToFirst()) {
-            int completed = cursor.getInt(0);
-            int total = cursor.getInt(1);
-            percentage = (int) ((completed / (double) total) * 100);
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                int completed = cursor.getInt(0);
+                int total = cursor.getInt(1);
+                percentage = (int) ((completed / (double) total) * 100);
+            }
             cursor.close();
         }
-        db.close();
         return percentage;
     }
 
     /**
      * Check if module is completed
      */
-    public boolean isModuleCompleted(int moduleId) {
-        SQLiteDatabase db = this.getReadableDatabase();
+    public boolean isModuleCompleted(int studentId, int moduleId) {
+        SQLiteDatabase db = getReadableDatabase();
         Cursor cursor = db.query(TABLE_MODULE_PROGRESS,
                 new String[]{KEY_MODULE_COMPLETED},
-                KEY_MODULE_ID + "=?",
-                new String[]{String.valueOf(moduleId)},
+                KEY_STUDENT_ID + "=? AND " + KEY_MODULE_ID + "=?",
+                new String[]{String.valueOf(studentId), String.valueOf(moduleId)},
                 null, null, null);
 
         boolean isCompleted = false;
-        if (cursor != null && cursor.moveToFirst()) {
-            isCompleted = cursor.getInt(0) == 1;
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                isCompleted = cursor.getInt(0) == 1;
+            }
             cursor.close();
         }
-        db.close();
         return isCompleted;
     }
 
     /**
-     * Reset all progress (for testing)
+     * Reset a student's progress (for testing)
      */
-    public void resetAllProgress() {
-        SQLiteDatabase db = this.getWritableDatabase();
-        db.delete(TABLE_LESSON_PROGRESS, null, null);
-        db.delete(TABLE_MODULE_PROGRESS, null, null);
-        db.close();
-        onCreate(db);
-    }
-}
\ No newline at end of file
+    public synchronized void resetAllProgress(int studentId) {
+        SQLiteDatabase db = getWritableDatabase();
+        String[] args = new String[]{String.valueOf(studentId)};
+        db.beginTransaction();
+        try {
+            db.delete(TABLE_LESSON_PROGRESS, KEY_STUDENT_ID + "=?", args);
+            db.delete(TABLE_MODULE_PROGRESS, KEY_STUDENT_ID + "=?", args);
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    // ==================== SERVER SYNC ====================
+
+    /**
+     * Mirror a student's get_lesson_progress.php response into lesson_progress and module_progress
+     *
+     * All lessons are written in one transaction, then each touched module is
+     * re-aggregated. Merging never regresses local state: completion, unlock
+     * and quiz score only move up, so an unsynced local pass is kept.
+     */
+    public synchronized void syncLessonProgress(int studentId, LessonProgressResponse response) {
+        if (response == null || response.getLessons() == null || response.getLessons().isEmpty()) {
+            return;
+        }
+        List<LessonProgressResponse.LessonProgress> lessons = response.getLessons();
+
+        SQLiteDatabase db = getWritableDatabase();
+        compileStatements(db);
+
+        long now = System.currentTimeMillis();
+        boolean[] touchedModules = new boolean[10];
+
+        db.beginTransaction();
+        try {
+            for (LessonProgressResponse.LessonProgress lesson : lessons) {
+                int lessonId = lesson.getLessonId();
+                int moduleId = lessonId / 100;
+                if (moduleId <= 0) continue;
+
+                boolean completed = lesson.isCompleted();
+                boolean started = !lesson.isNotStarted();
+                int score = Math.round(lesson.getScore());
+
+                syncLessonStatement.bindLong(1, moduleId);
+                syncLessonStatement.bindLong(2, started ? 1 : 0);
+                syncLessonStatement.bindLong(3, completed ? 1 : 0);
+                syncLessonStatement.bindLong(4, score);
+                syncLessonStatement.bindLong(5, lesson.getGamesPlayed());
+                syncLessonStatement.bindLong(6, lesson.getProgressPercent());
+                syncLessonStatement.bindLong(7, lesson.getBestScore());
+                syncLessonStatement.bindLong(8, completed ? 1 : 0);
+                syncLessonStatement.bindLong(9, now);
+                syncLessonStatement.bindLong(10, studentId);
+                syncLessonStatement.bindLong(11, lessonId);
+
+                if (syncLessonStatement.executeUpdateDelete() == 0) {
+                    insertSyncedLessonStatement.bindLong(1, studentId);
+                    insertSyncedLessonStatement.bindLong(2, lessonId);
+                    insertSyncedLessonStatement.bindLong(3, moduleId);
+                    insertSyncedLessonStatement.bindLong(4, started ? 1 : 0);
+                    insertSyncedLessonStatement.bindLong(5, completed ? 1 : 0);
+                    insertSyncedLessonStatement.bindLong(6, score);
+                    insertSyncedLessonStatement.bindLong(7, lesson.getGamesPlayed());
+                    insertSyncedLessonStatement.bindLong(8, lesson.getProgressPercent());
+                    insertSyncedLessonStatement.bindLong(9, lesson.getBestScore());
+                    insertSyncedLessonStatement.bindLong(10, completed ? now : 0);
+                    insertSyncedLessonStatement.executeInsert();
+                }
+
+                if (completed) {
+                    unlockNextLessonLocked(studentId, lessonId, moduleId);
+                }
+                if (moduleId < touchedModules.length) {
+                    touchedModules[moduleId] = true;
+                }
+            }
+
+            for (int moduleId = 1; moduleId < touchedModules.length; moduleId++) {
+                if (touchedModules[moduleId]) {
+                    updateModuleProgressLocked(db, studentId, moduleId);
+                }
+            }
+
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Get a student's synced game progress
+     */
+    public int[] getLessonGameProgress(int studentId, int lessonId) {
+        // Returns [gamesPlayed, isCompleted, progressPercent, bestScore]
+        SQLiteDatabase db = getReadableDatabase();
+        Cursor cursor = db.query(TABLE_LESSON_PROGRESS,
+                new String[]{KEY_GAMES_PLAYED, KEY_IS_COMPLETED, KEY_PROGRESS_PERCENT, KEY_BEST_SCORE},
+                KEY_STUDENT_ID + "=? AND " + KEY_LESSON_ID + "=?",
+                new String[]{String.valueOf(studentId), String.valueOf(lessonId)},
+                null, null, null);
+
+        int[] progress = new int[]{0, 0, 0, 0};
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                progress[0] = cursor.getInt(0); // games played
+                progress[1] = cursor.getInt(1); // is completed
+                progress[2] = cursor.getInt(2); // progress percent
+                progress[3] = cursor.getInt(3); // best score
+            }
+            cursor.close();
+        }
+        return progress;
+    }
+
+    // ==================== GAME RESULTS ====================
+
+    /**
+     * Record a finished game; returns its row id (for markGameResultUploaded)
+     * Results saved with uploaded=false are returned by getPendingGameResults.
+     * Gives the result a client id first, so the live upload and any later
+     * outbox upload of it are recognized by the server as the same result.
+     */
+    public long saveGameResult(SaveGameResultRequest result, boolean uploaded) {
+        return insertGameResult(result, uploaded, SOURCE_LIVE);
+    }
+
+    /**
+     * Record a demo game; it never reaches the server or the student's real stats
+     */
+    public long saveDemoGameResult(SaveGameResultRequest result) {
+        return insertGameResult(result, true, SOURCE_DEMO);
+    }
+
+    private synchronized long insertGameResult(SaveGameResultRequest result, boolean uploaded, String source) {
+        SQLiteDatabase db = getWritableDatabase();
+        compileStatements(db);
+
+        if (result.getClientId() == null) {
+            result.setClientId(UUID.randomUUID().toString());
+        }
+
+        insertGameResultStatement.bindLong(1, result.getStudentId());
+        bindNullableInt(insertGameResultStatement, 2, result.getLessonId());
+        insertGameResultStatement.bindString(3, result.getGameType());
+        bindNullableInt(insertGameResultStatement, 4, result.getSessionId());
+        insertGameResultStatement.bindLong(5, result.getScore());
+        insertGameResultStatement.bindLong(6, result.getXpEarned());
+        insertGameResultStatement.bindDouble(7, result.getAccuracyPercentage());
+        insertGameResultStatement.bindLong(8, result.getTimeCompleted());
+        insertGameResultStatement.bindLong(9, result.getStreakAchieved());
+        insertGameResultStatement.bindLong(10, System.currentTimeMillis());
+        insertGameResultStatement.bindLong(11, uploaded ? 1 : 0);
+        insertGameResultStatement.bindString(12, result.getClientId());
+        insertGameResultStatement.bindString(13, source);
+        return insertGameResultStatement.executeInsert();
+    }
+
+    private static void bindNullableInt(SQLiteStatement statement, int index, Integer value) {
+        if (value != null) {
+            statement.bindLong(index, value);
+        } else {
+            statement.bindNull(index);
+        }
+    }
+
+    /**
+     * Best result of each game a student played in a lesson, keyed by game type (one indexed query)
+     * source is SOURCE_LIVE or SOURCE_DEMO
+     */
+    public Map<String, LessonProgressResponse.GameStats> getLessonGameStats(String source, int studentId,
+                                                                            int lessonId) {
+        Map<String, LessonProgressResponse.GameStats> stats = new HashMap<>();
+        SQLiteDatabase db = getReadableDatabase();
+        Cursor cursor = db.rawQuery("SELECT " + KEY_GAME_TYPE + ", MAX(" + KEY_SCORE + "), MAX(" + KEY_XP_EARNED
+                        + "), MAX(" + KEY_ACCURACY + "), MIN(" + KEY_TIME_SECONDS + "), MAX(" + KEY_PLAYED_AT + ")"
+                        + " FROM " + TABLE_GAME_RESULTS
+                        + " WHERE " + KEY_SOURCE + "=? AND " + KEY_STUDENT_ID + "=? AND " + KEY_LESSON_ID + "=?"
+                        + " GROUP BY " + KEY_GAME_TYPE,
+                new String[]{source, String.valueOf(studentId), String.valueOf(lessonId)});
+
+        if (cursor != null) {
+            while (cursor.moveToNext()) {
+                stats.put(cursor.getString(0), new LessonProgressResponse.GameStats(
+                        cursor.getInt(1), cursor.getInt(2), cursor.getFloat(3), cursor.getInt(4),
+                        String.valueOf(cursor.getLong(5))));
+            }
+            cursor.close();
+        }
+        return stats;
+    }
+
+    /**
+     * XP a student earned across all recorded games of one source
+     */
+    public int getTotalGameXp(String source, int studentId) {
+        SQLiteDatabase db = getReadableDatabase();
+        Cursor cursor = db.rawQuery("SELECT COALESCE(SUM(" + KEY_XP_EARNED + "), 0) FROM " + TABLE_GAME_RESULTS
+                        + " WHERE " + KEY_SOURCE + "=? AND " + KEY_STUDENT_ID + "=?",
+                new String[]{source, String.valueOf(studentId)});
+
+        int total = 0;
+        if (cursor != null) {
+            if (cursor.moveToFirst()) {
+                total = cursor.getInt(0);
+            }
+            cursor.close();
+        }
+        return total;
+    }
+
+    /**
+     * Up to `limit` not-yet-uploaded results played before playedBefore; results
+     * the server has turned down before come last, so they cannot crowd out new ones
+     */
+    public List<PendingGameResult> getPendingGameResults(int limit, long playedBefore) {
+        List<PendingGameResult> results = new ArrayList<>();
+        SQLiteDatabase db = getReadableDatabase();
+        Cursor cursor = db.query(TABLE_GAME_RESULTS,
+                new String[]{KEY_RESULT_ID, KEY_STUDENT_ID, KEY_GAME_TYPE, KEY_SCORE, KEY_SESSION_ID, KEY_LESSON_ID,
+                        KEY_ACCURACY, KEY_TIME_SECONDS, KEY_XP_EARNED, KEY_STREAK, KEY_CLIENT_ID},
+                KEY_UPLOADED + "=0 AND " + KEY_SOURCE + "=? AND " + KEY_PLAYED_AT + "<?",
+                new String[]{SOURCE_LIVE, String.valueOf(playedBefore)},
+                null, null, KEY_UPLOAD_ATTEMPTS + " ASC, " + KEY_RESULT_ID + " ASC", String.valueOf(limit));
+
+        if (cursor != null) {
+            while (cursor.moveToNext()) {
+                SaveGameResultRequest result = new SaveGameResultRequest.Builder(cursor.getInt(1), cursor.getString(2),
+                        cursor.getInt(3))
+                        .sessionId(cursor.isNull(4) ? null : cursor.getInt(4))
+                        .lessonId(cursor.isNull(5) ? null : cursor.getInt(5))
+                        .accuracyPercentage(cursor.getFloat(6))
+                        .timeCompleted(cursor.getInt(7))
+                        .xpEarned(cursor.getInt(8))
+                        .streakAchieved(cursor.getInt(9))
+                        .clientId(cursor.getString(10))
+                        .build();
+                results.add(new PendingGameResult(cursor.getLong(0), result));
+            }
+            cursor.close();
+        }
+        return results;
+    }
+
+    /**
+     * After an upload: mark the results the server saved as uploaded and count
+     * one more attempt for the rest (one transaction)
+     */
+    public synchronized void markGameResultsUploaded(List<Long> savedIds, List<Long> unsavedIds) {
+        if (savedIds.isEmpty() && unsavedIds.isEmpty()) return;
+        SQLiteDatabase db = getWritableDatabase();
+
+        db.beginTransaction();
+        try {
+            for (long id : savedIds) {
+                db.execSQL("UPDATE " + TABLE_GAME_RESULTS + " SET " + KEY_UPLOADED + "=1"
+                        + " WHERE " + KEY_RESULT_ID + "=?", new Object[]{id});
+            }
+            for (long id : unsavedIds) {
+                db.execSQL("UPDATE " + TABLE_GAME_RESULTS + " SET " + KEY_UPLOAD_ATTEMPTS + "="
+                        + KEY_UPLOAD_ATTEMPTS + "+1 WHERE " + KEY_RESULT_ID + "=?", new Object[]{id});
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Mark one result as accepted by the server
+     */
+    public synchronized void markGameResultUploaded(long resultId) {
+        ContentValues values = new ContentValues();
+        values.put(KEY_UPLOADED, 1);
+        getWritableDatabase().update(TABLE_GAME_RESULTS, values,
+                KEY_RESULT_ID + "=?", new String[]{String.valueOf(resultId)});
+    }
+
+    /**
+     * Remove all demo game results (real ones stay until uploaded and for stats)
+     */
+    public synchronized void clearDemoGameResults() {
+        getWritableDatabase().delete(TABLE_GAME_RESULTS, KEY_SOURCE + "=?", new String[]{SOURCE_DEMO});
+    }
+
+    // ==================== COMPILED STATEMENTS ====================
+
+    private void compileStatements(SQLiteDatabase db) {
+        if (updateLessonStatement != null) {
+            return;
+        }
+
+        updateLessonStatement = db.compileStatement("UPDATE " + TABLE_LESSON_PROGRESS + " SET "
+                + KEY_MODULE_ID + "=?, "
+                + KEY_PRACTICE_SCORE + "=?, "
+                + KEY_QUIZ_SCORE + "=?, "
+                + KEY_IS_COMPLETED + "=?, "
+                + KEY_LAST_ACCESSED + "=?, "
+                + KEY_ATTEMPTS + "=" + KEY_ATTEMPTS + "+1, "
+                + KEY_COMPLETED_TIMESTAMP + "=CASE WHEN ? THEN ? ELSE " + KEY_COMPLETED_TIMESTAMP + " END"
+                + " WHERE " + KEY_STUDENT_ID + "=? AND " + KEY_LESSON_ID + "=?");
+
+        insertLessonStatement = db.compileStatement("INSERT INTO " + TABLE_LESSON_PROGRESS + " ("
+                + KEY_STUDENT_ID + ", " + KEY_LESSON_ID + ", " + KEY_MODULE_ID + ", " + KEY_IS_UNLOCKED + ", "
+                + KEY_PRACTICE_SCORE + ", " + KEY_QUIZ_SCORE + ", " + KEY_IS_COMPLETED + ", "
+                + KEY_ATTEMPTS + ", " + KEY_COMPLETED_TIMESTAMP + ", " + KEY_LAST_ACCESSED
+                + ") VALUES (?, ?, ?, 1, ?, ?, ?, 1, ?, ?)");
+
+        unlockLessonStatement = db.compileStatement("UPDATE " + TABLE_LESSON_PROGRESS + " SET "
+                + KEY_MODULE_ID + "=?, " + KEY_IS_UNLOCKED + "=1"
+                + " WHERE " + KEY_STUDENT_ID + "=? AND " + KEY_LESSON_ID + "=?");
+
+        insertUnlockedLessonStatement = db.compileStatement("INSERT INTO " + TABLE_LESSON_PROGRESS + " ("
+                + KEY_STUDENT_ID + ", " + KEY_LESSON_ID + ", " + KEY_MODULE_ID + ", " + KEY_IS_UNLOCKED
+                + ") VALUES (?, ?, ?, 1)");
+
+        syncLessonStatement = db.compileStatement("UPDATE " + TABLE_LESSON_PROGRESS + " SET "
+                + KEY_MODULE_ID + "=?, "
+                + KEY_IS_UNLOCKED + "=MAX(" + KEY_IS_UNLOCKED + ", ?), "
+                + KEY_IS_COMPLETED + "=MAX(" + KEY_IS_COMPLETED + ", ?), "
+                + KEY_QUIZ_SCORE + "=MAX(" + KEY_QUIZ_SCORE + ", ?), "
+                + KEY_GAMES_PLAYED + "=?, "
+                + KEY_PROGRESS_PERCENT + "=?, "
+                + KEY_BEST_SCORE + "=?, "
+                + KEY_COMPLETED_TIMESTAMP + "=CASE WHEN ? AND " + KEY_COMPLETED_TIMESTAMP + "=0 THEN ? ELSE "
+                + KEY_COMPLETED_TIMESTAMP + " END"
+                + " WHERE " + KEY_STUDENT_ID + "=? AND " + KEY_LESSON_ID + "=?");
+
+        insertSyncedLessonStatement = db.compileStatement("INSERT INTO " + TABLE_LESSON_PROGRESS + " ("
+                + KEY_STUDENT_ID + ", " + KEY_LESSON_ID + ", " + KEY_MODULE_ID + ", " + KEY_IS_UNLOCKED + ", "
+                + KEY_IS_COMPLETED + ", " + KEY_QUIZ_SCORE + ", " + KEY_GAMES_PLAYED + ", "
+                + KEY_PROGRESS_PERCENT + ", " + KEY_BEST_SCORE + ", " + KEY_COMPLETED_TIMESTAMP
+                + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+
+        insertModuleStatement = db.compileStatement("INSERT OR IGNORE INTO " + TABLE_MODULE_PROGRESS
+                + " (" + KEY_STUDENT_ID + ", " + KEY_MODULE_ID + ") VALUES (?, ?)");
+
+        updateModuleStatement = db.compileStatement("UPDATE " + TABLE_MODULE_PROGRESS + " SET "
+                + KEY_LESSONS_COMPLETED + "=?, " + KEY_AVERAGE_SCORE + "=?, " + KEY_MODULE_COMPLETED + "=?"
+                + " WHERE " + KEY_STUDENT_ID + "=? AND " + KEY_MODULE_ID + "=?");
+
+        updateAssessmentStatement = db.compileStatement("UPDATE " + TABLE_MODULE_PROGRESS + " SET "
+                + KEY_ASSESSMENT_SCORE + "=?, " + KEY_ASSESSMENT_PASSED + "=?"
+                + " WHERE " + KEY_STUDENT_ID + "=? AND " + KEY_MODULE_ID + "=?");
+
+        insertGameResultStatement = db.compileStatement("INSERT INTO " + TABLE_GAME_RESULTS + " ("
+                + KEY_STUDENT_ID + ", " + KEY_LESSON_ID + ", " + KEY_GAME_TYPE + ", " + KEY_SESSION_ID + ", "
+                + KEY_SCORE + ", " + KEY_XP_EARNED + ", " + KEY_ACCURACY + ", " + KEY_TIME_SECONDS + ", "
+                + KEY_STREAK + ", " + KEY_PLAYED_AT + ", " + KEY_UPLOADED + ", " + KEY_CLIENT_ID + ", " + KEY_SOURCE
+                + ") VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)");
+    }
+}
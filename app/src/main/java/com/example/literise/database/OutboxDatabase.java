@@ -0,0 +1,256 @@
+package com.example.literise.database;
+
+import android.content.ContentValues;
+import android.content.Context;
+import android.database.Cursor;
+import android.database.sqlite.SQLiteDatabase;
+import android.database.sqlite.SQLiteOpenHelper;
+import android.database.sqlite.SQLiteStatement;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Offline outbox: API calls waiting to be uploaded
+ *
+ * Each row is one call's request body (JSON) and its record type. A row with a
+ * coalesce key replaces any queued row with the same key, so repeated updates
+ * of the same thing (e.g. one node's progress phase) are sent once. Rows stay
+ * until the server accepts them; a rejected row waits next_attempt_at before
+ * it is offered again. Each row gets a random client_id for telling apart
+ * attempts at the same call in logs. A held row is not offered until it is
+ * released. Drained by OutboxSyncHelper.
+ */
+public class OutboxDatabase extends SQLiteOpenHelper {
+    private static final String DATABASE_NAME = "Outbox.db";
+    private static final int DATABASE_VERSION = 2;
+
+    private static final String TABLE_OUTBOX = "outbox";
+
+    // Outbox Columns
+    private static final String KEY_ENTRY_ID = "entry_id";
+    private static final String KEY_CLIENT_ID = "client_id";
+    private static final String KEY_RECORD_TYPE = "record_type";
+    private static final String KEY_COALESCE_KEY = "coalesce_key";
+    private static final String KEY_PAYLOAD = "payload";
+    private static final String KEY_ATTEMPTS = "attempts";
+    private static final String KEY_NEXT_ATTEMPT_AT = "next_attempt_at";
+    private static final String KEY_CREATED_AT = "created_at";
+
+    // next_attempt_at of a held row
+    private static final long HELD = Long.MAX_VALUE;
+
+    // Random 32-hex-digit id, filled in by SQLite
+    private static final String NEW_CLIENT_ID = "lower(hex(randomblob(16)))";
+
+    private static OutboxDatabase instance;
+
+    // Compiled on first use; only touched while holding the instance lock
+    private SQLiteStatement insertStatement;
+    private SQLiteStatement replaceStatement;
+    private SQLiteStatement deleteStatement;
+    private SQLiteStatement retryStatement;
+
+    /**
+     * One queued call
+     */
+    public static class Record {
+        public final long id;
+        public final String clientId;
+        public final String type;
+        public final String payload;
+        public final int attempts;
+
+        Record(long id, String clientId, String type, String payload, int attempts) {
+            this.id = id;
+            this.clientId = clientId;
+            this.type = type;
+            this.payload = payload;
+            this.attempts = attempts;
+        }
+    }
+
+    public static synchronized OutboxDatabase getInstance(Context context) {
+        if (instance == null) {
+            instance = new OutboxDatabase(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private OutboxDatabase(Context context) {
+        super(context, DATABASE_NAME, null, DATABASE_VERSION);
+        setWriteAheadLoggingEnabled(true);
+    }
+
+    @Override
+    public void onCreate(SQLiteDatabase db) {
+        db.execSQL("CREATE TABLE " + TABLE_OUTBOX + "("
+                + KEY_ENTRY_ID + " INTEGER PRIMARY KEY AUTOINCREMENT,"
+                + KEY_CLIENT_ID + " TEXT DEFAULT (" + NEW_CLIENT_ID + "),"
+                + KEY_RECORD_TYPE + " TEXT NOT NULL,"
+                + KEY_COALESCE_KEY + " TEXT UNIQUE,"
+                + KEY_PAYLOAD + " TEXT NOT NULL,"
+                + KEY_ATTEMPTS + " INTEGER DEFAULT 0,"
+                + KEY_NEXT_ATTEMPT_AT + " INTEGER DEFAULT 0,"
+                + KEY_CREATED_AT + " INTEGER"
+                + ")");
+
+        // Due rows, oldest first
+        db.execSQL("CREATE INDEX idx_outbox_due ON " + TABLE_OUTBOX
+                + "(" + KEY_NEXT_ATTEMPT_AT + ", " + KEY_ENTRY_ID + ")");
+    }
+
+    @Override
+    public void onUpgrade(SQLiteDatabase db, int oldVersion, int newVersion) {
+        // v2: client ids (ALTER TABLE cannot add a column with an expression default)
+        if (oldVersion < 2) {
+            db.execSQL("ALTER TABLE " + TABLE_OUTBOX + " ADD COLUMN " + KEY_CLIENT_ID + " TEXT");
+            db.execSQL("UPDATE " + TABLE_OUTBOX + " SET " + KEY_CLIENT_ID + "=" + NEW_CLIENT_ID);
+        }
+    }
+
+    /**
+     * Queue a call; with a coalesce key it replaces the queued call with the same key.
+     * A held call (needs a coalesce key) waits for release(). Returns the row id.
+     */
+    public synchronized long enqueue(String type, String coalesceKey, String payload, boolean held) {
+        compileStatements(getWritableDatabase());
+
+        // INSERT OR REPLACE also resets the attempts and client id of the row it replaces
+        SQLiteStatement statement = coalesceKey != null ? replaceStatement : insertStatement;
+        statement.bindString(1, type);
+        statement.bindString(2, payload);
+        statement.bindLong(3, System.currentTimeMillis());
+        statement.bindLong(4, held ? HELD : 0);
+        if (coalesceKey != null) {
+            statement.bindString(5, coalesceKey);
+        }
+        return statement.executeInsert();
+    }
+
+    /**
+     * Let the held call with this coalesce key be sent
+     */
+    public synchronized void release(String coalesceKey) {
+        ContentValues values = new ContentValues();
+        values.put(KEY_NEXT_ATTEMPT_AT, 0);
+        getWritableDatabase().update(TABLE_OUTBOX, values,
+                KEY_COALESCE_KEY + "=? AND " + KEY_NEXT_ATTEMPT_AT + "=?",
+                new String[]{coalesceKey, String.valueOf(HELD)});
+    }
+
+    /**
+     * Let every held call be sent (their screens are gone, e.g. after a restart)
+     */
+    public synchronized void releaseAll() {
+        ContentValues values = new ContentValues();
+        values.put(KEY_NEXT_ATTEMPT_AT, 0);
+        getWritableDatabase().update(TABLE_OUTBOX, values,
+                KEY_NEXT_ATTEMPT_AT + "=?", new String[]{String.valueOf(HELD)});
+    }
+
+    /**
+     * Drop the queued call with this coalesce key (e.g. once a live call for it succeeded)
+     */
+    public synchronized void cancel(String coalesceKey) {
+        getWritableDatabase().delete(TABLE_OUTBOX, KEY_COALESCE_KEY + "=?", new String[]{coalesceKey});
+    }
+
+    /**
+     * Calls due at `now`, oldest first
+     */
+    public List<Record> getDueRecords(long now, int limit) {
+        List<Record> records = new ArrayList<>();
+        Cursor cursor = getReadableDatabase().query(TABLE_OUTBOX,
+                new String[]{KEY_ENTRY_ID, KEY_CLIENT_ID, KEY_RECORD_TYPE, KEY_PAYLOAD, KEY_ATTEMPTS},
+                KEY_NEXT_ATTEMPT_AT + "<=?", new String[]{String.valueOf(now)},
+                null, null, KEY_ENTRY_ID + " ASC", String.valueOf(limit));
+
+        if (cursor != null) {
+            while (cursor.moveToNext()) {
+                records.add(new Record(cursor.getLong(0), cursor.getString(1), cursor.getString(2),
+                        cursor.getString(3), cursor.getInt(4)));
+            }
+            cursor.close();
+        }
+        return records;
+    }
+
+    /**
+     * Earliest time a queued call becomes due (-1 if nothing but held calls is queued)
+     */
+    public long getNextAttemptAt() {
+        Cursor cursor = getReadableDatabase().rawQuery(
+                "SELECT MIN(" + KEY_NEXT_ATTEMPT_AT + ") FROM " + TABLE_OUTBOX
+                        + " WHERE " + KEY_NEXT_ATTEMPT_AT + "<?", new String[]{String.valueOf(HELD)});
+
+        long next = -1;
+        if (cursor != null) {
+            if (cursor.moveToFirst() && !cursor.isNull(0)) {
+                next = cursor.getLong(0);
+            }
+            cursor.close();
+        }
+        return next;
+    }
+
+    /**
+     * Remove calls the server accepted (one transaction)
+     */
+    public synchronized void delete(List<Long> ids) {
+        if (ids.isEmpty()) return;
+        SQLiteDatabase db = getWritableDatabase();
+        compileStatements(db);
+
+        db.beginTransaction();
+        try {
+            for (long id : ids) {
+                deleteStatement.bindLong(1, id);
+                deleteStatement.executeUpdateDelete();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    /**
+     * Count one more failed attempt for a call and hold it back until nextAttemptAt.
+     * A row replaced by enqueue() since it was read is left alone.
+     */
+    public synchronized void retryLater(List<Record> records, List<Long> nextAttemptAt) {
+        if (records.isEmpty()) return;
+        SQLiteDatabase db = getWritableDatabase();
+        compileStatements(db);
+
+        db.beginTransaction();
+        try {
+            for (int i = 0; i < records.size(); i++) {
+                retryStatement.bindLong(1, nextAttemptAt.get(i));
+                retryStatement.bindLong(2, records.get(i).id);
+                retryStatement.executeUpdateDelete();
+            }
+            db.setTransactionSuccessful();
+        } finally {
+            db.endTransaction();
+        }
+    }
+
+    private void compileStatements(SQLiteDatabase db) {
+        if (insertStatement != null) {
+            return;
+        }
+
+        insertStatement = db.compileStatement("INSERT INTO " + TABLE_OUTBOX + " ("
+                + KEY_RECORD_TYPE + ", " + KEY_PAYLOAD + ", " + KEY_CREATED_AT + ", " + KEY_NEXT_ATTEMPT_AT
+                + ") VALUES (?, ?, ?, ?)");
+        replaceStatement = db.compileStatement("INSERT OR REPLACE INTO " + TABLE_OUTBOX + " ("
+                + KEY_RECORD_TYPE + ", " + KEY_PAYLOAD + ", " + KEY_CREATED_AT + ", " + KEY_NEXT_ATTEMPT_AT
+                + ", " + KEY_COALESCE_KEY + ") VALUES (?, ?, ?, ?, ?)");
+        deleteStatement = db.compileStatement("DELETE FROM " + TABLE_OUTBOX
+                + " WHERE " + KEY_ENTRY_ID + "=?");
+        retryStatement = db.compileStatement("UPDATE " + TABLE_OUTBOX + " SET "
+                + KEY_ATTEMPTS + "=" + KEY_ATTEMPTS + "+1, "
+                + KEY_NEXT_ATTEMPT_AT + "=? WHERE " + KEY_ENTRY_ID + "=?");
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.literise.database;
+
+import android.database.Cursor;
+
+import com.example.literise.models.PlacementQuestion;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Maps placement_questions rows to PlacementQuestion objects
+ *
+ * Column indices are resolved once per cursor, and a column left out of the
+ * query's projection is simply not read, so selection scans can ask for
+ * SELECTION_COLUMNS only and skip the text, passage, hint and options columns.
+ * Options are handed over as raw JSON and parsed on the first getOptions().
+ */
+final class PlacementQuestionLoader {
+
+    static final String COL_ID = "question_id";
+    static final String COL_CATEGORY = "category";
+    static final String COL_SUBCATEGORY = "subcategory";
+    static final String COL_TYPE = "question_type";
+    static final String COL_TEXT = "question_text";
+    static final String COL_AUDIO = "audio_url";
+    static final String COL_IMAGE = "image_url";
+    static final String COL_READING_PASSAGE = "reading_passage";
+    static final String COL_OPTIONS = "options_json";
+    static final String COL_CORRECT = "correct_answer";
+    static final String COL_DIFFICULTY = "difficulty";
+    static final String COL_DISCRIMINATION = "discrimination";
+    static final String COL_HINT = "leo_hint";
+
+    // Everything item selection (IRTCalculator) reads
+    static final String[] SELECTION_COLUMNS = {
+            COL_ID, COL_CATEGORY, COL_TYPE, COL_DIFFICULTY, COL_DISCRIMINATION
+    };
+
+    private final Cursor cursor;
+    private final int id;
+    private final int category;
+    private final int subcategory;
+    private final int type;
+    private final int text;
+    private final int audio;
+    private final int image;
+    private final int readingPassage;
+    private final int options;
+    private final int correct;
+    private final int difficulty;
+    private final int discrimination;
+    private final int hint;
+
+    PlacementQuestionLoader(Cursor cursor) {
+        this.cursor = cursor;
+        this.id = cursor.getColumnIndexOrThrow(COL_ID);
+        this.category = cursor.getColumnIndex(COL_CATEGORY);
+        this.subcategory = cursor.getColumnIndex(COL_SUBCATEGORY);
+        this.type = cursor.getColumnIndex(COL_TYPE);
+        this.text = cursor.getColumnIndex(COL_TEXT);
+        this.audio = cursor.getColumnIndex(COL_AUDIO);
+        this.image = cursor.getColumnIndex(COL_IMAGE);
+        this.readingPassage = cursor.getColumnIndex(COL_READING_PASSAGE);
+        this.options = cursor.getColumnIndex(COL_OPTIONS);
+        this.correct = cursor.getColumnIndex(COL_CORRECT);
+        this.difficulty = cursor.getColumnIndex(COL_DIFFICULTY);
+        this.discrimination = cursor.getColumnIndex(COL_DISCRIMINATION);
+        this.hint = cursor.getColumnIndex(COL_HINT);
+    }
+
+    /**
+     * Read every remaining row and close the cursor
+     */
+    static List<PlacementQuestion> readAll(Cursor cursor) {
+        List<PlacementQuestion> questions = new ArrayList<>(Math.max(cursor.getCount(), 0));
+        try {
+            PlacementQuestionLoader loader = new PlacementQuestionLoader(cursor);
+            while (cursor.moveToNext()) {
+                questions.add(loader.read());
+            }
+        } finally {
+            cursor.close();
+        }
+        return questions;
+    }
+
+    /**
+     * Map the cursor's current row
+     */
+    PlacementQuestion read() {
+        PlacementQuestion question = new PlacementQuestion();
+
+        question.setQuestionId(cursor.getInt(id));
+        if (category >= 0) question.setCategory(cursor.getInt(category));
+        if (subcategory >= 0) question.setSubcategory(cursor.getString(subcategory));
+        if (type >= 0) question.setQuestionType(cursor.getString(type));
+        if (text >= 0) question.setQuestionText(cursor.getString(text));
+        if (audio >= 0) question.setAudioUrl(cursor.getString(audio));
+        if (image >= 0) question.setImageUrl(cursor.getString(image));
+        if (readingPassage >= 0) question.setReadingPassage(cursor.getString(readingPassage));
+        if (options >= 0) question.setOptionsJson(cursor.getString(options));
+        if (correct >= 0) question.setCorrectAnswer(cursor.getString(correct));
+        if (difficulty >= 0) question.setDifficulty(cursor.getDouble(difficulty));
+        if (discrimination >= 0) question.setDiscrimination(cursor.getDouble(discrimination));
+        if (hint >= 0) question.setLeoHint(cursor.getString(hint));
+
+        return question;
+    }
+}
@@ -3,6 +3,8 @@ package com.example.literise.database;
 import android.content.Context;
 import android.content.SharedPreferences;
 
+import com.example.literise.api.ApiClient;
+import com.example.literise.api.AuthTokenHolder;
 import com.example.literise.utils.AppConfig;
 
 
@@ -21,6 +23,10 @@ public class SessionManager {
 
     private static final String KEY_TOKEN = "token";
 
+    // Plaintext LRN login of earlier builds; now kept encrypted in CredentialStore
+    private static final String KEY_LRN = "lrn";
+    private static final String KEY_LOGIN_CODE = "login_code";
+
 
 
     private static final String KEY_ABILITY = "current_ability";
@@ -67,11 +73,15 @@ public class SessionManager {
 
         this.context = context;
 
-        prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        prefs = KeyValueStore.getInstance(context).getPreferences(PREF_NAME);
 
         editor = prefs.edit();
 
-
+        if (prefs.contains(KEY_LOGIN_CODE)) {
+            editor.remove(KEY_LRN);
+            editor.remove(KEY_LOGIN_CODE);
+            editor.apply();
+        }
 
 
 
@@ -96,6 +106,7 @@ public class SessionManager {
         editor.putString(KEY_TOKEN, "demo_token");
 
         editor.apply();
+        AuthTokenHolder.setToken("demo_token");
     }
 
     public void saveStudent(int studentId, String fullname, String email) {
@@ -138,6 +149,9 @@ public class SessionManager {
     public void logout() {
         editor.clear();
         editor.apply();
+        AuthTokenHolder.clear();
+        CredentialStore.clear(context);
+        ApiClient.clearCache();
     }
 
     public boolean isLoggedIn() {
@@ -150,6 +164,27 @@ public class SessionManager {
 
         editor.apply();
 
+        AuthTokenHolder.setToken(token);
+
+    }
+
+
+
+    public void saveLoginCredentials(String lrn, String loginCode) {
+
+        CredentialStore.save(context, lrn, loginCode);
+
+    }
+
+
+
+    /**
+     * The stored LRN login (null if none, or if it cannot be decrypted)
+     */
+    public CredentialStore.Credentials getLoginCredentials() {
+
+        return CredentialStore.load(context);
+
     }
 
 
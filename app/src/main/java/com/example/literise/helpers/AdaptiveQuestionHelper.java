@@ -32,10 +32,18 @@ public class AdaptiveQuestionHelper {
     private int questionsAnswered;
     private String currentCategory; // For category-specific testing
 
+    // Speculative prefetch: the next question for each outcome of the item on screen.
+    // A committed branch is only used if the server's theta lands within this distance
+    // of the theta it was fetched with.
+    private static final double PREFETCH_THETA_TOLERANCE = 0.5;
+    private PrefetchBranch prefetchIfCorrect;
+    private PrefetchBranch prefetchIfIncorrect;
+    private PrefetchBranch committedPrefetch;
+
     public AdaptiveQuestionHelper(Context context, int sessionId, String assessmentType) {
         this.context = context;
         this.sessionManager = new SessionManager(context);
-        this.apiService = ApiClient.getClient(context).create(ApiService.class);
+        this.apiService = ApiClient.getApiService(context);
         this.sessionId = sessionId;
         this.assessmentType = assessmentType;
         this.currentTheta = 0.0; // Start at average ability
@@ -51,20 +59,136 @@ public class AdaptiveQuestionHelper {
 
     /**
      * Fetch the next adaptive question with optional category filter
+     * Served from the committed prefetch branch when it still matches
      */
     public void getNextQuestion(String category, QuestionCallback callback) {
+        PrefetchBranch branch = committedPrefetch;
+        committedPrefetch = null;
+        cancelPrefetch();
+
+        if (branch != null && branch.matches(category, currentTheta)) {
+            if (!branch.done) {
+                // Still in flight - deliver as soon as it lands
+                Log.d(TAG, "Waiting on prefetched question - Theta: " + branch.theta);
+                branch.waiting = callback;
+                return;
+            }
+            if (branch.response != null) {
+                Log.d(TAG, "Serving prefetched question - Theta: " + branch.theta);
+                callback.onSuccess(branch.response);
+                return;
+            }
+        }
+
+        fetchNextQuestion(category, currentTheta, callback);
+    }
+
+    /**
+     * Start fetching the next question for one outcome of the current item
+     * Call for each outcome while the student is still answering; commitPrefetch() keeps the
+     * branch of the outcome that happens and cancels the other
+     */
+    public void prefetchNextQuestion(String category, int currentItemId, boolean ifCorrect, double theta) {
+        committedPrefetch = null;
+
+        Log.d(TAG, "Prefetching next question - Theta if " + (ifCorrect ? "correct: " : "incorrect: ") + theta);
+        PrefetchBranch branch = startPrefetch(category, currentItemId, theta);
+        PrefetchBranch replaced = ifCorrect ? prefetchIfCorrect : prefetchIfIncorrect;
+        if (replaced != null) {
+            replaced.cancel();
+        }
+        if (ifCorrect) {
+            prefetchIfCorrect = branch;
+        } else {
+            prefetchIfIncorrect = branch;
+        }
+    }
+
+    /**
+     * Keep the prefetch branch if it matches the scored outcome, otherwise drop it
+     */
+    public void commitPrefetch(boolean wasCorrect) {
+        PrefetchBranch keep = wasCorrect ? prefetchIfCorrect : prefetchIfIncorrect;
+        PrefetchBranch drop = wasCorrect ? prefetchIfIncorrect : prefetchIfCorrect;
+        if (drop != null) {
+            drop.cancel();
+        }
+        prefetchIfCorrect = null;
+        prefetchIfIncorrect = null;
+        committedPrefetch = keep;
+    }
+
+    /**
+     * Keep a next question the server returned along with the scored answer
+     */
+    private void holdNextQuestion(String category, AdaptiveQuestionResponse.QuestionData question) {
+        Log.d(TAG, "Next question piggybacked on submit - ItemID: " + question.getItemId());
+        cancelPrefetch();
+
+        PrefetchBranch branch = new PrefetchBranch(category, currentTheta);
+        branch.done = true;
+        branch.response = new AdaptiveQuestionResponse(question);
+        committedPrefetch = branch;
+    }
+
+    private void cancelPrefetch() {
+        if (prefetchIfCorrect != null) prefetchIfCorrect.cancel();
+        if (prefetchIfIncorrect != null) prefetchIfIncorrect.cancel();
+        prefetchIfCorrect = null;
+        prefetchIfIncorrect = null;
+    }
+
+    private PrefetchBranch startPrefetch(String category, int currentItemId, double theta) {
+        PrefetchBranch branch = new PrefetchBranch(category, theta);
+        branch.call = fetchNextQuestion(category, theta, new QuestionCallback() {
+            @Override
+            public void onSuccess(AdaptiveQuestionResponse response) {
+                branch.done = true;
+                // Not yet recorded as answered on the server, so it may come back again
+                if (response.getQuestion().getItemId() != currentItemId) {
+                    branch.response = response;
+                }
+                deliverPrefetch(branch);
+            }
+
+            @Override
+            public void onError(String error) {
+                branch.done = true;
+                deliverPrefetch(branch);
+            }
+        });
+        return branch;
+    }
+
+    private void deliverPrefetch(PrefetchBranch branch) {
+        QuestionCallback waiting = branch.waiting;
+        if (waiting == null) {
+            return;
+        }
+        branch.waiting = null;
+
+        if (branch.response != null) {
+            waiting.onSuccess(branch.response);
+        } else {
+            // Prefetch failed or returned the current item - fetch normally
+            fetchNextQuestion(branch.category, currentTheta, waiting);
+        }
+    }
+
+    private Call<AdaptiveQuestionResponse> fetchNextQuestion(String category, double theta, QuestionCallback callback) {
         int studentId = sessionManager.getStudentId();
 
         AdaptiveQuestionRequest request;
         if (category != null && !category.isEmpty()) {
-            request = new AdaptiveQuestionRequest(studentId, sessionId, currentTheta, assessmentType, category);
+            request = new AdaptiveQuestionRequest(studentId, sessionId, theta, assessmentType, category);
         } else {
-            request = new AdaptiveQuestionRequest(studentId, sessionId, currentTheta, assessmentType);
+            request = new AdaptiveQuestionRequest(studentId, sessionId, theta, assessmentType);
         }
 
-        Log.d(TAG, "Requesting next question - Theta: " + currentTheta + ", Category: " + category);
+        Log.d(TAG, "Requesting next question - Theta: " + theta + ", Category: " + category);
 
-        apiService.getNextAdaptiveQuestion(request).enqueue(new Callback<AdaptiveQuestionResponse>() {
+        Call<AdaptiveQuestionResponse> call = apiService.getNextAdaptiveQuestion(request);
+        call.enqueue(new Callback<AdaptiveQuestionResponse>() {
             @Override
             public void onResponse(Call<AdaptiveQuestionResponse> call, Response<AdaptiveQuestionResponse> response) {
                 if (response.isSuccessful() && response.body() != null) {
@@ -86,10 +210,14 @@ public class AdaptiveQuestionHelper {
 
             @Override
             public void onFailure(Call<AdaptiveQuestionResponse> call, Throwable t) {
+                if (call.isCanceled()) {
+                    return; // Dropped prefetch branch
+                }
                 Log.e(TAG, "Network error: " + t.getMessage());
                 callback.onError("Network error: " + t.getMessage());
             }
         });
+        return call;
     }
 
     /**
@@ -97,6 +225,43 @@ public class AdaptiveQuestionHelper {
      */
     public void submitAnswer(int itemId, String selectedAnswer, boolean isCorrect,
                              int responseTime, AnswerCallback callback) {
+        sendAnswer(itemId, selectedAnswer, isCorrect, responseTime, null, callback);
+    }
+
+    /**
+     * Submit an answer with the next-item fetch running alongside it (overlapped mode)
+     *
+     * The next question is requested for the outcome the local IRT engine predicts, at the
+     * theta it predicts, unless a prefetch branch for that outcome is already in flight.
+     * When the scored answer comes back, the server's theta replaces the local one and the
+     * branch is kept only if the outcome matches; getNextQuestion() then serves it if the
+     * category and theta still agree, and fetches again otherwise. Works with the current
+     * submit_answer.php and get_next_question.php. nextCategory is null when no item follows.
+     */
+    public void submitAnswerOverlapped(int itemId, String selectedAnswer, int responseTime, String nextCategory,
+                                       boolean predictedCorrect, double predictedTheta, AnswerCallback callback) {
+        PrefetchBranch inFlight = predictedCorrect ? prefetchIfCorrect : prefetchIfIncorrect;
+        if (nextCategory != null && inFlight == null) {
+            prefetchNextQuestion(nextCategory, itemId, predictedCorrect, predictedTheta);
+        }
+        sendAnswer(itemId, selectedAnswer, false, responseTime, null, callback);
+    }
+
+    /**
+     * Submit an answer and get the next item in the same round trip (pipelined mode)
+     *
+     * submit_answer.php is asked to return the next question for nextCategory as well.
+     * When the scored answer comes back, the server's theta replaces the local prediction
+     * and the next question is held for getNextQuestion(). If the server piggybacked one,
+     * that is used; otherwise a prefetch branch matching the outcome is used, if any.
+     */
+    public void submitAnswerPipelined(int itemId, String selectedAnswer, int responseTime,
+                                      String nextCategory, AnswerCallback callback) {
+        sendAnswer(itemId, selectedAnswer, false, responseTime, nextCategory, callback);
+    }
+
+    private void sendAnswer(int itemId, String selectedAnswer, boolean isCorrect,
+                            int responseTime, String nextCategory, AnswerCallback callback) {
         int studentId = sessionManager.getStudentId();
         questionsAnswered++;
 
@@ -111,6 +276,10 @@ public class AdaptiveQuestionHelper {
         if (responseTime > 0) {
             request.setResponseTime(responseTime);
         }
+        if (nextCategory != null) {
+            request.setIncludeNextQuestion(true);
+            request.setNextCategory(nextCategory);
+        }
 
         Log.d(TAG, "Submitting answer - ItemID: " + itemId + ", Correct: " + isCorrect);
 
@@ -124,6 +293,12 @@ public class AdaptiveQuestionHelper {
                         // Update theta with server's estimate
                         currentTheta = apiResponse.getFeedback().getNewThetaEstimate();
                         Log.d(TAG, "Answer submitted - New Theta: " + currentTheta);
+                        AdaptiveQuestionResponse.QuestionData next = apiResponse.getNextQuestion();
+                        if (next != null && next.getItemId() != itemId) {
+                            holdNextQuestion(nextCategory, next);
+                        } else {
+                            commitPrefetch(apiResponse.isCorrect());
+                        }
                         callback.onSuccess(apiResponse);
                     } else {
                         String error = apiResponse.getError() != null ? apiResponse.getError() : "Failed to submit";
@@ -175,6 +350,32 @@ public class AdaptiveQuestionHelper {
         return manufacturer + " " + model + ", " + androidVersion;
     }
 
+    /**
+     * One speculative get_next_question.php call and its outcome
+     */
+    private static class PrefetchBranch {
+        final String category;
+        final double theta;
+        Call<AdaptiveQuestionResponse> call; // null when the question arrived with the answer
+        boolean done;
+        AdaptiveQuestionResponse response; // null if the prefetch failed or is unusable
+        QuestionCallback waiting;           // caller waiting on an in-flight branch
+
+        PrefetchBranch(String category, double theta) {
+            this.category = category;
+            this.theta = theta;
+        }
+
+        void cancel() {
+            if (call != null) call.cancel();
+        }
+
+        boolean matches(String category, double serverTheta) {
+            boolean sameCategory = this.category == null ? category == null : this.category.equals(category);
+            return sameCategory && Math.abs(serverTheta - theta) <= PREFETCH_THETA_TOLERANCE;
+        }
+    }
+
     /**
      * Callback interface for question fetching
      */
@@ -0,0 +1,114 @@
+package com.example.literise.helpers;
+
+import android.content.Context;
+import android.util.Log;
+
+import com.example.literise.database.QuestionBankHelper;
+import com.example.literise.database.SessionManager;
+import com.example.literise.models.PlacementQuestion;
+import com.example.literise.models.SubmitSingleRequest;
+import com.example.literise.utils.AppConfig;
+import com.example.literise.utils.IRTEngine;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Helper for running the placement test entirely on-device
+ *
+ * Items are selected from the local question bank (QuestionBankHelper): only the
+ * unanswered questions whose difficulty lies in a window around the current
+ * theta are read, and the IRTEngine picks the most informative of them. Answers
+ * are scored against the stored correct answer.
+ * Each answer is queued in the pending_responses table; OutboxSyncHelper
+ * uploads the queue as one submit_responses.php batch when the network allows.
+ */
+public class LocalAdaptiveQuestionHelper {
+
+    private static final String TAG = "LocalAdaptiveHelper";
+
+    // Scored by the server's speech evaluator, so they cannot be used offline
+    private static final String TYPE_PRONUNCIATION = "pronunciation";
+
+    // Widest difficulty window tried; covers the whole theta range from either end
+    private static final double MAX_DIFFICULTY_WINDOW = 8.0;
+
+    private QuestionBankHelper questionBank;
+    private SessionManager sessionManager;
+    private IRTEngine irtEngine;
+    private int sessionId;
+
+    public LocalAdaptiveQuestionHelper(Context context, int sessionId, IRTEngine irtEngine) {
+        this.questionBank = new QuestionBankHelper(context);
+        this.sessionManager = new SessionManager(context);
+        this.irtEngine = irtEngine;
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Select the most informative unanswered question in a category at the current theta
+     * Returns null when the local bank has nothing left for this category
+     */
+    public PlacementQuestion getNextQuestion(int category) {
+        double theta = irtEngine.getTheta();
+        Set<Integer> answeredIds = new HashSet<>();
+        for (PlacementQuestion answered : irtEngine.getAnsweredQuestions()) {
+            answeredIds.add(answered.getQuestionId());
+        }
+
+        // Candidates near theta carry the most information; widen only if the window is empty
+        double window = AppConfig.PLACEMENT_DIFFICULTY_WINDOW;
+        List<PlacementQuestion> candidates = questionBank.getQuestionsNearDifficulty(category, theta, window,
+                answeredIds, TYPE_PRONUNCIATION, AppConfig.PLACEMENT_CANDIDATE_LIMIT);
+        while (candidates.isEmpty() && window < MAX_DIFFICULTY_WINDOW) {
+            window *= 2;
+            candidates = questionBank.getQuestionsNearDifficulty(category, theta, window,
+                    answeredIds, TYPE_PRONUNCIATION, AppConfig.PLACEMENT_CANDIDATE_LIMIT);
+        }
+
+        // Candidates carry only the selection columns; load the full row for the chosen one
+        PlacementQuestion best = irtEngine.selectNextQuestion(candidates);
+        PlacementQuestion question = best != null ? questionBank.getQuestionById(best.getQuestionId()) : null;
+        Log.d(TAG, "Local question - Category: " + category + ", Theta: " + theta + ", Candidates: "
+                + candidates.size() + ", ItemID: " + (question != null ? question.getQuestionId() : "none"));
+        return question;
+    }
+
+    /**
+     * Score an answer locally and queue it for upload
+     * Accepts either the option text or its letter (A/B/C/D)
+     */
+    public boolean submitAnswer(PlacementQuestion question, String selectedText,
+                                String selectedLetter, int responseTime) {
+        boolean isCorrect = isCorrectAnswer(question, selectedText, selectedLetter);
+
+        String selectedOption = selectedLetter != null && !selectedLetter.isEmpty() ? selectedLetter : selectedText;
+        SubmitSingleRequest response = new SubmitSingleRequest(
+                sessionId, question.getQuestionId(), selectedOption, isCorrect ? 1 : 0, responseTime);
+        questionBank.queuePendingResponse(sessionManager.getStudentId(), response);
+
+        Log.d(TAG, "Scored locally - ItemID: " + question.getQuestionId() + ", Correct: " + isCorrect);
+        return isCorrect;
+    }
+
+    private boolean isCorrectAnswer(PlacementQuestion question, String selectedText, String selectedLetter) {
+        String correct = question.getCorrectAnswer();
+        if (correct == null) {
+            return false;
+        }
+        if (selectedText != null && correct.trim().equalsIgnoreCase(selectedText.trim())) {
+            return true;
+        }
+
+        // Letter answers: map A/B/C/D to the option at that position
+        if (selectedLetter != null && selectedLetter.length() == 1 && question.getOptions() != null) {
+            int index = Character.toUpperCase(selectedLetter.charAt(0)) - 'A';
+            if (index >= 0 && index < question.getOptions().size()) {
+                return correct.trim().equalsIgnoreCase(question.getOptions().get(index).trim())
+                        || correct.trim().equalsIgnoreCase(selectedLetter);
+            }
+        }
+        return false;
+    }
+}
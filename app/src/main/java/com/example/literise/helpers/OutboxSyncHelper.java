@@ -0,0 +1,366 @@
+package com.example.literise.helpers;
+
+import android.content.Context;
+import android.os.Handler;
+import android.os.Looper;
+import android.os.SystemClock;
+import android.util.Log;
+
+import com.example.literise.api.ApiClient;
+import com.example.literise.api.ApiService;
+import com.example.literise.database.LessonDatabase;
+import com.example.literise.database.OutboxDatabase;
+import com.example.literise.database.QuestionBankHelper;
+import com.example.literise.database.SessionManager;
+import com.example.literise.models.AwardBadgeRequest;
+import com.example.literise.models.AwardBadgeResponse;
+import com.example.literise.models.LogSessionRequest;
+import com.example.literise.models.LogSessionResponse;
+import com.example.literise.models.QuizSubmitRequest;
+import com.example.literise.models.QuizSubmitResponse;
+import com.example.literise.models.ResponseModel;
+import com.example.literise.models.SaveGameResultResponse;
+import com.example.literise.models.SubmitRequest;
+import com.example.literise.models.SubmitResponseResult;
+import com.example.literise.models.SubmitSingleRequest;
+import com.example.literise.models.UpdateProgressRequest;
+import com.example.literise.models.UpdateProgressResponse;
+import com.example.literise.utils.AppConfig;
+import com.google.gson.Gson;
+import com.google.gson.JsonParseException;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import retrofit2.Response;
+
+/**
+ * Helper for calls that must reach the server eventually, online or not
+ *
+ * Calls are queued in OutboxDatabase (surviving restarts) and replayed one by
+ * one to the endpoint they were meant for, followed by game results that
+ * LessonDatabase still holds as not uploaded (save_game_results.php).
+ * Queuing waits OUTBOX_FLUSH_DELAY_MS so the calls of one activity go out in
+ * one drain; a queued call with the same coalesce key as a newer one is
+ * replaced rather than sent twice. When the server cannot be reached the
+ * drain stops and is retried after OUTBOX_RETRY_BASE_MS, doubling up to
+ * OUTBOX_RETRY_MAX_MS; calls the server answers with an error back off on
+ * their own, and game results it does not save wait for the next drain
+ * behind newer ones. Each call is removed as soon as it succeeds, so a drain
+ * cut short resends only what had not gone through.
+ * Placement answers scored offline (QuestionBankHelper's pending_responses)
+ * go out in the same drain as one submit_responses.php batch, so only one
+ * upload of them is ever in flight.
+ */
+public class OutboxSyncHelper {
+
+    private static final String TAG = "OutboxSync";
+
+    // Record types: each is replayed to the endpoint of the same name
+    public static final String TYPE_NODE_PROGRESS = "update_node_progress";
+    public static final String TYPE_SESSION_LOG = "log_session";
+    public static final String TYPE_QUIZ_SUBMISSION = "submit_quiz";
+    public static final String TYPE_BADGE_CHECK = "award_badge";
+
+    private static OutboxSyncHelper instance;
+
+    // One upload at a time
+    private final ExecutorService executor = Executors.newSingleThreadExecutor();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable drainTask = this::drain;
+    private final Context context;
+    private final Gson gson = new Gson();
+
+    // Only touched while holding the instance lock
+    private long scheduledAt = -1;
+    private int consecutiveFailures;
+
+    public static synchronized OutboxSyncHelper getInstance(Context context) {
+        if (instance == null) {
+            instance = new OutboxSyncHelper(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private OutboxSyncHelper(Context context) {
+        this.context = context;
+
+        // Calls held by screens of an earlier process: nothing will retry them live now
+        executor.execute(() -> OutboxDatabase.getInstance(context).releaseAll());
+    }
+
+    /**
+     * Coalesce key for a record type and the ids it applies to, e.g. key(TYPE_NODE_PROGRESS, student, node, phase)
+     */
+    public static String key(String type, Object... parts) {
+        StringBuilder key = new StringBuilder(type);
+        for (Object part : parts) {
+            key.append('/').append(part);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Queue a call's request body for upload; coalesceKey may be null (never coalesced)
+     */
+    public void enqueue(String type, String coalesceKey, Object request) {
+        String payload = gson.toJson(request);
+        executor.execute(() -> {
+            OutboxDatabase.getInstance(context).enqueue(type, coalesceKey, payload, false);
+            schedule(AppConfig.OUTBOX_FLUSH_DELAY_MS);
+        });
+    }
+
+    /**
+     * Queue a call the screen may still retry live: it is not sent until release(coalesceKey)
+     * (or the next app start), and cancel(coalesceKey) before the live retry drops it unsent
+     */
+    public void enqueueHeld(String type, String coalesceKey, Object request) {
+        String payload = gson.toJson(request);
+        executor.execute(() -> OutboxDatabase.getInstance(context).enqueue(type, coalesceKey, payload, true));
+    }
+
+    /**
+     * Send a held call after all (e.g. the student left the screen without retrying)
+     */
+    public void release(String coalesceKey) {
+        executor.execute(() -> {
+            OutboxDatabase.getInstance(context).release(coalesceKey);
+            schedule(AppConfig.OUTBOX_FLUSH_DELAY_MS);
+        });
+    }
+
+    /**
+     * Drop a queued call (e.g. the live call for it succeeded after all)
+     */
+    public void cancel(String coalesceKey) {
+        executor.execute(() -> OutboxDatabase.getInstance(context).cancel(coalesceKey));
+    }
+
+    /**
+     * Upload whatever is due now (e.g. at app start)
+     */
+    public void syncNow() {
+        synchronized (this) {
+            consecutiveFailures = 0;
+        }
+        schedule(0);
+    }
+
+    /**
+     * Run a drain after delayMs, unless one is already due sooner
+     */
+    private synchronized void schedule(long delayMs) {
+        long at = SystemClock.uptimeMillis() + delayMs;
+        if (scheduledAt >= 0 && scheduledAt <= at) return;
+
+        handler.removeCallbacks(drainTask);
+        handler.postAtTime(drainTask, at);
+        scheduledAt = at;
+    }
+
+    private void drain() {
+        synchronized (this) {
+            scheduledAt = -1;
+        }
+        executor.execute(this::drainBatches);
+    }
+
+    private void drainBatches() {
+        ApiService apiService = ApiClient.getApiService(context);
+        boolean responsesSent = uploadPlacementResponses(apiService);
+        boolean outboxSent = uploadOutbox(apiService);
+        if (!responsesSent || !outboxSent) {
+            retryAfterFailure();
+            return;
+        }
+
+        long next = OutboxDatabase.getInstance(context).getNextAttemptAt();
+        if (next >= 0) {
+            schedule(Math.max(0, next - System.currentTimeMillis()));
+        }
+    }
+
+    /**
+     * Upload the current student's queued placement answers; false if they are still queued
+     */
+    private boolean uploadPlacementResponses(ApiService apiService) {
+        int studentId = new SessionManager(context).getStudentId();
+        QuestionBankHelper questionBank = new QuestionBankHelper(context);
+        long upToId = questionBank.getLastPendingResponseId(studentId);
+        if (upToId == 0) return true;
+
+        // StudentResponses references AssessmentItems: answers to questions without a server
+        // item cannot be stored yet, so they stay queued until a content.db maps them
+        Map<Integer, Integer> itemIds = questionBank.getAssessmentItemIds();
+        List<ResponseModel> responses = new ArrayList<>();
+        Set<Integer> uploadedQuestions = new HashSet<>();
+        int unmapped = 0;
+        for (SubmitSingleRequest item : questionBank.getPendingResponses(studentId, upToId)) {
+            Integer itemId = itemIds.get(item.getItemId());
+            if (itemId == null) {
+                unmapped++;
+                continue;
+            }
+            responses.add(new ResponseModel(item.getSessionId(), itemId,
+                    item.getSelectedOption(), item.getIsCorrect() == 1, item.getTimeSpent()));
+            uploadedQuestions.add(item.getItemId());
+        }
+        if (responses.isEmpty()) {
+            if (unmapped > 0) Log.d(TAG, "Placement responses kept, without server item: " + unmapped);
+            return true;
+        }
+
+        try {
+            Response<SubmitResponseResult> response =
+                    apiService.submitResponses(new SubmitRequest(studentId, responses)).execute();
+            if (!response.isSuccessful() || response.body() == null || !response.body().isSuccess()) {
+                Log.e(TAG, "Placement responses upload failed: " + response.code());
+                return false;
+            }
+        } catch (IOException | RuntimeException e) {
+            Log.e(TAG, "Placement responses upload error: " + e.getMessage());
+            return false;
+        }
+
+        // Only the rows sent in this batch; answers queued meanwhile and unmapped ones stay
+        questionBank.deletePendingResponses(studentId, upToId, uploadedQuestions);
+        Log.d(TAG, "Placement responses uploaded: " + responses.size() + ", kept without server item: " + unmapped);
+        return true;
+    }
+
+    /**
+     * Replay due outbox records and game results; false if the server could not be reached
+     */
+    private boolean uploadOutbox(ApiService apiService) {
+        OutboxDatabase outbox = OutboxDatabase.getInstance(context);
+        LessonDatabase lessonDatabase = LessonDatabase.getInstance(context);
+
+        while (true) {
+            long now = System.currentTimeMillis();
+            List<OutboxDatabase.Record> due = outbox.getDueRecords(now, AppConfig.OUTBOX_BATCH_SIZE);
+            List<LessonDatabase.PendingGameResult> gameResults = lessonDatabase.getPendingGameResults(
+                    AppConfig.OUTBOX_BATCH_SIZE, now - AppConfig.OUTBOX_GAME_RESULT_GRACE_MS);
+            if (due.isEmpty() && gameResults.isEmpty()) return true;
+
+            List<Long> doneIds = new ArrayList<>();
+            List<OutboxDatabase.Record> rejected = new ArrayList<>();
+            List<Long> retryAt = new ArrayList<>();
+            List<Long> savedIds = new ArrayList<>();
+            List<Long> unsavedIds = new ArrayList<>();
+            boolean reachable = true;
+            try {
+                for (OutboxDatabase.Record record : due) {
+                    if (replay(apiService, record)) {
+                        doneIds.add(record.id);
+                    } else {
+                        Log.w(TAG, "Outbox " + record.type + " " + record.clientId + " turned down, attempt "
+                                + (record.attempts + 1));
+                        rejected.add(record);
+                        retryAt.add(now + backoff(record.attempts + 1));
+                    }
+                }
+                for (LessonDatabase.PendingGameResult result : gameResults) {
+                    Response<SaveGameResultResponse> response =
+                            apiService.saveGameResult(result.getResult()).execute();
+                    if (succeeded(response) && response.body().isSuccess()) {
+                        savedIds.add(result.getResultId());
+                    } else {
+                        unsavedIds.add(result.getResultId());
+                    }
+                }
+            } catch (IOException e) {
+                Log.e(TAG, "Outbox upload error: " + e.getMessage());
+                reachable = false;
+            }
+
+            // Whatever went through before an error is done and must not be sent again
+            outbox.delete(doneIds);
+            outbox.retryLater(rejected, retryAt);
+            lessonDatabase.markGameResultsUploaded(savedIds, unsavedIds);
+
+            Log.d(TAG, "Outbox uploaded: " + doneIds.size() + " records, " + savedIds.size()
+                    + " game results, " + (rejected.size() + unsavedIds.size()) + " rejected");
+            if (!reachable) return false;
+
+            synchronized (this) {
+                consecutiveFailures = 0;
+            }
+
+            // Keep going only while full batches are applied in full
+            boolean full = due.size() >= AppConfig.OUTBOX_BATCH_SIZE
+                    || gameResults.size() >= AppConfig.OUTBOX_BATCH_SIZE;
+            if (!full || !rejected.isEmpty() || !unsavedIds.isEmpty()) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Send one queued call to its endpoint; false if the server turned it down
+     * (IOException if the server could not be reached)
+     */
+    private boolean replay(ApiService apiService, OutboxDatabase.Record record) throws IOException {
+        try {
+            switch (record.type) {
+                case TYPE_NODE_PROGRESS: {
+                    Response<UpdateProgressResponse> response = apiService.updateNodeProgress(
+                            gson.fromJson(record.payload, UpdateProgressRequest.class)).execute();
+                    return succeeded(response) && response.body().isSuccess();
+                }
+                case TYPE_SESSION_LOG: {
+                    Response<LogSessionResponse> response = apiService.logSession(
+                            gson.fromJson(record.payload, LogSessionRequest.class)).execute();
+                    return succeeded(response) && response.body().isSuccess();
+                }
+                case TYPE_QUIZ_SUBMISSION: {
+                    Response<QuizSubmitResponse> response = apiService.submitQuiz(
+                            gson.fromJson(record.payload, QuizSubmitRequest.class)).execute();
+                    return succeeded(response) && response.body().isSuccess();
+                }
+                case TYPE_BADGE_CHECK: {
+                    Response<AwardBadgeResponse> response = apiService.awardBadge(
+                            gson.fromJson(record.payload, AwardBadgeRequest.class)).execute();
+                    return succeeded(response) && response.body().isSuccess();
+                }
+                default:
+                    // Written by a newer version of the app; nothing here can send it
+                    Log.e(TAG, "Dropping outbox record of unknown type " + record.type);
+                    return true;
+            }
+        } catch (JsonParseException e) {
+            Log.e(TAG, "Unreadable " + record.type + " record " + record.id + ": " + e.getMessage());
+            return false;
+        }
+    }
+
+    private static boolean succeeded(Response<?> response) {
+        if (!response.isSuccessful() || response.body() == null) {
+            Log.e(TAG, "Outbox call failed: " + response.code());
+            return false;
+        }
+        return true;
+    }
+
+    private void retryAfterFailure() {
+        int failures;
+        synchronized (this) {
+            failures = ++consecutiveFailures;
+        }
+        schedule(backoff(failures));
+    }
+
+    /**
+     * OUTBOX_RETRY_BASE_MS doubled per earlier failure, capped at OUTBOX_RETRY_MAX_MS
+     */
+    private static long backoff(int failures) {
+        int doublings = Math.min(failures - 1, 16);
+        return Math.min(AppConfig.OUTBOX_RETRY_BASE_MS << doublings, AppConfig.OUTBOX_RETRY_MAX_MS);
+    }
+}
@@ -91,7 +91,7 @@ public class PronunciationHelper {
     public PronunciationHelper(Context context) {
         this.context = context;
         this.sessionManager = new SessionManager(context);
-        this.apiService = ApiClient.getClient(context).create(ApiService.class);
+        this.apiService = ApiClient.getApiService(context);
     }
 
     /**
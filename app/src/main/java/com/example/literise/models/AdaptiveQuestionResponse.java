@@ -19,6 +19,14 @@ public class AdaptiveQuestionResponse {
     @SerializedName("message")
     private String message;
 
+    public AdaptiveQuestionResponse() {}
+
+    // Wraps a question that arrived by another route (e.g. piggybacked on submit_answer)
+    public AdaptiveQuestionResponse(QuestionData question) {
+        this.success = true;
+        this.question = question;
+    }
+
     // Getters
     public boolean isSuccess() {
         return success;
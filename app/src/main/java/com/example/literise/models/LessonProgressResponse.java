@@ -468,6 +468,28 @@ public class LessonProgressResponse {
 
 
 
+        public GameStats() {
+
+        }
+
+
+
+        public GameStats(int bestScore, int xpEarned, float accuracy, int bestTime, String datePlayed) {
+
+            this.bestScore = bestScore;
+
+            this.xpEarned = xpEarned;
+
+            this.accuracy = accuracy;
+
+            this.bestTime = bestTime;
+
+            this.datePlayed = datePlayed;
+
+        }
+
+
+
         public int getBestScore() {
 
             return bestScore;
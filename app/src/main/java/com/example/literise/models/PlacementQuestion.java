@@ -17,13 +17,13 @@ public class PlacementQuestion {
     private String imageUrl;        // For image-based questions
     private String readingPassage;  // For reading comprehension questions
     private List<String> options;   // Answer options
+    private transient String optionsJson; // Raw options from the database, parsed on first getOptions()
     private String correctAnswer;
     private double difficulty;      // b parameter (-3 to 3)
     private double discrimination;  // a parameter (0.5 to 2.5)
     private String leoHint;         // Leo's hint for this question
 
     public PlacementQuestion() {
-        this.options = new ArrayList<>();
     }
 
     public PlacementQuestion(int questionId, int category, String subcategory,
@@ -69,8 +69,15 @@ public class PlacementQuestion {
     public String getReadingPassage() { return readingPassage; }
     public void setReadingPassage(String readingPassage) { this.readingPassage = readingPassage; }
 
-    public List<String> getOptions() { return options; }
-    public void setOptions(List<String> options) { this.options = options; }
+    public List<String> getOptions() {
+        if (options == null) {
+            options = parseOptionsFromJson(optionsJson);
+            optionsJson = null;
+        }
+        return options;
+    }
+    public void setOptions(List<String> options) { this.options = options; this.optionsJson = null; }
+    public void setOptionsJson(String optionsJson) { this.optionsJson = optionsJson; this.options = null; }
 
     public String getCorrectAnswer() { return correctAnswer; }
     public void setCorrectAnswer(String correctAnswer) { this.correctAnswer = correctAnswer; }
@@ -86,7 +93,10 @@ public class PlacementQuestion {
 
     // Helper method to convert options list to JSON string
     public String getOptionsAsJson() {
-        JSONArray jsonArray = new JSONArray(options);
+        if (options == null && optionsJson != null) {
+            return optionsJson;
+        }
+        JSONArray jsonArray = new JSONArray(getOptions());
         return jsonArray.toString();
     }
 
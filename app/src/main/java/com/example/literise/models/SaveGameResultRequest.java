@@ -72,6 +72,14 @@ public class SaveGameResultRequest {
 
 
 
+    // Assigned when the result is saved locally; the live call and any outbox resend carry the same one
+
+    @SerializedName("client_id")
+
+    private String clientId;
+
+
+
     public SaveGameResultRequest() {}
 
 
@@ -164,6 +172,16 @@ public class SaveGameResultRequest {
 
 
 
+        public Builder clientId(String clientId) {
+
+            request.clientId = clientId;
+
+            return this;
+
+        }
+
+
+
         public SaveGameResultRequest build() {
 
             return request;
@@ -318,4 +336,20 @@ public class SaveGameResultRequest {
 
     }
 
+
+
+    public String getClientId() {
+
+        return clientId;
+
+    }
+
+
+
+    public void setClientId(String clientId) {
+
+        this.clientId = clientId;
+
+    }
+
 }
\ No newline at end of file
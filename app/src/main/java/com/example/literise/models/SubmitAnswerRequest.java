@@ -37,6 +37,12 @@ public class SubmitAnswerRequest {
     @SerializedName("interaction_data")
     private String interactionData; // JSON string
 
+    @SerializedName("include_next_question")
+    private Boolean includeNextQuestion; // Nullable - ask the server to return the next item too
+
+    @SerializedName("next_category")
+    private String nextCategory; // Nullable - category filter for the piggybacked next item
+
     public SubmitAnswerRequest(int studentId, int itemId, int sessionId, String assessmentType,
                                String selectedAnswer, boolean isCorrect, double studentTheta,
                                int questionNumber, String deviceInfo) {
@@ -139,4 +145,20 @@ public class SubmitAnswerRequest {
     public void setInteractionData(String interactionData) {
         this.interactionData = interactionData;
     }
+
+    public Boolean getIncludeNextQuestion() {
+        return includeNextQuestion;
+    }
+
+    public void setIncludeNextQuestion(Boolean includeNextQuestion) {
+        this.includeNextQuestion = includeNextQuestion;
+    }
+
+    public String getNextCategory() {
+        return nextCategory;
+    }
+
+    public void setNextCategory(String nextCategory) {
+        this.nextCategory = nextCategory;
+    }
 }
\ No newline at end of file
@@ -22,6 +22,9 @@ public class SubmitAnswerResponse {
     @SerializedName("message")
     private String message;
 
+    @SerializedName("next_question")
+    private AdaptiveQuestionResponse.QuestionData nextQuestion; // Only when include_next_question was sent
+
     // Getters
     public boolean isSuccess() {
         return success;
@@ -47,6 +50,10 @@ public class SubmitAnswerResponse {
         return message;
     }
 
+    public AdaptiveQuestionResponse.QuestionData getNextQuestion() {
+        return nextQuestion;
+    }
+
     // Inner class for feedback data
     public static class FeedbackData {
         @SerializedName("message")
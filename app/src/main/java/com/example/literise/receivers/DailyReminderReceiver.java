@@ -12,6 +12,7 @@ import androidx.core.app.NotificationCompat;
 import com.example.literise.R;
 import com.example.literise.activities.DashboardActivity;
 import com.example.literise.activities.SettingsActivity;
+import com.example.literise.database.KeyValueStore;
 
 /**
  * BroadcastReceiver that fires the daily "time to practice" push notification.
@@ -24,8 +25,8 @@ public class DailyReminderReceiver extends BroadcastReceiver {
     @Override
     public void onReceive(Context context, Intent intent) {
         // Check that reminders are still enabled in prefs
-        SharedPreferences prefs = context.getSharedPreferences(
-                SettingsActivity.PREFS_NAME, Context.MODE_PRIVATE);
+        SharedPreferences prefs = KeyValueStore.getInstance(context)
+                .getPreferences(SettingsActivity.PREFS_NAME);
         if (!prefs.getBoolean(SettingsActivity.KEY_REMINDERS_ENABLED, true)) {
             return;
         }
@@ -30,4 +30,106 @@ public class AppConfig {
 
     public static final int DEMO_GRADE_LEVEL = 5;
 
+
+
+    // Placement test length: stop a category once the theta standard error
+
+    // drops below the threshold (between min and max items per category).
+
+    // Set ADAPTIVE_PLACEMENT_STOPPING to false for a fixed max-items-per-category test
+
+    public static final boolean ADAPTIVE_PLACEMENT_STOPPING = true;
+
+    // Calibrated for PlacementQuestions.csv (a between 0.9 and 1.5): with the N(0,1) prior a
+
+    // category cannot reach 0.6 before its 5th item, so 0.6 never shortens the test
+
+    public static final double PLACEMENT_SE_THRESHOLD = 0.7;
+
+    public static final int PLACEMENT_MIN_ITEMS_PER_CATEGORY = 3;
+
+    public static final int PLACEMENT_MAX_ITEMS_PER_CATEGORY = 5;
+
+
+
+    // Run the placement test on-device: select from the local question bank,
+
+    // score locally and upload the queued answers in one batch at the end
+
+    public static final boolean LOCAL_PLACEMENT_CAT = false;
+
+
+
+    // Local item selection only reads questions whose difficulty is within this
+
+    // distance of theta (widened when the window is empty), at most this many
+
+    public static final double PLACEMENT_DIFFICULTY_WINDOW = 1.0;
+
+    public static final int PLACEMENT_CANDIDATE_LIMIT = 10;
+
+
+
+    // Send each placement answer and request the next item in one round trip. When off, the
+    // answer and the next-item request go out as two overlapping calls, which needs no server change.
+
+    // Needs submit_answer.php to honour include_next_question / next_category; keep off until it does
+
+    public static final boolean PIPELINED_PLACEMENT_SUBMIT = false;
+
+
+
+    // Module performance is tallied in memory and written to storage after this
+    // many answers, this long after the first unsaved answer, or when an activity pauses
+
+    public static final int MODULE_PERFORMANCE_FLUSH_UPDATES = 10;
+
+    public static final long MODULE_PERFORMANCE_FLUSH_INTERVAL_MS = 5000;
+
+
+
+    // Preference edits (KeyValueStore) are written to storage together this long
+
+    // after the first unsaved edit, or when an activity pauses
+
+    public static final long KEY_VALUE_STORE_FLUSH_DELAY_MS = 1000;
+
+
+
+    // Offline outbox: queued uploads wait this long so they go out together, this many
+
+    // records are read per pass, and a drain that cannot reach the server is retried
+
+    // after 30 s doubling up to 30 min
+
+    public static final long OUTBOX_FLUSH_DELAY_MS = 5000;
+
+    public static final int OUTBOX_BATCH_SIZE = 50;
+
+    public static final long OUTBOX_RETRY_BASE_MS = 30 * 1000L;
+
+    public static final long OUTBOX_RETRY_MAX_MS = 30 * 60 * 1000L;
+
+
+
+    // Game results still waiting for their own save_game_results.php call are left
+
+    // to it; the outbox only takes results older than this (beyond the call's timeouts)
+
+    public static final long OUTBOX_GAME_RESULT_GRACE_MS = 2 * 60 * 1000L;
+
+
+
+    // Disk space for cached API responses (lesson content, quiz questions, ladder, badges, leaderboard)
+
+    public static final long HTTP_CACHE_SIZE_BYTES = 10 * 1024 * 1024L;
+
+
+
+    // After a failed token renewal, 401s with the same token give up for this long
+
+    // instead of each trying to log in again
+
+    public static final long AUTH_REFRESH_RETRY_MS = 30 * 1000L;
+
 }
\ No newline at end of file
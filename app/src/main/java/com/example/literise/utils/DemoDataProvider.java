@@ -8,6 +8,14 @@ import android.content.SharedPreferences;
 
 
 
+import com.example.literise.database.LessonDatabase;
+
+import com.example.literise.database.SessionManager;
+
+import com.example.literise.models.LessonProgressResponse;
+
+import com.example.literise.models.SaveGameResultRequest;
+
 import com.google.gson.Gson;
 
 import com.google.gson.reflect.TypeToken;
@@ -22,8 +30,6 @@ import java.util.Arrays;
 
 import java.util.Collections;
 
-import java.util.HashMap;
-
 import java.util.HashSet;
 
 import java.util.List;
@@ -48,14 +54,16 @@ public class DemoDataProvider {
 
     private static final String PREFS_NAME = "literise_demo_progress";
 
-    private static final String KEY_TOTAL_XP = "total_xp";
 
-    private static final String KEY_GAMES_COMPLETED = "games_completed"; // JSON map of lessonId -> Set<gameType>
 
     private static final String KEY_GAME_STATS = "game_stats"; // JSON map of lessonId_gameType -> stats
 
 
 
+    private static boolean legacyProgressChecked;
+
+
+
     // ==================== SENTENCE SCRAMBLE DATA ====================
 
 
@@ -306,6 +314,10 @@ public class DemoDataProvider {
 
 
 
+    // Game results live in LessonDatabase (game_results); this file only holds
+
+    // what older versions saved and is imported once
+
     private static SharedPreferences getPrefs(Context context) {
 
         return context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
@@ -314,117 +326,111 @@ public class DemoDataProvider {
 
 
 
-    public static int getTotalXP(Context context) {
-
-        return getPrefs(context).getInt(KEY_TOTAL_XP, 0);
-
-    }
-
-
+    private static LessonDatabase getGameResults(Context context) {
 
-    public static void addXP(Context context, int xp) {
+        LessonDatabase lessonDatabase = LessonDatabase.getInstance(context);
 
-        int current = getTotalXP(context);
+        importLegacyProgress(context, lessonDatabase);
 
-        getPrefs(context).edit().putInt(KEY_TOTAL_XP, current + xp).apply();
+        return lessonDatabase;
 
     }
 
 
 
-    public static void saveGameCompleted(Context context, int lessonId, String gameType, int xp, float accuracy, int timeSeconds) {
-
-        SharedPreferences prefs = getPrefs(context);
-
-        Gson gson = new Gson();
+    private static synchronized void importLegacyProgress(Context context, LessonDatabase lessonDatabase) {
 
+        if (legacyProgressChecked) return;
 
+        legacyProgressChecked = true;
 
-        // Update games completed set
 
-        String gamesJson = prefs.getString(KEY_GAMES_COMPLETED, "{}");
 
-        Type mapType = new TypeToken<Map<String, Set<String>>>(){}.getType();
-
-        Map<String, Set<String>> gamesMap = gson.fromJson(gamesJson, mapType);
+        SharedPreferences prefs = getPrefs(context);
 
-        if (gamesMap == null) gamesMap = new HashMap<>();
+        String statsJson = prefs.getString(KEY_GAME_STATS, null);
 
+        if (statsJson == null) return;
 
 
-        String lessonKey = String.valueOf(lessonId);
 
-        if (!gamesMap.containsKey(lessonKey)) {
+        Type statsType = new TypeToken<Map<String, GameStats>>(){}.getType();
 
-            gamesMap.put(lessonKey, new HashSet<>());
+        Map<String, GameStats> statsMap = new Gson().fromJson(statsJson, statsType);
 
-        }
+        if (statsMap != null) {
 
-        gamesMap.get(lessonKey).add(gameType);
+            int studentId = new SessionManager(context).getStudentId();
 
+            for (Map.Entry<String, GameStats> entry : statsMap.entrySet()) {
 
+                // Keys are lessonId_gameType
 
-        // Save game stats
+                String[] key = entry.getKey().split("_", 2);
 
-        String statsJson = prefs.getString(KEY_GAME_STATS, "{}");
+                if (key.length < 2) continue;
 
-        Type statsType = new TypeToken<Map<String, GameStats>>(){}.getType();
+                GameStats stats = entry.getValue();
 
-        Map<String, GameStats> statsMap = gson.fromJson(statsJson, statsType);
+                lessonDatabase.saveDemoGameResult(new SaveGameResultRequest.Builder(studentId, key[1], stats.xpEarned)
 
-        if (statsMap == null) statsMap = new HashMap<>();
+                        .lessonId(Integer.parseInt(key[0]))
 
+                        .accuracyPercentage(stats.accuracy)
 
+                        .timeCompleted(stats.timeSeconds)
 
-        String statsKey = lessonId + "_" + gameType;
+                        .xpEarned(stats.xpEarned)
 
-        statsMap.put(statsKey, new GameStats(xp, accuracy, timeSeconds));
+                        .build());
 
+            }
 
+        }
 
-        // Add XP
+        prefs.edit().clear().apply();
 
-        addXP(context, xp);
+    }
 
 
 
-        // Save all
+    public static int getTotalXP(Context context) {
 
-        prefs.edit()
+        return getGameResults(context).getTotalGameXp(LessonDatabase.SOURCE_DEMO, studentId(context));
 
-                .putString(KEY_GAMES_COMPLETED, gson.toJson(gamesMap))
+    }
 
-                .putString(KEY_GAME_STATS, gson.toJson(statsMap))
 
-                .apply();
 
-    }
+    public static void saveGameCompleted(Context context, int lessonId, String gameType, int xp, float accuracy, int timeSeconds) {
 
+        int studentId = new SessionManager(context).getStudentId();
 
+        SaveGameResultRequest result = new SaveGameResultRequest.Builder(studentId, gameType, xp)
 
-    public static Set<String> getCompletedGames(Context context, int lessonId) {
+                .lessonId(lessonId)
 
-        SharedPreferences prefs = getPrefs(context);
+                .accuracyPercentage(accuracy)
 
-        Gson gson = new Gson();
+                .timeCompleted(timeSeconds)
 
+                .xpEarned(xp)
 
+                .build();
 
-        String gamesJson = prefs.getString(KEY_GAMES_COMPLETED, "{}");
 
-        Type mapType = new TypeToken<Map<String, Set<String>>>(){}.getType();
 
-        Map<String, Set<String>> gamesMap = gson.fromJson(gamesJson, mapType);
+        // Demo results never reach the server or the real stats
 
+        getGameResults(context).saveDemoGameResult(result);
 
+    }
 
-        if (gamesMap == null || !gamesMap.containsKey(String.valueOf(lessonId))) {
 
-            return new HashSet<>();
 
-        }
+    public static Set<String> getCompletedGames(Context context, int lessonId) {
 
-        return gamesMap.get(String.valueOf(lessonId));
+        return new HashSet<>(demoGameStats(context, lessonId).keySet());
 
     }
 
@@ -432,7 +438,7 @@ public class DemoDataProvider {
 
     public static int getGamesPlayedCount(Context context, int lessonId) {
 
-        return getCompletedGames(context, lessonId).size();
+        return demoGameStats(context, lessonId).size();
 
     }
 
@@ -440,31 +446,35 @@ public class DemoDataProvider {
 
     public static GameStats getGameStats(Context context, int lessonId, String gameType) {
 
-        SharedPreferences prefs = getPrefs(context);
+        LessonProgressResponse.GameStats stats = demoGameStats(context, lessonId).get(gameType);
 
-        Gson gson = new Gson();
+        if (stats == null) return null;
 
+        return new GameStats(stats.getXpEarned(), stats.getAccuracy(), stats.getBestTime());
 
+    }
 
-        String statsJson = prefs.getString(KEY_GAME_STATS, "{}");
 
-        Type statsType = new TypeToken<Map<String, GameStats>>(){}.getType();
 
-        Map<String, GameStats> statsMap = gson.fromJson(statsJson, statsType);
+    public static void resetProgress(Context context) {
+
+        getGameResults(context).clearDemoGameResults();
 
+    }
 
 
-        if (statsMap == null) return null;
 
-        return statsMap.get(lessonId + "_" + gameType);
+    private static Map<String, LessonProgressResponse.GameStats> demoGameStats(Context context, int lessonId) {
+
+        return getGameResults(context).getLessonGameStats(LessonDatabase.SOURCE_DEMO, studentId(context), lessonId);
 
     }
 
 
 
-    public static void resetProgress(Context context) {
+    private static int studentId(Context context) {
 
-        getPrefs(context).edit().clear().apply();
+        return new SessionManager(context).getStudentId();
 
     }
 
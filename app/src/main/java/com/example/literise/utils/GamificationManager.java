@@ -2,16 +2,25 @@ package com.example.literise.utils;
 
 import android.content.Context;
 import android.content.SharedPreferences;
+import com.example.literise.database.GamificationDatabase;
+import com.example.literise.database.KeyValueStore;
 import com.example.literise.models.Badge;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
  * Manages gamification features: XP, levels, badges, streaks
+ *
+ * State lives in the GamificationDatabase ledger; its counters and earned
+ * badges are cached in memory, so the getters and badge checks below are
+ * plain lookups.
  */
 public class GamificationManager {
+    // Where gamification state was kept before the ledger (imported once)
     private static final String PREF_NAME = "GamificationPrefs";
     private static final String KEY_TOTAL_XP = "total_xp";
     private static final String KEY_CURRENT_LEVEL = "current_level";
@@ -25,7 +34,16 @@ public class GamificationManager {
     private static final String KEY_CURRENT_STREAK = "current_streak";
     private static final String KEY_LONGEST_STREAK = "longest_streak";
 
-    private SharedPreferences prefs;
+    private static final int BADGE_BONUS_XP = 25;
+
+    private static final String[] ALL_BADGE_IDS = {
+            Badge.BADGE_FIRST_STEPS,
+            Badge.BADGE_PERFECT_SCORE,
+            Badge.BADGE_DEDICATED_LEARNER,
+            Badge.BADGE_CHAMPION
+    };
+
+    private GamificationDatabase ledger;
     private Context context;
 
     // Level XP thresholds
@@ -40,7 +58,36 @@ public class GamificationManager {
 
     public GamificationManager(Context context) {
         this.context = context;
-        this.prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        this.ledger = GamificationDatabase.getInstance(context);
+        if (ledger.isEmpty()) {
+            importLegacyPrefs();
+        }
+    }
+
+    /**
+     * Move totals saved by older versions (GamificationPrefs) into the ledger
+     */
+    private void importLegacyPrefs() {
+        SharedPreferences prefs = KeyValueStore.getInstance(context).getPreferences(PREF_NAME);
+        if (prefs.getAll().isEmpty()) return;
+
+        Map<String, Integer> totals = new HashMap<>();
+        totals.put(GamificationDatabase.COUNTER_TOTAL_XP, prefs.getInt(KEY_TOTAL_XP, 0));
+        totals.put(GamificationDatabase.COUNTER_LEVEL, prefs.getInt(KEY_CURRENT_LEVEL, 1));
+        totals.put(GamificationDatabase.COUNTER_LESSONS_COMPLETED, prefs.getInt(KEY_LESSONS_COMPLETED, 0));
+        totals.put(GamificationDatabase.COUNTER_MODULES_COMPLETED, prefs.getInt(KEY_MODULES_COMPLETED, 0));
+        totals.put(GamificationDatabase.COUNTER_PERFECT_SCORES, prefs.getInt(KEY_PERFECT_SCORES, 0));
+        totals.put(GamificationDatabase.COUNTER_STORIES_WRITTEN, prefs.getInt(KEY_STORIES_WRITTEN, 0));
+        totals.put(GamificationDatabase.COUNTER_WORDS_MASTERED, prefs.getInt(KEY_WORDS_MASTERED, 0));
+        totals.put(GamificationDatabase.COUNTER_CURRENT_STREAK, prefs.getInt(KEY_CURRENT_STREAK, 0));
+        totals.put(GamificationDatabase.COUNTER_LONGEST_STREAK, prefs.getInt(KEY_LONGEST_STREAK, 0));
+        String lastActivity = prefs.getString(KEY_LAST_ACTIVITY_DATE, "");
+        if (!lastActivity.isEmpty()) {
+            totals.put(GamificationDatabase.COUNTER_LAST_ACTIVITY_DAY, Integer.parseInt(lastActivity));
+        }
+
+        ledger.importTotals(totals, prefs.getStringSet(KEY_EARNED_BADGES, new HashSet<>()));
+        prefs.edit().clear().apply();
     }
 
     // ==================== XP SYSTEM ====================
@@ -49,7 +96,7 @@ public class GamificationManager {
      * Get total XP earned
      */
     public int getTotalXP() {
-        return prefs.getInt(KEY_TOTAL_XP, 0);
+        return ledger.getCounter(GamificationDatabase.COUNTER_TOTAL_XP);
     }
 
     /**
@@ -63,24 +110,14 @@ public class GamificationManager {
      * Add XP and return if level up occurred
      */
     public boolean addXP(int xp) {
-        int currentXP = getTotalXP();
-        int currentLevel = getCurrentLevel();
-
-        int newXP = currentXP + xp;
-        prefs.edit().putInt(KEY_TOTAL_XP, newXP).apply();
-
-        int newLevel = calculateLevel(newXP);
-        if (newLevel > currentLevel) {
-            prefs.edit().putInt(KEY_CURRENT_LEVEL, newLevel).apply();
-            return true; // Level up!
-        }
-        return false;
+        // Level is worked out inside the ledger transaction, from the total it just updated
+        return ledger.addXp(xp, GamificationManager::calculateLevel);
     }
 
     /**
      * Calculate level from XP
      */
-    private int calculateLevel(int xp) {
+    private static int calculateLevel(int xp) {
         for (int i = LEVEL_THRESHOLDS.length - 1; i >= 0; i--) {
             if (xp >= LEVEL_THRESHOLDS[i]) {
                 return i + 1;
@@ -134,18 +171,12 @@ public class GamificationManager {
      */
     public List<Badge> checkAndAwardBadges() {
         List<Badge> newlyEarnedBadges = new ArrayList<>();
+        List<String> newlyEarnedIds = new ArrayList<>();
 
-        // Check all possible badges
-        String[] allBadgeIds = {
-                Badge.BADGE_FIRST_STEPS,
-                Badge.BADGE_PERFECT_SCORE,
-                Badge.BADGE_DEDICATED_LEARNER,
-                Badge.BADGE_CHAMPION
-        };
-
-        for (String badgeId : allBadgeIds) {
-            if (checkAndAwardBadge(badgeId)) {
-                // Badge was newly earned
+        // Check all possible badges against the cached counters
+        for (String badgeId : ALL_BADGE_IDS) {
+            if (!isBadgeEarned(badgeId) && isBadgeConditionMet(badgeId)) {
+                newlyEarnedIds.add(badgeId);
                 Badge badge = Badge.getBadgeById(badgeId);
                 if (badge != null) {
                     badge.setEarned(true);
@@ -154,6 +185,8 @@ public class GamificationManager {
             }
         }
 
+        // All new badges and their bonus XP in one transaction
+        awardBadges(newlyEarnedIds);
         return newlyEarnedBadges;
     }
 
@@ -165,54 +198,50 @@ public class GamificationManager {
             return false; // Already earned
         }
 
-        boolean shouldAward = false;
+        if (isBadgeConditionMet(badgeId)) {
+            List<String> badgeIds = new ArrayList<>();
+            badgeIds.add(badgeId);
+            awardBadges(badgeIds);
+            return true;
+        }
+        return false;
+    }
 
+    private boolean isBadgeConditionMet(String badgeId) {
         switch (badgeId) {
             case Badge.BADGE_FIRST_STEPS:
-                shouldAward = getLessonsCompleted() >= 1;
-                break;
+                return getLessonsCompleted() >= 1;
             case Badge.BADGE_PERFECT_SCORE:
-                shouldAward = getPerfectScores() >= 1;
-                break;
+                return getPerfectScores() >= 1;
             case Badge.BADGE_DEDICATED_LEARNER:
-                shouldAward = getCurrentStreak() >= 7;
-                break;
+                return getCurrentStreak() >= 7;
             case Badge.BADGE_CHAMPION:
-                shouldAward = getModulesCompleted() >= 5;
-                break;
+                return getModulesCompleted() >= 5;
+            default:
+                return false;
         }
-
-        if (shouldAward) {
-            awardBadge(badgeId);
-            return true;
-        }
-        return false;
     }
 
     /**
-     * Award a badge
+     * Award badges together with their bonus XP
      */
-    private void awardBadge(String badgeId) {
-        Set<String> earnedBadges = getEarnedBadges();
-        earnedBadges.add(badgeId);
-        prefs.edit().putStringSet(KEY_EARNED_BADGES, earnedBadges).apply();
-
-        // Award bonus XP
-        addXP(25); // Bonus XP for earning badge
+    private void awardBadges(List<String> badgeIds) {
+        if (badgeIds.isEmpty()) return;
+        ledger.awardBadges(badgeIds, BADGE_BONUS_XP, GamificationManager::calculateLevel);
     }
 
     /**
      * Check if badge is earned
      */
     public boolean isBadgeEarned(String badgeId) {
-        return getEarnedBadges().contains(badgeId);
+        return ledger.isBadgeEarned(badgeId);
     }
 
     /**
      * Get all earned badge IDs
      */
     public Set<String> getEarnedBadges() {
-        return prefs.getStringSet(KEY_EARNED_BADGES, new HashSet<>());
+        return new HashSet<>(ledger.getEarnedBadges().keySet());
     }
 
     /**
@@ -227,12 +256,14 @@ public class GamificationManager {
      */
     public List<Badge> getAllBadgesWithStatus() {
         Badge[] allBadges = Badge.getAllBadges();
-        Set<String> earnedIds = getEarnedBadges();
+        Map<String, Long> earned = ledger.getEarnedBadges();
         List<Badge> badges = new ArrayList<>();
 
         for (Badge badge : allBadges) {
-            if (earnedIds.contains(badge.getBadgeId())) {
+            Long earnedAt = earned.get(badge.getBadgeId());
+            if (earnedAt != null) {
                 badge.setEarned(true);
+                badge.setEarnedTimestamp(earnedAt);
             }
             badges.add(badge);
         }
@@ -245,62 +276,58 @@ public class GamificationManager {
      * Increment lessons completed
      */
     public void incrementLessonsCompleted() {
-        int count = getLessonsCompleted();
-        prefs.edit().putInt(KEY_LESSONS_COMPLETED, count + 1).apply();
+        ledger.increment(GamificationDatabase.EVENT_LESSON_COMPLETED, GamificationDatabase.COUNTER_LESSONS_COMPLETED);
         checkAndAwardBadge(Badge.BADGE_FIRST_STEPS);
     }
 
     public int getLessonsCompleted() {
-        return prefs.getInt(KEY_LESSONS_COMPLETED, 0);
+        return ledger.getCounter(GamificationDatabase.COUNTER_LESSONS_COMPLETED);
     }
 
     /**
      * Increment modules completed
      */
     public void incrementModulesCompleted() {
-        int count = getModulesCompleted();
-        prefs.edit().putInt(KEY_MODULES_COMPLETED, count + 1).apply();
+        ledger.increment(GamificationDatabase.EVENT_MODULE_COMPLETED, GamificationDatabase.COUNTER_MODULES_COMPLETED);
         checkAndAwardBadge(Badge.BADGE_CHAMPION);
     }
 
     public int getModulesCompleted() {
-        return prefs.getInt(KEY_MODULES_COMPLETED, 0);
+        return ledger.getCounter(GamificationDatabase.COUNTER_MODULES_COMPLETED);
     }
 
     /**
      * Increment perfect scores
      */
     public void incrementPerfectScores() {
-        int count = getPerfectScores();
-        prefs.edit().putInt(KEY_PERFECT_SCORES, count + 1).apply();
+        ledger.increment(GamificationDatabase.EVENT_PERFECT_SCORE, GamificationDatabase.COUNTER_PERFECT_SCORES);
         checkAndAwardBadge(Badge.BADGE_PERFECT_SCORE);
     }
 
     public int getPerfectScores() {
-        return prefs.getInt(KEY_PERFECT_SCORES, 0);
+        return ledger.getCounter(GamificationDatabase.COUNTER_PERFECT_SCORES);
     }
 
     /**
      * Increment stories written
      */
     public void incrementStoriesWritten() {
-        int count = getStoriesWritten();
-        prefs.edit().putInt(KEY_STORIES_WRITTEN, count + 1).apply();
+        ledger.increment(GamificationDatabase.EVENT_STORY_WRITTEN, GamificationDatabase.COUNTER_STORIES_WRITTEN);
     }
 
     public int getStoriesWritten() {
-        return prefs.getInt(KEY_STORIES_WRITTEN, 0);
+        return ledger.getCounter(GamificationDatabase.COUNTER_STORIES_WRITTEN);
     }
 
     /**
      * Set words mastered
      */
     public void setWordsMastered(int count) {
-        prefs.edit().putInt(KEY_WORDS_MASTERED, count).apply();
+        ledger.setCounter(GamificationDatabase.EVENT_WORDS_MASTERED, GamificationDatabase.COUNTER_WORDS_MASTERED, count);
     }
 
     public int getWordsMastered() {
-        return prefs.getInt(KEY_WORDS_MASTERED, 0);
+        return ledger.getCounter(GamificationDatabase.COUNTER_WORDS_MASTERED);
     }
 
     // ==================== STREAK SYSTEM ====================
@@ -309,56 +336,40 @@ public class GamificationManager {
      * Update streak on daily activity
      */
     public void updateStreak() {
-        String today = getCurrentDate();
-        String lastActivity = prefs.getString(KEY_LAST_ACTIVITY_DATE, "");
+        int today = getCurrentDay();
+        int lastActivity = ledger.getCounter(GamificationDatabase.COUNTER_LAST_ACTIVITY_DAY);
 
-        if (lastActivity.equals(today)) {
+        if (lastActivity == today) {
             // Already logged today
             return;
         }
 
-        String yesterday = getYesterdayDate();
         int currentStreak = getCurrentStreak();
 
-        if (lastActivity.equals(yesterday)) {
+        if (lastActivity == today - 1) {
             // Consecutive day - increment streak
             currentStreak++;
-        } else if (!lastActivity.isEmpty()) {
-            // Streak broken - reset to 1
-            currentStreak = 1;
         } else {
-            // First time
+            // Streak broken or first time - reset to 1
             currentStreak = 1;
         }
 
-        prefs.edit()
-                .putString(KEY_LAST_ACTIVITY_DATE, today)
-                .putInt(KEY_CURRENT_STREAK, currentStreak)
-                .apply();
-
-        // Update longest streak
-        int longestStreak = getLongestStreak();
-        if (currentStreak > longestStreak) {
-            prefs.edit().putInt(KEY_LONGEST_STREAK, currentStreak).apply();
-        }
+        // Day, streak and longest streak are saved together
+        ledger.recordActivity(today, currentStreak, Math.max(currentStreak, getLongestStreak()));
 
         checkAndAwardBadge(Badge.BADGE_DEDICATED_LEARNER);
     }
 
     public int getCurrentStreak() {
-        return prefs.getInt(KEY_CURRENT_STREAK, 0);
+        return ledger.getCounter(GamificationDatabase.COUNTER_CURRENT_STREAK);
     }
 
     public int getLongestStreak() {
-        return prefs.getInt(KEY_LONGEST_STREAK, 0);
-    }
-
-    private String getCurrentDate() {
-        return String.valueOf(System.currentTimeMillis() / (1000 * 60 * 60 * 24));
+        return ledger.getCounter(GamificationDatabase.COUNTER_LONGEST_STREAK);
     }
 
-    private String getYesterdayDate() {
-        return String.valueOf((System.currentTimeMillis() / (1000 * 60 * 60 * 24)) - 1);
+    private int getCurrentDay() {
+        return (int) (System.currentTimeMillis() / (1000 * 60 * 60 * 24));
     }
 
     // ==================== REWARDS ====================
@@ -393,6 +404,6 @@ public class GamificationManager {
      * Reset all gamification data (for testing/demo)
      */
     public void resetAll() {
-        prefs.edit().clear().apply();
+        ledger.resetAll();
     }
 }
\ No newline at end of file
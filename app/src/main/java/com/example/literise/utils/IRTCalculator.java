@@ -1,4 +1,87 @@
 package com.example.literise.utils;
 
+import com.example.literise.core.irt.ItemBank;
+import com.example.literise.models.PlacementQuestion;
+
+import java.util.List;
+
+/**
+ * IRTCalculator - PlacementQuestion view over the core ItemBank
+ *
+ * Selection, answered tracking and the precomputed information table live in
+ * ItemBank (core module); this class only maps bank items back to questions.
+ */
 public class IRTCalculator {
+
+    // Pass as category to select across the whole bank
+    public static final int ANY_CATEGORY = ItemBank.ANY_CATEGORY;
+
+    private final ItemBank bank;
+    private final PlacementQuestion[] questions; // in the order they were passed in
+
+    public IRTCalculator(List<PlacementQuestion> questions) {
+        int size = questions.size();
+        int[] ids = new int[size];
+        int[] categories = new int[size];
+        double[] difficulties = new double[size];
+        double[] discriminations = new double[size];
+
+        for (int i = 0; i < size; i++) {
+            PlacementQuestion question = questions.get(i);
+            ids[i] = question.getQuestionId();
+            categories[i] = question.getCategory();
+            difficulties[i] = question.getDifficulty();
+            discriminations[i] = question.getDiscrimination();
+        }
+
+        this.bank = new ItemBank(ids, categories, difficulties, discriminations);
+        this.questions = questions.toArray(new PlacementQuestion[0]);
+    }
+
+    /**
+     * Select the unanswered question with maximum information at theta (any category)
+     */
+    public PlacementQuestion selectNextQuestion(double theta) {
+        return selectNextQuestion(theta, ANY_CATEGORY);
+    }
+
+    /**
+     * Select the unanswered question with maximum information at theta within a category.
+     * Returns null if the category has no unanswered questions.
+     */
+    public PlacementQuestion selectNextQuestion(double theta, int category) {
+        int index = bank.selectNextItem(theta, category);
+        return index >= 0 ? questions[bank.getSourceIndex(index)] : null;
+    }
+
+    /**
+     * Mark a question as answered by its question id
+     * Returns false if the id is not in the bank
+     */
+    public boolean markAnswered(int questionId) {
+        return bank.markAnswered(questionId);
+    }
+
+    public boolean isAnswered(int questionId) {
+        return bank.isAnswered(questionId);
+    }
+
+    /**
+     * Clear answered flags so the bank can be reused for a new test
+     */
+    public void resetAnswered() {
+        bank.resetAnswered();
+    }
+
+    public int size() {
+        return bank.size();
+    }
+
+    public int getAnsweredCount() {
+        return bank.getAnsweredCount();
+    }
+
+    public ItemBank getItemBank() {
+        return bank;
+    }
 }
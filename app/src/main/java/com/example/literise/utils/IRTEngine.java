@@ -1,24 +1,34 @@
 package com.example.literise.utils;
 
+import com.example.literise.core.irt.AbilityEstimator;
+import com.example.literise.core.irt.EstimationMode;
 import com.example.literise.models.PlacementQuestion;
 
 import java.util.ArrayList;
 import java.util.List;
 
+/**
+ * IRTEngine - placement test state on top of the core AbilityEstimator
+ *
+ * The theta estimate (gradient / EAP / MAP) lives in the core module; this class
+ * keeps the answered PlacementQuestions and the item bank used for selection.
+ */
 public class IRTEngine {
 
-    private double theta; // Student ability estimate
+    private final AbilityEstimator estimator;
     private List<PlacementQuestion> answeredQuestions;
     private List<Boolean> answerResults;
 
-    // Constants
-    private static final double INITIAL_THETA = 0.0;
-    private static final double THETA_MIN = -3.0;
-    private static final double THETA_MAX = 3.0;
-    private static final double LEARNING_RATE = 0.3;
+    // Precomputed item bank for selection (see IRTCalculator)
+    private IRTCalculator itemBank;
+    private List<PlacementQuestion> itemBankSource;
 
     public IRTEngine() {
-        this.theta = INITIAL_THETA;
+        this(EstimationMode.GRADIENT);
+    }
+
+    public IRTEngine(EstimationMode estimationMode) {
+        this.estimator = new AbilityEstimator(estimationMode);
         this.answeredQuestions = new ArrayList<>();
         this.answerResults = new ArrayList<>();
     }
@@ -31,26 +41,15 @@ public class IRTEngine {
             return null;
         }
 
-        PlacementQuestion bestQuestion = null;
-        double maxInformation = 0.0;
-
-        for (PlacementQuestion question : availableQuestions) {
-            // Skip already answered questions
-            if (isQuestionAnswered(question)) {
-                continue;
-            }
-
-            // Calculate information for this question at current theta
-            double information = calculateInformation(question, theta);
-
-            if (information > maxInformation) {
-                maxInformation = information;
-                bestQuestion = question;
-            }
+        // Rebuild the precomputed item bank only when a different question list is passed in
+        if (availableQuestions != itemBankSource || availableQuestions.size() != itemBank.size()) {
+            loadItemBank(availableQuestions);
         }
 
+        PlacementQuestion bestQuestion = itemBank.selectNextQuestion(estimator.getTheta());
+
         // If no unanswered questions, return first available
-        if (bestQuestion == null && !availableQuestions.isEmpty()) {
+        if (bestQuestion == null) {
             bestQuestion = availableQuestions.get(0);
         }
 
@@ -58,84 +57,64 @@ public class IRTEngine {
     }
 
     /**
-     * Calculate Fisher Information for a question at given theta
-     * Information = a^2 * P(θ) * Q(θ)
+     * Select the next best unanswered question of a category from the loaded item bank
+     * Returns null if no bank is loaded or the category is exhausted
      */
-    private double calculateInformation(PlacementQuestion question, double theta) {
-        double a = question.getDiscrimination();
-        double b = question.getDifficulty();
+    public PlacementQuestion selectNextQuestion(int category) {
+        if (itemBank == null) {
+            return null;
+        }
+        return itemBank.selectNextQuestion(estimator.getTheta(), category);
+    }
 
-        // Calculate probability of correct answer
-        double p = 1.0 / (1.0 + Math.exp(-a * (theta - b)));
-        double q = 1.0 - p;
+    /**
+     * Build the item bank used for selection, carrying over already answered questions
+     */
+    public void loadItemBank(List<PlacementQuestion> questions) {
+        itemBank = new IRTCalculator(questions);
+        itemBankSource = questions;
 
-        // Fisher Information
-        return a * a * p * q;
+        for (PlacementQuestion answered : answeredQuestions) {
+            itemBank.markAnswered(answered.getQuestionId());
+        }
     }
 
     /**
      * Update theta estimate after answering a question
-     * Uses simple weighted update based on answer correctness
+     * GRADIENT mode uses a simple weighted update based on answer correctness,
+     * EAP/MAP modes read theta from the updated posterior
      */
     public void updateTheta(PlacementQuestion question, boolean isCorrect) {
         // Store the question and result
         answeredQuestions.add(question);
         answerResults.add(isCorrect);
+        if (itemBank != null) {
+            itemBank.markAnswered(question.getQuestionId());
+        }
 
-        double a = question.getDiscrimination();
-        double b = question.getDifficulty();
-
-        // Calculate expected probability of correct answer
-        double expectedP = question.calculateProbability(theta);
-
-        // Calculate error
-        double error = (isCorrect ? 1.0 : 0.0) - expectedP;
-
-        // Update theta using gradient ascent
-        // Δθ = learning_rate * a * error
-        double deltaTheta = LEARNING_RATE * a * error;
-
-        // Update theta with bounds checking
-        theta = Math.max(THETA_MIN, Math.min(THETA_MAX, theta + deltaTheta));
+        estimator.update(question.getDiscrimination(), question.getDifficulty(), isCorrect);
     }
 
     /**
-     * Check if a question has already been answered
+     * Theta the engine would move to after this answer, without recording it
+     * (used to prefetch the next question for both outcomes)
      */
-    private boolean isQuestionAnswered(PlacementQuestion question) {
-        for (PlacementQuestion answered : answeredQuestions) {
-            if (answered.getQuestionId() == question.getQuestionId()) {
-                return true;
-            }
-        }
-        return false;
+    public double previewTheta(PlacementQuestion question, boolean isCorrect) {
+        return estimator.preview(question.getDiscrimination(), question.getDifficulty(), isCorrect);
     }
 
     /**
      * Calculate final placement level based on theta (3 levels)
      */
     public int calculatePlacementLevel() {
-        // Map theta to reading levels 1-3
-        if (theta < -0.5) {
-            return 1; // Beginner
-        } else if (theta < 0.5) {
-            return 2; // Intermediate
-        } else {
-            return 3; // Advanced
-        }
+        return estimator.calculatePlacementLevel();
     }
 
     /**
      * Get placement level name
      */
     public String getPlacementLevelName() {
-        int level = calculatePlacementLevel();
-        switch (level) {
-            case 1: return "Beginner";
-            case 2: return "Intermediate";
-            case 3: return "Advanced";
-            default: return "Intermediate";
-        }
+        return estimator.getPlacementLevelName();
     }
 
     /**
@@ -182,14 +161,32 @@ public class IRTEngine {
 
     // Getters
     public double getTheta() {
-        return theta;
+        return estimator.getTheta();
     }
 
     /**
      * Set theta directly (used when syncing with API's theta estimate)
      */
     public void setTheta(double theta) {
-        this.theta = Math.max(THETA_MIN, Math.min(THETA_MAX, theta));
+        estimator.setTheta(theta);
+    }
+
+    public EstimationMode getEstimationMode() {
+        return estimator.getEstimationMode();
+    }
+
+    /**
+     * Switch estimation mode; EAP/MAP pick up the posterior built from all answers so far
+     */
+    public void setEstimationMode(EstimationMode estimationMode) {
+        estimator.setEstimationMode(estimationMode);
+    }
+
+    /**
+     * Standard error of the current ability estimate (posterior standard deviation)
+     */
+    public double getStandardError() {
+        return estimator.getStandardError();
     }
 
     public int getTotalAnswered() {
@@ -216,8 +213,11 @@ public class IRTEngine {
      * Reset the engine for a new test
      */
     public void reset() {
-        theta = INITIAL_THETA;
+        estimator.reset();
         answeredQuestions.clear();
         answerResults.clear();
+        if (itemBank != null) {
+            itemBank.resetAnswered();
+        }
     }
 }
\ No newline at end of file
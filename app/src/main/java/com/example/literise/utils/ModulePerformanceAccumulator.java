@@ -0,0 +1,210 @@
+package com.example.literise.utils;
+
+import android.app.Activity;
+import android.app.Application;
+import android.content.Context;
+import android.content.SharedPreferences;
+import android.os.Bundle;
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import com.example.literise.core.adaptive.ModulePerformance;
+import com.example.literise.core.adaptive.ModulePriorities;
+import com.example.literise.database.KeyValueStore;
+import com.google.gson.Gson;
+import com.google.gson.reflect.TypeToken;
+
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ModulePerformanceAccumulator - write-behind tally of answers per module
+ *
+ * Answers are counted in primitive arrays (one slot per tracked module), so
+ * recording one is O(1) and allocates nothing. The tally is written to the
+ * same SharedPreferences entry ModulePriorityManager always used:
+ * - after MODULE_PERFORMANCE_FLUSH_UPDATES unsaved answers
+ * - MODULE_PERFORMANCE_FLUSH_INTERVAL_MS after the first unsaved answer
+ * - whenever an activity pauses
+ * - synchronously before an uncaught exception kills the process
+ *
+ * One instance per process, shared by every ModulePriorityManager.
+ */
+public class ModulePerformanceAccumulator {
+
+    private static final String TAG = "ModulePerfAccumulator";
+    private static final String PREF_NAME = "ModulePriorities";
+    private static final String KEY_MODULE_PERFORMANCE = "module_performance";
+
+    private static ModulePerformanceAccumulator instance;
+
+    private final SharedPreferences prefs;
+    private final Gson gson = new Gson();
+    private final Handler handler = new Handler(Looper.getMainLooper());
+    private final Runnable flushTask = this::flush;
+
+    private final int[] correctAnswers = new int[ModulePriorities.TRACKED_MODULES.length];
+    private final int[] totalAttempts = new int[ModulePriorities.TRACKED_MODULES.length];
+    private int pendingUpdates;
+    private boolean flushScheduled;
+
+    public static synchronized ModulePerformanceAccumulator getInstance(Context context) {
+        if (instance == null) {
+            instance = new ModulePerformanceAccumulator(context.getApplicationContext());
+        }
+        return instance;
+    }
+
+    private ModulePerformanceAccumulator(Context context) {
+        this.prefs = KeyValueStore.getInstance(context).getPreferences(PREF_NAME);
+        load();
+
+        if (context instanceof Application) {
+            ((Application) context).registerActivityLifecycleCallbacks(new FlushOnPause());
+        }
+
+        // Write unsaved answers before a crash takes the process down
+        Thread.UncaughtExceptionHandler previous = Thread.getDefaultUncaughtExceptionHandler();
+        Thread.setDefaultUncaughtExceptionHandler((thread, error) -> {
+            try {
+                flushNow(true);
+            } catch (RuntimeException e) {
+                Log.e(TAG, "Could not save module performance before crash", e);
+            } finally {
+                if (previous != null) {
+                    previous.uncaughtException(thread, error);
+                }
+            }
+        });
+    }
+
+    /**
+     * Count one answer; item types that map to no module are ignored
+     */
+    public void record(String itemType, boolean isCorrect) {
+        int module = ModulePriorities.trackedModuleIndex(itemType);
+        if (module < 0) return;
+
+        synchronized (this) {
+            totalAttempts[module]++;
+            if (isCorrect) {
+                correctAnswers[module]++;
+            }
+            pendingUpdates++;
+
+            if (pendingUpdates >= AppConfig.MODULE_PERFORMANCE_FLUSH_UPDATES) {
+                writeLocked(false);
+            } else if (!flushScheduled) {
+                flushScheduled = true;
+                handler.postDelayed(flushTask, AppConfig.MODULE_PERFORMANCE_FLUSH_INTERVAL_MS);
+            }
+        }
+    }
+
+    /**
+     * Write unsaved answers now (asynchronously to disk)
+     */
+    public void flush() {
+        flushNow(false);
+    }
+
+    /**
+     * Current tally for every module with at least one answer
+     */
+    public synchronized Map<String, ModulePerformance> snapshot() {
+        Map<String, ModulePerformance> performance = new HashMap<>();
+        for (int i = 0; i < totalAttempts.length; i++) {
+            if (totalAttempts[i] > 0) {
+                String module = ModulePriorities.TRACKED_MODULES[i];
+                performance.put(module, new ModulePerformance(module, correctAnswers[i], totalAttempts[i]));
+            }
+        }
+        return performance;
+    }
+
+    /**
+     * Forget all answers (the stored copy is removed by the caller)
+     */
+    public synchronized void clear() {
+        for (int i = 0; i < totalAttempts.length; i++) {
+            correctAnswers[i] = 0;
+            totalAttempts[i] = 0;
+        }
+        pendingUpdates = 0;
+        cancelScheduledFlush();
+    }
+
+    private void flushNow(boolean synchronous) {
+        synchronized (this) {
+            if (pendingUpdates > 0) {
+                writeLocked(synchronous);
+            }
+        }
+    }
+
+    private void writeLocked(boolean synchronous) {
+        SharedPreferences.Editor editor = prefs.edit().putString(KEY_MODULE_PERFORMANCE, gson.toJson(snapshot()));
+        if (synchronous) {
+            editor.commit();
+        } else {
+            editor.apply();
+        }
+        Log.d(TAG, "Flushed " + pendingUpdates + " module performance updates");
+        pendingUpdates = 0;
+        cancelScheduledFlush();
+    }
+
+    private void cancelScheduledFlush() {
+        if (flushScheduled) {
+            handler.removeCallbacks(flushTask);
+            flushScheduled = false;
+        }
+    }
+
+    private void load() {
+        String json = prefs.getString(KEY_MODULE_PERFORMANCE, null);
+        if (json == null) return;
+
+        Type type = new TypeToken<Map<String, ModulePerformance>>() {}.getType();
+        Map<String, ModulePerformance> stored = gson.fromJson(json, type);
+        if (stored == null) return;
+
+        for (int i = 0; i < totalAttempts.length; i++) {
+            ModulePerformance perf = stored.get(ModulePriorities.TRACKED_MODULES[i]);
+            if (perf != null) {
+                correctAnswers[i] = perf.getCorrectAnswers();
+                totalAttempts[i] = perf.getTotalAttempts();
+            }
+        }
+    }
+
+    /**
+     * Flushes whenever any activity pauses (app backgrounded or screen changed)
+     */
+    private class FlushOnPause implements Application.ActivityLifecycleCallbacks {
+        @Override
+        public void onActivityPaused(Activity activity) {
+            flush();
+        }
+
+        @Override
+        public void onActivityCreated(Activity activity, Bundle savedInstanceState) {}
+
+        @Override
+        public void onActivityStarted(Activity activity) {}
+
+        @Override
+        public void onActivityResumed(Activity activity) {}
+
+        @Override
+        public void onActivityStopped(Activity activity) {}
+
+        @Override
+        public void onActivitySaveInstanceState(Activity activity, Bundle outState) {}
+
+        @Override
+        public void onActivityDestroyed(Activity activity) {}
+    }
+}
@@ -6,6 +6,11 @@ import android.content.Context;
 
 import android.content.SharedPreferences;
 
+import com.example.literise.core.adaptive.ModulePerformance;
+
+import com.example.literise.core.adaptive.ModulePriorities;
+
+import com.example.literise.database.KeyValueStore;
 import com.example.literise.database.SessionManager;
 
 
@@ -22,10 +27,6 @@ import java.util.ArrayList;
 
 import java.util.Collections;
 
-import java.util.HashMap;
-
-import java.util.LinkedHashMap;
-
 import java.util.List;
 
 import java.util.Map;
@@ -42,6 +43,12 @@ import java.util.Map;
 
  * weakest (highest priority) to strongest (lowest priority) for personalized learning
 
+ *
+
+ * Ordering rules live in ModulePriorities (core module); answers are tallied by
+
+ * ModulePerformanceAccumulator and the resulting order is kept in SharedPreferences.
+
  */
 
 public class ModulePriorityManager {
@@ -60,55 +67,13 @@ public class ModulePriorityManager {
 
     private Context context;
 
-
-
-    // Map item types to module categories
-
-    private static final Map<String, String> ITEM_TYPE_TO_MODULE = new HashMap<>();
-
-    static {
-
-        ITEM_TYPE_TO_MODULE.put("Reading", "Reading Comprehension");
-
-        ITEM_TYPE_TO_MODULE.put("Comprehension", "Reading Comprehension");
-
-        ITEM_TYPE_TO_MODULE.put("Pronunciation", "Phonics & Pronunciation");
-
-        ITEM_TYPE_TO_MODULE.put("Phonics", "Phonics & Pronunciation");
-
-        ITEM_TYPE_TO_MODULE.put("Vocabulary", "Vocabulary Building");
-
-        ITEM_TYPE_TO_MODULE.put("Word", "Vocabulary Building");
-
-        ITEM_TYPE_TO_MODULE.put("Grammar", "Grammar & Syntax");
-
-        ITEM_TYPE_TO_MODULE.put("Syntax", "Grammar & Syntax");
-
-        ITEM_TYPE_TO_MODULE.put("Fluency", "Reading Fluency");
-
-        ITEM_TYPE_TO_MODULE.put("Spelling", "Spelling & Writing");
-
-        ITEM_TYPE_TO_MODULE.put("Writing", "Spelling & Writing");
-
-    }
+    private ModulePerformanceAccumulator accumulator;
 
 
 
     // All 5 module categories matching placement test categories
 
-    public static final String[] ALL_MODULES = {
-
-            "Phonics and Word Study",                      // Cat1
-
-            "Vocabulary and Word Knowledge",               // Cat2
-
-            "Grammar Awareness and Grammatical Structures", // Cat3
-
-            "Comprehending and Analyzing Text",            // Cat4
-
-            "Creating and Composing Text"                  // Cat5
-
-    };
+    public static final String[] ALL_MODULES = ModulePriorities.ALL_MODULES;
 
 
 
@@ -116,10 +81,12 @@ public class ModulePriorityManager {
 
         this.context = context;
 
-        prefs = context.getSharedPreferences(PREF_NAME, Context.MODE_PRIVATE);
+        prefs = KeyValueStore.getInstance(context).getPreferences(PREF_NAME);
 
         gson = new Gson();
 
+        accumulator = ModulePerformanceAccumulator.getInstance(context);
+
     }
 
 
@@ -138,31 +105,23 @@ public class ModulePriorityManager {
 
     public void recordPerformance(String itemType, boolean isCorrect) {
 
-        String module = mapItemTypeToModule(itemType);
-
-        if (module == null) return;
-
-
-
-        Map<String, ModulePerformance> performance = getPerformanceMap();
-
+        // O(1) in-memory count; written to storage in the background (see ModulePerformanceAccumulator)
 
+        accumulator.record(itemType, isCorrect);
 
-        ModulePerformance modulePerf = performance.get(module);
-
-        if (modulePerf == null) {
+    }
 
-            modulePerf = new ModulePerformance(module);
 
-            performance.put(module, modulePerf);
 
-        }
+    /**
 
+     * Write any answers recorded since the last save
 
+     */
 
-        modulePerf.addAttempt(isCorrect);
+    public void flushPerformance() {
 
-        savePerformanceMap(performance);
+        accumulator.flush();
 
     }
 
@@ -176,67 +135,7 @@ public class ModulePriorityManager {
 
     public void calculateModulePriorities() {
 
-        Map<String, ModulePerformance> performance = getPerformanceMap();
-
-
-
-        List<ModulePerformance> moduleList = new ArrayList<>();
-
-
-
-        // Add modules with performance data
-
-        for (String module : ALL_MODULES) {
-
-            ModulePerformance perf = performance.get(module);
-
-            if (perf != null && perf.getTotalAttempts() > 0) {
-
-                moduleList.add(perf);
-
-            }
-
-        }
-
-
-
-        // Sort by performance (lowest accuracy first = highest priority)
-
-        Collections.sort(moduleList, (a, b) ->
-
-                Double.compare(a.getAccuracy(), b.getAccuracy())
-
-        );
-
-
-
-        // Get ordered module names
-
-        List<String> orderedModules = new ArrayList<>();
-
-        for (ModulePerformance perf : moduleList) {
-
-            orderedModules.add(perf.getModuleName());
-
-        }
-
-
-
-        // Add modules not tested yet (in default order)
-
-        for (String module : ALL_MODULES) {
-
-            if (!orderedModules.contains(module)) {
-
-                orderedModules.add(module);
-
-            }
-
-        }
-
-
-
-        saveOrderedModules(orderedModules);
+        saveOrderedModules(ModulePriorities.orderByAccuracy(getPerformanceMap()));
 
     }
 
@@ -256,47 +155,19 @@ public class ModulePriorityManager {
 
 
 
-        // Map of module names to their category scores
-
-        Map<String, Integer> moduleScores = new LinkedHashMap<>();
-
-        moduleScores.put("Phonics and Word Study", session.getCategoryScore("Cat1_PhonicsWordStudy"));
-
-        moduleScores.put("Vocabulary and Word Knowledge", session.getCategoryScore("Cat2_VocabularyWordKnowledge"));
-
-        moduleScores.put("Grammar Awareness and Grammatical Structures", session.getCategoryScore("Cat3_GrammarAwareness"));
-
-        moduleScores.put("Comprehending and Analyzing Text", session.getCategoryScore("Cat4_ComprehendingText"));
-
-        moduleScores.put("Creating and Composing Text", session.getCategoryScore("Cat5_CreatingComposing"));
-
-
-
-        // Convert to list for sorting
-
-        List<Map.Entry<String, Integer>> moduleList = new ArrayList<>(moduleScores.entrySet());
-
-
-
-        // Sort by score (lowest first = highest priority)
-
-        Collections.sort(moduleList, (a, b) -> Integer.compare(a.getValue(), b.getValue()));
-
+        // Category scores in ALL_MODULES order
 
+        int[] categoryScores = new int[ModulePriorities.PLACEMENT_CATEGORY_KEYS.length];
 
-        // Extract ordered module names
+        for (int i = 0; i < categoryScores.length; i++) {
 
-        List<String> orderedModules = new ArrayList<>();
-
-        for (Map.Entry<String, Integer> entry : moduleList) {
-
-            orderedModules.add(entry.getKey());
+            categoryScores[i] = session.getCategoryScore(ModulePriorities.PLACEMENT_CATEGORY_KEYS[i]);
 
         }
 
 
 
-        saveOrderedModules(orderedModules);
+        saveOrderedModules(ModulePriorities.orderByCategoryScore(categoryScores));
 
     }
 
@@ -366,6 +237,8 @@ public class ModulePriorityManager {
 
     public void clearPerformance() {
 
+        accumulator.clear();
+
         prefs.edit()
 
                 .remove(KEY_MODULE_PERFORMANCE)
@@ -382,51 +255,9 @@ public class ModulePriorityManager {
 
 
 
-    private String mapItemTypeToModule(String itemType) {
-
-        if (itemType == null) return null;
-
-
-
-        for (Map.Entry<String, String> entry : ITEM_TYPE_TO_MODULE.entrySet()) {
-
-            if (itemType.toLowerCase().contains(entry.getKey().toLowerCase())) {
-
-                return entry.getValue();
-
-            }
-
-        }
-
-        return null;
-
-    }
-
-
-
     private Map<String, ModulePerformance> getPerformanceMap() {
 
-        String json = prefs.getString(KEY_MODULE_PERFORMANCE, null);
-
-        if (json != null) {
-
-            Type type = new TypeToken<Map<String, ModulePerformance>>() {}.getType();
-
-            return gson.fromJson(json, type);
-
-        }
-
-        return new HashMap<>();
-
-    }
-
-
-
-    private void savePerformanceMap(Map<String, ModulePerformance> performance) {
-
-        String json = gson.toJson(performance);
-
-        prefs.edit().putString(KEY_MODULE_PERFORMANCE, json).apply();
+        return accumulator.snapshot();
 
     }
 
@@ -440,98 +271,4 @@ public class ModulePriorityManager {
 
     }
 
-
-
-    /**
-
-     * Inner class to track performance for a module
-
-     */
-
-    public static class ModulePerformance {
-
-        private String moduleName;
-
-        private int correctAnswers;
-
-        private int totalAttempts;
-
-
-
-        public ModulePerformance(String moduleName) {
-
-            this.moduleName = moduleName;
-
-            this.correctAnswers = 0;
-
-            this.totalAttempts = 0;
-
-        }
-
-
-
-        public void addAttempt(boolean isCorrect) {
-
-            totalAttempts++;
-
-            if (isCorrect) {
-
-                correctAnswers++;
-
-            }
-
-        }
-
-
-
-        public double getAccuracy() {
-
-            if (totalAttempts == 0) return 0.5; // Default 50% for untested
-
-            return (double) correctAnswers / totalAttempts;
-
-        }
-
-
-
-        public String getModuleName() {
-
-            return moduleName;
-
-        }
-
-
-
-        public int getCorrectAnswers() {
-
-            return correctAnswers;
-
-        }
-
-
-
-        public int getTotalAttempts() {
-
-            return totalAttempts;
-
-        }
-
-
-
-        public String getPerformanceLevel() {
-
-            double accuracy = getAccuracy();
-
-            if (accuracy < 0.4) return "Needs Practice";
-
-            if (accuracy < 0.6) return "Developing";
-
-            if (accuracy < 0.8) return "Good";
-
-            return "Excellent";
-
-        }
-
-    }
-
-}
\ No newline at end of file
+}
@@ -11,6 +11,7 @@ import android.util.Log;
 
 
 import com.example.literise.R;
+import com.example.literise.database.KeyValueStore;
 
 
 
@@ -190,8 +191,7 @@ public class MusicManager {
 
         // Restore persisted music-enabled preference from SettingsActivity
         android.content.SharedPreferences prefs =
-                this.context.getSharedPreferences("LiteRiseSettings",
-                        android.content.Context.MODE_PRIVATE);
+                KeyValueStore.getInstance(this.context).getPreferences("LiteRiseSettings");
         isMusicEnabled = prefs.getBoolean("music_enabled", true);
 
     }
@@ -499,8 +499,7 @@ public class MusicManager {
         isMusicEnabled = enabled;
 
         // Persist to SharedPreferences so it survives app restarts
-        context.getSharedPreferences("LiteRiseSettings",
-                        android.content.Context.MODE_PRIVATE)
+        KeyValueStore.getInstance(context).getPreferences("LiteRiseSettings")
                 .edit().putBoolean("music_enabled", enabled).apply();
 
         if (!enabled && mediaPlayer != null && mediaPlayer.isPlaying()) {
@@ -0,0 +1,63 @@
+package com.example.literise.utils;
+
+import com.example.literise.core.irt.StoppingRule;
+import com.example.literise.models.PlacementQuestion;
+
+/**
+ * PlacementStoppingRule - decides when a placement category has enough items
+ *
+ * Thin adapter over the core StoppingRule: one placement category is one
+ * segment, and the thresholds come from AppConfig.
+ */
+public class PlacementStoppingRule extends StoppingRule {
+
+    public PlacementStoppingRule(double seThreshold, int minItems, int maxItems) {
+        super(seThreshold, minItems, maxItems);
+    }
+
+    /**
+     * Fixed-length rule: always exactly itemsPerCategory items
+     */
+    public static PlacementStoppingRule fixed(int itemsPerCategory) {
+        return new PlacementStoppingRule(0.0, itemsPerCategory, itemsPerCategory);
+    }
+
+    /**
+     * Rule configured from AppConfig
+     */
+    public static PlacementStoppingRule fromConfig() {
+        if (!AppConfig.ADAPTIVE_PLACEMENT_STOPPING) {
+            return fixed(AppConfig.PLACEMENT_MAX_ITEMS_PER_CATEGORY);
+        }
+        return new PlacementStoppingRule(
+                AppConfig.PLACEMENT_SE_THRESHOLD,
+                AppConfig.PLACEMENT_MIN_ITEMS_PER_CATEGORY,
+                AppConfig.PLACEMENT_MAX_ITEMS_PER_CATEGORY);
+    }
+
+    /**
+     * Begin a new category (clears the category-local estimate)
+     */
+    public void startCategory() {
+        startSegment();
+    }
+
+    public void recordResponse(PlacementQuestion question, boolean isCorrect) {
+        recordResponse(question.getDiscrimination(), question.getDifficulty(), isCorrect);
+    }
+
+    public boolean shouldStopCategory() {
+        return shouldStop();
+    }
+
+    /**
+     * Whether answering this question (correctly or not) would end the category
+     */
+    public boolean wouldStopCategoryAfter(PlacementQuestion question, boolean isCorrect) {
+        return wouldStopAfter(question.getDiscrimination(), question.getDifficulty(), isCorrect);
+    }
+
+    public int getItemsInCategory() {
+        return getItemsInSegment();
+    }
+}
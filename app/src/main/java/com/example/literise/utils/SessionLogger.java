@@ -7,7 +7,7 @@ import android.os.Build;
 import android.util.Log;
 
 import com.example.literise.api.ApiClient;
-import com.example.literise.api.ApiService;
+import com.example.literise.helpers.OutboxSyncHelper;
 import com.example.literise.models.LogSessionRequest;
 import com.example.literise.models.LogSessionResponse;
 
@@ -60,8 +60,8 @@ public class SessionLogger {
         request.addAdditionalData("app_version", getAppVersion(context));
         request.addAdditionalData("sdk_version", Build.VERSION.SDK_INT);
 
-        ApiService apiService = ApiClient.getClient(context).create(ApiService.class);
-        Call<LogSessionResponse> call = apiService.logSession(request);
+        Context appContext = context.getApplicationContext();
+        Call<LogSessionResponse> call = ApiClient.getApiService(appContext).logSession(request);
 
         call.enqueue(new Callback<LogSessionResponse>() {
             @Override
@@ -75,7 +75,9 @@ public class SessionLogger {
 
             @Override
             public void onFailure(Call<LogSessionResponse> call, Throwable t) {
-                Log.e(TAG, "Error logging session: " + t.getMessage());
+                // Queued, so sessions logged offline still arrive
+                Log.e(TAG, "Error logging session, queued: " + t.getMessage());
+                OutboxSyncHelper.getInstance(appContext).enqueue(OutboxSyncHelper.TYPE_SESSION_LOG, null, request);
             }
         });
     }
@@ -7,6 +7,8 @@ import android.media.MediaPlayer;
 import android.media.SoundPool;
 import android.util.Log;
 
+import com.example.literise.database.KeyValueStore;
+
 import java.util.HashMap;
 import java.util.Map;
 
@@ -43,7 +45,7 @@ public class SoundEffectsHelper {
 
     public SoundEffectsHelper(Context context) {
         this.context = context.getApplicationContext();
-        this.prefs = context.getSharedPreferences(PREFS_NAME, Context.MODE_PRIVATE);
+        this.prefs = KeyValueStore.getInstance(context).getPreferences(PREFS_NAME);
         this.soundEnabled = prefs.getBoolean(KEY_SOUND_ENABLED, true);
         this.musicEnabled = prefs.getBoolean(KEY_MUSIC_ENABLED, true);
         initializeSoundPool();
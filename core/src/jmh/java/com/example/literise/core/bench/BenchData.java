@@ -0,0 +1,48 @@
+package com.example.literise.core.bench;
+
+import com.example.literise.core.irt.ItemBank;
+
+import java.util.Random;
+
+/**
+ * Deterministic synthetic item banks and abilities for the benchmarks
+ */
+final class BenchData {
+
+    private BenchData() {
+    }
+
+    static ItemBank itemBank(int size, int categories, long seed) {
+        Random random = new Random(seed);
+        int[] ids = new int[size];
+        int[] cats = new int[size];
+        double[] diffs = new double[size];
+        double[] discs = new double[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1;
+            cats[i] = 1 + (i % categories);
+            diffs[i] = difficulty(random);
+            discs[i] = discrimination(random);
+        }
+        return new ItemBank(ids, cats, diffs, discs);
+    }
+
+    static double[] thetas(int count, long seed) {
+        Random random = new Random(seed);
+        double[] thetas = new double[count];
+        for (int i = 0; i < count; i++) {
+            thetas[i] = Math.max(-3.0, Math.min(3.0, random.nextGaussian()));
+        }
+        return thetas;
+    }
+
+    // b ~ N(0, 1) clamped to the theta range
+    static double difficulty(Random random) {
+        return Math.max(-3.0, Math.min(3.0, random.nextGaussian()));
+    }
+
+    // a ~ U(0.5, 2.0)
+    static double discrimination(Random random) {
+        return 0.5 + 1.5 * random.nextDouble();
+    }
+}
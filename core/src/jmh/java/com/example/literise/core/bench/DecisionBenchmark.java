@@ -0,0 +1,99 @@
+package com.example.literise.core.bench;
+
+import com.example.literise.core.adaptive.AdaptiveDecisionRules;
+import com.example.literise.core.adaptive.ModulePerformance;
+import com.example.literise.core.adaptive.ModulePriorities;
+import com.example.literise.models.AdaptiveDecision;
+import com.example.literise.models.PacingStrategy;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adaptive decision evaluation (quiz outcome, game difficulty, pacing, module ordering)
+ * over a fixed set of random learner states
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class DecisionBenchmark {
+
+    private static final int STATES = 1024;
+
+    private int[] placementLevels;
+    private int[] quizScores;
+    private int[] attemptCounts;
+    private int[] categoryScores;
+    private List<List<Integer>> recentScores;
+    private List<Map<String, ModulePerformance>> modulePerformance;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        placementLevels = new int[STATES];
+        quizScores = new int[STATES];
+        attemptCounts = new int[STATES];
+        categoryScores = new int[STATES];
+        recentScores = new ArrayList<>(STATES);
+        modulePerformance = new ArrayList<>(STATES);
+
+        for (int i = 0; i < STATES; i++) {
+            placementLevels[i] = 1 + random.nextInt(3);
+            quizScores[i] = random.nextInt(101);
+            attemptCounts[i] = 1 + random.nextInt(3);
+            categoryScores[i] = random.nextInt(101);
+            recentScores.add(Arrays.asList(random.nextInt(101), random.nextInt(101), random.nextInt(101)));
+
+            Map<String, ModulePerformance> performance = new HashMap<>();
+            for (String module : ModulePriorities.ALL_MODULES) {
+                ModulePerformance perf = new ModulePerformance(module);
+                int attempts = random.nextInt(10);
+                for (int k = 0; k < attempts; k++) {
+                    perf.addAttempt(random.nextBoolean());
+                }
+                performance.put(module, perf);
+            }
+            modulePerformance.add(performance);
+        }
+    }
+
+    @Benchmark
+    public AdaptiveDecision evaluateQuizPerformance() {
+        int i = next++ & (STATES - 1);
+        return AdaptiveDecisionRules.evaluateQuizPerformance(
+                placementLevels[i], quizScores[i], attemptCounts[i], recentScores.get(i), categoryScores[i]);
+    }
+
+    @Benchmark
+    public String selectGameDifficulty() {
+        int i = next++ & (STATES - 1);
+        return AdaptiveDecisionRules.selectGameDifficulty(placementLevels[i], quizScores[i], attemptCounts[i]);
+    }
+
+    @Benchmark
+    public PacingStrategy selectLessonPacing() {
+        int i = next++ & (STATES - 1);
+        return AdaptiveDecisionRules.selectLessonPacing(placementLevels[i], recentScores.get(i));
+    }
+
+    @Benchmark
+    public List<String> orderModules() {
+        int i = next++ & (STATES - 1);
+        return ModulePriorities.orderByAccuracy(modulePerformance.get(i));
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.literise.core.bench;
+
+import com.example.literise.core.irt.AbilityEstimator;
+import com.example.literise.core.irt.EstimationMode;
+import com.example.literise.core.irt.ItemBank;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Maximum Information item selection across bank sizes
+ *
+ * selectNextItem: one selection at a random theta on a fresh bank
+ * placementTest: a full 5 x 5 placement test (select, answer, update theta), bank reset afterwards
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class ItemSelectionBenchmark {
+
+    private static final int CATEGORIES = 5;
+    private static final int ITEMS_PER_CATEGORY = 5;
+
+    @Param({"30", "1000", "10000", "100000"})
+    public int bankSize;
+
+    private ItemBank bank;
+    private double[] thetas;
+    private int next;
+    private Random random;
+
+    @Setup(Level.Trial)
+    public void buildBank() {
+        bank = BenchData.itemBank(bankSize, CATEGORIES, 42L);
+        thetas = BenchData.thetas(1024, 7L);
+        random = new Random(11L);
+    }
+
+    @Benchmark
+    public int selectNextItem() {
+        double theta = thetas[next++ & (thetas.length - 1)];
+        return bank.selectNextItem(theta, ItemBank.ANY_CATEGORY);
+    }
+
+    @Benchmark
+    public double placementTest() {
+        AbilityEstimator estimator = new AbilityEstimator(EstimationMode.EAP);
+        double trueTheta = thetas[next++ & (thetas.length - 1)];
+
+        for (int category = 1; category <= CATEGORIES; category++) {
+            for (int i = 0; i < ITEMS_PER_CATEGORY; i++) {
+                int item = bank.selectNextItem(estimator.getTheta(), category);
+                if (item < 0) break;
+                bank.markAnsweredAt(item);
+
+                double a = bank.getDiscrimination(item);
+                double b = bank.getDifficulty(item);
+                boolean correct = random.nextDouble() < ItemBank.probability(a, b, trueTheta);
+                estimator.update(a, b, correct);
+            }
+        }
+
+        bank.resetAnswered();
+        return estimator.getTheta();
+    }
+}
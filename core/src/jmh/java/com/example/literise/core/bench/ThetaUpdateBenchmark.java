@@ -0,0 +1,72 @@
+package com.example.literise.core.bench;
+
+import com.example.literise.core.irt.AbilityEstimator;
+import com.example.literise.core.irt.EstimationMode;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Theta update cost per response for each estimation mode
+ * Items are drawn from a bank of bankSize items; the estimator restarts every 25 responses
+ * so the posterior never becomes degenerately narrow.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ThetaUpdateBenchmark {
+
+    private static final int TEST_LENGTH = 25;
+
+    @Param({"GRADIENT", "EAP", "MAP"})
+    public EstimationMode mode;
+
+    @Param({"30", "1000", "10000", "100000"})
+    public int bankSize;
+
+    private double[] discriminations;
+    private double[] difficulties;
+    private boolean[] responses;
+    private AbilityEstimator estimator;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        discriminations = new double[bankSize];
+        difficulties = new double[bankSize];
+        responses = new boolean[bankSize];
+        for (int i = 0; i < bankSize; i++) {
+            discriminations[i] = BenchData.discrimination(random);
+            difficulties[i] = BenchData.difficulty(random);
+            responses[i] = random.nextBoolean();
+        }
+        estimator = new AbilityEstimator(mode);
+    }
+
+    @Benchmark
+    public double update() {
+        int i = next++ % bankSize;
+        if (estimator.getResponseCount() == TEST_LENGTH) {
+            estimator.reset();
+        }
+        estimator.update(discriminations[i], difficulties[i], responses[i]);
+        return estimator.getTheta();
+    }
+
+    @Benchmark
+    public double preview() {
+        int i = next++ % bankSize;
+        return estimator.preview(discriminations[i], difficulties[i], responses[i]);
+    }
+}
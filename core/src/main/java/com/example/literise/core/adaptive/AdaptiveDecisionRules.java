@@ -0,0 +1,234 @@
+package com.example.literise.core.adaptive;
+
+import com.example.literise.models.AdaptiveDecision;
+import com.example.literise.models.PacingStrategy;
+
+import java.util.List;
+
+/**
+ * AdaptiveDecisionRules - Performance-based adaptive learning rules
+ *
+ * Pure decision logic behind AdaptiveDecisionEngine: every input is passed in,
+ * nothing is read from the device and nothing is logged, so the same rules can
+ * run on the server or in a benchmark.
+ *
+ * Key Decisions:
+ * 1. Quiz performance → Supplemental/Intervention/Enrichment nodes
+ * 2. Placement + recent performance → Lesson pacing strategy
+ * 3. Placement + quiz score → Game difficulty
+ */
+public final class AdaptiveDecisionRules {
+
+    // Thresholds
+    public static final int PASS_THRESHOLD = 70;
+    public static final int BORDERLINE_THRESHOLD = 80;
+    public static final int MASTERY_THRESHOLD = 90;
+    public static final int SCORE_TREND_DELTA = 10; // Points change to be considered trend
+
+    private AdaptiveDecisionRules() {
+    }
+
+    /**
+     * Decision after quiz completion based on performance metrics
+     */
+    public static AdaptiveDecision evaluateQuizPerformance(
+            int placementLevel,
+            int quizScore,
+            int attemptCount,
+            List<Integer> recentScores, // Last 3 quiz scores across any nodes
+            int categoryScore // Placement test category score for this skill
+    ) {
+        AdaptiveDecision.ScoreTrend trend = calculateScoreTrend(recentScores);
+
+        // INTERVENTION: Failed quiz (< 70%)
+        if (quizScore < PASS_THRESHOLD) {
+            String reason;
+            if (attemptCount == 1) {
+                reason = String.format("Quiz failed (%d%%) on first attempt - adding intervention node", quizScore);
+            } else {
+                reason = String.format("Multiple attempts (%d%% after %d tries) - intensive support needed",
+                        quizScore, attemptCount);
+            }
+            return new AdaptiveDecision(
+                    AdaptiveDecision.DecisionType.ADD_INTERVENTION,
+                    reason, quizScore, attemptCount, placementLevel, trend
+            );
+        }
+
+        // SUPPLEMENTAL: Borderline pass (70-79%)
+        if (quizScore < BORDERLINE_THRESHOLD) {
+
+            // More conservative for BEGINNERS
+            if (placementLevel == 1) {
+                String reason = String.format("Beginner with borderline pass (%d%%) - adding support", quizScore);
+                return new AdaptiveDecision(
+                        AdaptiveDecision.DecisionType.ADD_SUPPLEMENTAL,
+                        reason, quizScore, attemptCount, placementLevel, trend
+                );
+            }
+
+            // INTERMEDIATE: Only if declining or weak in this category
+            if (placementLevel == 2) {
+                if (trend == AdaptiveDecision.ScoreTrend.DECLINING) {
+                    String reason = String.format("Intermediate with declining scores (%d%%) - preventive support", quizScore);
+                    return new AdaptiveDecision(
+                            AdaptiveDecision.DecisionType.ADD_SUPPLEMENTAL,
+                            reason, quizScore, attemptCount, placementLevel, trend
+                    );
+                }
+
+                // Check if this skill category was weak in placement
+                if (categoryScore < 60) {
+                    String reason = String.format("Weak placement category (%d%%), borderline quiz (%d%%) - support needed",
+                            categoryScore, quizScore);
+                    return new AdaptiveDecision(
+                            AdaptiveDecision.DecisionType.ADD_SUPPLEMENTAL,
+                            reason, quizScore, attemptCount, placementLevel, trend
+                    );
+                }
+            }
+        }
+
+        // WARNING: Declining trend even with passing scores
+        if (trend == AdaptiveDecision.ScoreTrend.DECLINING) {
+            double avgRecent = calculateAverageScore(recentScores);
+            if (quizScore < avgRecent - SCORE_TREND_DELTA) {
+                String reason = String.format("Significant score drop (%.0f%% → %d%%) - early intervention",
+                        avgRecent, quizScore);
+                return new AdaptiveDecision(
+                        AdaptiveDecision.DecisionType.ADD_SUPPLEMENTAL,
+                        reason, quizScore, attemptCount, placementLevel, trend
+                );
+            }
+        }
+
+        // ENRICHMENT: High performance (90%+) for Advanced learners
+        if (quizScore >= MASTERY_THRESHOLD && placementLevel == 3) {
+            String reason = String.format("Advanced learner with mastery (%d%%) - enrichment available", quizScore);
+            return new AdaptiveDecision(
+                    AdaptiveDecision.DecisionType.OFFER_ENRICHMENT,
+                    reason, quizScore, attemptCount, placementLevel, trend
+            );
+        }
+
+        // PROCEED: Normal progression
+        String reason = String.format("On track (%d%%, attempt %d) - proceed to next lesson", quizScore, attemptCount);
+        return new AdaptiveDecision(
+                AdaptiveDecision.DecisionType.PROCEED,
+                reason, quizScore, attemptCount, placementLevel, trend
+        );
+    }
+
+    /**
+     * Game difficulty based on placement + recent performance (EASY / MEDIUM / HARD)
+     */
+    public static String selectGameDifficulty(
+            int placementLevel,
+            int currentQuizScore, // Latest quiz score for this node (0 if not taken)
+            int gameAttemptCount
+    ) {
+        // Base difficulty on placement level
+        if (placementLevel == 1) { // Beginner
+            return "EASY";
+        }
+
+        if (placementLevel == 3) { // Advanced
+            // Unless struggling in this specific lesson
+            if (currentQuizScore > 0 && currentQuizScore < BORDERLINE_THRESHOLD && gameAttemptCount > 0) {
+                return "MEDIUM"; // Reduce challenge
+            }
+            return "HARD";
+        }
+
+        // INTERMEDIATE (placementLevel == 2): Adaptive based on quiz performance
+        if (currentQuizScore >= 85) {
+            return "HARD";
+        } else if (currentQuizScore >= 75 || currentQuizScore == 0) {
+            return "MEDIUM";
+        } else {
+            return "EASY";
+        }
+    }
+
+    /**
+     * Lesson pacing strategy based on placement level + recent performance average
+     */
+    public static PacingStrategy selectLessonPacing(
+            int placementLevel,
+            List<Integer> recentScores // Last 3 quiz scores
+    ) {
+        double avgRecentScore = calculateAverageScore(recentScores);
+
+        if (placementLevel == 1) { // Beginner
+            return new PacingStrategy(
+                    "SLOW",           // Speed
+                    "HIGH",           // Scaffolding
+                    "MANY",           // Examples
+                    15,               // Duration (minutes)
+                    true              // Allow review
+            );
+        }
+
+        if (placementLevel == 3) { // Advanced
+            // But slow down if recent performance dropped
+            if (avgRecentScore < 75) {
+                return new PacingStrategy("MODERATE", "BALANCED", "ADEQUATE", 10, true);
+            }
+            return new PacingStrategy("FAST", "MINIMAL", "FEW", 7, false);
+        }
+
+        // INTERMEDIATE: Adaptive to recent performance
+        if (avgRecentScore >= 85) {
+            return new PacingStrategy("MODERATE_FAST", "LOW", "ADEQUATE", 8, false);
+        } else if (avgRecentScore >= 70) {
+            return new PacingStrategy("MODERATE", "BALANCED", "ADEQUATE", 10, true);
+        } else {
+            return new PacingStrategy("SLOW", "HIGH", "MANY", 12, true);
+        }
+    }
+
+    /**
+     * Placement category score key for a lesson skill category, or null if it maps to none
+     */
+    public static String categoryKeyForSkill(String skillCategory) {
+        if (skillCategory == null) return null;
+
+        String skill = skillCategory.toLowerCase();
+        if (skill.contains("phonic")) {
+            return ModulePriorities.PLACEMENT_CATEGORY_KEYS[0];
+        } else if (skill.contains("vocabular")) {
+            return ModulePriorities.PLACEMENT_CATEGORY_KEYS[1];
+        } else if (skill.contains("grammar")) {
+            return ModulePriorities.PLACEMENT_CATEGORY_KEYS[2];
+        } else if (skill.contains("comprehend") || skill.contains("analyz")) {
+            return ModulePriorities.PLACEMENT_CATEGORY_KEYS[3];
+        } else if (skill.contains("creat") || skill.contains("compos") || skill.contains("writ")) {
+            return ModulePriorities.PLACEMENT_CATEGORY_KEYS[4];
+        }
+        return null;
+    }
+
+    public static AdaptiveDecision.ScoreTrend calculateScoreTrend(List<Integer> recentScores) {
+        if (recentScores == null || recentScores.size() < 2) {
+            return AdaptiveDecision.ScoreTrend.STABLE;
+        }
+
+        int firstScore = recentScores.get(0);
+        int lastScore = recentScores.get(recentScores.size() - 1);
+        int delta = lastScore - firstScore;
+
+        if (delta >= SCORE_TREND_DELTA) return AdaptiveDecision.ScoreTrend.IMPROVING;
+        if (delta <= -SCORE_TREND_DELTA) return AdaptiveDecision.ScoreTrend.DECLINING;
+        return AdaptiveDecision.ScoreTrend.STABLE;
+    }
+
+    public static double calculateAverageScore(List<Integer> scores) {
+        if (scores == null || scores.isEmpty()) return 0;
+
+        int sum = 0;
+        for (int score : scores) {
+            sum += score;
+        }
+        return (double) sum / scores.size();
+    }
+}
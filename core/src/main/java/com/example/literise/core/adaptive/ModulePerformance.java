@@ -0,0 +1,54 @@
+package com.example.literise.core.adaptive;
+
+/**
+ * Accuracy tally for one learning module
+ */
+public class ModulePerformance {
+    private String moduleName;
+    private int correctAnswers;
+    private int totalAttempts;
+
+    public ModulePerformance(String moduleName) {
+        this.moduleName = moduleName;
+        this.correctAnswers = 0;
+        this.totalAttempts = 0;
+    }
+
+    public ModulePerformance(String moduleName, int correctAnswers, int totalAttempts) {
+        this.moduleName = moduleName;
+        this.correctAnswers = correctAnswers;
+        this.totalAttempts = totalAttempts;
+    }
+
+    public void addAttempt(boolean isCorrect) {
+        totalAttempts++;
+        if (isCorrect) {
+            correctAnswers++;
+        }
+    }
+
+    public double getAccuracy() {
+        if (totalAttempts == 0) return 0.5; // Default 50% for untested
+        return (double) correctAnswers / totalAttempts;
+    }
+
+    public String getModuleName() {
+        return moduleName;
+    }
+
+    public int getCorrectAnswers() {
+        return correctAnswers;
+    }
+
+    public int getTotalAttempts() {
+        return totalAttempts;
+    }
+
+    public String getPerformanceLevel() {
+        double accuracy = getAccuracy();
+        if (accuracy < 0.4) return "Needs Practice";
+        if (accuracy < 0.6) return "Developing";
+        if (accuracy < 0.8) return "Good";
+        return "Excellent";
+    }
+}
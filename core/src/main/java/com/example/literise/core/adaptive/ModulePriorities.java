@@ -0,0 +1,133 @@
+package com.example.literise.core.adaptive;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * ModulePriorities - Module ordering rules (weakest module first)
+ *
+ * Pure logic behind ModulePriorityManager; persistence stays in the app.
+ */
+public final class ModulePriorities {
+
+    // All 5 module categories matching placement test categories
+    public static final String[] ALL_MODULES = {
+            "Phonics and Word Study",                      // Cat1
+            "Vocabulary and Word Knowledge",               // Cat2
+            "Grammar Awareness and Grammatical Structures", // Cat3
+            "Comprehending and Analyzing Text",            // Cat4
+            "Creating and Composing Text"                  // Cat5
+    };
+
+    // Placement category score keys, in ALL_MODULES order
+    public static final String[] PLACEMENT_CATEGORY_KEYS = {
+            "Cat1_PhonicsWordStudy",
+            "Cat2_VocabularyWordKnowledge",
+            "Cat3_GrammarAwareness",
+            "Cat4_ComprehendingText",
+            "Cat5_CreatingComposing"
+    };
+
+    // Modules answers are tallied under, by item type
+    public static final String[] TRACKED_MODULES = {
+            "Reading Comprehension",
+            "Phonics & Pronunciation",
+            "Vocabulary Building",
+            "Grammar & Syntax",
+            "Reading Fluency",
+            "Spelling & Writing"
+    };
+
+    // Item type keywords (case-insensitive substrings, checked in this order) and their TRACKED_MODULES index
+    private static final String[] ITEM_TYPE_KEYWORDS = {
+            "reading", "comprehension", "pronunciation", "phonics", "vocabulary", "word",
+            "grammar", "syntax", "fluency", "spelling", "writing"
+    };
+    private static final int[] ITEM_TYPE_MODULE = {0, 0, 1, 1, 2, 2, 3, 3, 4, 5, 5};
+
+    private ModulePriorities() {
+    }
+
+    /**
+     * Module for a question item type, or null if it maps to none
+     */
+    public static String mapItemTypeToModule(String itemType) {
+        int module = trackedModuleIndex(itemType);
+        return module >= 0 ? TRACKED_MODULES[module] : null;
+    }
+
+    /**
+     * TRACKED_MODULES index for a question item type, or -1 if it maps to none
+     * Allocation-free, so it can run on every answered question.
+     */
+    public static int trackedModuleIndex(String itemType) {
+        if (itemType == null) return -1;
+
+        for (int i = 0; i < ITEM_TYPE_KEYWORDS.length; i++) {
+            if (containsIgnoreCase(itemType, ITEM_TYPE_KEYWORDS[i])) {
+                return ITEM_TYPE_MODULE[i];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Order modules by accuracy (lowest first); untested modules follow in default order
+     */
+    public static List<String> orderByAccuracy(Map<String, ModulePerformance> performance) {
+        List<ModulePerformance> moduleList = new ArrayList<>();
+        for (String module : ALL_MODULES) {
+            ModulePerformance perf = performance.get(module);
+            if (perf != null && perf.getTotalAttempts() > 0) {
+                moduleList.add(perf);
+            }
+        }
+
+        Collections.sort(moduleList, (a, b) -> Double.compare(a.getAccuracy(), b.getAccuracy()));
+
+        List<String> orderedModules = new ArrayList<>(ALL_MODULES.length);
+        for (ModulePerformance perf : moduleList) {
+            orderedModules.add(perf.getModuleName());
+        }
+        for (String module : ALL_MODULES) {
+            if (!orderedModules.contains(module)) {
+                orderedModules.add(module);
+            }
+        }
+        return orderedModules;
+    }
+
+    /**
+     * Order modules by placement category score (lowest first)
+     *
+     * @param categoryScores scores in ALL_MODULES order
+     */
+    public static List<String> orderByCategoryScore(int[] categoryScores) {
+        Integer[] order = new Integer[ALL_MODULES.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+
+        // Stable, so equal scores keep the default pedagogical order
+        Arrays.sort(order, (a, b) -> Integer.compare(categoryScores[a], categoryScores[b]));
+
+        List<String> orderedModules = new ArrayList<>(ALL_MODULES.length);
+        for (int index : order) {
+            orderedModules.add(ALL_MODULES[index]);
+        }
+        return orderedModules;
+    }
+
+    private static boolean containsIgnoreCase(String text, String keyword) {
+        int last = text.length() - keyword.length();
+        for (int start = 0; start <= last; start++) {
+            if (text.regionMatches(true, start, keyword, 0, keyword.length())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.literise.core.calibration;
+
+/**
+ * 2PL parameters estimated for one AssessmentItems row
+ */
+public class CalibratedItem {
+
+    private final int itemId;
+    private final int responses;
+    private final int correct;
+    private final double discrimination;
+    private final double difficulty;
+    private final double discriminationSe;
+    private final double difficultySe;
+
+    public CalibratedItem(int itemId, int responses, int correct, double discrimination, double difficulty,
+                          double discriminationSe, double difficultySe) {
+        this.itemId = itemId;
+        this.responses = responses;
+        this.correct = correct;
+        this.discrimination = discrimination;
+        this.difficulty = difficulty;
+        this.discriminationSe = discriminationSe;
+        this.difficultySe = difficultySe;
+    }
+
+    public int getItemId() {
+        return itemId;
+    }
+
+    public int getResponses() {
+        return responses;
+    }
+
+    public int getCorrect() {
+        return correct;
+    }
+
+    public double getProportionCorrect() {
+        return responses > 0 ? (double) correct / responses : 0.0;
+    }
+
+    public double getDiscrimination() {
+        return discrimination;
+    }
+
+    public double getDifficulty() {
+        return difficulty;
+    }
+
+    public double getDiscriminationSe() {
+        return discriminationSe;
+    }
+
+    public double getDifficultySe() {
+        return difficultySe;
+    }
+}
@@ -0,0 +1,162 @@
+package com.example.literise.core.calibration;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * CalibrationCli - command-line entry point for nightly item recalibration
+ *
+ *   ./gradlew :core:calibrate --args="responses.csv --out items.csv"
+ *   ./gradlew :core:calibrate --args="responses.csv --sql --out calibrate.sql"
+ *
+ * Writes one row per calibrated item as CSV, or as UPDATE statements for
+ * dbo.AssessmentItems with --sql. Progress goes to stderr.
+ */
+public class CalibrationCli {
+
+    private static final String USAGE = String.join("\n",
+            "Usage: calibrate <responses.csv> [options]",
+            "",
+            "  <responses.csv>            StudentResponses export ordered by the group columns",
+            "  --out <file>               write results to a file instead of stdout",
+            "  --sql                      write UPDATE statements for dbo.AssessmentItems",
+            "  --group <columns>          comma-separated columns identifying one test taker",
+            "                             (default StudentID,SessionID)",
+            "  --assessment-type <type>   only use rows with this AssessmentType",
+            "  --min-responses <n>        skip items with fewer responses (default 30)",
+            "  --max-iterations <n>       EM iteration limit (default 50)",
+            "  --tolerance <x>            stop when no parameter moves more than x (default 0.001)",
+            "  --threads <n>              worker threads (default: available processors)");
+
+    public static void main(String[] args) {
+        try {
+            System.exit(run(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        } catch (IOException e) {
+            System.err.println("Calibration failed: " + e.getMessage());
+            System.exit(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        }
+    }
+
+    static int run(String[] args) throws IOException, InterruptedException {
+        Path input = null;
+        Path output = null;
+        boolean sql = false;
+        String group = ResponseExportReader.DEFAULT_GROUP_COLUMNS;
+        String assessmentType = null;
+        int minResponses = 30;
+        int maxIterations = 50;
+        double tolerance = 1e-3;
+        int threads = Runtime.getRuntime().availableProcessors();
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--out": output = Paths.get(value(args, ++i, arg)); break;
+                case "--sql": sql = true; break;
+                case "--group": group = value(args, ++i, arg); break;
+                case "--assessment-type": assessmentType = value(args, ++i, arg); break;
+                case "--min-responses": minResponses = Integer.parseInt(value(args, ++i, arg)); break;
+                case "--max-iterations": maxIterations = Integer.parseInt(value(args, ++i, arg)); break;
+                case "--tolerance": tolerance = Double.parseDouble(value(args, ++i, arg)); break;
+                case "--threads": threads = Integer.parseInt(value(args, ++i, arg)); break;
+                case "--help":
+                case "-h":
+                    System.out.println(USAGE);
+                    return 0;
+                default:
+                    if (arg.startsWith("--") || input != null) {
+                        throw new IllegalArgumentException("Unexpected argument: " + arg);
+                    }
+                    input = Paths.get(arg);
+            }
+        }
+        if (input == null) {
+            throw new IllegalArgumentException("Missing response export");
+        }
+
+        long started = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(Math.max(1, threads));
+        try (ResponseExportReader reader = ResponseExportReader.open(input, group, assessmentType);
+             ResponseSpool spool = ResponseSpool.build(reader)) {
+
+            System.err.printf(Locale.ROOT, "Read %d responses from %d %s groups, %d items%n",
+                    spool.getResponseCount(), spool.getGroupCount(), group, spool.getItemCount());
+
+            ItemCalibrator calibrator = new ItemCalibrator(pool);
+            calibrator.setMinResponses(minResponses);
+            calibrator.setMaxIterations(maxIterations);
+            calibrator.setTolerance(tolerance);
+            calibrator.setProgress(System.err);
+
+            List<CalibratedItem> items = calibrator.calibrate(spool);
+            items.sort(Comparator.comparingInt(CalibratedItem::getItemId));
+
+            try (PrintWriter out = new PrintWriter(openOutput(output))) {
+                if (sql) {
+                    writeSql(out, items);
+                } else {
+                    writeCsv(out, items);
+                }
+            }
+
+            System.err.printf(Locale.ROOT, "Calibrated %d of %d items in %.1f s%n", items.size(),
+                    spool.getItemCount(), (System.nanoTime() - started) / 1e9);
+        } finally {
+            pool.shutdown();
+        }
+        return 0;
+    }
+
+    private static void writeCsv(PrintWriter out, List<CalibratedItem> items) {
+        out.println("ItemID,Responses,PCorrect,DiscriminationParam,DifficultyParam,DiscriminationSE,DifficultySE");
+        for (CalibratedItem item : items) {
+            out.printf(Locale.ROOT, "%d,%d,%.4f,%.4f,%.4f,%.4f,%.4f%n",
+                    item.getItemId(), item.getResponses(), item.getProportionCorrect(),
+                    item.getDiscrimination(), item.getDifficulty(),
+                    item.getDiscriminationSe(), item.getDifficultySe());
+        }
+    }
+
+    private static void writeSql(PrintWriter out, List<CalibratedItem> items) {
+        out.println("BEGIN TRANSACTION;");
+        for (CalibratedItem item : items) {
+            out.printf(Locale.ROOT,
+                    "UPDATE dbo.AssessmentItems SET DiscriminationParam = %.4f, DifficultyParam = %.4f, "
+                            + "ModifiedDate = GETDATE() WHERE ItemID = %d;%n",
+                    item.getDiscrimination(), item.getDifficulty(), item.getItemId());
+        }
+        out.println("COMMIT;");
+    }
+
+    private static Writer openOutput(Path output) throws IOException {
+        if (output == null) {
+            return new BufferedWriter(new OutputStreamWriter(System.out, StandardCharsets.UTF_8));
+        }
+        return Files.newBufferedWriter(output, StandardCharsets.UTF_8);
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+}
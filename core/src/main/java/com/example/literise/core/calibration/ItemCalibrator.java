@@ -0,0 +1,406 @@
+package com.example.literise.core.calibration;
+
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * ItemCalibrator - 2PL item calibration by marginal maximum likelihood (Bock-Aitkin EM)
+ *
+ * Ability is integrated out over a fixed N(0, 1) quadrature grid, which also
+ * fixes the theta scale the app's IRT engine uses.
+ *
+ * E-step: each test session's posterior over the grid is computed from the
+ * current item parameters and added to per-item expected counts (n_jk
+ * administrations, r_jk correct at node k). Batches of sessions are streamed
+ * from the ResponseSpool and processed on the pool; in-flight batches are
+ * capped so memory stays bounded.
+ *
+ * M-step: items are independent given the expected counts, so each item's
+ * (a, b) is re-estimated by Fisher scoring in a fork/join task over item
+ * ranges. Weak priors (log a ~ N(0, 0.5^2), b ~ N(0, 2^2)) keep sparsely
+ * answered items finite.
+ */
+public class ItemCalibrator {
+
+    // Quadrature grid
+    public static final int QUADRATURE_POINTS = 41;
+    public static final double QUADRATURE_MIN = -4.0;
+    public static final double QUADRATURE_MAX = 4.0;
+
+    // Parameter bounds
+    public static final double DISCRIMINATION_MIN = 0.2;
+    public static final double DISCRIMINATION_MAX = 4.0;
+    public static final double DIFFICULTY_MIN = -4.0;
+    public static final double DIFFICULTY_MAX = 4.0;
+
+    // Priors
+    private static final double LOG_DISCRIMINATION_SD = 0.5;
+    private static final double DIFFICULTY_SD = 2.0;
+
+    private static final int BATCH_RESPONSES = 1 << 16;
+    private static final int ITEMS_PER_TASK = 32;
+    private static final int MAX_SCORING_STEPS = 25;
+    private static final double MAX_STEP = 0.5;
+
+    private static final double[] NODES = new double[QUADRATURE_POINTS];
+    private static final double[] LOG_WEIGHTS = new double[QUADRATURE_POINTS];
+
+    static {
+        double step = (QUADRATURE_MAX - QUADRATURE_MIN) / (QUADRATURE_POINTS - 1);
+        double total = 0.0;
+        for (int k = 0; k < QUADRATURE_POINTS; k++) {
+            NODES[k] = QUADRATURE_MIN + k * step;
+            total += Math.exp(-0.5 * NODES[k] * NODES[k]);
+        }
+        for (int k = 0; k < QUADRATURE_POINTS; k++) {
+            LOG_WEIGHTS[k] = -0.5 * NODES[k] * NODES[k] - Math.log(total);
+        }
+    }
+
+    private final ForkJoinPool pool;
+    private int maxIterations = 50;
+    private double tolerance = 1e-3;
+    private int minResponses = 30;
+    private PrintStream progress; // null = silent
+
+    public ItemCalibrator(ForkJoinPool pool) {
+        this.pool = pool;
+    }
+
+    public void setMaxIterations(int maxIterations) {
+        this.maxIterations = maxIterations;
+    }
+
+    /**
+     * Stop once no parameter moves more than this between iterations
+     */
+    public void setTolerance(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Items with fewer responses are left out of the likelihood and the results
+     */
+    public void setMinResponses(int minResponses) {
+        this.minResponses = minResponses;
+    }
+
+    public void setProgress(PrintStream progress) {
+        this.progress = progress;
+    }
+
+    /**
+     * Calibrate every item in the spool with at least minResponses responses
+     * Results are in spool item order.
+     */
+    public List<CalibratedItem> calibrate(ResponseSpool spool) throws IOException, InterruptedException {
+        int items = spool.getItemCount();
+        double[] a = new double[items];
+        double[] b = new double[items];
+        double[] seA = new double[items];
+        double[] seB = new double[items];
+        boolean[] active = new boolean[items];
+
+        // Start from a = 1 and the difficulty implied by the proportion correct
+        for (int j = 0; j < items; j++) {
+            int n = spool.getResponseCount(j);
+            active[j] = n >= minResponses;
+            double p = (spool.getCorrectCount(j) + 0.5) / (n + 1.0);
+            a[j] = 1.0;
+            b[j] = clamp(-Math.log(p / (1.0 - p)), DIFFICULTY_MIN, DIFFICULTY_MAX);
+        }
+
+        for (int iteration = 1; iteration <= maxIterations; iteration++) {
+            ExpectedCounts counts = expectation(spool, a, b, active);
+
+            double[] change = new double[items];
+            pool.invoke(new MaximizationTask(0, items, counts, a, b, seA, seB, active, change));
+
+            double maxChange = 0.0;
+            for (double c : change) {
+                maxChange = Math.max(maxChange, c);
+            }
+
+            if (progress != null) {
+                progress.printf("Iteration %d: log-likelihood %.3f, max parameter change %.5f%n",
+                        iteration, counts.logLikelihood, maxChange);
+            }
+            if (maxChange < tolerance) {
+                break;
+            }
+        }
+
+        List<CalibratedItem> results = new ArrayList<>();
+        for (int j = 0; j < items; j++) {
+            if (active[j]) {
+                results.add(new CalibratedItem(spool.getItemId(j), spool.getResponseCount(j),
+                        spool.getCorrectCount(j), a[j], b[j], seA[j], seB[j]));
+            }
+        }
+        return results;
+    }
+
+    // =====================================================
+    // E-STEP
+    // =====================================================
+
+    private ExpectedCounts expectation(ResponseSpool spool, double[] a, double[] b, boolean[] active)
+            throws IOException, InterruptedException {
+        int items = a.length;
+
+        // log P and log Q of every item at every node, shared read-only by all batches
+        double[] logP = new double[items * QUADRATURE_POINTS];
+        double[] logQ = new double[items * QUADRATURE_POINTS];
+        for (int j = 0; j < items; j++) {
+            int base = j * QUADRATURE_POINTS;
+            for (int k = 0; k < QUADRATURE_POINTS; k++) {
+                double z = a[j] * (NODES[k] - b[j]);
+                logP[base + k] = -log1pExp(-z);
+                logQ[base + k] = -log1pExp(z);
+            }
+        }
+
+        int inFlight = Math.max(2, pool.getParallelism() * 2);
+        Semaphore permits = new Semaphore(inFlight);
+        Queue<ExpectedCounts> idle = new ConcurrentLinkedQueue<>();
+        Queue<ExpectedCounts> all = new ConcurrentLinkedQueue<>();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        spool.forEachBatch(BATCH_RESPONSES, (batch, length) -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while calibrating", e);
+            }
+            pool.execute(() -> {
+                ExpectedCounts counts = idle.poll();
+                if (counts == null) {
+                    counts = new ExpectedCounts(items);
+                    all.add(counts);
+                }
+                try {
+                    counts.addBatch(batch, length, logP, logQ, active);
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                } finally {
+                    idle.add(counts);
+                    permits.release();
+                }
+            });
+        });
+
+        // Wait for the last batches
+        permits.acquire(inFlight);
+        permits.release(inFlight);
+
+        if (failure.get() != null) {
+            throw new IllegalStateException("E-step failed", failure.get());
+        }
+
+        ExpectedCounts total = new ExpectedCounts(items);
+        for (ExpectedCounts counts : all) {
+            total.merge(counts);
+        }
+        return total;
+    }
+
+    /**
+     * Expected administrations (n) and correct answers (r) per item and node
+     */
+    private static class ExpectedCounts {
+        final double[] n;
+        final double[] r;
+        final double[] logLikelihoodAtNode = new double[QUADRATURE_POINTS];
+        double logLikelihood;
+
+        ExpectedCounts(int items) {
+            this.n = new double[items * QUADRATURE_POINTS];
+            this.r = new double[items * QUADRATURE_POINTS];
+        }
+
+        void addBatch(int[] batch, int length, double[] logP, double[] logQ, boolean[] active) {
+            double[] node = logLikelihoodAtNode;
+            int pos = 0;
+            while (pos < length) {
+                int count = batch[pos++];
+                int start = pos;
+                int end = pos + count;
+                pos = end;
+
+                System.arraycopy(LOG_WEIGHTS, 0, node, 0, QUADRATURE_POINTS);
+                boolean any = false;
+                for (int i = start; i < end; i++) {
+                    int item = batch[i] >>> 1;
+                    if (!active[item]) continue;
+                    any = true;
+                    double[] term = (batch[i] & 1) == 1 ? logP : logQ;
+                    int base = item * QUADRATURE_POINTS;
+                    for (int k = 0; k < QUADRATURE_POINTS; k++) {
+                        node[k] += term[base + k];
+                    }
+                }
+                if (!any) continue;
+
+                // Normalize the posterior over the grid (shifted by the max for stability)
+                double max = node[0];
+                for (int k = 1; k < QUADRATURE_POINTS; k++) {
+                    if (node[k] > max) max = node[k];
+                }
+                double sum = 0.0;
+                for (int k = 0; k < QUADRATURE_POINTS; k++) {
+                    node[k] = Math.exp(node[k] - max);
+                    sum += node[k];
+                }
+                logLikelihood += max + Math.log(sum);
+                for (int k = 0; k < QUADRATURE_POINTS; k++) {
+                    node[k] /= sum;
+                }
+
+                for (int i = start; i < end; i++) {
+                    int item = batch[i] >>> 1;
+                    if (!active[item]) continue;
+                    int base = item * QUADRATURE_POINTS;
+                    for (int k = 0; k < QUADRATURE_POINTS; k++) {
+                        n[base + k] += node[k];
+                    }
+                    if ((batch[i] & 1) == 1) {
+                        for (int k = 0; k < QUADRATURE_POINTS; k++) {
+                            r[base + k] += node[k];
+                        }
+                    }
+                }
+            }
+        }
+
+        void merge(ExpectedCounts other) {
+            for (int i = 0; i < n.length; i++) {
+                n[i] += other.n[i];
+                r[i] += other.r[i];
+            }
+            logLikelihood += other.logLikelihood;
+        }
+    }
+
+    // =====================================================
+    // M-STEP
+    // =====================================================
+
+    /**
+     * Fisher scoring for a range of items, split in halves until ITEMS_PER_TASK
+     */
+    private static class MaximizationTask extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+
+        private final int from;
+        private final int to;
+        private final ExpectedCounts counts;
+        private final double[] a;
+        private final double[] b;
+        private final double[] seA;
+        private final double[] seB;
+        private final boolean[] active;
+        private final double[] change;
+
+        MaximizationTask(int from, int to, ExpectedCounts counts, double[] a, double[] b,
+                         double[] seA, double[] seB, boolean[] active, double[] change) {
+            this.from = from;
+            this.to = to;
+            this.counts = counts;
+            this.a = a;
+            this.b = b;
+            this.seA = seA;
+            this.seB = seB;
+            this.active = active;
+            this.change = change;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from > ITEMS_PER_TASK) {
+                int mid = (from + to) >>> 1;
+                invokeAll(new MaximizationTask(from, mid, counts, a, b, seA, seB, active, change),
+                        new MaximizationTask(mid, to, counts, a, b, seA, seB, active, change));
+                return;
+            }
+            for (int j = from; j < to; j++) {
+                if (active[j]) {
+                    maximizeItem(j);
+                }
+            }
+        }
+
+        private void maximizeItem(int j) {
+            int base = j * QUADRATURE_POINTS;
+            double aj = a[j];
+            double bj = b[j];
+            double infoAA = 0.0, infoBB = 0.0, infoAB = 0.0;
+
+            for (int step = 0; step < MAX_SCORING_STEPS; step++) {
+                double gradA = 0.0, gradB = 0.0;
+                infoAA = 0.0;
+                infoBB = 0.0;
+                infoAB = 0.0;
+
+                for (int k = 0; k < QUADRATURE_POINTS; k++) {
+                    double nk = counts.n[base + k];
+                    if (nk == 0.0) continue;
+                    double d = NODES[k] - bj;
+                    double p = 1.0 / (1.0 + Math.exp(-aj * d));
+                    double residual = counts.r[base + k] - nk * p;
+                    double weight = nk * p * (1.0 - p);
+
+                    gradA += residual * d;
+                    gradB -= aj * residual;
+                    infoAA += weight * d * d;
+                    infoBB += aj * aj * weight;
+                    infoAB -= aj * weight * d;
+                }
+
+                // log a ~ N(0, sd^2) and b ~ N(0, sd^2)
+                double logA = Math.log(aj);
+                double varLogA = LOG_DISCRIMINATION_SD * LOG_DISCRIMINATION_SD;
+                gradA += -1.0 / aj - logA / (varLogA * aj);
+                infoAA += 1.0 / (varLogA * aj * aj);
+                gradB -= bj / (DIFFICULTY_SD * DIFFICULTY_SD);
+                infoBB += 1.0 / (DIFFICULTY_SD * DIFFICULTY_SD);
+
+                double det = infoAA * infoBB - infoAB * infoAB;
+                if (!(det > 0.0)) break;
+
+                double deltaA = clamp((infoBB * gradA - infoAB * gradB) / det, -MAX_STEP, MAX_STEP);
+                double deltaB = clamp((infoAA * gradB - infoAB * gradA) / det, -MAX_STEP, MAX_STEP);
+                aj = clamp(aj + deltaA, DISCRIMINATION_MIN, DISCRIMINATION_MAX);
+                bj = clamp(bj + deltaB, DIFFICULTY_MIN, DIFFICULTY_MAX);
+
+                if (Math.abs(deltaA) < 1e-6 && Math.abs(deltaB) < 1e-6) break;
+            }
+
+            double det = infoAA * infoBB - infoAB * infoAB;
+            seA[j] = det > 0.0 ? Math.sqrt(infoBB / det) : Double.NaN;
+            seB[j] = det > 0.0 ? Math.sqrt(infoAA / det) : Double.NaN;
+            change[j] = Math.max(Math.abs(aj - a[j]), Math.abs(bj - b[j]));
+            a[j] = aj;
+            b[j] = bj;
+        }
+    }
+
+    /**
+     * log(1 + e^x) without overflow
+     */
+    private static double log1pExp(double x) {
+        return x > 0 ? x + Math.log1p(Math.exp(-x)) : Math.log1p(Math.exp(x));
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
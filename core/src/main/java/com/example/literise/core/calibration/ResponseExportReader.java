@@ -0,0 +1,208 @@
+package com.example.literise.core.calibration;
+
+import com.example.literise.core.csv.CsvRecordReader;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * ResponseExportReader - streams a delimited export of dbo.StudentResponses
+ *
+ * Expects a header row and at least the group columns (StudentID and SessionID
+ * by default), ItemID and IsCorrect; other columns are ignored. Comma- and tab-separated
+ * exports are both accepted (the delimiter is taken from the header), as are
+ * UTF-8 and UTF-16 files with a BOM, which is what SSMS writes. Records are
+ * parsed by the shared CsvRecordReader, so quoting rules match the content exports.
+ *
+ * Rows must be ordered by the group columns so each test taker's responses are
+ * contiguous, e.g.
+ *
+ *   SELECT StudentID, SessionID, ItemID, IsCorrect, AssessmentType
+ *   FROM dbo.StudentResponses ORDER BY StudentID, SessionID, ResponseID
+ *
+ * SessionID alone is not unique: the app takes it from the clock in seconds,
+ * so two students who start a test in the same second share it.
+ *
+ * Rows are handed to a RowHandler one at a time, so memory use does not grow
+ * with the size of the export.
+ */
+public class ResponseExportReader implements Closeable {
+
+    // Comma-separated; together the columns identify one test taker
+    public static final String DEFAULT_GROUP_COLUMNS = "StudentID,SessionID";
+
+    private static final String COLUMN_ITEM = "ItemID";
+    private static final String COLUMN_CORRECT = "IsCorrect";
+    private static final String COLUMN_ASSESSMENT_TYPE = "AssessmentType";
+
+    private final CsvRecordReader reader;
+    private final String[] groupColumns;
+    private final String assessmentType; // null = all assessment types
+
+    public ResponseExportReader(Reader reader, String groupColumns, String assessmentType) {
+        this.reader = new CsvRecordReader(reader, "Response export", ',');
+        this.groupColumns = groupColumns.split(",");
+        this.assessmentType = assessmentType;
+    }
+
+    /**
+     * Open an export file, picking the charset from its byte order mark (UTF-8 if none)
+     */
+    public static ResponseExportReader open(Path path, String groupColumns, String assessmentType) throws IOException {
+        InputStream in = new BufferedInputStream(Files.newInputStream(path), 1 << 16);
+        Charset charset = detectCharset(in);
+        return new ResponseExportReader(new InputStreamReader(in, charset), groupColumns, assessmentType);
+    }
+
+    /**
+     * Callback for each response row that passes the filter
+     * groupId numbers the groups in file order (0, 1, 2, ...)
+     */
+    public interface RowHandler {
+        void onResponse(long groupId, int itemId, boolean correct) throws IOException;
+    }
+
+    /**
+     * Stream every row to the handler
+     * Returns the number of rows delivered
+     */
+    public long read(RowHandler handler) throws IOException {
+        List<String> columns = reader.next();
+        if (columns == null) {
+            throw new IOException("Response export is empty");
+        }
+        if (columns.size() == 1 && columns.get(0) != null && columns.get(0).indexOf('\t') >= 0) {
+            // Tab-separated export: split the header on tabs and read the rows the same way
+            reader.setDelimiter('\t');
+            columns = Arrays.asList(columns.get(0).split("\t", -1));
+        }
+
+        int[] groupIndexes = new int[groupColumns.length];
+        for (int g = 0; g < groupColumns.length; g++) {
+            groupIndexes[g] = requireColumn(columns, groupColumns[g].trim());
+        }
+        int itemIndex = requireColumn(columns, COLUMN_ITEM);
+        int correctIndex = requireColumn(columns, COLUMN_CORRECT);
+        int typeIndex = assessmentType != null ? requireColumn(columns, COLUMN_ASSESSMENT_TYPE) : -1;
+
+        long delivered = 0;
+        long groupId = -1;
+        long[] group = new long[groupIndexes.length];
+        long[] previousGroup = new long[groupIndexes.length];
+        List<String> fields;
+        while ((fields = reader.next()) != null) {
+            if (fields.size() < columns.size()) {
+                throw new IOException(reader.getSource() + " line " + reader.getLineNumber() + ": expected "
+                        + columns.size() + " fields, found " + fields.size());
+            }
+            if (typeIndex >= 0) {
+                String type = fields.get(typeIndex);
+                if (type == null || !assessmentType.equalsIgnoreCase(type.trim())) continue;
+            }
+
+            for (int g = 0; g < groupIndexes.length; g++) {
+                group[g] = parseLong(fields.get(groupIndexes[g]), groupColumns[g].trim());
+            }
+            int order = groupId < 0 ? 1 : Arrays.compare(group, previousGroup);
+            if (order < 0) {
+                throw new IOException(reader.getSource() + " line " + reader.getLineNumber()
+                        + ": export must be ordered by " + String.join(", ", groupColumns)
+                        + " (" + Arrays.toString(group) + " after " + Arrays.toString(previousGroup) + ")");
+            }
+            if (order > 0) {
+                groupId++;
+                long[] swap = previousGroup;
+                previousGroup = group;
+                group = swap;
+            }
+
+            handler.onResponse(groupId, (int) parseLong(fields.get(itemIndex), COLUMN_ITEM),
+                    parseCorrect(fields.get(correctIndex)));
+            delivered++;
+        }
+        return delivered;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    // =====================================================
+    // PARSING
+    // =====================================================
+
+    private static int requireColumn(List<String> columns, String name) throws IOException {
+        for (int i = 0; i < columns.size(); i++) {
+            if (columns.get(i) == null) continue;
+            String column = columns.get(i).trim();
+            if (column.startsWith("[") && column.endsWith("]")) {
+                column = column.substring(1, column.length() - 1);
+            }
+            if (column.equalsIgnoreCase(name)) {
+                return i;
+            }
+        }
+        throw new IOException("Response export has no " + name + " column (header: " + columns + ")");
+    }
+
+    private long parseLong(String value, String column) throws IOException {
+        try {
+            if (value != null) return Long.parseLong(value.trim());
+        } catch (NumberFormatException ignored) {
+            // reported below
+        }
+        throw invalid(column, value);
+    }
+
+    private boolean parseCorrect(String value) throws IOException {
+        if (value == null) throw invalid(COLUMN_CORRECT, null);
+        switch (value.trim().toLowerCase(Locale.ROOT)) {
+            case "1":
+            case "true":
+                return true;
+            case "0":
+            case "false":
+                return false;
+            default:
+                throw invalid(COLUMN_CORRECT, value);
+        }
+    }
+
+    private IOException invalid(String column, String value) {
+        return new IOException(reader.getSource() + " line " + reader.getLineNumber()
+                + ": invalid " + column + " '" + value + "'");
+    }
+
+    private static Charset detectCharset(InputStream in) throws IOException {
+        in.mark(3);
+        int b0 = in.read();
+        int b1 = in.read();
+        int b2 = in.read();
+        in.reset();
+
+        if (b0 == 0xFF && b1 == 0xFE) {
+            in.skip(2);
+            return StandardCharsets.UTF_16LE;
+        }
+        if (b0 == 0xFE && b1 == 0xFF) {
+            in.skip(2);
+            return StandardCharsets.UTF_16BE;
+        }
+        if (b0 == 0xEF && b1 == 0xBB && b2 == 0xBF) {
+            in.skip(3);
+        }
+        return StandardCharsets.UTF_8;
+    }
+}
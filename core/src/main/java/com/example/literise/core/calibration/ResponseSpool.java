@@ -0,0 +1,201 @@
+package com.example.literise.core.calibration;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * ResponseSpool - compact on-disk copy of a response export for repeated EM passes
+ *
+ * The export is parsed once; each group (test session) is then written to a
+ * temp file as its response count followed by one int per response,
+ * (itemIndex << 1) | correct. Every EM iteration streams this file back in
+ * batches, so only per-item state is held in memory no matter how many
+ * responses the export has.
+ */
+public class ResponseSpool implements Closeable {
+
+    private static final int IO_BUFFER = 1 << 16;
+
+    private final Path file;
+    private final int[] itemIds;        // item index -> ItemID
+    private final int[] responseCounts; // per item index
+    private final int[] correctCounts;  // per item index
+    private final long groupCount;
+    private final long responseCount;
+
+    private ResponseSpool(Path file, int[] itemIds, int[] responseCounts, int[] correctCounts,
+                          long groupCount, long responseCount) {
+        this.file = file;
+        this.itemIds = itemIds;
+        this.responseCounts = responseCounts;
+        this.correctCounts = correctCounts;
+        this.groupCount = groupCount;
+        this.responseCount = responseCount;
+    }
+
+    /**
+     * Parse the export into a new spool file
+     */
+    public static ResponseSpool build(ResponseExportReader reader) throws IOException {
+        Path file = Files.createTempFile("literise-responses", ".spool");
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(Files.newOutputStream(file), IO_BUFFER))) {
+            SpoolWriter writer = new SpoolWriter(out);
+            reader.read(writer);
+            writer.flushGroup();
+
+            int items = writer.itemIndex.size();
+            int[] itemIds = new int[items];
+            for (Map.Entry<Integer, Integer> entry : writer.itemIndex.entrySet()) {
+                itemIds[entry.getValue()] = entry.getKey();
+            }
+            return new ResponseSpool(file, itemIds,
+                    Arrays.copyOf(writer.responseCounts, items), Arrays.copyOf(writer.correctCounts, items),
+                    writer.groupCount, writer.responseCount);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    /**
+     * Receives groups in batches: [count, code, code, ..., count, code, ...]
+     * The array is owned by the handler once passed in.
+     */
+    public interface BatchHandler {
+        void onBatch(int[] batch, int length) throws IOException;
+    }
+
+    /**
+     * Stream the spool in batches of roughly batchResponses responses
+     * A batch never splits a group.
+     */
+    public void forEachBatch(int batchResponses, BatchHandler handler) throws IOException {
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(file), IO_BUFFER))) {
+            int[] batch = new int[batchResponses + 64];
+            int length = 0;
+
+            while (true) {
+                int count;
+                try {
+                    count = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+
+                if (length + count + 1 > batch.length) {
+                    if (length > 0) {
+                        handler.onBatch(batch, length);
+                    }
+                    batch = new int[Math.max(batchResponses, count) + 64];
+                    length = 0;
+                }
+
+                batch[length++] = count;
+                for (int i = 0; i < count; i++) {
+                    batch[length++] = in.readInt();
+                }
+            }
+
+            if (length > 0) {
+                handler.onBatch(batch, length);
+            }
+        }
+    }
+
+    public int getItemCount() {
+        return itemIds.length;
+    }
+
+    public int getItemId(int index) {
+        return itemIds[index];
+    }
+
+    public int getResponseCount(int index) {
+        return responseCounts[index];
+    }
+
+    public int getCorrectCount(int index) {
+        return correctCounts[index];
+    }
+
+    public long getGroupCount() {
+        return groupCount;
+    }
+
+    public long getResponseCount() {
+        return responseCount;
+    }
+
+    @Override
+    public void close() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    /**
+     * Buffers one group at a time and writes it out when the group id changes
+     */
+    private static class SpoolWriter implements ResponseExportReader.RowHandler {
+        private final DataOutputStream out;
+        private final Map<Integer, Integer> itemIndex = new HashMap<>();
+        private int[] responseCounts = new int[256];
+        private int[] correctCounts = new int[256];
+        private int[] group = new int[64];
+        private int groupSize;
+        private long currentGroup = Long.MIN_VALUE;
+        private long groupCount;
+        private long responseCount;
+
+        SpoolWriter(DataOutputStream out) {
+            this.out = out;
+        }
+
+        @Override
+        public void onResponse(long groupId, int itemId, boolean correct) throws IOException {
+            if (groupId != currentGroup) {
+                flushGroup();
+                currentGroup = groupId;
+            }
+
+            Integer index = itemIndex.get(itemId);
+            if (index == null) {
+                index = itemIndex.size();
+                itemIndex.put(itemId, index);
+                if (index == responseCounts.length) {
+                    responseCounts = Arrays.copyOf(responseCounts, index * 2);
+                    correctCounts = Arrays.copyOf(correctCounts, index * 2);
+                }
+            }
+            responseCounts[index]++;
+            if (correct) correctCounts[index]++;
+
+            if (groupSize == group.length) {
+                group = Arrays.copyOf(group, groupSize * 2);
+            }
+            group[groupSize++] = (index << 1) | (correct ? 1 : 0);
+        }
+
+        void flushGroup() throws IOException {
+            if (groupSize == 0) return;
+
+            out.writeInt(groupSize);
+            for (int i = 0; i < groupSize; i++) {
+                out.writeInt(group[i]);
+            }
+            groupCount++;
+            responseCount += groupSize;
+            groupSize = 0;
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.literise.core.content;
+
+import com.example.literise.core.csv.CsvRecordReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * ContentDatabaseBuilder - compiles the placement question CSV exports into content.db
+ *
+ *   ./gradlew :core:buildContentDb
+ *
+ * Runs at build time (the app's preBuild depends on it) and writes an indexed
+ * SQLite file that the app ships as assets/content.db and copies into place on
+ * first launch, instead of inserting rows one by one on the device.
+ *
+ * The content version (PRAGMA user_version) is a checksum of the input CSVs
+ * and SCHEMA_VERSION, so the app re-installs the asset exactly when the
+ * shipped content or its tables/indexes change.
+ *
+ * Needs a SQLite JDBC driver on the runtime classpath; the Gradle task adds
+ * one from a build-only configuration so it never reaches the APK.
+ */
+public class ContentDatabaseBuilder {
+
+    private static final String USAGE = String.join("\n",
+            "Usage: buildContentDb --csv-dir <dir> --out <content.db>",
+            "",
+            "  --csv-dir <dir>   directory holding the content CSV exports",
+            "  --out <file>      SQLite database to write (replaced if present)");
+
+    // Bump when tables or indexes change without a CSV change
+    static final int SCHEMA_VERSION = 4;
+
+    private static final String INTEGER = "INTEGER";
+    private static final String REAL = "REAL";
+    private static final String TEXT = "TEXT";
+
+    /**
+     * One table: its source CSV and columns in CSV order (first column is the primary key)
+     */
+    static final class TableSpec {
+        final String table;
+        final String csv;
+        final String[] columns;
+        final String[] types;
+
+        TableSpec(String table, String csv, String... columnsAndTypes) {
+            this.table = table;
+            this.csv = csv;
+            this.columns = new String[columnsAndTypes.length / 2];
+            this.types = new String[columnsAndTypes.length / 2];
+            for (int i = 0; i < columns.length; i++) {
+                columns[i] = columnsAndTypes[2 * i];
+                types[i] = columnsAndTypes[2 * i + 1];
+            }
+        }
+    }
+
+    static final TableSpec[] TABLES = {
+            new TableSpec("placement_questions", "PlacementQuestions.csv",
+                    "question_id", INTEGER, "category", INTEGER, "subcategory", TEXT,
+                    "question_type", TEXT, "question_text", TEXT, "audio_url", TEXT,
+                    "image_url", TEXT, "reading_passage", TEXT, "options_json", TEXT,
+                    "correct_answer", TEXT, "difficulty", REAL, "discrimination", REAL,
+                    "leo_hint", TEXT),
+            // Local placement question -> dbo.AssessmentItems.ItemID, for uploading offline answers;
+            // answers to questions without a row stay queued on the device until a mapping ships
+            new TableSpec("placement_item_ids", "PlacementItemIds.csv",
+                    "question_id", INTEGER, "item_id", INTEGER)
+    };
+
+    static final String[] INDEXES = {
+            // Same access paths as the server's IX_AssessmentItems_Category / IX_AssessmentItems_Difficulty;
+            // (category, difficulty) also serves theta-window range scans within a category
+            "CREATE INDEX idx_placement_questions_category ON placement_questions(category, difficulty)",
+            "CREATE INDEX idx_placement_questions_difficulty ON placement_questions(difficulty)"
+    };
+
+    public static void main(String[] args) {
+        try {
+            System.exit(run(args));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        } catch (IOException | SQLException e) {
+            System.err.println("Content database build failed: " + e.getMessage());
+            System.exit(1);
+        }
+    }
+
+    static int run(String[] args) throws IOException, SQLException {
+        Path csvDir = null;
+        Path output = null;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--csv-dir": csvDir = Paths.get(value(args, ++i, arg)); break;
+                case "--out": output = Paths.get(value(args, ++i, arg)); break;
+                case "--help":
+                case "-h":
+                    System.out.println(USAGE);
+                    return 0;
+                default:
+                    throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+        }
+        if (csvDir == null || output == null) {
+            throw new IllegalArgumentException("Both --csv-dir and --out are required");
+        }
+
+        long started = System.nanoTime();
+        Path absoluteOutput = output.toAbsolutePath();
+        Files.createDirectories(absoluteOutput.getParent());
+        Path temp = absoluteOutput.resolveSibling(absoluteOutput.getFileName() + ".tmp");
+        Files.deleteIfExists(temp);
+
+        int version = contentVersion(csvDir);
+        long rows = 0;
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + temp)) {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("PRAGMA journal_mode = OFF");
+                statement.execute("PRAGMA synchronous = OFF");
+            }
+
+            connection.setAutoCommit(false);
+            for (TableSpec spec : TABLES) {
+                rows += load(connection, spec, csvDir.resolve(spec.csv));
+            }
+            try (Statement statement = connection.createStatement()) {
+                for (String index : INDEXES) {
+                    statement.execute(index);
+                }
+                statement.execute("PRAGMA user_version = " + version);
+            }
+            connection.commit();
+
+            connection.setAutoCommit(true);
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ANALYZE");
+                statement.execute("VACUUM");
+            }
+        }
+
+        Files.move(temp, absoluteOutput, StandardCopyOption.REPLACE_EXISTING);
+        System.err.printf("Wrote %d rows from %d tables to %s (content version %d, %d bytes) in %d ms%n",
+                rows, TABLES.length, absoluteOutput, version, Files.size(absoluteOutput),
+                (System.nanoTime() - started) / 1_000_000);
+        return 0;
+    }
+
+    private static long load(Connection connection, TableSpec spec, Path csv) throws IOException, SQLException {
+        StringBuilder create = new StringBuilder("CREATE TABLE ").append(spec.table).append(" (");
+        StringBuilder insert = new StringBuilder("INSERT INTO ").append(spec.table).append(" VALUES (");
+        for (int i = 0; i < spec.columns.length; i++) {
+            if (i > 0) {
+                create.append(", ");
+                insert.append(", ");
+            }
+            create.append(spec.columns[i]).append(' ').append(spec.types[i]);
+            if (i == 0) create.append(" PRIMARY KEY");
+            insert.append('?');
+        }
+        create.append(')');
+        insert.append(')');
+
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(create.toString());
+        }
+
+        long rows = 0;
+        try (CsvRecordReader reader = new CsvRecordReader(csv);
+             PreparedStatement statement = connection.prepareStatement(insert.toString())) {
+            List<String> record;
+            while ((record = reader.next(spec.columns.length)) != null) {
+                for (int i = 0; i < spec.columns.length; i++) {
+                    bind(statement, i + 1, spec.types[i], record.get(i), reader);
+                }
+                statement.addBatch();
+                rows++;
+            }
+            statement.executeBatch();
+        }
+        return rows;
+    }
+
+    private static void bind(PreparedStatement statement, int index, String type, String value,
+                             CsvRecordReader reader) throws IOException, SQLException {
+        if (value == null || (value.isEmpty() && !TEXT.equals(type))) {
+            statement.setNull(index, TEXT.equals(type) ? Types.VARCHAR : Types.NUMERIC);
+            return;
+        }
+        try {
+            switch (type) {
+                case INTEGER: statement.setLong(index, Long.parseLong(value.trim())); break;
+                case REAL: statement.setDouble(index, Double.parseDouble(value.trim())); break;
+                default: statement.setString(index, value);
+            }
+        } catch (NumberFormatException e) {
+            throw new IOException(reader.getSource() + " line " + reader.getLineNumber()
+                    + ": invalid " + type + " '" + value + "'");
+        }
+    }
+
+    /**
+     * Checksum of the schema version and every input CSV, as a positive int for PRAGMA user_version
+     */
+    private static int contentVersion(Path csvDir) throws IOException {
+        CRC32 crc = new CRC32();
+        crc.update(SCHEMA_VERSION);
+        byte[] buffer = new byte[1 << 16];
+        for (TableSpec spec : TABLES) {
+            try (InputStream in = Files.newInputStream(csvDir.resolve(spec.csv))) {
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    crc.update(buffer, 0, read);
+                }
+            }
+        }
+        int version = (int) (crc.getValue() & 0x7FFFFFFF);
+        return version == 0 ? 1 : version;
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+}
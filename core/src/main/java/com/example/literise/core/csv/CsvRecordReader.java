@@ -0,0 +1,149 @@
+package com.example.literise.core.csv;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * CsvRecordReader - reads the delimited SSMS exports used by core's build tools
+ *
+ * Quoted fields may contain the delimiter, doubled quotes and line breaks,
+ * and the input may start with a byte order mark. The literal NULL (unquoted)
+ * is returned as null, and blank lines between records are skipped.
+ *
+ * Each physical line is scanned once: the quote state carries over to the
+ * continuation lines of a multi-line field instead of the record being
+ * rescanned from its start.
+ */
+public class CsvRecordReader implements Closeable {
+
+    private static final char BOM = '\uFEFF';
+
+    private final BufferedReader reader;
+    private final String source;
+    private final StringBuilder field = new StringBuilder();
+    private char delimiter;
+    private long lineNumber;
+
+    /**
+     * Comma-separated UTF-8 file
+     */
+    public CsvRecordReader(Path path) throws IOException {
+        this(new InputStreamReader(Files.newInputStream(path), StandardCharsets.UTF_8),
+                path.getFileName().toString(), ',');
+    }
+
+    /**
+     * source names the input in error messages
+     */
+    public CsvRecordReader(Reader reader, String source, char delimiter) {
+        this.reader = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader, 1 << 16);
+        this.source = source;
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Delimiter for the records that follow (for inputs that announce theirs in a header)
+     */
+    public void setDelimiter(char delimiter) {
+        this.delimiter = delimiter;
+    }
+
+    /**
+     * Next record, or null at end of input
+     */
+    public List<String> next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) return null;
+            lineNumber++;
+            if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == BOM) {
+                line = line.substring(1);
+            }
+        } while (line.isEmpty());
+
+        List<String> fields = new ArrayList<>();
+        field.setLength(0);
+        boolean quoted = false;
+        boolean wasQuoted = false;
+
+        while (true) {
+            for (int i = 0; i < line.length(); i++) {
+                char c = line.charAt(i);
+                if (quoted) {
+                    if (c == '"') {
+                        if (i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                            field.append('"');
+                            i++;
+                        } else {
+                            quoted = false;
+                        }
+                    } else {
+                        field.append(c);
+                    }
+                } else if (c == '"') {
+                    quoted = true;
+                    wasQuoted = true;
+                } else if (c == delimiter) {
+                    fields.add(value(wasQuoted));
+                    field.setLength(0);
+                    wasQuoted = false;
+                } else if (c != '\r') {
+                    field.append(c);
+                }
+            }
+            if (!quoted) break;
+
+            // The open quoted field continues on the next line
+            line = reader.readLine();
+            if (line == null) {
+                throw new IOException(source + " line " + lineNumber + ": unterminated quoted field");
+            }
+            lineNumber++;
+            field.append('\n');
+        }
+        fields.add(value(wasQuoted));
+        return fields;
+    }
+
+    /**
+     * Next record, which must have exactly the given number of fields
+     */
+    public List<String> next(int expectedFields) throws IOException {
+        List<String> record = next();
+        if (record != null && record.size() != expectedFields) {
+            throw new IOException(source + " line " + lineNumber + ": expected " + expectedFields
+                    + " fields, found " + record.size());
+        }
+        return record;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    /**
+     * Physical line the last record ended on (1-based)
+     */
+    public long getLineNumber() {
+        return lineNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private String value(boolean wasQuoted) {
+        String value = field.toString();
+        return !wasQuoted && value.equals("NULL") ? null : value;
+    }
+}
@@ -0,0 +1,141 @@
+package com.example.literise.core.irt;
+
+/**
+ * AbilityEstimator - 2PL theta estimate for one test taker
+ *
+ * GRADIENT mode takes a fixed learning-rate step per response; EAP/MAP read
+ * theta from an EAPEstimator posterior, which is updated in every mode so the
+ * standard error is always available.
+ */
+public class AbilityEstimator {
+
+    // Constants
+    public static final double INITIAL_THETA = 0.0;
+    public static final double THETA_MIN = -3.0;
+    public static final double THETA_MAX = 3.0;
+    public static final double LEARNING_RATE = 0.3;
+
+    private double theta;
+    private EstimationMode estimationMode;
+    private final EAPEstimator posterior;
+
+    public AbilityEstimator() {
+        this(EstimationMode.GRADIENT);
+    }
+
+    public AbilityEstimator(EstimationMode estimationMode) {
+        this.theta = INITIAL_THETA;
+        this.estimationMode = estimationMode;
+        this.posterior = new EAPEstimator();
+    }
+
+    /**
+     * Update theta after a response to an item with discrimination a and difficulty b
+     */
+    public void update(double a, double b, boolean isCorrect) {
+        posterior.addResponse(a, b, isCorrect);
+        if (estimationMode == EstimationMode.EAP) {
+            setTheta(posterior.getEapTheta());
+            return;
+        }
+        if (estimationMode == EstimationMode.MAP) {
+            setTheta(posterior.getMapTheta());
+            return;
+        }
+
+        // Δθ = learning_rate * a * (observed - expected)
+        double error = (isCorrect ? 1.0 : 0.0) - ItemBank.probability(a, b, theta);
+        setTheta(theta + LEARNING_RATE * a * error);
+    }
+
+    /**
+     * Theta the estimate would move to after this response, without recording it
+     */
+    public double preview(double a, double b, boolean isCorrect) {
+        if (estimationMode == EstimationMode.EAP || estimationMode == EstimationMode.MAP) {
+            return clamp(posterior.previewTheta(a, b, isCorrect, estimationMode == EstimationMode.MAP));
+        }
+
+        double error = (isCorrect ? 1.0 : 0.0) - ItemBank.probability(a, b, theta);
+        return clamp(theta + LEARNING_RATE * a * error);
+    }
+
+    /**
+     * Map the current theta to reading levels 1-3
+     */
+    public int calculatePlacementLevel() {
+        return placementLevelFor(theta);
+    }
+
+    /**
+     * Map any theta to reading levels 1-3
+     */
+    public static int placementLevelFor(double theta) {
+        if (theta < -0.5) {
+            return 1; // Beginner
+        } else if (theta < 0.5) {
+            return 2; // Intermediate
+        } else {
+            return 3; // Advanced
+        }
+    }
+
+    public String getPlacementLevelName() {
+        switch (calculatePlacementLevel()) {
+            case 1: return "Beginner";
+            case 2: return "Intermediate";
+            case 3: return "Advanced";
+            default: return "Intermediate";
+        }
+    }
+
+    public double getTheta() {
+        return theta;
+    }
+
+    /**
+     * Set theta directly, clamped to [THETA_MIN, THETA_MAX]
+     */
+    public void setTheta(double theta) {
+        this.theta = clamp(theta);
+    }
+
+    public EstimationMode getEstimationMode() {
+        return estimationMode;
+    }
+
+    /**
+     * Switch estimation mode; EAP/MAP pick up the posterior built from all responses so far
+     */
+    public void setEstimationMode(EstimationMode estimationMode) {
+        this.estimationMode = estimationMode;
+        if (posterior.getResponseCount() == 0) {
+            return;
+        }
+        if (estimationMode == EstimationMode.EAP) {
+            setTheta(posterior.getEapTheta());
+        } else if (estimationMode == EstimationMode.MAP) {
+            setTheta(posterior.getMapTheta());
+        }
+    }
+
+    /**
+     * Standard error of the current ability estimate (posterior standard deviation)
+     */
+    public double getStandardError() {
+        return posterior.getStandardError();
+    }
+
+    public int getResponseCount() {
+        return posterior.getResponseCount();
+    }
+
+    public void reset() {
+        theta = INITIAL_THETA;
+        posterior.reset();
+    }
+
+    private static double clamp(double value) {
+        return Math.max(THETA_MIN, Math.min(THETA_MAX, value));
+    }
+}
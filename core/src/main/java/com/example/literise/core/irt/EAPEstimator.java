@@ -0,0 +1,159 @@
+package com.example.literise.core.irt;
+
+/**
+ * EAPEstimator - Bayesian theta estimation on a fixed quadrature grid
+ *
+ * Keeps the log-posterior (standard normal prior + 2PL log-likelihood) at every
+ * grid point. Each response adds its log P or log Q term in place, so an update
+ * is O(grid points) and allocates nothing. Expected-A-Posteriori (EAP), Maximum-
+ * A-Posteriori (MAP) and the posterior standard error are all read off the grid
+ * in a single pass after each update.
+ */
+public class EAPEstimator {
+
+    public static final double GRID_MIN = -4.0;
+    public static final double GRID_MAX = 4.0;
+    public static final int GRID_POINTS = 81;
+
+    // Shared, read-only grid and prior (identical for every estimator)
+    private static final double[] GRID = new double[GRID_POINTS];
+    private static final double[] LOG_PRIOR = new double[GRID_POINTS];
+
+    static {
+        double step = (GRID_MAX - GRID_MIN) / (GRID_POINTS - 1);
+        for (int k = 0; k < GRID_POINTS; k++) {
+            GRID[k] = GRID_MIN + k * step;
+            LOG_PRIOR[k] = -0.5 * GRID[k] * GRID[k]; // N(0, 1) up to a constant
+        }
+    }
+
+    private final double[] logPosterior = new double[GRID_POINTS];
+
+    private double eapTheta;
+    private double mapTheta;
+    private double standardError;
+    private int responseCount;
+
+    public EAPEstimator() {
+        reset();
+    }
+
+    /**
+     * Fold one scored response into the posterior
+     */
+    public void addResponse(double discrimination, double difficulty, boolean isCorrect) {
+        for (int k = 0; k < GRID_POINTS; k++) {
+            logPosterior[k] -= responseTerm(discrimination, difficulty, isCorrect, k);
+        }
+        responseCount++;
+        summarize();
+    }
+
+    /**
+     * Theta the estimator would report after one more response, without recording it
+     * Returns the MAP estimate if useMap is set, otherwise the EAP estimate
+     */
+    public double previewTheta(double discrimination, double difficulty, boolean isCorrect, boolean useMap) {
+        double max = Double.NEGATIVE_INFINITY;
+        int mapIndex = 0;
+        for (int k = 0; k < GRID_POINTS; k++) {
+            double value = logPosterior[k] - responseTerm(discrimination, difficulty, isCorrect, k);
+            if (value > max) {
+                max = value;
+                mapIndex = k;
+            }
+        }
+        if (useMap) {
+            return GRID[mapIndex];
+        }
+
+        double sumW = 0.0;
+        double sumWTheta = 0.0;
+        for (int k = 0; k < GRID_POINTS; k++) {
+            double w = Math.exp(logPosterior[k] - responseTerm(discrimination, difficulty, isCorrect, k) - max);
+            sumW += w;
+            sumWTheta += w * GRID[k];
+        }
+        return sumWTheta / sumW;
+    }
+
+    /**
+     * Standard error the estimator would report after one more response, without recording it
+     */
+    public double previewStandardError(double discrimination, double difficulty, boolean isCorrect) {
+        double max = Double.NEGATIVE_INFINITY;
+        for (int k = 0; k < GRID_POINTS; k++) {
+            max = Math.max(max, logPosterior[k] - responseTerm(discrimination, difficulty, isCorrect, k));
+        }
+
+        double sumW = 0.0;
+        double sumWTheta = 0.0;
+        double sumWTheta2 = 0.0;
+        for (int k = 0; k < GRID_POINTS; k++) {
+            double w = Math.exp(logPosterior[k] - responseTerm(discrimination, difficulty, isCorrect, k) - max);
+            sumW += w;
+            sumWTheta += w * GRID[k];
+            sumWTheta2 += w * GRID[k] * GRID[k];
+        }
+        double mean = sumWTheta / sumW;
+        return Math.sqrt(Math.max(0.0, sumWTheta2 / sumW - mean * mean));
+    }
+
+    /**
+     * Clear all responses and go back to the prior
+     */
+    public void reset() {
+        System.arraycopy(LOG_PRIOR, 0, logPosterior, 0, GRID_POINTS);
+        responseCount = 0;
+        summarize();
+    }
+
+    public double getEapTheta() {
+        return eapTheta;
+    }
+
+    public double getMapTheta() {
+        return mapTheta;
+    }
+
+    /**
+     * Posterior standard deviation of theta (standard error of the EAP estimate)
+     */
+    public double getStandardError() {
+        return standardError;
+    }
+
+    public int getResponseCount() {
+        return responseCount;
+    }
+
+    // Negative log-likelihood of one response at grid point k:
+    // log P = -log(1 + e^(-z)), log Q = -log(1 + e^(z))
+    private static double responseTerm(double discrimination, double difficulty, boolean isCorrect, int k) {
+        double z = discrimination * (GRID[k] - difficulty);
+        return Math.log1p(Math.exp(isCorrect ? -z : z));
+    }
+
+    private void summarize() {
+        // Shift by the maximum so exp() cannot underflow to all zeros
+        int mapIndex = 0;
+        for (int k = 1; k < GRID_POINTS; k++) {
+            if (logPosterior[k] > logPosterior[mapIndex]) mapIndex = k;
+        }
+        double max = logPosterior[mapIndex];
+
+        double sumW = 0.0;
+        double sumWTheta = 0.0;
+        double sumWTheta2 = 0.0;
+        for (int k = 0; k < GRID_POINTS; k++) {
+            double w = Math.exp(logPosterior[k] - max);
+            sumW += w;
+            sumWTheta += w * GRID[k];
+            sumWTheta2 += w * GRID[k] * GRID[k];
+        }
+
+        eapTheta = sumWTheta / sumW;
+        mapTheta = GRID[mapIndex];
+        standardError = Math.sqrt(Math.max(0.0, sumWTheta2 / sumW - eapTheta * eapTheta));
+    }
+}
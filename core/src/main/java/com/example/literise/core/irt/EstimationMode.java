@@ -0,0 +1,13 @@
+package com.example.literise.core.irt;
+
+/**
+ * How theta is updated after each response
+ * GRADIENT: fixed learning-rate step (original behaviour)
+ * EAP: posterior mean on a quadrature grid
+ * MAP: posterior mode on the same grid
+ */
+public enum EstimationMode {
+    GRADIENT,
+    EAP,
+    MAP
+}
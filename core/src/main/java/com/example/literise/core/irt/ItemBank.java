@@ -0,0 +1,306 @@
+package com.example.literise.core.irt;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+/**
+ * ItemBank - 2PL item bank with precomputed Maximum Information selection
+ *
+ * Item parameters are kept in parallel primitive arrays, grouped by category.
+ * Fisher information is precomputed once on a fixed theta grid, and for every
+ * grid bucket each category's items are ranked by information (highest first).
+ * Selecting the next item is then a walk down the ranked list for the nearest
+ * bucket that stops at the first unanswered item (tracked in a BitSet), so the
+ * cost depends on how many items were answered, not on the size of the bank.
+ *
+ * Bank indices are in category order; getSourceIndex() maps one back to the
+ * position the item had in the arrays passed to the constructor.
+ */
+public class ItemBank {
+
+    // Theta grid
+    public static final double THETA_MIN = -3.0;
+    public static final double THETA_MAX = 3.0;
+    public static final double BUCKET_WIDTH = 0.1;
+    public static final int BUCKET_COUNT = (int) Math.round((THETA_MAX - THETA_MIN) / BUCKET_WIDTH) + 1;
+
+    // Pass as category to select across the whole bank
+    public static final int ANY_CATEGORY = 0;
+
+    private final int size;
+    private final int[] itemIds;
+    private final int[] categories;
+    private final double[] difficulties;
+    private final double[] discriminations;
+    private final int[] sourceIndex;
+
+    // Category segments: items of segmentCategory[s] occupy [segmentStart[s], segmentStart[s + 1])
+    private int[] segmentCategory;
+    private int[] segmentStart;
+
+    // Flattened [bucket * size + i] tables
+    private final float[] information; // indexed by item
+    private final int[] ranked;        // item indices ordered by information within each segment
+
+    // Item id lookup (sorted ids + matching item indices)
+    private final int[] sortedIds;
+    private final int[] sortedIdIndex;
+
+    private final BitSet answered;
+    private int answeredCount;
+
+    public ItemBank(int[] ids, int[] cats, double[] diffs, double[] discs) {
+        if (ids.length != cats.length || ids.length != diffs.length || ids.length != discs.length) {
+            throw new IllegalArgumentException("Item parameter arrays must have the same length");
+        }
+
+        this.size = ids.length;
+        this.itemIds = new int[size];
+        this.categories = new int[size];
+        this.difficulties = new double[size];
+        this.discriminations = new double[size];
+        this.sourceIndex = new int[size];
+
+        // Lay items out grouped by category so each category is one contiguous segment
+        long[] byCategory = new long[size];
+        for (int i = 0; i < size; i++) {
+            byCategory[i] = ((long) cats[i] << 32) | (i & 0xFFFFFFFFL);
+        }
+        Arrays.sort(byCategory);
+        for (int i = 0; i < size; i++) {
+            int from = (int) byCategory[i];
+            itemIds[i] = ids[from];
+            categories[i] = cats[from];
+            difficulties[i] = diffs[from];
+            discriminations[i] = discs[from];
+            sourceIndex[i] = from;
+        }
+        buildSegments();
+
+        this.information = new float[BUCKET_COUNT * size];
+        this.ranked = new int[BUCKET_COUNT * size];
+        buildInformationTable();
+
+        long[] byId = new long[size];
+        for (int i = 0; i < size; i++) {
+            byId[i] = ((long) itemIds[i] << 32) | (i & 0xFFFFFFFFL);
+        }
+        Arrays.sort(byId);
+        this.sortedIds = new int[size];
+        this.sortedIdIndex = new int[size];
+        for (int i = 0; i < size; i++) {
+            sortedIds[i] = (int) (byId[i] >> 32);
+            sortedIdIndex[i] = (int) byId[i];
+        }
+
+        this.answered = new BitSet(size);
+        this.answeredCount = 0;
+    }
+
+    private ItemBank(ItemBank source) {
+        this.size = source.size;
+        this.itemIds = source.itemIds;
+        this.categories = source.categories;
+        this.difficulties = source.difficulties;
+        this.discriminations = source.discriminations;
+        this.sourceIndex = source.sourceIndex;
+        this.segmentCategory = source.segmentCategory;
+        this.segmentStart = source.segmentStart;
+        this.information = source.information;
+        this.ranked = source.ranked;
+        this.sortedIds = source.sortedIds;
+        this.sortedIdIndex = source.sortedIdIndex;
+        this.answered = new BitSet(size);
+        this.answeredCount = 0;
+    }
+
+    /**
+     * New bank sharing this bank's precomputed tables, with nothing answered
+     * The tables are never modified, so forks can be used on different threads.
+     */
+    public ItemBank fork() {
+        return new ItemBank(this);
+    }
+
+    /**
+     * Probability of a correct answer under the 2PL model
+     * P(θ) = 1 / (1 + e^(-a(θ - b)))
+     */
+    public static double probability(double discrimination, double difficulty, double theta) {
+        return 1.0 / (1.0 + Math.exp(-discrimination * (theta - difficulty)));
+    }
+
+    /**
+     * Fisher Information of an item at theta
+     * Information = a^2 * P(θ) * Q(θ)
+     */
+    public static double information(double discrimination, double difficulty, double theta) {
+        double p = probability(discrimination, difficulty, theta);
+        return discrimination * discrimination * p * (1.0 - p);
+    }
+
+    /**
+     * Map theta to the nearest grid bucket
+     */
+    public static int bucketFor(double theta) {
+        int bucket = (int) Math.round((theta - THETA_MIN) / BUCKET_WIDTH);
+        if (bucket < 0) return 0;
+        if (bucket >= BUCKET_COUNT) return BUCKET_COUNT - 1;
+        return bucket;
+    }
+
+    /**
+     * Select the index of the unanswered item with maximum information at theta.
+     * Returns -1 if no unanswered item matches.
+     */
+    public int selectNextItem(double theta, int category) {
+        int base = bucketFor(theta) * size;
+        int best = -1;
+        float bestInformation = -1f;
+
+        for (int s = 0; s < segmentCategory.length; s++) {
+            if (category != ANY_CATEGORY && segmentCategory[s] != category) {
+                continue;
+            }
+
+            // Ranked best-first, so the first unanswered item is the segment's best
+            for (int pos = segmentStart[s]; pos < segmentStart[s + 1]; pos++) {
+                int item = ranked[base + pos];
+                if (!answered.get(item)) {
+                    float itemInformation = information[base + item];
+                    if (itemInformation > bestInformation) {
+                        bestInformation = itemInformation;
+                        best = item;
+                    }
+                    break;
+                }
+            }
+        }
+
+        return best;
+    }
+
+    /**
+     * Mark an item as answered by its item id
+     * Returns false if the id is not in the bank
+     */
+    public boolean markAnswered(int itemId) {
+        int index = indexOf(itemId);
+        if (index < 0) {
+            return false;
+        }
+        markAnsweredAt(index);
+        return true;
+    }
+
+    /**
+     * Mark an item as answered by its bank index
+     */
+    public void markAnsweredAt(int index) {
+        if (!answered.get(index)) {
+            answered.set(index);
+            answeredCount++;
+        }
+    }
+
+    public boolean isAnswered(int itemId) {
+        int index = indexOf(itemId);
+        return index >= 0 && answered.get(index);
+    }
+
+    /**
+     * Bank index for an item id, or -1 if not present
+     */
+    public int indexOf(int itemId) {
+        int pos = Arrays.binarySearch(sortedIds, itemId);
+        return pos >= 0 ? sortedIdIndex[pos] : -1;
+    }
+
+    /**
+     * Clear answered flags so the bank can be reused for a new test
+     */
+    public void resetAnswered() {
+        answered.clear();
+        answeredCount = 0;
+    }
+
+    // Getters
+    public int size() {
+        return size;
+    }
+
+    public int getAnsweredCount() {
+        return answeredCount;
+    }
+
+    public int getItemId(int index) {
+        return itemIds[index];
+    }
+
+    public int getCategory(int index) {
+        return categories[index];
+    }
+
+    public double getDifficulty(int index) {
+        return difficulties[index];
+    }
+
+    public double getDiscrimination(int index) {
+        return discriminations[index];
+    }
+
+    /**
+     * Position of a bank item in the arrays the bank was built from
+     */
+    public int getSourceIndex(int index) {
+        return sourceIndex[index];
+    }
+
+    // =====================================================
+    // TABLE CONSTRUCTION
+    // =====================================================
+
+    private void buildSegments() {
+        int segments = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || categories[i] != categories[i - 1]) segments++;
+        }
+
+        segmentCategory = new int[segments];
+        segmentStart = new int[segments + 1];
+        int s = 0;
+        for (int i = 0; i < size; i++) {
+            if (i == 0 || categories[i] != categories[i - 1]) {
+                segmentCategory[s] = categories[i];
+                segmentStart[s] = i;
+                s++;
+            }
+        }
+        segmentStart[segments] = size;
+    }
+
+    private void buildInformationTable() {
+        long[] keys = new long[size];
+
+        for (int bucket = 0; bucket < BUCKET_COUNT; bucket++) {
+            double theta = THETA_MIN + bucket * BUCKET_WIDTH;
+            int base = bucket * size;
+
+            for (int i = 0; i < size; i++) {
+                float itemInformation = (float) information(discriminations[i], difficulties[i], theta);
+                information[base + i] = itemInformation;
+                // Non-negative float bits sort like the floats, so invert them for descending order
+                int bits = Float.floatToIntBits(itemInformation);
+                keys[i] = ((long) (Integer.MAX_VALUE - bits) << 32) | i;
+            }
+
+            for (int s = 0; s < segmentCategory.length; s++) {
+                Arrays.sort(keys, segmentStart[s], segmentStart[s + 1]);
+            }
+
+            for (int i = 0; i < size; i++) {
+                ranked[base + i] = (int) keys[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.example.literise.core.irt;
+
+/**
+ * StoppingRule - decides when a test segment has enough items
+ *
+ * A segment stops once the standard error of a segment-local EAP estimate
+ * drops below the threshold, but never before minItems and always at maxItems.
+ * With minItems == maxItems this is a fixed-length segment.
+ */
+public class StoppingRule {
+
+    private final double seThreshold;
+    private final int minItems;
+    private final int maxItems;
+    private final EAPEstimator segmentEstimate;
+
+    public StoppingRule(double seThreshold, int minItems, int maxItems) {
+        if (minItems < 1 || maxItems < minItems) {
+            throw new IllegalArgumentException("Invalid item bounds: min=" + minItems + ", max=" + maxItems);
+        }
+        this.seThreshold = seThreshold;
+        this.minItems = minItems;
+        this.maxItems = maxItems;
+        this.segmentEstimate = new EAPEstimator();
+    }
+
+    /**
+     * Begin a new segment (clears the segment-local estimate)
+     */
+    public void startSegment() {
+        segmentEstimate.reset();
+    }
+
+    /**
+     * Record a response; items without a calibrated discrimination are treated as a = 1
+     */
+    public void recordResponse(double discrimination, double difficulty, boolean isCorrect) {
+        segmentEstimate.addResponse(discrimination > 0 ? discrimination : 1.0, difficulty, isCorrect);
+    }
+
+    public boolean shouldStop() {
+        int answered = segmentEstimate.getResponseCount();
+        if (answered < minItems) return false;
+        if (answered >= maxItems) return true;
+        return segmentEstimate.getStandardError() < seThreshold;
+    }
+
+    /**
+     * Whether the segment would stop after one more response, without recording it
+     * (e.g. to skip fetching a next item of this segment that would never be shown)
+     */
+    public boolean wouldStopAfter(double discrimination, double difficulty, boolean isCorrect) {
+        int answered = segmentEstimate.getResponseCount() + 1;
+        if (answered < minItems) return false;
+        if (answered >= maxItems) return true;
+        return segmentEstimate.previewStandardError(discrimination > 0 ? discrimination : 1.0,
+                difficulty, isCorrect) < seThreshold;
+    }
+
+    public int getItemsInSegment() {
+        return segmentEstimate.getResponseCount();
+    }
+
+    public double getStandardError() {
+        return segmentEstimate.getStandardError();
+    }
+
+    public int getMinItems() {
+        return minItems;
+    }
+
+    public int getMaxItems() {
+        return maxItems;
+    }
+
+    public boolean isFixedLength() {
+        return minItems == maxItems;
+    }
+}
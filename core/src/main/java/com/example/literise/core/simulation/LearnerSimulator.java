@@ -0,0 +1,172 @@
+package com.example.literise.core.simulation;
+
+import com.example.literise.core.adaptive.AdaptiveDecisionRules;
+import com.example.literise.core.irt.AbilityEstimator;
+import com.example.literise.core.irt.EstimationMode;
+import com.example.literise.core.irt.ItemBank;
+import com.example.literise.core.irt.StoppingRule;
+import com.example.literise.models.AdaptiveDecision;
+import com.example.literise.models.PacingStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * LearnerSimulator - drives one synthetic learner through the adaptive stack
+ *
+ * Each learner has a known ability (theta ~ N(0, 1), with per-category
+ * offsets) and takes:
+ * 1. The adaptive placement test: max-information selection per category,
+ *    theta update after every answer, standard-error stopping rule.
+ * 2. A lesson path: pacing choice, a 10-question quiz answered according to
+ *    the learner's ability, then the quiz decision (proceed, supplemental,
+ *    intervention with retake, enrichment) and game difficulty.
+ *
+ * Every engine call is timed into the thread's SimulationStats. The item
+ * bank is shared read-only; everything else is per learner, so any number
+ * of simulators can run in parallel.
+ */
+public class LearnerSimulator {
+
+    public static final int CATEGORY_COUNT = 5;
+
+    private static final double CATEGORY_SPREAD = 0.3;  // SD of category ability around theta
+    private static final int QUIZ_QUESTIONS = 10;
+    private static final int MAX_QUIZ_ATTEMPTS = 3;
+    private static final int RECENT_SCORES = 3;
+    private static final double LESSON_EASE = 1.0; // first lesson sits this far below the level's centre
+
+    // Ability gains from the adaptive path
+    private static final double LESSON_GAIN = 0.05;
+    private static final double INTERVENTION_GAIN = 0.15;
+    private static final double SUPPLEMENTAL_GAIN = 0.10;
+    private static final double ENRICHMENT_GAIN = 0.05;
+
+    private final ItemBank sharedBank;
+    private final EstimationMode estimationMode;
+    private final double seThreshold;
+    private final int minItems;
+    private final int maxItems;
+    private final int lessons;
+
+    public LearnerSimulator(ItemBank sharedBank, EstimationMode estimationMode,
+                            double seThreshold, int minItems, int maxItems, int lessons) {
+        this.sharedBank = sharedBank;
+        this.estimationMode = estimationMode;
+        this.seThreshold = seThreshold;
+        this.minItems = minItems;
+        this.maxItems = maxItems;
+        this.lessons = lessons;
+    }
+
+    /**
+     * Simulate one learner, adding its latencies and outcomes to stats
+     */
+    public void simulate(SplittableRandom random, SimulationStats stats) {
+        double trueTheta = clamp(random.nextGaussian(), AbilityEstimator.THETA_MIN, AbilityEstimator.THETA_MAX);
+        double[] categoryTheta = new double[CATEGORY_COUNT];
+        for (int c = 0; c < CATEGORY_COUNT; c++) {
+            categoryTheta[c] = trueTheta + CATEGORY_SPREAD * random.nextGaussian();
+        }
+
+        // 1. Placement test
+        ItemBank bank = sharedBank.fork();
+        AbilityEstimator estimator = new AbilityEstimator(estimationMode);
+        StoppingRule stoppingRule = new StoppingRule(seThreshold, minItems, maxItems);
+        int[] categoryScores = new int[CATEGORY_COUNT];
+        int itemsAdministered = 0;
+
+        for (int c = 0; c < CATEGORY_COUNT; c++) {
+            stoppingRule.startSegment();
+            int correct = 0;
+
+            while (!stoppingRule.shouldStop()) {
+                long start = System.nanoTime();
+                int item = bank.selectNextItem(estimator.getTheta(), c + 1);
+                if (item < 0) break;
+
+                double a = bank.getDiscrimination(item);
+                double b = bank.getDifficulty(item);
+                boolean isCorrect = random.nextDouble() < ItemBank.probability(a, b, categoryTheta[c]);
+                bank.markAnsweredAt(item);
+                estimator.update(a, b, isCorrect);
+                stoppingRule.recordResponse(a, b, isCorrect);
+                stats.placementItem.record(System.nanoTime() - start);
+
+                if (isCorrect) correct++;
+                itemsAdministered++;
+            }
+
+            int asked = stoppingRule.getItemsInSegment();
+            categoryScores[c] = asked > 0 ? (correct * 100) / asked : 0;
+        }
+
+        int placementLevel = estimator.calculatePlacementLevel();
+        stats.recordPlacement(trueTheta, estimator.getTheta(), estimator.getStandardError(),
+                placementLevel, AbilityEstimator.placementLevelFor(trueTheta), itemsAdministered);
+
+        // 2. Lesson path
+        List<Integer> recentScores = new ArrayList<>(RECENT_SCORES + 1);
+        for (int lesson = 0; lesson < lessons; lesson++) {
+            int category = lesson % CATEGORY_COUNT;
+            // Lessons are pitched below the placement level's centre and get harder across the path
+            double progress = lessons > 1 ? (double) lesson / (lessons - 1) : 0.0;
+            double lessonDifficulty = (placementLevel - 2) - LESSON_EASE + progress;
+
+            long start = System.nanoTime();
+            PacingStrategy pacing = AdaptiveDecisionRules.selectLessonPacing(placementLevel, recentScores);
+            stats.lessonPacing.record(System.nanoTime() - start);
+
+            double support = pacing.isSlowPace() ? 0.2 : pacing.isFastPace() ? -0.1 : 0.0;
+            int quizScore = 0;
+
+            for (int attempt = 1; attempt <= MAX_QUIZ_ATTEMPTS; attempt++) {
+                double p = ItemBank.probability(1.2, lessonDifficulty, categoryTheta[category] + support);
+                int correct = 0;
+                for (int q = 0; q < QUIZ_QUESTIONS; q++) {
+                    if (random.nextDouble() < p) correct++;
+                }
+                quizScore = correct * 100 / QUIZ_QUESTIONS;
+
+                start = System.nanoTime();
+                AdaptiveDecision decision = AdaptiveDecisionRules.evaluateQuizPerformance(
+                        placementLevel, quizScore, attempt, recentScores, categoryScores[category]);
+                stats.quizDecision.record(System.nanoTime() - start);
+                stats.recordDecision(decision.getDecisionType());
+
+                addRecentScore(recentScores, quizScore);
+
+                AdaptiveDecision.DecisionType type = decision.getDecisionType();
+                if (type == AdaptiveDecision.DecisionType.ADD_INTERVENTION) {
+                    categoryTheta[category] += INTERVENTION_GAIN;
+                    continue; // Retake after the intervention node
+                }
+                if (type == AdaptiveDecision.DecisionType.ADD_SUPPLEMENTAL) {
+                    categoryTheta[category] += SUPPLEMENTAL_GAIN;
+                } else if (type == AdaptiveDecision.DecisionType.OFFER_ENRICHMENT) {
+                    categoryTheta[category] += ENRICHMENT_GAIN;
+                }
+                break;
+            }
+
+            start = System.nanoTime();
+            String difficulty = AdaptiveDecisionRules.selectGameDifficulty(placementLevel, quizScore, 1);
+            stats.gameDifficulty.record(System.nanoTime() - start);
+            stats.recordGameDifficulty(difficulty);
+
+            categoryTheta[category] += LESSON_GAIN;
+        }
+    }
+
+    private static void addRecentScore(List<Integer> recentScores, int score) {
+        recentScores.add(score);
+        if (recentScores.size() > RECENT_SCORES) {
+            recentScores.remove(0);
+        }
+    }
+
+    private static double clamp(double value, double min, double max) {
+        return Math.max(min, Math.min(max, value));
+    }
+}
@@ -0,0 +1,127 @@
+package com.example.literise.core.simulation;
+
+import com.example.literise.models.AdaptiveDecision;
+
+/**
+ * SimulationStats - latencies, decision counts and estimation accuracy
+ *
+ * One instance per worker thread; merge() combines them for the report.
+ */
+public class SimulationStats {
+
+    public static final String[] GAME_DIFFICULTIES = {"EASY", "MEDIUM", "HARD"};
+
+    final LatencyHistogram placementItem = new LatencyHistogram();
+    final LatencyHistogram lessonPacing = new LatencyHistogram();
+    final LatencyHistogram quizDecision = new LatencyHistogram();
+    final LatencyHistogram gameDifficulty = new LatencyHistogram();
+
+    final long[] decisionCounts = new long[AdaptiveDecision.DecisionType.values().length];
+    final long[] gameDifficultyCounts = new long[GAME_DIFFICULTIES.length];
+
+    long learners;
+    long itemsAdministered;
+    long levelMatches;
+    double thetaErrorSum;
+    double thetaSquaredErrorSum;
+    double standardErrorSum;
+
+    void recordPlacement(double trueTheta, double estimate, double standardError,
+                         int estimatedLevel, int trueLevel, int items) {
+        double error = estimate - trueTheta;
+        learners++;
+        itemsAdministered += items;
+        thetaErrorSum += error;
+        thetaSquaredErrorSum += error * error;
+        standardErrorSum += standardError;
+        if (estimatedLevel == trueLevel) levelMatches++;
+    }
+
+    void recordDecision(AdaptiveDecision.DecisionType type) {
+        decisionCounts[type.ordinal()]++;
+    }
+
+    void recordGameDifficulty(String difficulty) {
+        for (int i = 0; i < GAME_DIFFICULTIES.length; i++) {
+            if (GAME_DIFFICULTIES[i].equals(difficulty)) {
+                gameDifficultyCounts[i]++;
+                return;
+            }
+        }
+    }
+
+    public void merge(SimulationStats other) {
+        placementItem.merge(other.placementItem);
+        lessonPacing.merge(other.lessonPacing);
+        quizDecision.merge(other.quizDecision);
+        gameDifficulty.merge(other.gameDifficulty);
+        for (int i = 0; i < decisionCounts.length; i++) {
+            decisionCounts[i] += other.decisionCounts[i];
+        }
+        for (int i = 0; i < gameDifficultyCounts.length; i++) {
+            gameDifficultyCounts[i] += other.gameDifficultyCounts[i];
+        }
+        learners += other.learners;
+        itemsAdministered += other.itemsAdministered;
+        levelMatches += other.levelMatches;
+        thetaErrorSum += other.thetaErrorSum;
+        thetaSquaredErrorSum += other.thetaSquaredErrorSum;
+        standardErrorSum += other.standardErrorSum;
+    }
+
+    public long getLearners() {
+        return learners;
+    }
+
+    /**
+     * Every timed call: placement item selections/updates and adaptive decisions
+     */
+    public long getDecisionCount() {
+        return placementItem.getCount() + lessonPacing.getCount()
+                + quizDecision.getCount() + gameDifficulty.getCount();
+    }
+
+    public LatencyHistogram getPlacementItemLatency() {
+        return placementItem;
+    }
+
+    public LatencyHistogram getLessonPacingLatency() {
+        return lessonPacing;
+    }
+
+    public LatencyHistogram getQuizDecisionLatency() {
+        return quizDecision;
+    }
+
+    public LatencyHistogram getGameDifficultyLatency() {
+        return gameDifficulty;
+    }
+
+    public long getDecisionCount(AdaptiveDecision.DecisionType type) {
+        return decisionCounts[type.ordinal()];
+    }
+
+    public long getGameDifficultyCount(int index) {
+        return gameDifficultyCounts[index];
+    }
+
+    public double getThetaBias() {
+        return learners > 0 ? thetaErrorSum / learners : 0.0;
+    }
+
+    public double getThetaRmse() {
+        return learners > 0 ? Math.sqrt(thetaSquaredErrorSum / learners) : 0.0;
+    }
+
+    public double getMeanStandardError() {
+        return learners > 0 ? standardErrorSum / learners : 0.0;
+    }
+
+    public double getLevelAgreement() {
+        return learners > 0 ? (double) levelMatches / learners : 0.0;
+    }
+
+    public double getMeanItemsAdministered() {
+        return learners > 0 ? (double) itemsAdministered / learners : 0.0;
+    }
+}
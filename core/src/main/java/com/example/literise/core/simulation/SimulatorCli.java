@@ -0,0 +1,235 @@
+package com.example.literise.core.simulation;
+
+import com.example.literise.core.irt.EstimationMode;
+import com.example.literise.core.irt.ItemBank;
+import com.example.literise.models.AdaptiveDecision;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SimulatorCli - load and policy test for the adaptive stack
+ *
+ *   ./gradlew :core:simulate --args="--learners 100000 --bank-size 2000"
+ *
+ * Runs synthetic learners on all cores (one LearnerSimulator per learner,
+ * one SimulationStats per thread) and prints throughput, per-call latency
+ * percentiles, placement accuracy against the known abilities and the mix
+ * of adaptive decisions. A warm-up run is discarded first so JIT compilation
+ * does not skew the latencies.
+ */
+public class SimulatorCli {
+
+    private static final String USAGE = String.join("\n",
+            "Usage: simulate [options]",
+            "",
+            "  --learners <n>        learners to simulate (default 10000)",
+            "  --warmup <n>          learners run and discarded first (default 2000)",
+            "  --threads <n>         worker threads (default: available processors)",
+            "  --bank-size <n>       synthetic placement items, spread over 5 categories (default 500)",
+            "  --discrimination <lo>:<hi>",
+            "                        range of the synthetic items' a (default 0.9:1.5, as in PlacementQuestions.csv)",
+            "  --lessons <n>         lessons per learner after placement (default 12)",
+            "  --mode <mode>         GRADIENT, EAP or MAP theta estimation (default EAP)",
+            "  --se-threshold <x>    placement stopping standard error (default 0.7)",
+            "  --min-items <n>       minimum items per category (default 3)",
+            "  --max-items <n>       maximum items per category (default 5)",
+            "  --seed <n>            random seed (default 42)");
+
+    public static void main(String[] args) {
+        try {
+            System.exit(run(args, System.out));
+        } catch (IllegalArgumentException e) {
+            System.err.println(e.getMessage());
+            System.err.println(USAGE);
+            System.exit(2);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            System.exit(1);
+        } catch (ExecutionException e) {
+            System.err.println("Simulation failed: " + e.getCause());
+            System.exit(1);
+        }
+    }
+
+    static int run(String[] args, PrintStream out) throws InterruptedException, ExecutionException {
+        int learners = 10000;
+        int warmup = 2000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        int bankSize = 500;
+        double minDiscrimination = 0.9;
+        double maxDiscrimination = 1.5;
+        int lessons = 12;
+        EstimationMode mode = EstimationMode.EAP;
+        double seThreshold = 0.7;
+        int minItems = 3;
+        int maxItems = 5;
+        long seed = 42L;
+
+        for (int i = 0; i < args.length; i++) {
+            String arg = args[i];
+            switch (arg) {
+                case "--learners": learners = Integer.parseInt(value(args, ++i, arg)); break;
+                case "--warmup": warmup = Integer.parseInt(value(args, ++i, arg)); break;
+                case "--threads": threads = Integer.parseInt(value(args, ++i, arg)); break;
+                case "--bank-size": bankSize = Integer.parseInt(value(args, ++i, arg)); break;
+                case "--discrimination": {
+                    String[] range = value(args, ++i, arg).split(":");
+                    if (range.length != 2) {
+                        throw new IllegalArgumentException("--discrimination takes <lo>:<hi>");
+                    }
+                    minDiscrimination = Double.parseDouble(range[0]);
+                    maxDiscrimination = Double.parseDouble(range[1]);
+                    break;
+                }
+                case "--lessons": lessons = Integer.parseInt(value(args, ++i, arg)); break;
+                case "--mode": mode = EstimationMode.valueOf(value(args, ++i, arg).toUpperCase(Locale.ROOT)); break;
+                case "--se-threshold": seThreshold = Double.parseDouble(value(args, ++i, arg)); break;
+                case "--min-items": minItems = Integer.parseInt(value(args, ++i, arg)); break;
+                case "--max-items": maxItems = Integer.parseInt(value(args, ++i, arg)); break;
+                case "--seed": seed = Long.parseLong(value(args, ++i, arg)); break;
+                case "--help":
+                case "-h":
+                    out.println(USAGE);
+                    return 0;
+                default:
+                    throw new IllegalArgumentException("Unexpected argument: " + arg);
+            }
+        }
+        if (learners < 1 || threads < 1 || bankSize < LearnerSimulator.CATEGORY_COUNT) {
+            throw new IllegalArgumentException("learners, threads and bank size must be positive");
+        }
+        if (minDiscrimination <= 0 || maxDiscrimination < minDiscrimination) {
+            throw new IllegalArgumentException("Invalid discrimination range: " + minDiscrimination + ":"
+                    + maxDiscrimination);
+        }
+
+        ItemBank bank = buildBank(bankSize, minDiscrimination, maxDiscrimination, seed);
+        LearnerSimulator simulator = new LearnerSimulator(bank, mode, seThreshold, minItems, maxItems, lessons);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            if (warmup > 0) {
+                runLearners(executor, threads, simulator, warmup, seed ^ 0x5DEECE66DL);
+            }
+
+            long started = System.nanoTime();
+            SimulationStats stats = runLearners(executor, threads, simulator, learners, seed);
+            double seconds = (System.nanoTime() - started) / 1e9;
+
+            printReport(out, stats, seconds, threads, bankSize, mode);
+        } finally {
+            executor.shutdown();
+        }
+        return 0;
+    }
+
+    /**
+     * Run learners on all threads; each thread pulls learner ids and keeps its own stats
+     */
+    private static SimulationStats runLearners(ExecutorService executor, int threads, LearnerSimulator simulator,
+                                               int learners, long seed)
+            throws InterruptedException, ExecutionException {
+        AtomicLong nextLearner = new AtomicLong();
+        SplittableRandom root = new SplittableRandom(seed);
+        List<Future<SimulationStats>> workers = new ArrayList<>(threads);
+
+        for (int t = 0; t < threads; t++) {
+            SplittableRandom random = root.split();
+            workers.add(executor.submit(() -> {
+                SimulationStats stats = new SimulationStats();
+                while (nextLearner.getAndIncrement() < learners) {
+                    simulator.simulate(random, stats);
+                }
+                return stats;
+            }));
+        }
+
+        SimulationStats total = new SimulationStats();
+        for (Future<SimulationStats> worker : workers) {
+            total.merge(worker.get());
+        }
+        return total;
+    }
+
+    private static ItemBank buildBank(int size, double minDiscrimination, double maxDiscrimination, long seed) {
+        Random random = new Random(seed);
+        int[] ids = new int[size];
+        int[] categories = new int[size];
+        double[] difficulties = new double[size];
+        double[] discriminations = new double[size];
+        for (int i = 0; i < size; i++) {
+            ids[i] = i + 1;
+            categories[i] = 1 + (i % LearnerSimulator.CATEGORY_COUNT);
+            difficulties[i] = Math.max(-3.0, Math.min(3.0, 1.2 * random.nextGaussian()));
+            discriminations[i] = minDiscrimination + (maxDiscrimination - minDiscrimination) * random.nextDouble();
+        }
+        return new ItemBank(ids, categories, difficulties, discriminations);
+    }
+
+    private static void printReport(PrintStream out, SimulationStats stats, double seconds, int threads,
+                                    int bankSize, EstimationMode mode) {
+        long decisions = stats.getDecisionCount();
+
+        out.printf(Locale.ROOT, "Simulated %d learners on %d threads in %.2f s (bank %d items, %s estimation)%n",
+                stats.getLearners(), threads, seconds, bankSize, mode);
+        out.printf(Locale.ROOT, "Throughput: %.0f learners/s, %.0f decisions/s (%d decisions)%n",
+                stats.getLearners() / seconds, decisions / seconds, decisions);
+
+        out.println();
+        out.printf(Locale.ROOT, "%-22s %10s %9s %9s %9s %9s %9s %9s%n",
+                "Latency (us)", "count", "mean", "p50", "p90", "p99", "p99.9", "max");
+        printLatency(out, "placement item", stats.getPlacementItemLatency());
+        printLatency(out, "lesson pacing", stats.getLessonPacingLatency());
+        printLatency(out, "quiz decision", stats.getQuizDecisionLatency());
+        printLatency(out, "game difficulty", stats.getGameDifficultyLatency());
+
+        out.println();
+        out.println("Placement accuracy");
+        out.printf(Locale.ROOT, "  theta RMSE %.3f, bias %+.3f, mean reported SE %.3f%n",
+                stats.getThetaRmse(), stats.getThetaBias(), stats.getMeanStandardError());
+        out.printf(Locale.ROOT, "  level agreement %.1f%%, %.1f items per learner%n",
+                stats.getLevelAgreement() * 100.0, stats.getMeanItemsAdministered());
+
+        out.println();
+        out.println("Quiz decisions");
+        long quizDecisions = stats.getQuizDecisionLatency().getCount();
+        for (AdaptiveDecision.DecisionType type : AdaptiveDecision.DecisionType.values()) {
+            long count = stats.getDecisionCount(type);
+            out.printf(Locale.ROOT, "  %-18s %10d (%5.1f%%)%n", type, count,
+                    quizDecisions > 0 ? count * 100.0 / quizDecisions : 0.0);
+        }
+
+        out.println("Game difficulty");
+        long games = stats.getGameDifficultyLatency().getCount();
+        for (int i = 0; i < SimulationStats.GAME_DIFFICULTIES.length; i++) {
+            long count = stats.getGameDifficultyCount(i);
+            out.printf(Locale.ROOT, "  %-18s %10d (%5.1f%%)%n", SimulationStats.GAME_DIFFICULTIES[i], count,
+                    games > 0 ? count * 100.0 / games : 0.0);
+        }
+    }
+
+    private static void printLatency(PrintStream out, String name, LatencyHistogram histogram) {
+        out.printf(Locale.ROOT, "%-22s %10d %9.2f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, histogram.getCount(), histogram.getMean() / 1e3,
+                histogram.getPercentile(50) / 1e3, histogram.getPercentile(90) / 1e3,
+                histogram.getPercentile(99) / 1e3, histogram.getPercentile(99.9) / 1e3,
+                histogram.getMax() / 1e3);
+    }
+
+    private static String value(String[] args, int index, String option) {
+        if (index >= args.length) {
+            throw new IllegalArgumentException("Missing value for " + option);
+        }
+        return args[index];
+    }
+}
@@ -0,0 +1,116 @@
+package com.example.literise.core.adaptive;
+
+import com.example.literise.models.AdaptiveDecision;
+import com.example.literise.models.PacingStrategy;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class AdaptiveDecisionRulesTest {
+
+    private static final int BEGINNER = 1;
+    private static final int INTERMEDIATE = 2;
+    private static final int ADVANCED = 3;
+
+    @Test
+    public void failedQuiz_addsIntervention() {
+        AdaptiveDecision decision = AdaptiveDecisionRules.evaluateQuizPerformance(
+                ADVANCED, 65, 1, Collections.emptyList(), 90);
+
+        assertEquals(AdaptiveDecision.DecisionType.ADD_INTERVENTION, decision.getDecisionType());
+        assertEquals(65, decision.getQuizScore());
+    }
+
+    @Test
+    public void borderlineBeginner_addsSupplemental() {
+        AdaptiveDecision decision = AdaptiveDecisionRules.evaluateQuizPerformance(
+                BEGINNER, 75, 1, Collections.emptyList(), 90);
+
+        assertEquals(AdaptiveDecision.DecisionType.ADD_SUPPLEMENTAL, decision.getDecisionType());
+    }
+
+    @Test
+    public void borderlineIntermediate_dependsOnPlacementCategory() {
+        assertEquals(AdaptiveDecision.DecisionType.ADD_SUPPLEMENTAL, AdaptiveDecisionRules.evaluateQuizPerformance(
+                INTERMEDIATE, 75, 1, Collections.emptyList(), 50).getDecisionType());
+        assertEquals(AdaptiveDecision.DecisionType.PROCEED, AdaptiveDecisionRules.evaluateQuizPerformance(
+                INTERMEDIATE, 75, 1, Collections.emptyList(), 80).getDecisionType());
+    }
+
+    @Test
+    public void sharpDropInPassingScores_addsSupplemental() {
+        AdaptiveDecision decision = AdaptiveDecisionRules.evaluateQuizPerformance(
+                ADVANCED, 82, 1, Arrays.asList(100, 95, 85), 90);
+
+        assertEquals(AdaptiveDecision.DecisionType.ADD_SUPPLEMENTAL, decision.getDecisionType());
+        assertEquals(AdaptiveDecision.ScoreTrend.DECLINING, decision.getRecentScoresTrend());
+    }
+
+    @Test
+    public void advancedMastery_offersEnrichment() {
+        assertEquals(AdaptiveDecision.DecisionType.OFFER_ENRICHMENT, AdaptiveDecisionRules.evaluateQuizPerformance(
+                ADVANCED, 95, 1, Collections.emptyList(), 90).getDecisionType());
+        assertEquals(AdaptiveDecision.DecisionType.PROCEED, AdaptiveDecisionRules.evaluateQuizPerformance(
+                INTERMEDIATE, 95, 1, Collections.emptyList(), 90).getDecisionType());
+    }
+
+    @Test
+    public void scoreTrend_usesFirstAndLastScore() {
+        assertEquals(AdaptiveDecision.ScoreTrend.STABLE, AdaptiveDecisionRules.calculateScoreTrend(null));
+        assertEquals(AdaptiveDecision.ScoreTrend.STABLE,
+                AdaptiveDecisionRules.calculateScoreTrend(Collections.singletonList(50)));
+        assertEquals(AdaptiveDecision.ScoreTrend.IMPROVING,
+                AdaptiveDecisionRules.calculateScoreTrend(Arrays.asList(60, 40, 70)));
+        assertEquals(AdaptiveDecision.ScoreTrend.DECLINING,
+                AdaptiveDecisionRules.calculateScoreTrend(Arrays.asList(80, 90, 70)));
+        assertEquals(AdaptiveDecision.ScoreTrend.STABLE,
+                AdaptiveDecisionRules.calculateScoreTrend(Arrays.asList(80, 50, 89)));
+    }
+
+    @Test
+    public void averageScore_ofEmptyListIsZero() {
+        assertEquals(0.0, AdaptiveDecisionRules.calculateAverageScore(Collections.emptyList()), 0.0);
+        assertEquals(75.0, AdaptiveDecisionRules.calculateAverageScore(Arrays.asList(70, 80)), 1e-12);
+    }
+
+    @Test
+    public void gameDifficulty_followsPlacementAndQuizScore() {
+        assertEquals("EASY", AdaptiveDecisionRules.selectGameDifficulty(BEGINNER, 100, 0));
+        assertEquals("HARD", AdaptiveDecisionRules.selectGameDifficulty(ADVANCED, 0, 0));
+        assertEquals("MEDIUM", AdaptiveDecisionRules.selectGameDifficulty(ADVANCED, 70, 1));
+        assertEquals("HARD", AdaptiveDecisionRules.selectGameDifficulty(INTERMEDIATE, 85, 0));
+        assertEquals("MEDIUM", AdaptiveDecisionRules.selectGameDifficulty(INTERMEDIATE, 0, 0));
+        assertEquals("EASY", AdaptiveDecisionRules.selectGameDifficulty(INTERMEDIATE, 60, 0));
+    }
+
+    @Test
+    public void lessonPacing_followsPlacementAndRecentScores() {
+        PacingStrategy beginner = AdaptiveDecisionRules.selectLessonPacing(BEGINNER, Arrays.asList(100, 100));
+        assertEquals("SLOW", beginner.getSpeed());
+        assertEquals("HIGH", beginner.getScaffolding());
+
+        assertEquals("FAST", AdaptiveDecisionRules.selectLessonPacing(ADVANCED, Arrays.asList(90, 80)).getSpeed());
+        assertEquals("MODERATE", AdaptiveDecisionRules.selectLessonPacing(ADVANCED, Arrays.asList(70, 70)).getSpeed());
+        assertEquals("MODERATE_FAST",
+                AdaptiveDecisionRules.selectLessonPacing(INTERMEDIATE, Arrays.asList(90, 85)).getSpeed());
+        assertEquals("SLOW", AdaptiveDecisionRules.selectLessonPacing(INTERMEDIATE, Arrays.asList(60)).getSpeed());
+    }
+
+    @Test
+    public void categoryKeyForSkill_mapsToPlacementCategories() {
+        assertEquals(ModulePriorities.PLACEMENT_CATEGORY_KEYS[0], AdaptiveDecisionRules.categoryKeyForSkill("Phonics"));
+        assertEquals(ModulePriorities.PLACEMENT_CATEGORY_KEYS[1],
+                AdaptiveDecisionRules.categoryKeyForSkill("Vocabulary Building"));
+        assertEquals(ModulePriorities.PLACEMENT_CATEGORY_KEYS[3],
+                AdaptiveDecisionRules.categoryKeyForSkill("Comprehending Text"));
+        assertEquals(ModulePriorities.PLACEMENT_CATEGORY_KEYS[4],
+                AdaptiveDecisionRules.categoryKeyForSkill("Creative Writing"));
+        assertNull(AdaptiveDecisionRules.categoryKeyForSkill("Music"));
+        assertNull(AdaptiveDecisionRules.categoryKeyForSkill(null));
+    }
+}
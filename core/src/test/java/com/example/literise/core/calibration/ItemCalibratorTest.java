@@ -0,0 +1,89 @@
+package com.example.literise.core.calibration;
+
+import com.example.literise.core.irt.ItemBank;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertEquals;
+
+public class ItemCalibratorTest {
+
+    private static final double[] TRUE_A = {0.8, 1.0, 1.2, 1.5, 0.9, 1.3};
+    private static final double[] TRUE_B = {-1.5, -0.8, 0.0, 0.4, 1.0, 1.6};
+    private static final int LEARNERS = 4000;
+
+    @Test
+    public void recoversParametersOfSyntheticItems() throws IOException, InterruptedException {
+        ForkJoinPool pool = new ForkJoinPool(2);
+        try (ResponseExportReader reader = new ResponseExportReader(
+                new StringReader(syntheticExport(new Random(42))), ResponseExportReader.DEFAULT_GROUP_COLUMNS, null);
+             ResponseSpool spool = ResponseSpool.build(reader)) {
+
+            assertEquals(LEARNERS, spool.getGroupCount());
+            assertEquals((long) LEARNERS * TRUE_A.length, spool.getResponseCount());
+
+            ItemCalibrator calibrator = new ItemCalibrator(pool);
+            calibrator.setTolerance(1e-4);
+            calibrator.setMaxIterations(200);
+            List<CalibratedItem> items = calibrator.calibrate(spool);
+
+            assertEquals(TRUE_A.length, items.size());
+            for (CalibratedItem item : items) {
+                int j = item.getItemId() - 1;
+                assertEquals("difficulty of item " + item.getItemId(), TRUE_B[j], item.getDifficulty(), 0.2);
+                assertEquals("discrimination of item " + item.getItemId(), TRUE_A[j], item.getDiscrimination(), 0.25);
+                assertEquals(LEARNERS, item.getResponses());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void skipsItemsBelowMinResponses() throws IOException, InterruptedException {
+        String export = "StudentID,SessionID,ItemID,IsCorrect\n"
+                + "1,10,1,1\n1,10,2,0\n"
+                + "2,10,1,0\n"
+                + "3,11,1,1\n";
+
+        ForkJoinPool pool = new ForkJoinPool(1);
+        try (ResponseExportReader reader = new ResponseExportReader(
+                new StringReader(export), ResponseExportReader.DEFAULT_GROUP_COLUMNS, null);
+             ResponseSpool spool = ResponseSpool.build(reader)) {
+
+            // Students 1 and 2 share session 10 but are separate test takers
+            assertEquals(3, spool.getGroupCount());
+
+            ItemCalibrator calibrator = new ItemCalibrator(pool);
+            calibrator.setMinResponses(2);
+            List<CalibratedItem> items = calibrator.calibrate(spool);
+
+            assertEquals(1, items.size());
+            assertEquals(1, items.get(0).getItemId());
+            assertEquals(3, items.get(0).getResponses());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Responses of N(0, 1) learners to every item, drawn from the 2PL model
+     */
+    private static String syntheticExport(Random random) {
+        StringBuilder export = new StringBuilder("StudentID,SessionID,ItemID,IsCorrect\n");
+        for (int learner = 1; learner <= LEARNERS; learner++) {
+            double theta = random.nextGaussian();
+            for (int j = 0; j < TRUE_A.length; j++) {
+                boolean correct = random.nextDouble() < ItemBank.probability(TRUE_A[j], TRUE_B[j], theta);
+                export.append(learner).append(",1,").append(j + 1).append(',').append(correct ? 1 : 0).append('\n');
+            }
+        }
+        return export.toString();
+    }
+}
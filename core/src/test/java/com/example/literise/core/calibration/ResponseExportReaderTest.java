@@ -0,0 +1,60 @@
+package com.example.literise.core.calibration;
+
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class ResponseExportReaderTest {
+
+    @Test
+    public void groupsByStudentAndSession() throws IOException {
+        List<String> rows = read("\uFEFFStudentID,SessionID,ItemID,IsCorrect,Note\n"
+                + "1,10,5,1,\"two\nlines\"\n"
+                + "1,10,6,0,NULL\n"
+                + "1,11,5,true,x\n"
+                + "2,10,5,false,x\n", null);
+
+        assertEquals(List.of("0:5:true", "0:6:false", "1:5:true", "2:5:false"), rows);
+    }
+
+    @Test
+    public void readsTabSeparatedExportAndFiltersType() throws IOException {
+        List<String> rows = read("StudentID\tSessionID\tItemID\tIsCorrect\tAssessmentType\n"
+                + "1\t10\t5\t1\tPreAssessment\n"
+                + "1\t10\t6\t1\tNULL\n"
+                + "2\t10\t5\t0\tpreassessment\n", "PreAssessment");
+
+        assertEquals(List.of("0:5:true", "1:5:false"), rows);
+    }
+
+    @Test
+    public void rejectsUnorderedExport() {
+        try {
+            read("StudentID,SessionID,ItemID,IsCorrect\n2,10,5,1\n1,10,5,1\n", null);
+            fail("Expected an ordering error");
+        } catch (IOException e) {
+            assertTrue(e.getMessage(), e.getMessage().startsWith("Response export line 3:"));
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void rejectsNullItem() throws IOException {
+        read("StudentID,SessionID,ItemID,IsCorrect\n1,10,NULL,1\n", null);
+    }
+
+    private static List<String> read(String export, String assessmentType) throws IOException {
+        List<String> rows = new ArrayList<>();
+        try (ResponseExportReader reader = new ResponseExportReader(
+                new StringReader(export), ResponseExportReader.DEFAULT_GROUP_COLUMNS, assessmentType)) {
+            reader.read((groupId, itemId, correct) -> rows.add(groupId + ":" + itemId + ":" + correct));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.literise.core.content;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class ContentDatabaseBuilderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    private Path csvDir;
+    private Path output;
+
+    @Before
+    public void setUp() throws IOException {
+        csvDir = folder.newFolder("csv").toPath();
+        output = folder.getRoot().toPath().resolve("out").resolve("content.db");
+        for (ContentDatabaseBuilder.TableSpec spec : ContentDatabaseBuilder.TABLES) {
+            write(spec.csv, "");
+        }
+    }
+
+    @Test
+    public void loadsBomQuotedNewlineAndNullFields() throws Exception {
+        write("PlacementQuestions.csv", "\uFEFF"
+                + "1,1,Phonics,MultipleChoice,\"Which word rhymes with \"\"cat\"\"?\",NULL,NULL,NULL,"
+                + "\"[\"\"hat\"\",\"\"dog\"\"]\",hat,-0.5,1.2,NULL\r\n"
+                + "2,4,Comprehension,Reading,What happened?,NULL,,\"Line one.\r\nLine two.\","
+                + "\"[\"\"a\"\",\"\"b\"\"]\",a,,NULL,\"NULL\"\r\n");
+        write("PlacementItemIds.csv", "1,501\n2,502\n");
+
+        assertEquals(0, build());
+
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + output);
+             Statement statement = connection.createStatement()) {
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT * FROM placement_questions ORDER BY question_id")) {
+                assertTrue(rows.next());
+                assertEquals(1, rows.getInt("question_id"));
+                assertEquals("Which word rhymes with \"cat\"?", rows.getString("question_text"));
+                assertNull(rows.getString("audio_url"));
+                assertEquals("[\"hat\",\"dog\"]", rows.getString("options_json"));
+                assertEquals(-0.5, rows.getDouble("difficulty"), 0.0);
+                assertEquals(1.2, rows.getDouble("discrimination"), 0.0);
+                assertNull(rows.getString("leo_hint"));
+
+                assertTrue(rows.next());
+                assertEquals(2, rows.getInt("question_id"));
+                assertEquals("", rows.getString("image_url"));
+                assertEquals("Line one.\nLine two.", rows.getString("reading_passage"));
+                // Empty and NULL numerics are both SQL NULL; quoted "NULL" text is kept
+                rows.getDouble("difficulty");
+                assertTrue(rows.wasNull());
+                rows.getDouble("discrimination");
+                assertTrue(rows.wasNull());
+                assertEquals("NULL", rows.getString("leo_hint"));
+
+                assertFalse(rows.next());
+            }
+
+            try (ResultSet rows = statement.executeQuery(
+                    "SELECT item_id FROM placement_item_ids WHERE question_id = 2")) {
+                assertTrue(rows.next());
+                assertEquals(502, rows.getInt(1));
+            }
+        }
+    }
+
+    @Test
+    public void contentVersionFollowsCsvContents() throws Exception {
+        write("PlacementItemIds.csv", "1,501\n");
+        build();
+        int first = userVersion();
+
+        build();
+        assertEquals(first, userVersion());
+
+        write("PlacementItemIds.csv", "1,502\n");
+        build();
+        assertNotEquals(first, userVersion());
+    }
+
+    @Test(expected = IOException.class)
+    public void invalidNumberFails() throws Exception {
+        write("PlacementItemIds.csv", "1,not-a-number\n");
+        build();
+    }
+
+    private int build() throws IOException, SQLException {
+        return ContentDatabaseBuilder.run(new String[]{"--csv-dir", csvDir.toString(), "--out", output.toString()});
+    }
+
+    private int userVersion() throws SQLException {
+        try (Connection connection = DriverManager.getConnection("jdbc:sqlite:" + output);
+             Statement statement = connection.createStatement();
+             ResultSet rows = statement.executeQuery("PRAGMA user_version")) {
+            rows.next();
+            return rows.getInt(1);
+        }
+    }
+
+    private void write(String name, String content) throws IOException {
+        Files.write(csvDir.resolve(name), content.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.literise.core.csv;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CsvRecordReaderTest {
+
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Test
+    public void stripsBomFromFirstField() throws IOException {
+        try (CsvRecordReader reader = open("\uFEFF1,Phonics\r\n2,Grammar\r\n")) {
+            assertEquals(Arrays.asList("1", "Phonics"), reader.next());
+            assertEquals(Arrays.asList("2", "Grammar"), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void quotedFieldKeepsCommasQuotesAndNewlines() throws IOException {
+        try (CsvRecordReader reader = open("7,\"Read this:\nThe cat, \"\"Tom\"\", sat.\",end\n8,x,y\n")) {
+            List<String> record = reader.next();
+            assertEquals(Arrays.asList("7", "Read this:\nThe cat, \"Tom\", sat.", "end"), record);
+            assertEquals(2, reader.getLineNumber());
+
+            assertEquals(Arrays.asList("8", "x", "y"), reader.next());
+            assertEquals(3, reader.getLineNumber());
+        }
+    }
+
+    @Test
+    public void unquotedNullIsNullButQuotedNullIsText() throws IOException {
+        try (CsvRecordReader reader = open("1,NULL,\"NULL\",,null\n")) {
+            List<String> record = reader.next();
+            assertNull(record.get(1));
+            assertEquals("NULL", record.get(2));
+            assertEquals("", record.get(3));
+            assertEquals("null", record.get(4));
+        }
+    }
+
+    @Test
+    public void skipsBlankLines() throws IOException {
+        try (CsvRecordReader reader = open("1,a\n\n2,b\n")) {
+            assertEquals("1", reader.next().get(0));
+            assertEquals("2", reader.next().get(0));
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void wrongFieldCountReportsLine() throws IOException {
+        try (CsvRecordReader reader = open("1,a,b\n2,a\n")) {
+            assertEquals(3, reader.next(3).size());
+            try {
+                reader.next(3);
+                fail("Expected a field count error");
+            } catch (IOException e) {
+                assertTrue(e.getMessage(), e.getMessage().startsWith("test.csv line 2:"));
+            }
+        }
+    }
+
+    @Test
+    public void readsOtherDelimiters() throws IOException {
+        try (CsvRecordReader reader = new CsvRecordReader(
+                new StringReader("a\tb,c\t\"d\te\"\n1\t2\n"), "tabs", '\t')) {
+            assertEquals(Arrays.asList("a", "b,c", "d\te"), reader.next());
+            assertEquals(Arrays.asList("1", "2"), reader.next());
+            assertNull(reader.next());
+        }
+    }
+
+    @Test
+    public void longMultiLineFieldIsReadWhole() throws IOException {
+        StringBuilder content = new StringBuilder("1,\"");
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < 20000; i++) {
+            if (i > 0) {
+                content.append('\n');
+                expected.append('\n');
+            }
+            content.append("line ").append(i).append(", \"\"quoted\"\"");
+            expected.append("line ").append(i).append(", \"quoted\"");
+        }
+        content.append("\",2\n3,4\n");
+
+        try (CsvRecordReader reader = new CsvRecordReader(new StringReader(content.toString()), "long", ',')) {
+            assertEquals(Arrays.asList("1", expected.toString(), "2"), reader.next());
+            assertEquals(20000, reader.getLineNumber());
+            assertEquals(Arrays.asList("3", "4"), reader.next());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void unterminatedQuoteFails() throws IOException {
+        try (CsvRecordReader reader = open("1,\"never closed\n2,b\n")) {
+            reader.next();
+        }
+    }
+
+    private CsvRecordReader open(String content) throws IOException {
+        Path csv = folder.getRoot().toPath().resolve("test.csv");
+        Files.write(csv, content.getBytes(StandardCharsets.UTF_8));
+        return new CsvRecordReader(csv);
+    }
+}
@@ -0,0 +1,108 @@
+package com.example.literise.core.irt;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class EAPEstimatorTest {
+
+    private static final double TOLERANCE = 1e-3;
+
+    @Test
+    public void priorOnly_isStandardNormal() {
+        EAPEstimator estimator = new EAPEstimator();
+
+        assertEquals(0.0, estimator.getEapTheta(), 1e-9);
+        assertEquals(0.0, estimator.getMapTheta(), 1e-9);
+        // N(0, 1) truncated to [-4, 4]
+        assertEquals(0.9990, estimator.getStandardError(), TOLERANCE);
+        assertEquals(0, estimator.getResponseCount());
+    }
+
+    @Test
+    public void oneResponse_matchesNumericalPosterior() {
+        EAPEstimator estimator = new EAPEstimator();
+        estimator.addResponse(1.2, 0.5, true);
+
+        double[] reference = posterior(new double[]{1.2}, new double[]{0.5}, new boolean[]{true});
+        assertEquals(reference[0], estimator.getEapTheta(), TOLERANCE);
+        assertEquals(reference[1], estimator.getStandardError(), TOLERANCE);
+        assertEquals(1, estimator.getResponseCount());
+    }
+
+    @Test
+    public void severalResponses_matchNumericalPosterior() {
+        double[] a = {0.9, 1.5, 1.1, 1.3, 0.8};
+        double[] b = {-1.0, 0.0, 0.4, 1.2, -0.3};
+        boolean[] correct = {true, true, false, false, true};
+
+        EAPEstimator estimator = new EAPEstimator();
+        for (int i = 0; i < a.length; i++) {
+            estimator.addResponse(a[i], b[i], correct[i]);
+        }
+
+        double[] reference = posterior(a, b, correct);
+        assertEquals(reference[0], estimator.getEapTheta(), TOLERANCE);
+        assertEquals(reference[1], estimator.getStandardError(), TOLERANCE);
+    }
+
+    @Test
+    public void oppositeResponsesAtSameItem_keepThetaAtZero() {
+        EAPEstimator estimator = new EAPEstimator();
+        estimator.addResponse(1.0, 0.0, true);
+        estimator.addResponse(1.0, 0.0, false);
+
+        assertEquals(0.0, estimator.getEapTheta(), 1e-9);
+        assertTrue(estimator.getStandardError() < 0.9990);
+    }
+
+    @Test
+    public void preview_matchesAddingTheResponse() {
+        EAPEstimator estimator = new EAPEstimator();
+        estimator.addResponse(1.3, -0.5, true);
+
+        double previewSe = estimator.previewStandardError(1.1, 0.8, false);
+        double previewEap = estimator.previewTheta(1.1, 0.8, false, false);
+        double previewMap = estimator.previewTheta(1.1, 0.8, false, true);
+        assertEquals(1, estimator.getResponseCount());
+
+        estimator.addResponse(1.1, 0.8, false);
+        assertEquals(estimator.getStandardError(), previewSe, 1e-12);
+        assertEquals(estimator.getEapTheta(), previewEap, 1e-12);
+        assertEquals(estimator.getMapTheta(), previewMap, 1e-12);
+    }
+
+    @Test
+    public void reset_returnsToPrior() {
+        EAPEstimator estimator = new EAPEstimator();
+        estimator.addResponse(1.0, 1.0, true);
+        estimator.reset();
+
+        assertEquals(0.0, estimator.getEapTheta(), 1e-9);
+        assertEquals(0.9990, estimator.getStandardError(), TOLERANCE);
+        assertEquals(0, estimator.getResponseCount());
+    }
+
+    /**
+     * Posterior mean and SD on [-4, 4] by fine trapezoidal integration: {mean, sd}
+     */
+    private static double[] posterior(double[] a, double[] b, boolean[] correct) {
+        double step = 1e-4;
+        double sumW = 0.0;
+        double sumWTheta = 0.0;
+        double sumWTheta2 = 0.0;
+        for (double theta = -4.0; theta <= 4.0 + 1e-12; theta += step) {
+            double w = Math.exp(-0.5 * theta * theta);
+            for (int i = 0; i < a.length; i++) {
+                double p = ItemBank.probability(a[i], b[i], theta);
+                w *= correct[i] ? p : 1.0 - p;
+            }
+            sumW += w;
+            sumWTheta += w * theta;
+            sumWTheta2 += w * theta * theta;
+        }
+        double mean = sumWTheta / sumW;
+        return new double[]{mean, Math.sqrt(sumWTheta2 / sumW - mean * mean)};
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.literise.core.irt;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ItemBankTest {
+
+    // Two categories, equal discrimination, so the most informative item is the one nearest theta
+    private static final int[] IDS = {101, 102, 103, 201, 202, 203};
+    private static final int[] CATEGORIES = {1, 1, 1, 2, 2, 2};
+    private static final double[] DIFFICULTIES = {-1.5, 0.0, 1.5, -1.0, 0.5, 2.0};
+    private static final double[] DISCRIMINATIONS = {1.2, 1.2, 1.2, 1.2, 1.2, 1.2};
+
+    private ItemBank bank;
+
+    @Before
+    public void setUp() {
+        bank = new ItemBank(IDS, CATEGORIES, DIFFICULTIES, DISCRIMINATIONS);
+    }
+
+    @Test
+    public void probability_isOneHalfAtDifficulty() {
+        assertEquals(0.5, ItemBank.probability(1.7, 0.3, 0.3), 1e-12);
+        assertEquals(1.0 / (1.0 + Math.exp(-1.2)), ItemBank.probability(1.2, 0.0, 1.0), 1e-12);
+    }
+
+    @Test
+    public void information_peaksAtDifficulty() {
+        double peak = ItemBank.information(1.6, 0.4, 0.4);
+        assertEquals(1.6 * 1.6 / 4.0, peak, 1e-12);
+        assertTrue(ItemBank.information(1.6, 0.4, 1.4) < peak);
+        assertTrue(ItemBank.information(1.6, 0.4, -0.6) < peak);
+    }
+
+    @Test
+    public void bucketFor_clampsToGrid() {
+        assertEquals(0, ItemBank.bucketFor(-10.0));
+        assertEquals(ItemBank.BUCKET_COUNT - 1, ItemBank.bucketFor(10.0));
+        assertEquals(ItemBank.bucketFor(0.0), ItemBank.bucketFor(0.04));
+    }
+
+    @Test
+    public void selectNextItem_picksNearestDifficultyInCategory() {
+        assertEquals(102, bank.getItemId(bank.selectNextItem(0.1, 1)));
+        assertEquals(202, bank.getItemId(bank.selectNextItem(0.1, 2)));
+        assertEquals(103, bank.getItemId(bank.selectNextItem(1.4, 1)));
+        assertEquals(102, bank.getItemId(bank.selectNextItem(0.1, ItemBank.ANY_CATEGORY)));
+    }
+
+    @Test
+    public void selectNextItem_skipsAnsweredItems() {
+        assertTrue(bank.markAnswered(102));
+        assertTrue(bank.isAnswered(102));
+        assertEquals(1, bank.getAnsweredCount());
+
+        int next = bank.getItemId(bank.selectNextItem(0.1, 1));
+        assertTrue(next == 101 || next == 103);
+
+        bank.markAnswered(101);
+        bank.markAnswered(103);
+        assertEquals(-1, bank.selectNextItem(0.1, 1));
+
+        bank.resetAnswered();
+        assertEquals(0, bank.getAnsweredCount());
+        assertEquals(102, bank.getItemId(bank.selectNextItem(0.1, 1)));
+    }
+
+    @Test
+    public void unknownItem_isNotInBank() {
+        assertEquals(-1, bank.indexOf(999));
+        assertFalse(bank.markAnswered(999));
+        assertFalse(bank.isAnswered(999));
+    }
+
+    @Test
+    public void sourceIndex_mapsBackToConstructorArrays() {
+        for (int i = 0; i < bank.size(); i++) {
+            int source = bank.getSourceIndex(i);
+            assertEquals(IDS[source], bank.getItemId(i));
+            assertEquals(CATEGORIES[source], bank.getCategory(i));
+            assertEquals(DIFFICULTIES[source], bank.getDifficulty(i), 0.0);
+        }
+    }
+
+    @Test
+    public void fork_sharesTablesButNotAnswers() {
+        bank.markAnswered(102);
+        ItemBank fork = bank.fork();
+
+        assertEquals(0, fork.getAnsweredCount());
+        assertEquals(102, fork.getItemId(fork.selectNextItem(0.1, 1)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void mismatchedArrays_areRejected() {
+        new ItemBank(new int[]{1, 2}, new int[]{1}, new double[]{0.0, 0.0}, new double[]{1.0, 1.0});
+    }
+}